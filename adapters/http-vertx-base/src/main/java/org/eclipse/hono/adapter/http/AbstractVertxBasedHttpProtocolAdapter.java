@@ -13,17 +13,28 @@
 package org.eclipse.hono.adapter.http;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.MessageSender;
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.service.AbstractProtocolAdapterBase;
 import org.eclipse.hono.service.auth.device.Device;
+import org.eclipse.hono.service.http.BulkOperations;
 import org.eclipse.hono.service.http.HttpUtils;
+import org.eclipse.hono.service.http.OverloadHandler;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.EventConstants;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RequestResponseApiConstants;
 import org.eclipse.hono.util.TelemetryConstants;
 import org.eclipse.hono.util.TenantObject;
 import org.slf4j.Logger;
@@ -35,11 +46,16 @@ import io.vertx.core.Future;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.Http2Settings;
 import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
+import io.vertx.proton.ProtonDelivery;
 
 /**
  * Base class for a Vert.x based Hono protocol adapter that uses the HTTP protocol. 
@@ -54,6 +70,12 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
      */
     protected static final String DEFAULT_UPLOADS_DIRECTORY = "/tmp";
 
+    /**
+     * The number of bytes that a record of a batch of telemetry data may contain in
+     * addition to its JSON encoded payload.
+     */
+    protected static final int MAX_RECORD_OVERHEAD = 1024;
+
     private static final Logger LOG = LoggerFactory.getLogger(AbstractVertxBasedHttpProtocolAdapter.class);
 
     private HttpServer         server;
@@ -70,6 +92,15 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
         this.metrics = metrics;
     }
 
+    /**
+     * Gets the metrics for this service.
+     *
+     * @return The metrics.
+     */
+    protected final HttpAdapterMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * @return 8443
      */
@@ -189,16 +220,24 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
      * <p>
      * This method creates a router instance with the following routes:
      * <ol>
+     * <li>A default route rejecting requests with a 503 status while this adapter is overloaded.</li>
      * <li>A default route limiting the body size of requests to the maximum payload size set in the <em>config</em> properties.</li>
      * </ol>
+     * <p>
+     * The body of requests to routes that have been marked using
+     * {@link BulkOperations#markImportRoute(Router, io.vertx.core.http.HttpMethod, String)} is
+     * not buffered so that batches of messages can be processed as a stream
+     * (see {@link #uploadTelemetryBatch(RoutingContext, String, String)}).
      * 
      * @return The newly created router (never {@code null}).
      */
     protected Router createRouter() {
 
         final Router router = Router.router(vertx);
+        router.route().handler(new OverloadHandler(getOverloadDetector()));
         LOG.info("limiting size of inbound request body to {} bytes", getConfig().getMaxPayloadSize());
-        router.route().handler(BodyHandler.create(DEFAULT_UPLOADS_DIRECTORY).setBodyLimit(getConfig().getMaxPayloadSize()));
+        final BodyHandler bodyHandler = BodyHandler.create(DEFAULT_UPLOADS_DIRECTORY).setBodyLimit(getConfig().getMaxPayloadSize());
+        router.route().handler(BulkOperations.skipImportRequests(bodyHandler));
 
         return router;
     }
@@ -220,6 +259,7 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
      * <p>
      * This method returns default options with the host and port being set to the corresponding values
      * from the <em>config</em> properties and using a maximum chunk size of 4096 bytes.
+     * If HTTP/2 is enabled, the server negotiates the protocol with clients using TLS ALPN.
      * 
      * @return The http server options.
      */
@@ -227,8 +267,13 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
 
         HttpServerOptions options = new HttpServerOptions();
         options.setHost(getConfig().getBindAddress()).setPort(getConfig().getPort(getPortDefaultValue())).setMaxChunkSize(4096);
+        addTransportOptions(options);
         addTlsKeyCertOptions(options);
         addTlsTrustOptions(options);
+        addHttp2Options(options);
+        if (getConfig().isHttp2Enabled()) {
+            options.setUseAlpn(true).setAlpnVersions(Arrays.asList(HttpVersion.HTTP_2, HttpVersion.HTTP_1_1));
+        }
         return options;
     }
 
@@ -239,6 +284,8 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
      * <p>
      * This method returns default options with the host and port being set to the corresponding values
      * from the <em>config</em> properties and using a maximum chunk size of 4096 bytes.
+     * The server also accepts HTTP/2 without TLS (<em>h2c</em>), either by means of an
+     * HTTP/1.1 upgrade or with prior knowledge.
      * 
      * @return The http server options.
      */
@@ -246,9 +293,24 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
 
         HttpServerOptions options = new HttpServerOptions();
         options.setHost(getConfig().getInsecurePortBindAddress()).setPort(getConfig().getInsecurePort(getInsecurePortDefaultValue())).setMaxChunkSize(4096);
+        addTransportOptions(options);
+        addHttp2Options(options);
         return options;
     }
 
+    /**
+     * Sets the HTTP/2 settings that the server announces to clients.
+     * 
+     * @param options The options to set the settings on.
+     */
+    private void addHttp2Options(final HttpServerOptions options) {
+
+        options.setInitialSettings(new Http2Settings()
+                .setMaxConcurrentStreams(getConfig().getHttp2MaxConcurrentStreams())
+                .setInitialWindowSize(getConfig().getHttp2InitialWindowSize()));
+        options.setHttp2ConnectionWindowSize(getConfig().getHttp2ConnectionWindowSize());
+    }
+
     /**
      * Invoked before the message is sent to the downstream peer.
      * <p>
@@ -450,7 +512,8 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
      * Depending on the outcome of the attempt to upload the message to Hono, the HTTP response's code is
      * set as follows:
      * <ul>
-     * <li>202 (Accepted) - if the telemetry message has been sent to the Hono server.</li>
+     * <li>202 (Accepted) - if the event has been sent to the Hono server or has been spooled
+     * (see {@link org.eclipse.hono.config.ProtocolAdapterProperties#isEventSpoolEnabled()}).</li>
      * <li>400 (Bad Request) - if the message payload is {@code null} or empty or if the content type is {@code null}.</li>
      * <li>503 (Service Unavailable) - if the message could not be sent to the Hono server, e.g. due to lack of connection or credit.</li>
      * </ul>
@@ -475,6 +538,201 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
                 EventConstants.EVENT_ENDPOINT);
     }
 
+    /**
+     * Uploads a batch of telemetry messages contained in the body of an HTTP request to the Hono server.
+     * <p>
+     * The request body must contain a sequence of JSON objects (e.g. one per line) or a JSON array
+     * of objects, each one representing a single telemetry message with the following properties:
+     * <ul>
+     * <li><em>device-id</em> - the identifier of the device that has produced the data. This property
+     * may be omitted if a default device identifier is given.</li>
+     * <li><em>payload</em> - the message payload. A JSON string is sent as is (UTF-8 encoded), any other
+     * JSON value is sent in its encoded form.</li>
+     * <li><em>content-type</em> - the content type of the payload. This property may be omitted if the
+     * payload is not a JSON string, in which case <em>application/json</em> is used.</li>
+     * </ul>
+     * <p>
+     * The route invoking this method needs to be marked using
+     * {@link BulkOperations#markImportRoute(Router, io.vertx.core.http.HttpMethod, String)}.
+     * <p>
+     * The records are read from the request and forwarded downstream as individual messages in batches
+     * of {@value BulkOperations#DEFAULT_BATCH_SIZE}. The tenant's configuration and the telemetry sender
+     * are retrieved once per request and the registration assertion is retrieved once per distinct device.
+     * The messages are sent one after the other, waiting for the sender to be replenished with credit
+     * instead of failing messages for which no credit is available. A record is reported with a 503
+     * status if the sender is not replenished within the configured batch send timeout.
+     * <p>
+     * The request fails with a 403 status if this adapter is disabled for the tenant and with a
+     * 503 status if no telemetry sender is available. The request is rejected with a 413 status
+     * if it contains more than the configured maximum number of records or if a record exceeds
+     * the maximum record size (see {@link #getMaxRecordSize()}). Otherwise, the response has a 200 status and
+     * its body contains a JSON object per record (in the order of the records) containing the record's
+     * <em>device-id</em> and <em>status</em>. The status is 202 if the message has been sent or a
+     * corresponding error code and <em>error</em> message otherwise.
+     * <p>
+     * If the authenticated device (if any) differs from a record's device, the authenticated device
+     * is considered to be a gateway acting on behalf of the record's device.
+     * 
+     * @param ctx The context to retrieve the records and the authenticated device from.
+     * @param tenant The tenant of the devices that have produced the data.
+     * @param defaultDeviceId The identifier to use for records that do not contain a device identifier
+     *                        or {@code null} if records must contain a device identifier.
+     * @throws NullPointerException if context or tenant are {@code null}.
+     */
+    public final void uploadTelemetryBatch(final RoutingContext ctx, final String tenant, final String defaultDeviceId) {
+
+        Objects.requireNonNull(ctx);
+        Objects.requireNonNull(tenant);
+
+        final Device authenticatedDevice = getAuthenticatedDevice(ctx);
+        final Future<TenantObject> tenantConfigTracker = getTenantConfiguration(tenant).compose(tenantConfig -> {
+            if (tenantConfig.isAdapterEnabled(getTypeName())) {
+                return Future.succeededFuture(tenantConfig);
+            } else {
+                // this adapter is not enabled for the tenant
+                return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_FORBIDDEN));
+            }
+        });
+        final Future<MessageSender> senderTracker = getTelemetrySender(tenant);
+        final Map<String, Future<JsonObject>> assertions = new HashMap<>();
+
+        BulkOperations.processImport(ctx, BulkOperations.DEFAULT_BATCH_SIZE, getMaxRecordSize(),
+                getConfig().getMaxBatchRecords(), batch -> {
+
+            return CompositeFuture.all(tenantConfigTracker, senderTracker).compose(ok -> {
+                // look up assertions of all devices not seen before in parallel
+                final List<Future> lookups = new ArrayList<>();
+                for (final JsonObject record : batch) {
+                    final String deviceId = record.getString(RequestResponseApiConstants.FIELD_PAYLOAD_DEVICE_ID, defaultDeviceId);
+                    if (deviceId != null && !assertions.containsKey(deviceId)) {
+                        final Future<JsonObject> assertion = getRegistrationAssertion(tenant, deviceId, authenticatedDevice);
+                        assertions.put(deviceId, assertion);
+                        lookups.add(assertion);
+                    }
+                }
+                final Future<CompositeFuture> lookupTracker = Future.future();
+                CompositeFuture.join(lookups).setHandler(done -> lookupTracker.complete());
+                return lookupTracker;
+            }).compose(ok -> {
+                final JsonArray results = new JsonArray();
+                Future<Void> sendTracker = Future.succeededFuture();
+                for (final JsonObject record : batch) {
+                    sendTracker = sendTracker.compose(previous -> uploadTelemetryRecord(
+                            ctx, tenant, record, defaultDeviceId, assertions, senderTracker.result()).map(results::add)).mapEmpty();
+                }
+                return sendTracker.map(done -> results);
+            });
+        });
+    }
+
+    private Future<JsonObject> uploadTelemetryRecord(
+            final RoutingContext ctx,
+            final String tenant,
+            final JsonObject record,
+            final String defaultDeviceId,
+            final Map<String, Future<JsonObject>> assertions,
+            final MessageSender sender) {
+
+        final String deviceId = record.getString(RequestResponseApiConstants.FIELD_PAYLOAD_DEVICE_ID, defaultDeviceId);
+        final Object payloadValue = record.getValue(RequestResponseApiConstants.FIELD_PAYLOAD);
+        final String contentType = record.getString(MessageHelper.SYS_PROPERTY_CONTENT_TYPE,
+                payloadValue instanceof String ? null : HttpUtils.CONTENT_TYPE_JSON);
+        final Buffer payload;
+        if (payloadValue == null) {
+            payload = null;
+        } else if (payloadValue instanceof String) {
+            payload = Buffer.buffer((String) payloadValue);
+        } else {
+            payload = Buffer.buffer(Json.encode(payloadValue));
+        }
+
+        final Future<ProtonDelivery> result;
+        if (deviceId == null) {
+            result = Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST, "missing device-id"));
+        } else if (contentType == null) {
+            result = Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST, "missing content-type"));
+        } else if (payload == null || payload.length() == 0) {
+            result = Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST, "missing payload"));
+        } else if (payload.length() > getConfig().getMaxPayloadSize()) {
+            result = Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_ENTITY_TOO_LARGE, "payload too large"));
+        } else {
+            result = assertions.get(deviceId).compose(assertion -> {
+                final Message downstreamMessage = newMessage(
+                        String.format("%s/%s", TelemetryConstants.TELEMETRY_ENDPOINT, tenant),
+                        deviceId,
+                        ctx.request().uri(),
+                        contentType,
+                        payload,
+                        assertion);
+                customizeDownstreamMessage(downstreamMessage, ctx);
+                return sendWithFlowControl(sender, downstreamMessage);
+            });
+        }
+
+        final Future<JsonObject> recordResult = Future.future();
+        result.setHandler(delivery -> {
+            final JsonObject outcome = new JsonObject().put(RequestResponseApiConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId);
+            if (delivery.succeeded()) {
+                metrics.incrementProcessedHttpMessages(TelemetryConstants.TELEMETRY_ENDPOINT, tenant);
+                outcome.put(MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_ACCEPTED);
+            } else {
+                LOG.debug("cannot process batched message for device [tenantId: {}, deviceId: {}]: {}",
+                        tenant, deviceId, delivery.cause().getMessage());
+                if (ServiceInvocationException.class.isInstance(delivery.cause())) {
+                    outcome.put(MessageHelper.APP_PROPERTY_STATUS, ((ServiceInvocationException) delivery.cause()).getErrorCode());
+                } else {
+                    outcome.put(MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_UNAVAILABLE);
+                }
+                if (!ClientErrorException.class.isInstance(delivery.cause())) {
+                    metrics.incrementUndeliverableHttpMessages(TelemetryConstants.TELEMETRY_ENDPOINT, tenant);
+                }
+                outcome.put(RequestResponseApiConstants.FIELD_ERROR, delivery.cause().getMessage());
+            }
+            recordResult.complete(outcome);
+        });
+        return recordResult;
+    }
+
+    /**
+     * Gets the maximum size of a single record of a batch of telemetry data.
+     * <p>
+     * The record contains the JSON encoded payload, which may be larger than the
+     * payload itself, e.g. because of escaped characters. This method therefore
+     * returns twice the maximum payload size plus {@value #MAX_RECORD_OVERHEAD} bytes for
+     * the record's other properties. The decoded payload is still limited to the
+     * maximum payload size.
+     *
+     * @return The size in bytes.
+     */
+    protected final int getMaxRecordSize() {
+        return 2 * getConfig().getMaxPayloadSize() + MAX_RECORD_OVERHEAD;
+    }
+
+    private Future<ProtonDelivery> sendWithFlowControl(final MessageSender sender, final Message message) {
+
+        // wait for the sender to be able to accept the next message so that a large batch
+        // does not run out of credit, unless another request is already waiting for credit
+        try {
+            final Future<Void> capacityAvailable = Future.future();
+            final Future<ProtonDelivery> delivery = sender.send(message, capacityAvailable::complete);
+            final Future<ProtonDelivery> result = Future.future();
+            final long timerId = vertx.setTimer(getConfig().getBatchSendTimeout(), expired -> {
+                result.tryFail(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "no credit available"));
+            });
+            CompositeFuture.all(delivery, capacityAvailable).setHandler(sent -> {
+                vertx.cancelTimer(timerId);
+                if (sent.succeeded()) {
+                    result.tryComplete(delivery.result());
+                } else {
+                    result.tryFail(sent.cause());
+                }
+            });
+            return result;
+        } catch (final IllegalStateException e) {
+            return sender.send(message);
+        }
+    }
+
     private void doUploadMessage(final RoutingContext ctx, final String tenant, final String deviceId,
             final Buffer payload, final String contentType, final Future<MessageSender> senderTracker, final String endpointName) {
 
@@ -488,7 +746,7 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
             final Future<JsonObject> tokenTracker = getRegistrationAssertion(tenant, deviceId, authenticatedDevice);
             final Future<TenantObject> tenantConfigTracker = getTenantConfiguration(tenant);
 
-            CompositeFuture.all(tokenTracker, tenantConfigTracker, senderTracker).compose(ok -> {
+            CompositeFuture.all(tokenTracker, tenantConfigTracker).compose(ok -> {
 
                 if (tenantConfigTracker.result().isAdapterEnabled(getTypeName())) {
                     final Message downstreamMessage = newMessage(
@@ -499,7 +757,10 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
                             payload,
                             tokenTracker.result());
                     customizeDownstreamMessage(downstreamMessage, ctx);
-                    return senderTracker.result().send(downstreamMessage);
+                    if (EventConstants.EVENT_ENDPOINT.equals(endpointName)) {
+                        return sendEvent(senderTracker, tenant, downstreamMessage, false);
+                    }
+                    return senderTracker.compose(sender -> sender.send(downstreamMessage));
                 } else {
                     // this adapter is not enabled for the tenant
                     return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_FORBIDDEN));
@@ -28,8 +28,31 @@ public class HttpProtocolAdapterProperties extends ProtocolAdapterProperties {
      * The default name of the realm that devices need to authenticate to.
      */
     public static final String DEFAULT_REALM = "Hono";
+    /**
+     * The default maximum number of concurrent HTTP/2 streams per connection.
+     */
+    public static final int DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS = 100;
+    /**
+     * The default initial HTTP/2 flow-control window size of a stream in bytes.
+     */
+    public static final int DEFAULT_HTTP2_INITIAL_WINDOW_SIZE = 65535;
+    /**
+     * The default maximum number of records contained in a batch of telemetry data.
+     */
+    public static final int DEFAULT_MAX_BATCH_RECORDS = 10000;
+    /**
+     * The default number of milliseconds to wait for credit when sending a record of a batch.
+     */
+    public static final long DEFAULT_BATCH_SEND_TIMEOUT = 5000L;
+
     private String realm = DEFAULT_REALM;
     private String corsAllowedOrigin = "*";
+    private boolean http2Enabled = false;
+    private int http2MaxConcurrentStreams = DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS;
+    private int http2InitialWindowSize = DEFAULT_HTTP2_INITIAL_WINDOW_SIZE;
+    private int http2ConnectionWindowSize = -1;
+    private int maxBatchRecords = DEFAULT_MAX_BATCH_RECORDS;
+    private long batchSendTimeout = DEFAULT_BATCH_SEND_TIMEOUT;
 
     /**
      * Gets the name of the realm that unauthenticated devices are prompted to provide credentials for.
@@ -90,4 +113,175 @@ public class HttpProtocolAdapterProperties extends ProtocolAdapterProperties {
         this.corsAllowedOrigin = Objects.requireNonNull(corsAllowedOrigin);
     }
 
+    /**
+     * Checks if devices may use HTTP/2 for connecting to the secure port.
+     * <p>
+     * If enabled, the protocol (HTTP/2 or HTTP/1.1) is negotiated using TLS ALPN.
+     * <p>
+     * The default value is {@code false}.
+     *
+     * @return {@code true} if HTTP/2 should be offered on the secure port.
+     */
+    public final boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    /**
+     * Sets whether devices may use HTTP/2 for connecting to the secure port.
+     * <p>
+     * If enabled, the protocol (HTTP/2 or HTTP/1.1) is negotiated using TLS ALPN.
+     * <p>
+     * The default value is {@code false}.
+     *
+     * @param enabled {@code true} if HTTP/2 should be offered on the secure port.
+     */
+    public final void setHttp2Enabled(final boolean enabled) {
+        this.http2Enabled = enabled;
+    }
+
+    /**
+     * Gets the maximum number of streams that a device may open concurrently
+     * on a single HTTP/2 connection.
+     * <p>
+     * The default value is {@link #DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS}.
+     *
+     * @return The number of streams.
+     */
+    public final int getHttp2MaxConcurrentStreams() {
+        return http2MaxConcurrentStreams;
+    }
+
+    /**
+     * Sets the maximum number of streams that a device may open concurrently
+     * on a single HTTP/2 connection.
+     * <p>
+     * The default value is {@link #DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS}.
+     *
+     * @param maxStreams The number of streams.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    public final void setHttp2MaxConcurrentStreams(final int maxStreams) {
+        if (maxStreams < 1) {
+            throw new IllegalArgumentException("max concurrent streams must be > 0");
+        }
+        this.http2MaxConcurrentStreams = maxStreams;
+    }
+
+    /**
+     * Gets the initial flow-control window size of an HTTP/2 stream.
+     * <p>
+     * This is the number of bytes that a device may send on a stream before
+     * the adapter needs to acknowledge their processing.
+     * <p>
+     * The default value is {@link #DEFAULT_HTTP2_INITIAL_WINDOW_SIZE}.
+     *
+     * @return The window size in bytes.
+     */
+    public final int getHttp2InitialWindowSize() {
+        return http2InitialWindowSize;
+    }
+
+    /**
+     * Sets the initial flow-control window size of an HTTP/2 stream.
+     * <p>
+     * The default value is {@link #DEFAULT_HTTP2_INITIAL_WINDOW_SIZE}.
+     *
+     * @param size The window size in bytes.
+     * @throws IllegalArgumentException if the size is &lt; 0.
+     */
+    public final void setHttp2InitialWindowSize(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("initial window size must be >= 0");
+        }
+        this.http2InitialWindowSize = size;
+    }
+
+    /**
+     * Gets the flow-control window size of an HTTP/2 connection.
+     * <p>
+     * This is the number of bytes that a device may send on all streams of
+     * a connection before the adapter needs to acknowledge their processing.
+     * <p>
+     * The default value is -1 which means that the window size defined by
+     * the HTTP/2 specification (65535 bytes) is used.
+     *
+     * @return The window size in bytes or -1 if the default should be used.
+     */
+    public final int getHttp2ConnectionWindowSize() {
+        return http2ConnectionWindowSize;
+    }
+
+    /**
+     * Sets the flow-control window size of an HTTP/2 connection.
+     * <p>
+     * The default value is -1 which means that the window size defined by
+     * the HTTP/2 specification (65535 bytes) is used.
+     *
+     * @param size The window size in bytes or -1 if the default should be used.
+     */
+    public final void setHttp2ConnectionWindowSize(final int size) {
+        this.http2ConnectionWindowSize = size;
+    }
+
+    /**
+     * Gets the maximum number of records that a batch of telemetry data may contain.
+     * <p>
+     * Batches containing more records are rejected with a 413 status.
+     * <p>
+     * The default value is {@link #DEFAULT_MAX_BATCH_RECORDS}.
+     *
+     * @return The number of records.
+     */
+    public final int getMaxBatchRecords() {
+        return maxBatchRecords;
+    }
+
+    /**
+     * Sets the maximum number of records that a batch of telemetry data may contain.
+     * <p>
+     * Batches containing more records are rejected with a 413 status.
+     * <p>
+     * The default value is {@link #DEFAULT_MAX_BATCH_RECORDS}.
+     *
+     * @param records The number of records.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    public final void setMaxBatchRecords(final int records) {
+        if (records < 1) {
+            throw new IllegalArgumentException("max batch records must be > 0");
+        }
+        this.maxBatchRecords = records;
+    }
+
+    /**
+     * Gets the maximum time to wait for the telemetry sender to be replenished
+     * with credit when sending a record of a batch.
+     * <p>
+     * Records that cannot be sent within this time are reported with a 503 status.
+     * <p>
+     * The default value is {@link #DEFAULT_BATCH_SEND_TIMEOUT}.
+     *
+     * @return The timeout in milliseconds.
+     */
+    public final long getBatchSendTimeout() {
+        return batchSendTimeout;
+    }
+
+    /**
+     * Sets the maximum time to wait for the telemetry sender to be replenished
+     * with credit when sending a record of a batch.
+     * <p>
+     * Records that cannot be sent within this time are reported with a 503 status.
+     * <p>
+     * The default value is {@link #DEFAULT_BATCH_SEND_TIMEOUT}.
+     *
+     * @param millis The timeout in milliseconds.
+     * @throws IllegalArgumentException if the timeout is &lt; 1.
+     */
+    public final void setBatchSendTimeout(final long millis) {
+        if (millis < 1) {
+            throw new IllegalArgumentException("batch send timeout must be > 0");
+        }
+        this.batchSendTimeout = millis;
+    }
 }
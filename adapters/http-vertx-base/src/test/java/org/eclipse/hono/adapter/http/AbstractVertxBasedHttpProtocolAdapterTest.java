@@ -16,6 +16,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.net.HttpURLConnection;
+import java.util.function.BiConsumer;
 
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.ClientErrorException;
@@ -23,7 +24,10 @@ import org.eclipse.hono.client.HonoClient;
 import org.eclipse.hono.client.MessageSender;
 import org.eclipse.hono.client.RegistrationClient;
 import org.eclipse.hono.client.TenantClient;
+import org.eclipse.hono.service.http.HttpUtils;
+import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.RequestResponseApiConstants;
 import org.eclipse.hono.util.TenantConstants;
 import org.eclipse.hono.util.TenantObject;
 import org.junit.Before;
@@ -35,10 +39,14 @@ import org.junit.runner.RunWith;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
@@ -293,6 +301,275 @@ public class AbstractVertxBasedHttpProtocolAdapterTest {
         verify(response).end();
     }
 
+    /**
+     * Verifies that the secure server negotiates HTTP/2 using ALPN if enabled
+     * and that both servers announce the configured HTTP/2 settings.
+     * 
+     * @param ctx The helper to use for running async tests on vertx.
+     */
+    @Test
+    public void testServerOptionsContainHttp2Settings(final TestContext ctx) {
+
+        // GIVEN an adapter configured to support HTTP/2
+        config.setHttp2Enabled(true);
+        config.setHttp2MaxConcurrentStreams(500);
+        config.setHttp2InitialWindowSize(1024 * 1024);
+        config.setHttp2ConnectionWindowSize(8 * 1024 * 1024);
+        final AbstractVertxBasedHttpProtocolAdapter<HttpProtocolAdapterProperties> adapter = getAdapter(getHttpServer(false), null);
+
+        // WHEN creating the options for the servers
+        final HttpServerOptions secureOptions = adapter.getHttpServerOptions();
+        final HttpServerOptions insecureOptions = adapter.getInsecureHttpServerOptions();
+
+        // THEN the secure server uses ALPN
+        ctx.assertTrue(secureOptions.isUseAlpn());
+        ctx.assertTrue(secureOptions.getAlpnVersions().contains(HttpVersion.HTTP_2));
+        // and both servers use the configured settings
+        for (final HttpServerOptions options : new HttpServerOptions[] { secureOptions, insecureOptions }) {
+            ctx.assertEquals(500L, options.getInitialSettings().getMaxConcurrentStreams());
+            ctx.assertEquals(1024 * 1024, options.getInitialSettings().getInitialWindowSize());
+            ctx.assertEquals(8 * 1024 * 1024, options.getHttp2ConnectionWindowSize());
+        }
+    }
+
+    /**
+     * Verifies that the options for both the secure and the insecure server
+     * contain the configured transport settings.
+     *
+     * @param ctx The helper to use for running async tests on vertx.
+     */
+    @Test
+    public void testServerOptionsContainTransportSettings(final TestContext ctx) {
+
+        // GIVEN an adapter configured with custom transport settings
+        config.setReusePort(true);
+        config.setTcpNoDelay(false);
+        config.setTcpQuickAck(true);
+        config.setSendBufferSize(64 * 1024);
+        config.setReceiveBufferSize(32 * 1024);
+        final AbstractVertxBasedHttpProtocolAdapter<HttpProtocolAdapterProperties> adapter = getAdapter(getHttpServer(false), null);
+
+        // WHEN creating the options for the servers
+        // THEN both servers use the configured settings
+        for (final HttpServerOptions options : new HttpServerOptions[] { adapter.getHttpServerOptions(), adapter.getInsecureHttpServerOptions() }) {
+            ctx.assertTrue(options.isReusePort());
+            ctx.assertFalse(options.isTcpNoDelay());
+            ctx.assertTrue(options.isTcpQuickAck());
+            ctx.assertEquals(64 * 1024, options.getSendBufferSize());
+            ctx.assertEquals(32 * 1024, options.getReceiveBufferSize());
+        }
+    }
+
+    /**
+     * Verifies that the adapter forwards each record of a batch as an individual message,
+     * retrieves the registration assertion once per device only and reports the outcome
+     * of each record.
+     * 
+     * @param ctx The helper to use for running async tests on vertx.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUploadTelemetryBatchForwardsRecordsAndReportsStatus(final TestContext ctx) {
+
+        // GIVEN an adapter with a downstream telemetry consumer attached
+        final MessageSender sender = mock(MessageSender.class);
+        when(sender.send(any(Message.class), any(Handler.class))).thenAnswer(invocation -> {
+            final Handler<Void> capacityAvailableHandler = invocation.getArgument(1);
+            capacityAvailableHandler.handle(null);
+            return Future.succeededFuture(mock(ProtonDelivery.class));
+        });
+        when(messagingClient.getOrCreateTelemetrySender(anyString())).thenReturn(Future.succeededFuture(sender));
+        final AbstractVertxBasedHttpProtocolAdapter<HttpProtocolAdapterProperties> adapter = getAdapter(getHttpServer(false), null);
+
+        // WHEN a gateway uploads a batch containing records of two devices and a record without payload
+        final Buffer body = Buffer.buffer()
+                .appendString(newRecord("device-a", "text/plain", "1").encode()).appendString("\n")
+                .appendString(newRecord("device-b", null, new JsonObject().put("temp", 5)).encode()).appendString("\n")
+                .appendString(newRecord("device-a", "text/plain", "2").encode()).appendString("\n")
+                .appendString(newRecord("device-b", "text/plain", null).encode()).appendString("\n");
+        final Async response = ctx.async();
+        uploadBatch(ctx, adapter, body, (status, lines) -> {
+
+            // THEN the request succeeds
+            ctx.assertEquals(HttpURLConnection.HTTP_OK, status);
+            // and the outcome of each record is reported in order
+            ctx.assertEquals(4, lines.length);
+            ctx.assertEquals("device-a", new JsonObject(lines[0]).getString(RequestResponseApiConstants.FIELD_PAYLOAD_DEVICE_ID));
+            ctx.assertEquals(HttpURLConnection.HTTP_ACCEPTED, new JsonObject(lines[0]).getInteger(MessageHelper.APP_PROPERTY_STATUS));
+            ctx.assertEquals(HttpURLConnection.HTTP_ACCEPTED, new JsonObject(lines[1]).getInteger(MessageHelper.APP_PROPERTY_STATUS));
+            ctx.assertEquals(HttpURLConnection.HTTP_ACCEPTED, new JsonObject(lines[2]).getInteger(MessageHelper.APP_PROPERTY_STATUS));
+            ctx.assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, new JsonObject(lines[3]).getInteger(MessageHelper.APP_PROPERTY_STATUS));
+            // and the valid records have been forwarded as individual messages
+            verify(sender, times(3)).send(any(Message.class), any(Handler.class));
+            // while the tenant and the devices' assertions have been retrieved only once
+            verify(tenantClient).get("tenant");
+            verify(regClient).assertRegistration(eq("device-a"), any());
+            verify(regClient).assertRegistration(eq("device-b"), any());
+            response.complete();
+        });
+    }
+
+    /**
+     * Verifies that the adapter fails the upload of a batch with a 403
+     * result if the adapter is disabled for the tenant.
+     * 
+     * @param ctx The helper to use for running async tests on vertx.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUploadTelemetryBatchFailsForDisabledTenant(final TestContext ctx) {
+
+        // GIVEN an adapter which is disabled for tenant "tenant"
+        final MessageSender sender = mock(MessageSender.class);
+        when(messagingClient.getOrCreateTelemetrySender(anyString())).thenReturn(Future.succeededFuture(sender));
+        final TenantObject tenantConfig = TenantObject.from("tenant", true);
+        tenantConfig.addAdapterConfiguration(new JsonObject()
+                .put(TenantConstants.FIELD_ADAPTERS_TYPE, ADAPTER_TYPE)
+                .put(TenantConstants.FIELD_ENABLED, false));
+        when(tenantClient.get("tenant")).thenReturn(Future.succeededFuture(tenantConfig));
+        final AbstractVertxBasedHttpProtocolAdapter<HttpProtocolAdapterProperties> adapter = getAdapter(getHttpServer(false), null);
+
+        // WHEN a device uploads a batch
+        final Buffer body = Buffer.buffer(newRecord("device", "text/plain", "1").encode());
+        final Async response = ctx.async();
+        uploadBatch(ctx, adapter, body, (status, lines) -> {
+
+            // THEN the device gets a 403
+            ctx.assertEquals(HttpURLConnection.HTTP_FORBIDDEN, status);
+            // and no message has been forwarded downstream
+            verify(sender, never()).send(any(Message.class), any(Handler.class));
+            response.complete();
+        });
+    }
+
+    /**
+     * Verifies that the adapter rejects a batch containing more than the
+     * configured maximum number of records with a 413.
+     * 
+     * @param ctx The helper to use for running async tests on vertx.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUploadTelemetryBatchRejectsTooManyRecords(final TestContext ctx) {
+
+        // GIVEN an adapter accepting batches of at most two records
+        config.setMaxBatchRecords(2);
+        final MessageSender sender = mock(MessageSender.class);
+        when(messagingClient.getOrCreateTelemetrySender(anyString())).thenReturn(Future.succeededFuture(sender));
+        final AbstractVertxBasedHttpProtocolAdapter<HttpProtocolAdapterProperties> adapter = getAdapter(getHttpServer(false), null);
+
+        // WHEN a device uploads a batch containing three records
+        final Buffer body = Buffer.buffer();
+        for (int i = 0; i < 3; i++) {
+            body.appendString(newRecord("device", "text/plain", String.valueOf(i)).encode()).appendString("\n");
+        }
+        final Async response = ctx.async();
+        uploadBatch(ctx, adapter, body, (status, lines) -> {
+
+            // THEN the device gets a 413
+            ctx.assertEquals(HttpURLConnection.HTTP_ENTITY_TOO_LARGE, status);
+            // and no message has been forwarded downstream
+            verify(sender, never()).send(any(Message.class), any(Handler.class));
+            response.complete();
+        });
+    }
+
+    /**
+     * Verifies that the adapter rejects a batch containing a record that exceeds
+     * the maximum record size with a 413.
+     * 
+     * @param ctx The helper to use for running async tests on vertx.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUploadTelemetryBatchRejectsTooLargeRecord(final TestContext ctx) {
+
+        // GIVEN an adapter accepting payloads of at most 200 bytes
+        config.setMaxPayloadSize(200);
+        final MessageSender sender = mock(MessageSender.class);
+        when(messagingClient.getOrCreateTelemetrySender(anyString())).thenReturn(Future.succeededFuture(sender));
+        final AbstractVertxBasedHttpProtocolAdapter<HttpProtocolAdapterProperties> adapter = getAdapter(getHttpServer(false), null);
+
+        // WHEN a device uploads a batch containing a record exceeding the maximum record size
+        final StringBuilder payload = new StringBuilder();
+        for (int i = 0; i <= adapter.getMaxRecordSize(); i++) {
+            payload.append('x');
+        }
+        final Buffer body = Buffer.buffer(newRecord("device", "text/plain", payload.toString()).encode());
+        final Async response = ctx.async();
+        uploadBatch(ctx, adapter, body, (status, lines) -> {
+
+            // THEN the device gets a 413
+            ctx.assertEquals(HttpURLConnection.HTTP_ENTITY_TOO_LARGE, status);
+            // and no message has been forwarded downstream
+            verify(sender, never()).send(any(Message.class), any(Handler.class));
+            response.complete();
+        });
+    }
+
+    /**
+     * Verifies that the adapter reports a 503 for a record of a batch if the
+     * telemetry sender is not replenished with credit within the batch send timeout.
+     * 
+     * @param ctx The helper to use for running async tests on vertx.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUploadTelemetryBatchReportsRecordsTimingOutWaitingForCredit(final TestContext ctx) {
+
+        // GIVEN an adapter with a downstream telemetry consumer that does not replenish credit
+        config.setBatchSendTimeout(100);
+        final MessageSender sender = mock(MessageSender.class);
+        when(sender.send(any(Message.class), any(Handler.class))).thenReturn(Future.succeededFuture(mock(ProtonDelivery.class)));
+        when(messagingClient.getOrCreateTelemetrySender(anyString())).thenReturn(Future.succeededFuture(sender));
+        final AbstractVertxBasedHttpProtocolAdapter<HttpProtocolAdapterProperties> adapter = getAdapter(getHttpServer(false), null);
+
+        // WHEN a device uploads a batch
+        final Buffer body = Buffer.buffer(newRecord("device", "text/plain", "1").encode());
+        final Async response = ctx.async();
+        uploadBatch(ctx, adapter, body, (status, lines) -> {
+
+            // THEN the request succeeds
+            ctx.assertEquals(HttpURLConnection.HTTP_OK, status);
+            // but the record is reported with a 503 once the timeout has expired
+            ctx.assertEquals(1, lines.length);
+            ctx.assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, new JsonObject(lines[0]).getInteger(MessageHelper.APP_PROPERTY_STATUS));
+            response.complete();
+        });
+    }
+
+    private static JsonObject newRecord(final String deviceId, final String contentType, final Object payload) {
+
+        final JsonObject record = new JsonObject().put(RequestResponseApiConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId);
+        if (contentType != null) {
+            record.put(MessageHelper.SYS_PROPERTY_CONTENT_TYPE, contentType);
+        }
+        if (payload != null) {
+            record.put(RequestResponseApiConstants.FIELD_PAYLOAD, payload);
+        }
+        return record;
+    }
+
+    private void uploadBatch(
+            final TestContext ctx,
+            final AbstractVertxBasedHttpProtocolAdapter<HttpProtocolAdapterProperties> adapter,
+            final Buffer body,
+            final BiConsumer<Integer, String[]> responseHandler) {
+
+        final Vertx vertx = Vertx.vertx();
+        adapter.init(vertx, vertx.getOrCreateContext());
+        final Router router = Router.router(vertx);
+        router.put("/telemetry/tenant").handler(routingContext -> adapter.uploadTelemetryBatch(routingContext, "tenant", null));
+        vertx.createHttpServer().requestHandler(router::accept).listen(0, "localhost", ctx.asyncAssertSuccess(server -> {
+            vertx.createHttpClient().put(server.actualPort(), "localhost", "/telemetry/tenant", res -> {
+                res.bodyHandler(responseBody -> {
+                    responseHandler.accept(res.statusCode(), responseBody.toString().split("\n"));
+                    vertx.close();
+                });
+            }).putHeader(HttpHeaders.CONTENT_TYPE, HttpUtils.CONTENT_TYPE_NDJSON).end(body);
+        }));
+    }
+
     private static RoutingContext newRoutingContext(final Buffer payload) {
         return newRoutingContext(payload, mock(HttpServerResponse.class));
     }
@@ -22,6 +22,7 @@ import org.eclipse.hono.adapter.http.HttpProtocolAdapterProperties;
 import org.eclipse.hono.service.auth.device.Device;
 import org.eclipse.hono.service.auth.device.HonoClientBasedAuthProvider;
 import org.eclipse.hono.service.auth.device.UsernamePasswordAuthProvider;
+import org.eclipse.hono.service.http.BulkOperations;
 import org.eclipse.hono.service.http.HttpUtils;
 import org.eclipse.hono.util.Constants;
 import org.slf4j.Logger;
@@ -75,7 +76,11 @@ public final class VertxBasedHttpProtocolAdapter extends AbstractVertxBasedHttpP
         if (getConfig().isAuthenticationRequired()) {
 
             final HonoClientBasedAuthProvider authProvider = Optional.ofNullable(usernamePasswordAuthProvider)
-                .orElse(new UsernamePasswordAuthProvider(getCredentialsServiceClient(), getConfig()));
+                .orElseGet(() -> {
+                    final UsernamePasswordAuthProvider provider = new UsernamePasswordAuthProvider(getCredentialsServiceClient(), getConfig());
+                    provider.setValidationExecutor(getCredentialsValidationExecutor(getMetrics()));
+                    return provider;
+                });
 
             final Handler<RoutingContext> basicAuthHandler = new HonoBasicAuthHandler(authProvider, getConfig().getRealm());
             addTelemetryApiRoutes(router, basicAuthHandler);
@@ -109,6 +114,12 @@ public final class VertxBasedHttpProtocolAdapter extends AbstractVertxBasedHttpP
             // require Basic auth for POSTing telemetry
             router.route(HttpMethod.POST, "/telemetry").handler(basicAuthHandler);
 
+            // route for posting a batch of telemetry data using tenant and (default) device ID
+            // determined as part of device authentication
+            BulkOperations.markImportRoute(router, HttpMethod.POST, "/telemetry");
+            router.route(HttpMethod.POST, "/telemetry").consumes(HttpUtils.CONTENT_TYPE_NDJSON)
+                .handler(this::handlePostTelemetryBatch);
+
             // route for posting telemetry data using tenant and device ID determined as part of
             // device authentication
             router.route(HttpMethod.POST, "/telemetry").handler(this::handlePostTelemetry);
@@ -118,8 +129,16 @@ public final class VertxBasedHttpProtocolAdapter extends AbstractVertxBasedHttpP
             // assert that authenticated device's tenant matches tenant from path variables
             router.route(HttpMethod.PUT, String.format("/telemetry/:%s/:%s", PARAM_TENANT, PARAM_DEVICE_ID))
                 .handler(this::assertTenant);
+            router.route(HttpMethod.PUT, String.format("/telemetry/:%s", PARAM_TENANT))
+                .handler(this::assertTenant);
         }
 
+        // route for uploading a batch of telemetry data
+        BulkOperations.markImportRoute(router, HttpMethod.PUT, String.format("/telemetry/:%s", PARAM_TENANT));
+        router.route(HttpMethod.PUT, String.format("/telemetry/:%s", PARAM_TENANT)).consumes(HttpUtils.CONTENT_TYPE_NDJSON)
+                .handler(ctx -> uploadTelemetryBatch(ctx, getTenantParam(ctx),
+                        Optional.ofNullable(getAuthenticatedDevice(ctx)).map(Device::getDeviceId).orElse(null)));
+
         // route for uploading telemetry data
         router.route(HttpMethod.PUT, String.format("/telemetry/:%s/:%s", PARAM_TENANT, PARAM_DEVICE_ID))
                 .handler(ctx -> uploadTelemetryMessage(ctx, getTenantParam(ctx), getDeviceIdParam(ctx)));
@@ -179,6 +198,16 @@ public final class VertxBasedHttpProtocolAdapter extends AbstractVertxBasedHttpP
         }
     }
 
+    void handlePostTelemetryBatch(final RoutingContext ctx) {
+
+        if (Device.class.isInstance(ctx.user())) {
+            Device device = (Device) ctx.user();
+            uploadTelemetryBatch(ctx, device.getTenantId(), device.getDeviceId());
+        } else {
+            handle401(ctx);
+        }
+    }
+
     void handlePostEvent(final RoutingContext ctx) {
 
         if (Device.class.isInstance(ctx.user())) {
@@ -15,6 +15,7 @@ package org.eclipse.hono.adapter.mqtt;
 
 import java.net.HttpURLConnection;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.ClientErrorException;
@@ -150,6 +151,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
                 .setHost(getConfig().getBindAddress())
                 .setPort(determineSecurePort())
                 .setMaxMessageSize(getConfig().getMaxPayloadSize());
+            addTransportOptions(options);
             addTlsKeyCertOptions(options);
             addTlsTrustOptions(options);
 
@@ -172,6 +174,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
                 .setHost(getConfig().getInsecurePortBindAddress())
                 .setPort(determineInsecurePort())
                 .setMaxMessageSize(getConfig().getMaxPayloadSize());
+            addTransportOptions(options);
 
             return bindMqttServer(options, insecureServer).map(server -> {
                 insecureServer = server;
@@ -217,7 +220,9 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
         .compose(s -> bindInsecureMqttServer())
         .compose(t -> {
             if (usernamePasswordAuthProvider == null) {
-                usernamePasswordAuthProvider = new UsernamePasswordAuthProvider(getCredentialsServiceClient(), getConfig());
+                final UsernamePasswordAuthProvider provider = new UsernamePasswordAuthProvider(getCredentialsServiceClient(), getConfig());
+                provider.setValidationExecutor(getCredentialsValidationExecutor(metrics));
+                usernamePasswordAuthProvider = provider;
             }
             startFuture.complete();
         }, startFuture);
@@ -248,7 +253,8 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
      * Invoked when a client sends its <em>CONNECT</em> packet.
      * <p>
      * Authenticates the client (if required) and registers handlers for processing
-     * messages published by the client.
+     * messages published by the client. The connection request is rejected with
+     * a <em>server unavailable</em> return code while this adapter is overloaded.
      * 
      * @param endpoint The MQTT endpoint representing the client.
      */
@@ -256,6 +262,13 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
 
         LOG.debug("connection request from client [clientId: {}]", endpoint.clientIdentifier());
 
+        if (isOverloaded()) {
+            LOG.debug("connection request from client [clientId: {}] rejected, adapter is overloaded",
+                    endpoint.clientIdentifier());
+            endpoint.reject(MqttConnectReturnCode.CONNECTION_REFUSED_SERVER_UNAVAILABLE);
+            return;
+        }
+
         isConnected().map(ok -> {
             if (getConfig().isAuthenticationRequired()) {
                 handleEndpointConnectionWithAuthentication(endpoint);
@@ -352,14 +365,17 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
 
     private void onAuthenticationSuccess(final MqttEndpoint endpoint, final Device authenticatedDevice) {
 
+        // the device's tenant and identity never change during the connection's lifetime
+        final MqttDeviceSession session = new MqttDeviceSession(authenticatedDevice);
         endpoint.closeHandler(v -> {
+            session.invalidate();
             close(endpoint);
             LOG.debug("connection to device [tenant-id: {}, device-id: {}] closed",
                     authenticatedDevice.getTenantId(), authenticatedDevice.getDeviceId());
             metrics.decrementMqttConnections(authenticatedDevice.getTenantId());
         });
 
-        endpoint.publishHandler(message -> onPublishedMessage(new MqttContext(message, endpoint, authenticatedDevice)));
+        endpoint.publishHandler(message -> onPublishedMessage(new MqttContext(message, endpoint, authenticatedDevice, session)));
         endpoint.accept(false);
         metrics.incrementMqttConnections(authenticatedDevice.getTenantId());
     }
@@ -430,7 +446,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
                 Objects.requireNonNull(tenant),
                 Objects.requireNonNull(deviceId),
                 Objects.requireNonNull(payload),
-                getTelemetrySender(tenant),
+                () -> getTelemetrySender(tenant),
                 TelemetryConstants.TELEMETRY_ENDPOINT);
     }
 
@@ -459,25 +475,39 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
                 Objects.requireNonNull(tenant),
                 Objects.requireNonNull(deviceId),
                 Objects.requireNonNull(payload),
-                getEventSender(tenant),
+                () -> getEventSender(tenant),
                 EventConstants.EVENT_ENDPOINT);
     }
 
     private Future<Void> uploadMessage(final MqttContext ctx, final String tenant, final String deviceId,
-            final Buffer payload, final Future<MessageSender> senderTracker, final String endpointName) {
+            final Buffer payload, final Supplier<Future<MessageSender>> senderSupplier, final String endpointName) {
 
         if (payload.length() == 0) {
             return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST, "payload must not be empty"));
         } else {
 
-            final Future<JsonObject> tokenTracker = getRegistrationAssertion(tenant, deviceId, ctx.authenticatedDevice());
-            final Future<TenantObject> tenantConfigTracker = getTenantConfiguration(tenant);
+            final Supplier<Future<JsonObject>> tokenSupplier =
+                    () -> getRegistrationAssertion(tenant, deviceId, ctx.authenticatedDevice());
+            final Supplier<Future<TenantObject>> tenantConfigSupplier = () -> getTenantConfiguration(tenant);
+            final Future<JsonObject> tokenTracker;
+            final Future<TenantObject> tenantConfigTracker;
+            final Future<MessageSender> senderTracker;
+            final MqttDeviceSession session = ctx.session();
+            if (session != null && session.isFor(tenant, deviceId)) {
+                // use the values resolved for the connection instead of looking them up again
+                tokenTracker = session.getRegistrationAssertion(tokenSupplier);
+                tenantConfigTracker = session.getTenantConfiguration(tenantConfigSupplier);
+                senderTracker = session.getSender(endpointName, senderSupplier);
+            } else {
+                tokenTracker = tokenSupplier.get();
+                tenantConfigTracker = tenantConfigSupplier.get();
+                senderTracker = senderSupplier.get();
+            }
 
-            return CompositeFuture.all(tokenTracker, tenantConfigTracker, senderTracker).compose(ok -> {
+            return CompositeFuture.all(tokenTracker, tenantConfigTracker).compose(ok -> {
 
                 if (tenantConfigTracker.result().isAdapterEnabled(getTypeName())) {
 
-                    final MessageSender sender = senderTracker.result();
                     final Message downstreamMessage = newMessage(
                             String.format("%s/%s", endpointName, tenant),
                             deviceId,
@@ -488,11 +518,17 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
 
                     customizeDownstreamMessage(downstreamMessage, ctx);
 
-                    if (ctx.message().qosLevel() == MqttQoS.AT_LEAST_ONCE) {
-                        return sender.sendAndWaitForOutcome(downstreamMessage);
-                    } else {
-                        return sender.send(downstreamMessage);
+                    final boolean waitForOutcome = ctx.message().qosLevel() == MqttQoS.AT_LEAST_ONCE;
+                    if (EventConstants.EVENT_ENDPOINT.equals(endpointName)) {
+                        return sendEvent(senderTracker, tenant, downstreamMessage, waitForOutcome);
                     }
+                    return senderTracker.compose(sender -> {
+                        if (waitForOutcome) {
+                            return sender.sendAndWaitForOutcome(downstreamMessage);
+                        } else {
+                            return sender.send(downstreamMessage);
+                        }
+                    });
                 } else {
                     // this adapter is not enabled for the tenant
                     return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_FORBIDDEN));
@@ -30,6 +30,7 @@ public final class MqttContext {
     private final MqttPublishMessage message;
     private final MqttEndpoint deviceEndpoint;
     private final Device authenticatedDevice;
+    private final MqttDeviceSession session;
 
     private String contentType;
 
@@ -62,9 +63,29 @@ public final class MqttContext {
             final MqttEndpoint deviceEndpoint,
             final Device authenticatedDevice) {
 
+        this(publishedMessage, deviceEndpoint, authenticatedDevice, null);
+    }
+
+    /**
+     * Creates a new context for a message published over an authenticated connection.
+     * 
+     * @param publishedMessage The published MQTT message.
+     * @param deviceEndpoint The endpoint representing the device
+     *                       that has published the message.
+     * @param authenticatedDevice The authenticated device identity.
+     * @param session The session of the connection (may be {@code null}).
+     * @throws NullPointerException if message or endpoint are {@code null}.
+     */
+    MqttContext(
+            final MqttPublishMessage publishedMessage,
+            final MqttEndpoint deviceEndpoint,
+            final Device authenticatedDevice,
+            final MqttDeviceSession session) {
+
         this.message = Objects.requireNonNull(publishedMessage);
         this.deviceEndpoint = Objects.requireNonNull(deviceEndpoint);
         this.authenticatedDevice = authenticatedDevice;
+        this.session = session;
     }
 
     /**
@@ -97,6 +118,15 @@ public final class MqttContext {
         return authenticatedDevice;
     }
 
+    /**
+     * Gets the session of the connection that the message has been published on.
+     * 
+     * @return The session or {@code null} if the device has not been authenticated.
+     */
+    MqttDeviceSession session() {
+        return session;
+    }
+
     /**
      * Gets the content type of the message payload.
      * 
@@ -0,0 +1,258 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.adapter.mqtt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.eclipse.hono.client.MessageSender;
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.service.auth.device.Device;
+import org.eclipse.hono.util.JwtHelper;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.TenantObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The state of an authenticated device's connection to the MQTT adapter.
+ * <p>
+ * The tenant and device of an authenticated connection never change. The session
+ * therefore keeps the tenant's configuration, the device's registration assertion
+ * and the senders used for forwarding the device's messages so that they do not
+ * need to be looked up again for every message that the device publishes.
+ * <p>
+ * Values are refreshed in the background once a given fraction of their lifetime
+ * has passed while the current value continues to be used. If a refresh fails
+ * because the service is unavailable (including timeouts), the current value is
+ * used until it expires. If the service rejects the lookup, e.g. because the device
+ * has been disabled, the value is removed so that subsequent lookups fail.
+ * Senders are looked up again once their link has been closed.
+ * <p>
+ * Instances of this class are not thread safe and are expected to be used on the
+ * event loop of the connection only.
+ */
+final class MqttDeviceSession {
+
+    /**
+     * The number of milliseconds after which a tenant's configuration is refreshed.
+     */
+    static final long TENANT_REFRESH_INTERVAL_MILLIS = 10_000;
+    /**
+     * The number of milliseconds after which a tenant's configuration is no longer used
+     * if it could not be refreshed.
+     */
+    static final long TENANT_MAX_AGE_MILLIS = 60_000;
+    /**
+     * The number of milliseconds before its expiration after which a registration
+     * assertion is no longer used so that it does not expire while in transit.
+     */
+    static final long ASSERTION_EXPIRATION_MARGIN_MILLIS = 1_000;
+    /**
+     * The number of milliseconds to wait before trying again to refresh a value.
+     */
+    static final long REFRESH_RETRY_INTERVAL_MILLIS = 1_000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(MqttDeviceSession.class);
+    private static final float REFRESH_THRESHOLD = 0.8f;
+
+    private final Device device;
+    private final LongSupplier clock;
+    private final CachedValue<TenantObject> tenant = new CachedValue<>();
+    private final CachedValue<JsonObject> assertion = new CachedValue<>();
+    private final Map<String, MessageSender> senders = new HashMap<>(2);
+
+    /**
+     * Creates a new session for an authenticated device.
+     *
+     * @param device The device.
+     * @throws NullPointerException if device is {@code null}.
+     */
+    MqttDeviceSession(final Device device) {
+        this(device, System::currentTimeMillis);
+    }
+
+    MqttDeviceSession(final Device device, final LongSupplier clock) {
+        this.device = Objects.requireNonNull(device);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Checks if this session can be used for a device's messages.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The device.
+     * @return {@code true} if the session belongs to the given device.
+     */
+    boolean isFor(final String tenantId, final String deviceId) {
+        return device.getTenantId().equals(tenantId) && device.getDeviceId().equals(deviceId);
+    }
+
+    /**
+     * Gets the configuration of the device's tenant.
+     *
+     * @param lookup The function to invoke for looking up the configuration if it is not
+     *               contained in this session yet or needs to be refreshed.
+     * @return A future indicating the outcome of the operation. The future is completed
+     *         immediately if the session contains a valid configuration.
+     */
+    Future<TenantObject> getTenantConfiguration(final Supplier<Future<TenantObject>> lookup) {
+        return tenant.get(lookup, config -> TENANT_MAX_AGE_MILLIS, TENANT_REFRESH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Gets the device's registration assertion.
+     * <p>
+     * The assertion is kept in this session until shortly before the expiration of
+     * the token it contains.
+     *
+     * @param lookup The function to invoke for looking up the assertion if it is not
+     *               contained in this session yet or needs to be refreshed.
+     * @return A future indicating the outcome of the operation. The future is completed
+     *         immediately if the session contains a valid assertion.
+     */
+    Future<JsonObject> getRegistrationAssertion(final Supplier<Future<JsonObject>> lookup) {
+        return assertion.get(lookup, this::getLifetime, -1);
+    }
+
+    private long getLifetime(final JsonObject registrationAssertion) {
+        try {
+            final String token = registrationAssertion.getString(RegistrationConstants.FIELD_ASSERTION);
+            return JwtHelper.getExpiration(token).getTime() - ASSERTION_EXPIRATION_MARGIN_MILLIS - clock.getAsLong();
+        } catch (final RuntimeException e) {
+            // not a token that we can determine the expiration of
+            LOG.debug("cannot determine expiration of registration assertion for device [tenant-id: {}, device-id: {}]",
+                    device.getTenantId(), device.getDeviceId());
+            return 0;
+        }
+    }
+
+    /**
+     * Gets the sender for forwarding the device's messages to an endpoint.
+     *
+     * @param endpoint The endpoint.
+     * @param lookup The function to invoke for getting the sender if the session does not
+     *               contain an open sender for the endpoint.
+     * @return A future indicating the outcome of the operation. The future is completed
+     *         immediately if the session contains an open sender.
+     */
+    Future<MessageSender> getSender(final String endpoint, final Supplier<Future<MessageSender>> lookup) {
+
+        final MessageSender sender = senders.get(endpoint);
+        if (sender != null && sender.isOpen()) {
+            return Future.succeededFuture(sender);
+        }
+        senders.remove(endpoint);
+        return lookup.get().map(newSender -> {
+            senders.put(endpoint, newSender);
+            return newSender;
+        });
+    }
+
+    /**
+     * Removes all values from this session.
+     * <p>
+     * This method should be invoked once the device's connection has been closed.
+     */
+    void invalidate() {
+        tenant.clear();
+        assertion.clear();
+        senders.clear();
+    }
+
+    /**
+     * A value along with the times at which it needs to be refreshed and at which it expires.
+     *
+     * @param <T> The type of value.
+     */
+    private final class CachedValue<T> {
+
+        private T value;
+        private long refreshTime;
+        private long expirationTime;
+        private boolean refreshing;
+
+        /**
+         * Gets the value.
+         *
+         * @param lookup The function for looking up the value.
+         * @param lifetime The function for determining the number of milliseconds that a value is valid.
+         * @param refreshInterval The number of milliseconds after which the value should be refreshed
+         *                        or -1 if the value should be refreshed after a fraction of its lifetime.
+         * @return The value. The future is failed if a refresh has failed with a
+         *         {@code ClientErrorException} right away.
+         */
+        Future<T> get(
+                final Supplier<Future<T>> lookup,
+                final ToLongFunction<T> lifetime,
+                final long refreshInterval) {
+
+            final long now = clock.getAsLong();
+            if (value != null && now < expirationTime) {
+                final T currentValue = value;
+                if (now >= refreshTime && !refreshing) {
+                    refreshing = true;
+                    final Future<T> refresh = lookup.get();
+                    refresh.setHandler(result -> {
+                        refreshing = false;
+                        if (result.succeeded()) {
+                            set(result.result(), lifetime, refreshInterval);
+                        } else if (result.cause() instanceof ServerErrorException) {
+                            // keep using the current value while the service is unavailable
+                            refreshTime = clock.getAsLong() + REFRESH_RETRY_INTERVAL_MILLIS;
+                        } else {
+                            // the service has rejected the lookup, e.g. because the device has been disabled
+                            LOG.debug("removing value from session of device [tenant-id: {}, device-id: {}]: {}",
+                                    device.getTenantId(), device.getDeviceId(), result.cause().getMessage());
+                            value = null;
+                        }
+                    });
+                    if (refresh.failed() && value == null) {
+                        return Future.failedFuture(refresh.cause());
+                    }
+                }
+                return Future.succeededFuture(currentValue);
+            }
+            value = null;
+            return lookup.get().map(newValue -> {
+                set(newValue, lifetime, refreshInterval);
+                return newValue;
+            });
+        }
+
+        private void set(final T newValue, final ToLongFunction<T> lifetime, final long refreshInterval) {
+
+            final long now = clock.getAsLong();
+            final long validity = lifetime.applyAsLong(newValue);
+            if (validity > 0) {
+                value = newValue;
+                expirationTime = now + validity;
+                refreshTime = now + (refreshInterval < 0 ? (long) (validity * REFRESH_THRESHOLD) : refreshInterval);
+            } else {
+                value = null;
+            }
+        }
+
+        void clear() {
+            value = null;
+        }
+    }
+}
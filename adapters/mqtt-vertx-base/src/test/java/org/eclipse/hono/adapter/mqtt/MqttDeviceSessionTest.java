@@ -0,0 +1,253 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.adapter.mqtt;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.client.MessageSender;
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.service.auth.device.Device;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.TenantObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Tests verifying behavior of {@link MqttDeviceSession}.
+ *
+ */
+public class MqttDeviceSessionTest {
+
+    private AtomicLong now;
+    private MqttDeviceSession session;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        now = new AtomicLong(System.currentTimeMillis());
+        session = new MqttDeviceSession(new Device("tenant", "device"), now::get);
+    }
+
+    /**
+     * Verifies that the session is used for the authenticated device only.
+     */
+    @Test
+    public void testIsForAuthenticatedDeviceOnly() {
+
+        assertTrue(session.isFor("tenant", "device"));
+        assertFalse(session.isFor("tenant", "other-device"));
+        assertFalse(session.isFor("other-tenant", "device"));
+    }
+
+    /**
+     * Verifies that the tenant configuration is looked up only once and is
+     * refreshed in the background after the refresh interval.
+     */
+    @Test
+    public void testGetTenantConfigurationRefreshesInBackground() {
+
+        final AtomicInteger lookups = new AtomicInteger();
+        final Supplier<Future<TenantObject>> lookup = () -> {
+            lookups.incrementAndGet();
+            return Future.succeededFuture(TenantObject.from("tenant", true));
+        };
+
+        final TenantObject config = session.getTenantConfiguration(lookup).result();
+        assertThat(session.getTenantConfiguration(lookup).result(), is(config));
+        assertThat(lookups.get(), is(1));
+
+        // once the refresh interval has passed, the current value is
+        // returned while the value is being refreshed
+        now.addAndGet(MqttDeviceSession.TENANT_REFRESH_INTERVAL_MILLIS);
+        assertThat(session.getTenantConfiguration(lookup).result(), is(config));
+        assertThat(lookups.get(), is(2));
+        assertThat(session.getTenantConfiguration(lookup).result(), is(not(config)));
+        assertThat(lookups.get(), is(2));
+    }
+
+    /**
+     * Verifies that the tenant configuration is removed from the session if
+     * a refresh is rejected by the service.
+     */
+    @Test
+    public void testGetTenantConfigurationRemovesValueOnClientError() {
+
+        final AtomicInteger lookups = new AtomicInteger();
+        final Future<TenantObject> refresh = Future.future();
+        final Supplier<Future<TenantObject>> lookup = () -> {
+            if (lookups.incrementAndGet() == 1) {
+                return Future.succeededFuture(TenantObject.from("tenant", true));
+            } else if (lookups.get() == 2) {
+                return refresh;
+            } else {
+                return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_NOT_FOUND));
+            }
+        };
+
+        final TenantObject config = session.getTenantConfiguration(lookup).result();
+
+        // the current value is returned while the value is being refreshed
+        now.addAndGet(MqttDeviceSession.TENANT_REFRESH_INTERVAL_MILLIS);
+        assertThat(session.getTenantConfiguration(lookup).result(), is(config));
+
+        // but once the service has rejected the refresh
+        refresh.fail(new ClientErrorException(HttpURLConnection.HTTP_FORBIDDEN));
+
+        // the value is no longer used
+        final Future<TenantObject> result = session.getTenantConfiguration(lookup);
+        assertTrue(result.failed());
+        assertThat(((ClientErrorException) result.cause()).getErrorCode(), is(HttpURLConnection.HTTP_NOT_FOUND));
+        assertThat(lookups.get(), is(3));
+    }
+
+    /**
+     * Verifies that a lookup failing right away with a client error fails the request
+     * for which the value has been refreshed.
+     */
+    @Test
+    public void testGetTenantConfigurationFailsOnImmediateClientError() {
+
+        final AtomicInteger lookups = new AtomicInteger();
+        final Supplier<Future<TenantObject>> lookup = () -> {
+            if (lookups.incrementAndGet() == 1) {
+                return Future.succeededFuture(TenantObject.from("tenant", true));
+            } else {
+                return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_FORBIDDEN));
+            }
+        };
+
+        session.getTenantConfiguration(lookup);
+        now.addAndGet(MqttDeviceSession.TENANT_REFRESH_INTERVAL_MILLIS);
+        assertTrue(session.getTenantConfiguration(lookup).failed());
+        assertThat(lookups.get(), is(2));
+    }
+
+    /**
+     * Verifies that the current tenant configuration continues to be used if
+     * a refresh fails because the service is unavailable.
+     */
+    @Test
+    public void testGetTenantConfigurationKeepsValueOnServerError() {
+
+        final AtomicInteger lookups = new AtomicInteger();
+        final Supplier<Future<TenantObject>> lookup = () -> {
+            if (lookups.incrementAndGet() == 1) {
+                return Future.succeededFuture(TenantObject.from("tenant", true));
+            } else {
+                return Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "request timed out"));
+            }
+        };
+
+        final TenantObject config = session.getTenantConfiguration(lookup).result();
+
+        now.addAndGet(MqttDeviceSession.TENANT_REFRESH_INTERVAL_MILLIS);
+        assertThat(session.getTenantConfiguration(lookup).result(), is(config));
+        assertThat(session.getTenantConfiguration(lookup).result(), is(config));
+        assertThat(lookups.get(), is(2));
+
+        // the refresh is retried after the retry interval
+        now.addAndGet(MqttDeviceSession.REFRESH_RETRY_INTERVAL_MILLIS);
+        assertThat(session.getTenantConfiguration(lookup).result(), is(config));
+        assertThat(lookups.get(), is(3));
+    }
+
+    /**
+     * Verifies that a registration assertion is kept until shortly before
+     * its token expires.
+     */
+    @Test
+    public void testGetRegistrationAssertionUsesTokenExpiration() {
+
+        final String token = Jwts.builder()
+                .setExpiration(new Date(now.get() + 11_000))
+                .signWith(SignatureAlgorithm.HS256, "a-secret-key-that-is-long-enough".getBytes(StandardCharsets.UTF_8))
+                .compact();
+        final AtomicInteger lookups = new AtomicInteger();
+        final Supplier<Future<JsonObject>> lookup = () -> {
+            lookups.incrementAndGet();
+            return Future.succeededFuture(new JsonObject().put(RegistrationConstants.FIELD_ASSERTION, token));
+        };
+
+        session.getRegistrationAssertion(lookup);
+        session.getRegistrationAssertion(lookup);
+        assertThat(lookups.get(), is(1));
+
+        // the assertion is considered expired one second before the token expires
+        now.addAndGet(10_000);
+        session.getRegistrationAssertion(lookup);
+        assertThat(lookups.get(), is(2));
+    }
+
+    /**
+     * Verifies that a registration assertion is not kept if the expiration
+     * of its token cannot be determined.
+     */
+    @Test
+    public void testGetRegistrationAssertionDoesNotKeepOpaqueToken() {
+
+        final AtomicInteger lookups = new AtomicInteger();
+        final Supplier<Future<JsonObject>> lookup = () -> {
+            lookups.incrementAndGet();
+            return Future.succeededFuture(new JsonObject().put(RegistrationConstants.FIELD_ASSERTION, "token"));
+        };
+
+        session.getRegistrationAssertion(lookup);
+        session.getRegistrationAssertion(lookup);
+        assertThat(lookups.get(), is(2));
+    }
+
+    /**
+     * Verifies that a sender is looked up again once its link has been closed.
+     */
+    @Test
+    public void testGetSenderReplacesClosedSender() {
+
+        final MessageSender sender = mock(MessageSender.class);
+        when(sender.isOpen()).thenReturn(Boolean.TRUE);
+        final AtomicInteger lookups = new AtomicInteger();
+        final Supplier<Future<MessageSender>> lookup = () -> {
+            lookups.incrementAndGet();
+            return Future.succeededFuture(sender);
+        };
+
+        session.getSender("telemetry", lookup);
+        assertThat(session.getSender("telemetry", lookup).result(), is(sender));
+        assertThat(lookups.get(), is(1));
+
+        when(sender.isOpen()).thenReturn(Boolean.FALSE);
+        session.getSender("telemetry", lookup);
+        assertThat(lookups.get(), is(2));
+    }
+}
@@ -13,11 +13,13 @@
 
 package org.eclipse.hono.client;
 
+import java.util.List;
 import java.util.Map;
 
 import org.apache.qpid.proton.message.Message;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.proton.ProtonDelivery;
@@ -135,6 +137,31 @@ public interface MessageSender {
      */
     Future<ProtonDelivery> send(Message message);
 
+    /**
+     * Sends a batch of AMQP 1.0 messages to the endpoint configured for this client.
+     * <p>
+     * The messages are sent in a single pass on this sender's context. As many messages
+     * as the sender's current credit allows are sent (in the order given), the remaining
+     * messages are not sent at all.
+     * <p>
+     * Sending a batch is more efficient than sending the messages one by one using
+     * {@link #send(Message)} because it requires a single task to be scheduled on the
+     * sender's context only. No task is scheduled at all if this method is invoked on the
+     * sender's context already.
+     * 
+     * @param messages The messages to send.
+     * @return A composite future containing a future per message (in the same order as
+     *         the given messages) which indicates the outcome of sending the message
+     *         as described for {@link #send(Message)}. In particular, the future for
+     *         a message that could not be sent due to a lack of credit will be failed with
+     *         a {@link ServerErrorException}.
+     *         <p>
+     *         The composite future will be completed once all messages' outcomes are known.
+     *         It will be succeeded if all messages have been sent successfully.
+     * @throws NullPointerException if the list is {@code null} or contains {@code null}.
+     */
+    CompositeFuture sendBatch(List<Message> messages);
+
     /**
      * Sends an AMQP 1.0 message to the peer and waits for the disposition indicating
      * the outcome of the transfer.
@@ -33,10 +33,20 @@ public class RequestResponseClientConfigProperties extends ClientConfigPropertie
      * The default timeout for cached responses in seconds until they are considered invalid.
      */
     public static final long DEFAULT_RESPONSE_CACHE_TIMEOUT = 600L;
+    /**
+     * The default fraction of a cached response's lifetime after which it is refreshed.
+     */
+    public static final float DEFAULT_RESPONSE_CACHE_REFRESH_THRESHOLD = 0f;
+    /**
+     * The default timeout for cached <em>not found</em> and <em>forbidden</em> responses in seconds.
+     */
+    public static final long DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT = 0L;
 
     private int responseCacheMinSize = DEFAULT_RESPONSE_CACHE_MIN_SIZE;
     private long responseCacheMaxSize = DEFAULT_RESPONSE_CACHE_MAX_SIZE;
     private long responseCacheDefaultTimeout = DEFAULT_RESPONSE_CACHE_TIMEOUT;
+    private float responseCacheRefreshThreshold = DEFAULT_RESPONSE_CACHE_REFRESH_THRESHOLD;
+    private long responseCacheNegativeTimeout = DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT;
 
     /**
      * Gets the minimum size of the response cache.
@@ -129,4 +139,76 @@ public class RequestResponseClientConfigProperties extends ClientConfigPropertie
         }
         this.responseCacheDefaultTimeout = timeout;
     }
+
+    /**
+     * Gets the fraction of a cached response's lifetime after which the response
+     * should be refreshed in the background.
+     * <p>
+     * A cached response that is requested after this fraction of its lifetime has
+     * passed will still be returned to the caller but the client will also send
+     * a request to the service in order to renew the cached response before it expires.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RESPONSE_CACHE_REFRESH_THRESHOLD}
+     * which means that cached responses are not refreshed ahead of expiration.
+     *
+     * @return The threshold.
+     */
+    public final float getResponseCacheRefreshThreshold() {
+        return responseCacheRefreshThreshold;
+    }
+
+    /**
+     * Sets the fraction of a cached response's lifetime after which the response
+     * should be refreshed in the background.
+     * <p>
+     * A cached response that is requested after this fraction of its lifetime has
+     * passed will still be returned to the caller but the client will also send
+     * a request to the service in order to renew the cached response before it expires.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RESPONSE_CACHE_REFRESH_THRESHOLD}
+     * which means that cached responses are not refreshed ahead of expiration.
+     *
+     * @param threshold The threshold or 0 to disable refreshing.
+     * @throws IllegalArgumentException if threshold is &lt; 0 or &gt;= 1.
+     */
+    public final void setResponseCacheRefreshThreshold(final float threshold) {
+        if (threshold < 0 || threshold >= 1) {
+            throw new IllegalArgumentException("refresh threshold must be >= 0 and < 1");
+        }
+        this.responseCacheRefreshThreshold = threshold;
+    }
+
+    /**
+     * Gets the period of time after which cached <em>not found</em> and <em>forbidden</em>
+     * responses are considered invalid.
+     * <p>
+     * This timeout is used for responses with status code 404 or 403 that do not
+     * contain a cache directive. Such responses are not cached at all if this property is 0.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT}.
+     *
+     * @return The timeout in seconds.
+     */
+    public final long getResponseCacheNegativeTimeout() {
+        return responseCacheNegativeTimeout;
+    }
+
+    /**
+     * Sets the period of time after which cached <em>not found</em> and <em>forbidden</em>
+     * responses should be considered invalid.
+     * <p>
+     * This timeout is used for responses with status code 404 or 403 that do not
+     * contain a cache directive. Such responses are not cached at all if this property is 0.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT}.
+     *
+     * @param timeout The timeout in seconds.
+     * @throws IllegalArgumentException if timeout is &lt; 0.
+     */
+    public final void setResponseCacheNegativeTimeout(final long timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout must not be negative");
+        }
+        this.responseCacheNegativeTimeout = timeout;
+    }
 }
@@ -35,6 +35,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.proton.ProtonConnection;
 import io.vertx.proton.ProtonMessageHandler;
 import io.vertx.proton.ProtonQoS;
@@ -109,6 +110,25 @@ public abstract class AbstractHonoClient {
         }
     }
 
+    /**
+     * Executes some code on this client's context.
+     * <p>
+     * The code is executed immediately if the current thread is already running
+     * on this client's context. Otherwise, it is scheduled for execution on the context.
+     * 
+     * @param codeToRun The code to execute.
+     * @throws NullPointerException if code is {@code null}.
+     */
+    protected final void executeOnContext(final Handler<Void> codeToRun) {
+
+        Objects.requireNonNull(codeToRun);
+        if (context == Vertx.currentContext()) {
+            codeToRun.handle(null);
+        } else {
+            context.runOnContext(codeToRun);
+        }
+    }
+
     /**
      * Closes this client's sender and receiver links to Hono.
      * 
@@ -277,6 +297,37 @@ public abstract class AbstractHonoClient {
             final ProtonMessageHandler messageHandler,
             final Handler<String> closeHook) {
 
+        return createReceiver(ctx, clientConfig, con, sourceAddress, qos, messageHandler, null, closeHook);
+    }
+
+    /**
+     * Creates a receiver link having desired capabilities.
+     * <p>
+     * The receiver will be created with its <em>autoAccept</em> property set to {@code true}.
+     * The capabilities offered by the peer can be retrieved from the link once it is open.
+     *
+     * @param ctx The vert.x context to use for establishing the link.
+     * @param clientConfig The configuration properties to use.
+     * @param con The connection to create the link for.
+     * @param sourceAddress The address to receive messages from.
+     * @param qos The quality of service to use for the link.
+     * @param messageHandler The handler to invoke with every message received.
+     * @param desiredCapabilities The capabilities to ask the peer for (may be {@code null}).
+     * @param closeHook The handler to invoke when the link is closed by the peer (may be {@code null}).
+     * @return A future for the created link. The future will be completed once the link is open.
+     *         The future will fail with a {@link ServiceInvocationException} if the link cannot be opened.
+     * @throws NullPointerException if any of the arguments other than capabilities and close hook is {@code null}.
+     */
+    protected static final Future<ProtonReceiver> createReceiver(
+            final Context ctx,
+            final ClientConfigProperties clientConfig,
+            final ProtonConnection con,
+            final String sourceAddress,
+            final ProtonQoS qos,
+            final ProtonMessageHandler messageHandler,
+            final Symbol[] desiredCapabilities,
+            final Handler<String> closeHook) {
+
         Objects.requireNonNull(ctx);
         Objects.requireNonNull(clientConfig);
         Objects.requireNonNull(con);
@@ -292,6 +343,9 @@ public abstract class AbstractHonoClient {
             receiver.setAutoAccept(true);
             receiver.setQoS(qos);
             receiver.setPrefetch(clientConfig.getInitialCredits());
+            if (desiredCapabilities != null) {
+                receiver.setDesiredCapabilities(desiredCapabilities);
+            }
             receiver.handler((delivery, message) -> {
                 messageHandler.handle(delivery, message);
                 if (LOG.isTraceEnabled()) {
@@ -20,7 +20,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
+import org.apache.qpid.proton.amqp.Symbol;
 import org.apache.qpid.proton.amqp.messaging.Accepted;
 import org.apache.qpid.proton.amqp.messaging.AmqpValue;
 import org.apache.qpid.proton.amqp.messaging.Rejected;
@@ -44,6 +46,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonConnection;
 import io.vertx.proton.ProtonDelivery;
@@ -159,6 +162,28 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         }
     }
 
+    /**
+     * Gets the period of time after which a <em>not found</em> or <em>forbidden</em>
+     * response in the response cache is considered invalid.
+     * <p>
+     * The value is derived from the configuration properties as follows:
+     * <ol>
+     * <li>if the properties are of type {@link RequestResponseClientConfigProperties}
+     * then the value of its <em>responseCacheNegativeTimeout</em> property is used</li>
+     * <li>otherwise the {@linkplain RequestResponseClientConfigProperties#DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT
+     * default timeout value} is used</li>
+     * </ol>
+     *
+     * @return The timeout period in seconds or 0 if such responses should not be cached.
+     */
+    protected final long getResponseCacheNegativeTimeout() {
+        if (config instanceof RequestResponseClientConfigProperties) {
+            return ((RequestResponseClientConfigProperties) config).getResponseCacheNegativeTimeout();
+        } else {
+            return RequestResponseClientConfigProperties.DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT;
+        }
+    }
+
     /**
      * Sets the period of time after which any requests are considered to have timed out.
      * <p>
@@ -202,11 +227,11 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
      * Creates a result object from the status and payload of a response received from the endpoint.
      *
      * @param status The status of the response.
-     * @param payload The String representation of the response's JSON payload (may be {@code null}).
+     * @param payload The UTF-8 encoding of the response's JSON payload (may be {@code null}).
      * @param cacheDirective Restrictions regarding the caching of the payload (may be {@code null}).
      * @return The result object.
      */
-    protected abstract R getResult(final int status, final String payload, final CacheDirective cacheDirective);
+    protected abstract R getResult(final int status, final Buffer payload, final CacheDirective cacheDirective);
 
     /**
      * Creates the sender and receiver links to the peer for sending requests
@@ -254,7 +279,26 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
 
     private Future<ProtonReceiver> createReceiver(final ProtonConnection con, final String sourceAddress, final Handler<String> closeHook) {
 
-        return AbstractHonoClient.createReceiver(context, config, con, sourceAddress, ProtonQoS.AT_LEAST_ONCE, this::handleResponse, closeHook);
+        final Symbol[] desiredCapabilities = config.isBinaryPayloadEnabled()
+                ? new Symbol[] { RequestResponseApiConstants.CAPABILITY_BINARY_PAYLOAD }
+                : null;
+        return AbstractHonoClient.createReceiver(context, config, con, sourceAddress, ProtonQoS.AT_LEAST_ONCE,
+                this::handleResponse, desiredCapabilities, closeHook);
+    }
+
+    /**
+     * Checks if the peer has agreed to exchange payload in <em>Data</em> sections.
+     * 
+     * @return {@code true} if the peer has offered the
+     *         {@link RequestResponseApiConstants#CAPABILITY_BINARY_PAYLOAD} capability
+     *         on the link for receiving responses.
+     */
+    protected final boolean isBinaryPayloadSupported() {
+        if (receiver == null || receiver.getRemoteOfferedCapabilities() == null) {
+            return false;
+        } else {
+            return Arrays.asList(receiver.getRemoteOfferedCapabilities()).contains(RequestResponseApiConstants.CAPABILITY_BINARY_PAYLOAD);
+        }
     }
 
     /**
@@ -335,7 +379,7 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         if (status == null) {
             return null;
         } else {
-            final String payload = MessageHelper.getPayload(message);
+            final Buffer payload = MessageHelper.getPayloadBuffer(message);
             final CacheDirective cacheDirective = CacheDirective.from(MessageHelper.getCacheDirective(message));
 
             return getResult(status, payload, cacheDirective);
@@ -457,8 +501,12 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         if (isOpen()) {
             final Message request = createMessage(action, properties);
             if (payload != null) {
-                request.setContentType(RequestResponseApiConstants.CONTENT_TYPE_APPLICATION_JSON);
-                request.setBody(new AmqpValue(payload.encode()));
+                if (isBinaryPayloadSupported()) {
+                    MessageHelper.setJsonPayload(request, payload);
+                } else {
+                    request.setContentType(RequestResponseApiConstants.CONTENT_TYPE_APPLICATION_JSON);
+                    request.setBody(new AmqpValue(payload.encode()));
+                }
             }
             sendRequest(request, resultHandler, cacheKey);
         } else {
@@ -581,6 +629,39 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         }
     }
 
+    /**
+     * Gets a response from the cache or, if no (unexpired) response is cached,
+     * from the service.
+     * <p>
+     * If the cached response should be refreshed ahead of its expiration (see
+     * {@link ExpiringValueCache#isRefreshRequired(Object)}), the cached response
+     * is returned and the request supplier is additionally invoked in order to
+     * renew the cached response in the background. The supplier is expected to
+     * send the request using the given key as the cache key.
+     * 
+     * @param key The key to get the response for.
+     * @param requestSupplier The supplier to invoke for sending a request to the service.
+     * @return A future containing the response.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    protected final Future<R> getResponseFromCacheOrService(final Object key, final Supplier<Future<R>> requestSupplier) {
+
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(requestSupplier);
+
+        return getResponseFromCache(key).map(response -> {
+            if (responseCache.isRefreshRequired(key)) {
+                LOG.debug("refreshing cached response [target: {}, key: {}]", targetAddress, key);
+                requestSupplier.get().otherwise(t -> {
+                    LOG.debug("failed to refresh cached response [target: {}, key: {}]: {}",
+                            targetAddress, key, t.getMessage());
+                    return null;
+                });
+            }
+            return response;
+        }).recover(t -> requestSupplier.get());
+    }
+
     /**
      * Adds a response to the cache.
      * <p>
@@ -588,10 +669,8 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
      * <p>
      * Otherwise
      * <ol>
-     * <li>if the response does not contain any cache directive and the response's status code is
-     * one of the codes defined by <a href="https://tools.ietf.org/html/rfc2616#section-13.4">
-     * RFC 2616, Section 13.4 Response Cacheability</a>, the response is put to the cache using
-     * the default timeout returned by {@link #getResponseCacheDefaultTimeout()}<li>
+     * <li>if the response does not contain any cache directive, the directive returned by
+     * {@link #getDefaultCacheDirective(int)} for the response's status code is applied.</li>
      * <li>else if the response contains a <em>max-age</em> directive, the response
      * is put to the cache using the max age from the directive.</li>
      * <li>else if the response contains a <em>no-cache</em> directive, the response
@@ -609,13 +688,7 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         if (responseCache != null && key != null) {
 
             final CacheDirective cacheDirective = Optional.ofNullable(response.getCacheDirective())
-                    .orElseGet(() -> {
-                        if (isCacheableStatusCode(response.getStatus())) {
-                            return CacheDirective.maxAgeDirective(getResponseCacheDefaultTimeout());
-                        } else {
-                            return CacheDirective.noCacheDirective();
-                        }
-                    });
+                    .orElseGet(() -> getDefaultCacheDirective(response.getStatus()));
 
             if (cacheDirective.isCachingAllowed()) {
                 if (cacheDirective.getMaxAge() > 0) {
@@ -625,6 +698,47 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         }
     }
 
+    /**
+     * Gets the cache directive to apply to a response that does not contain
+     * a cache directive.
+     * <p>
+     * This default implementation returns
+     * <ul>
+     * <li>a <em>max-age</em> directive using the timeout returned by {@link #getResponseCacheDefaultTimeout()}
+     * if the status code is one of the codes defined by
+     * <a href="https://tools.ietf.org/html/rfc2616#section-13.4">RFC 2616, Section 13.4 Response Cacheability</a>,</li>
+     * <li>a <em>max-age</em> directive using the timeout returned by {@link #getResponseCacheNegativeTimeout()}
+     * if the status code is 404 or 403 and the timeout is &gt; 0,</li>
+     * <li>a <em>no-cache</em> directive otherwise.</li>
+     * </ul>
+     * <p>
+     * Subclasses may override this method in order to apply a different policy.
+     * 
+     * @param status The status code of the response.
+     * @return The cache directive.
+     */
+    protected CacheDirective getDefaultCacheDirective(final int status) {
+
+        if (isCacheableStatusCode(status)) {
+            return CacheDirective.maxAgeDirective(getResponseCacheDefaultTimeout());
+        } else if (isNegativeStatusCode(status) && getResponseCacheNegativeTimeout() > 0) {
+            return CacheDirective.maxAgeDirective(getResponseCacheNegativeTimeout());
+        } else {
+            return CacheDirective.noCacheDirective();
+        }
+    }
+
+    /**
+     * Checks if a status code indicates that the requested resource does not
+     * exist or must not be accessed.
+     * 
+     * @param code The status code.
+     * @return {@code true} if the code is 404 or 403.
+     */
+    protected static final boolean isNegativeStatusCode(final int code) {
+        return code == HttpURLConnection.HTTP_NOT_FOUND || code == HttpURLConnection.HTTP_FORBIDDEN;
+    }
+
     private boolean isCacheableStatusCode(final int code) {
         return Arrays.binarySearch(CACHEABLE_STATUS_CODES, code) >= 0;
     }
@@ -16,8 +16,10 @@ package org.eclipse.hono.client.impl;
 import java.net.HttpURLConnection;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -37,10 +39,12 @@ import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.ResourceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -138,9 +142,10 @@ abstract class AbstractSender extends AbstractHonoClient implements MessageSende
 
         Objects.requireNonNull(rawMessage);
 
+        prepareMessage(rawMessage);
         if (capacityAvailableHandler == null) {
             final Future<ProtonDelivery> result = Future.future();
-            context.runOnContext(send -> {
+            executeOnContext(send -> {
                 sendMessage(rawMessage).setHandler(result.completer());
             });
             return result;
@@ -148,7 +153,7 @@ abstract class AbstractSender extends AbstractHonoClient implements MessageSende
             throw new IllegalStateException("cannot send message while waiting for replenishment with credit");
         } else if (sender.isOpen()) {
             final Future<ProtonDelivery> result = Future.future();
-            context.runOnContext(send -> {
+            executeOnContext(send -> {
                 sendMessage(rawMessage).setHandler(result.completer());
                 if (sender.sendQueueFull()) {
                     sendQueueDrainHandler(capacityAvailableHandler);
@@ -167,11 +172,9 @@ abstract class AbstractSender extends AbstractHonoClient implements MessageSende
 
         Objects.requireNonNull(rawMessage);
 
-        if (!isRegistrationAssertionRequired()) {
-            MessageHelper.getAndRemoveRegistrationAssertion(rawMessage);
-        }
+        prepareMessage(rawMessage);
         final Future<ProtonDelivery> result = Future.future();
-        context.runOnContext(send -> {
+        executeOnContext(send -> {
             if (sender.sendQueueFull()) {
                 result.fail(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "no credit available"));
             } else {
@@ -181,6 +184,37 @@ abstract class AbstractSender extends AbstractHonoClient implements MessageSende
         return result;
     }
 
+    @Override
+    public final CompositeFuture sendBatch(final List<Message> messages) {
+
+        Objects.requireNonNull(messages);
+
+        @SuppressWarnings("rawtypes")
+        final List<Future> outcomes = new ArrayList<>(messages.size());
+        for (final Message message : messages) {
+            Objects.requireNonNull(message);
+            prepareMessage(message);
+            outcomes.add(Future.<ProtonDelivery> future());
+        }
+        executeOnContext(send -> {
+            int sent = 0;
+            for (int i = 0; i < messages.size(); i++) {
+                @SuppressWarnings("unchecked")
+                final Future<ProtonDelivery> outcome = outcomes.get(i);
+                if (!sender.isOpen()) {
+                    outcome.fail(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "sender is not open"));
+                } else if (sender.sendQueueFull()) {
+                    outcome.fail(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "no credit available"));
+                } else {
+                    sendMessage(messages.get(i)).setHandler(outcome.completer());
+                    sent++;
+                }
+            }
+            LOG.trace("sent batch of {} out of {} messages", sent, messages.size());
+        });
+        return CompositeFuture.join(outcomes);
+    }
+
     @Override
     public final Future<ProtonDelivery> send(final String deviceId, final byte[] payload, final String contentType, final String registrationAssertion) {
         return send(deviceId, null, payload, contentType, registrationAssertion);
@@ -321,6 +355,30 @@ abstract class AbstractSender extends AbstractHonoClient implements MessageSende
         return registrationAssertionRequired;
     }
 
+    /**
+     * Prepares a message for being sent to the peer.
+     * <p>
+     * If the peer does not validate registration assertions, e.g. because this sender
+     * is connected to the AMQP Messaging Network directly instead of to Hono Messaging,
+     * the registration assertion is removed from the message and the message is annotated
+     * with the tenant, device and resource identifiers in the same way as Hono Messaging
+     * does before forwarding a message. Downstream consumers therefore receive the same
+     * message regardless of whether it has been forwarded by Hono Messaging or not.
+     * 
+     * @param message The message to prepare.
+     */
+    protected final void prepareMessage(final Message message) {
+
+        if (!isRegistrationAssertionRequired()) {
+            MessageHelper.getAndRemoveRegistrationAssertion(message);
+            final String deviceId = MessageHelper.getDeviceId(message);
+            final String endpoint = getEndpoint();
+            if (deviceId != null && endpoint != null) {
+                MessageHelper.annotate(message, ResourceIdentifier.from(endpoint, tenantId, deviceId));
+            }
+        }
+    }
+
     /**
      * Sends an AMQP 1.0 message to the peer this client is configured for
      * and waits for the outcome of the transfer.
@@ -17,13 +17,16 @@ import java.net.HttpURLConnection;
 import java.util.Objects;
 import java.util.UUID;
 
+import org.eclipse.hono.cache.CacheProvider;
 import org.eclipse.hono.client.CredentialsClient;
 import org.eclipse.hono.client.StatusCodeMapper;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.util.CacheDirective;
 import org.eclipse.hono.util.CredentialsConstants;
+import org.eclipse.hono.util.CredentialsConstants.CredentialsAction;
 import org.eclipse.hono.util.CredentialsObject;
 import org.eclipse.hono.util.CredentialsResult;
+import org.eclipse.hono.util.TriTuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,6 +36,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonConnection;
 
@@ -69,13 +73,13 @@ public class CredentialsClientImpl extends AbstractRequestResponseClient<Credent
     }
 
     @Override
-    protected final CredentialsResult<CredentialsObject> getResult(final int status, final String payload, final CacheDirective cacheDirective) {
+    protected final CredentialsResult<CredentialsObject> getResult(final int status, final Buffer payload, final CacheDirective cacheDirective) {
 
         if (payload == null) {
             return CredentialsResult.from(status);
         } else {
             try {
-                return CredentialsResult.from(status, OBJECT_MAPPER.readValue(payload, CredentialsObject.class), cacheDirective);
+                return CredentialsResult.from(status, OBJECT_MAPPER.readValue(payload.getBytes(), CredentialsObject.class), cacheDirective);
             } catch (final IOException e) {
                 LOG.warn("received malformed payload from Credentials service", e);
                 return CredentialsResult.from(HttpURLConnection.HTTP_INTERNAL_ERROR);
@@ -83,6 +87,23 @@ public class CredentialsClientImpl extends AbstractRequestResponseClient<Credent
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Credentials are only cached if the Credentials service explicitly allows
+     * it by means of a cache directive. Responses indicating that credentials
+     * do not exist are cached using the default negative timeout.
+     */
+    @Override
+    protected final CacheDirective getDefaultCacheDirective(final int status) {
+
+        if (isNegativeStatusCode(status)) {
+            return super.getDefaultCacheDirective(status);
+        } else {
+            return CacheDirective.noCacheDirective();
+        }
+    }
+
     /**
      * Gets the AMQP <em>target</em> address to use for sending requests to Hono's Credentials API endpoint.
      * 
@@ -99,6 +120,8 @@ public class CredentialsClientImpl extends AbstractRequestResponseClient<Credent
      *
      * @param context The vert.x context to run all interactions with the server on.
      * @param clientConfig The configuration properties to use.
+     * @param cacheProvider A factory for cache instances for credentials results. If {@code null}
+     *                     the client will not cache any results from the Credentials service.
      * @param con The AMQP connection to the server.
      * @param tenantId The tenant for which credentials are handled.
      * @param senderCloseHook A handler to invoke if the peer closes the sender link unexpectedly.
@@ -109,6 +132,7 @@ public class CredentialsClientImpl extends AbstractRequestResponseClient<Credent
     public static final void create(
             final Context context,
             final ClientConfigProperties clientConfig,
+            final CacheProvider cacheProvider,
             final ProtonConnection con,
             final String tenantId,
             final Handler<String> senderCloseHook,
@@ -117,6 +141,9 @@ public class CredentialsClientImpl extends AbstractRequestResponseClient<Credent
 
         LOG.debug("creating new credentials client for [{}]", tenantId);
         final CredentialsClientImpl client = new CredentialsClientImpl(context, clientConfig, tenantId);
+        if (cacheProvider != null) {
+            client.setResponseCache(cacheProvider.getCache(CredentialsClientImpl.getTargetAddress(tenantId)));
+        }
         client.createLinks(con, senderCloseHook, receiverCloseHook).setHandler(s -> {
             if (s.succeeded()) {
                 LOG.debug("successfully created credentials client for [{}]", tenantId);
@@ -139,12 +166,17 @@ public class CredentialsClientImpl extends AbstractRequestResponseClient<Credent
         Objects.requireNonNull(type);
         Objects.requireNonNull(authId);
 
-        final Future<CredentialsResult<CredentialsObject>> responseTracker = Future.future();
-        final JsonObject specification = new JsonObject()
-                .put(CredentialsConstants.FIELD_TYPE, type)
-                .put(CredentialsConstants.FIELD_AUTH_ID, authId);
-        createAndSendRequest(CredentialsConstants.CredentialsAction.get.toString(), specification, responseTracker.completer());
-        return responseTracker.map(response -> {
+        final TriTuple<CredentialsAction, String, String> key = TriTuple.of(CredentialsAction.get, type, authId);
+
+        return getResponseFromCacheOrService(key, () -> {
+            final Future<CredentialsResult<CredentialsObject>> responseTracker = Future.future();
+            final JsonObject specification = new JsonObject()
+                    .put(CredentialsConstants.FIELD_TYPE, type)
+                    .put(CredentialsConstants.FIELD_AUTH_ID, authId);
+            createAndSendRequest(CredentialsConstants.CredentialsAction.get.toString(), specification,
+                    responseTracker.completer(), key);
+            return responseTracker;
+        }).map(response -> {
             switch(response.getStatus()) {
             case HttpURLConnection.HTTP_OK:
                 return response.getPayload();
@@ -117,7 +117,8 @@ public final class EventSenderImpl extends AbstractSender {
      * Sends an AMQP 1.0 message to the peer this client is configured for
      * and waits for the outcome of the transfer.
      * <p>
-     * This method simply invokes {@link #sendMessageAndWaitForOutcome(Message)}.
+     * This method prepares the message for the peer and then invokes
+     * {@link #sendMessageAndWaitForOutcome(Message)}.
      * 
      * @param message The message to send.
      * @return A future indicating the outcome of the operation.
@@ -139,7 +140,8 @@ public final class EventSenderImpl extends AbstractSender {
      * Sends an AMQP 1.0 message to the peer this client is configured for
      * and waits for the outcome of the transfer.
      * <p>
-     * This method simply invokes {@link #sendMessageAndWaitForOutcome(Message)}.
+     * This method prepares the message for the peer and then invokes
+     * {@link #sendMessageAndWaitForOutcome(Message)}.
      * 
      * @param message The message to send.
      * @return A future indicating the outcome of the operation.
@@ -152,8 +154,10 @@ public final class EventSenderImpl extends AbstractSender {
      * @throws NullPointerException if the message is {@code null}.
      */
     @Override
-    public Future<ProtonDelivery> sendAndWaitForOutcome(Message message) {
+    public Future<ProtonDelivery> sendAndWaitForOutcome(final Message message) {
 
+        Objects.requireNonNull(message);
+        prepareMessage(message);
         return sendMessageAndWaitForOutcome(message);
     }
 }
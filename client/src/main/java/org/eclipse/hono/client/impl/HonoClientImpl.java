@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -46,6 +47,8 @@ import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.connection.ConnectionFactory;
 import org.eclipse.hono.connection.ConnectionFactoryImpl.ConnectionFactoryBuilder;
 import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.NotificationConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,9 +57,13 @@ import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonClientOptions;
 import io.vertx.proton.ProtonConnection;
 import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonQoS;
+import io.vertx.proton.ProtonReceiver;
 
 /**
  * A helper class for creating Vert.x based clients for Hono's arbitrary APIs.
@@ -304,6 +311,7 @@ public class HonoClientImpl implements HonoClient {
                                             new ClientErrorException(HttpURLConnection.HTTP_CONFLICT, "client is already shut down")));
                                 } else {
                                     setConnection(newConnection);
+                                    subscribeToNotifications(newConnection);
                                     connectionHandler.handle(Future.succeededFuture(this));
                                 }
                             }
@@ -316,6 +324,47 @@ public class HonoClientImpl implements HonoClient {
         });
     }
 
+    /**
+     * Opens a link for receiving notifications about changes to the data managed by
+     * a device registry.
+     * <p>
+     * The notifications are used for removing outdated responses from the caches
+     * of the clients created by this instance. No link is opened if no cache provider is set.
+     * Servers which do not support notifications reject the link.
+     *
+     * @param con The connection to open the link on.
+     */
+    private void subscribeToNotifications(final ProtonConnection con) {
+
+        if (cacheProvider == null) {
+            return;
+        }
+        final NotificationCacheInvalidator invalidator = new NotificationCacheInvalidator(cacheProvider);
+        final ProtonReceiver receiver = con.createReceiver(NotificationConstants.NOTIFICATION_ENDPOINT);
+        receiver.setQoS(ProtonQoS.AT_MOST_ONCE);
+        receiver.handler((delivery, message) -> {
+            try {
+                final JsonObject notification = MessageHelper.getJsonPayload(message);
+                if (notification != null) {
+                    invalidator.handle(notification);
+                }
+            } catch (final DecodeException e) {
+                LOG.debug("received malformed notification from server [{}:{}]",
+                        connectionFactory.getHost(), connectionFactory.getPort());
+            }
+        });
+        receiver.openHandler(attach -> {
+            if (attach.succeeded()) {
+                LOG.debug("receiving notifications from server [{}:{}]", connectionFactory.getHost(), connectionFactory.getPort());
+            }
+        });
+        receiver.closeHandler(remoteClose -> {
+            LOG.debug("server [{}:{}] closed notification link", connectionFactory.getHost(), connectionFactory.getPort());
+            receiver.close();
+        });
+        receiver.open();
+    }
+
     private void onRemoteClose(final AsyncResult<ProtonConnection> remoteClose, final Handler<ProtonConnection> connectionLossHandler) {
 
         if (remoteClose.failed()) {
@@ -392,10 +441,15 @@ public class HonoClientImpl implements HonoClient {
                         new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "failed to connect", connectionFailureCause)));
             }
         } else {
-            LOG.trace("scheduling attempt to re-connect ...");
-            reconnectAttempts.getAndIncrement();
             // give Vert.x some time to clean up NetClient
-            vertx.setTimer(clientOptions.getReconnectInterval(), tid -> {
+            final long delay = getReconnectDelay(
+                    clientOptions.getReconnectInterval(),
+                    clientConfigProperties == null
+                        ? ClientConfigProperties.DEFAULT_RECONNECT_MAX_INTERVAL
+                        : clientConfigProperties.getReconnectMaxInterval(),
+                    reconnectAttempts.getAndIncrement());
+            LOG.trace("scheduling attempt to re-connect in {}ms ...", delay);
+            vertx.setTimer(delay, tid -> {
                 LOG.debug("starting attempt [#{}] to re-connect to server [{}:{}]",
                         reconnectAttempts.get(), connectionFactory.getHost(), connectionFactory.getPort());
                 connect(clientOptions, connectionHandler, disconnectHandler);
@@ -403,6 +457,32 @@ public class HonoClientImpl implements HonoClient {
         }
     }
 
+    /**
+     * Gets the amount of time to wait before making an attempt to re-connect.
+     * <p>
+     * The delay is chosen randomly from the interval between 0 and the reconnect
+     * interval doubled for every previous attempt, capped at the maximum reconnect
+     * interval (<em>exponential backoff with full jitter</em>). This prevents
+     * a large number of clients from re-connecting in lockstep after the server has
+     * become available again.
+     *
+     * @param interval The reconnect interval in milliseconds.
+     * @param maxInterval The maximum reconnect interval in milliseconds.
+     * @param previousAttempts The number of attempts that have already been made.
+     * @return The delay in milliseconds (&gt; 0).
+     */
+    static long getReconnectDelay(final long interval, final long maxInterval, final int previousAttempts) {
+
+        final long baseInterval = Math.max(1, interval);
+        final long upperBound;
+        if (previousAttempts < Long.numberOfLeadingZeros(baseInterval) - 1) {
+            upperBound = Math.max(baseInterval, Math.min(maxInterval, baseInterval << Math.max(0, previousAttempts)));
+        } else {
+            upperBound = Math.max(baseInterval, maxInterval);
+        }
+        return 1 + ThreadLocalRandom.current().nextLong(upperBound);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -657,6 +737,7 @@ public class HonoClientImpl implements HonoClient {
             CredentialsClientImpl.create(
                     context,
                     clientConfigProperties,
+                    cacheProvider,
                     connection,
                     tenantId,
                     this::removeCredentialsClient,
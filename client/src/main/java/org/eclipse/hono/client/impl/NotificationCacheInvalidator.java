@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.client.impl;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.eclipse.hono.cache.CacheProvider;
+import org.eclipse.hono.cache.ExpiringValueCache;
+import org.eclipse.hono.util.NotificationConstants;
+import org.eclipse.hono.util.NotificationConstants.Resource;
+import org.eclipse.hono.util.TriTuple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A handler for notifications about changes to the data managed by a device registry.
+ * <p>
+ * The handler removes the responses affected by a change from the caches used by
+ * the Tenant, Device Registration and Credentials API clients.
+ */
+final class NotificationCacheInvalidator implements Handler<JsonObject> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationCacheInvalidator.class);
+
+    private final CacheProvider cacheProvider;
+
+    /**
+     * Creates a new handler for a set of caches.
+     *
+     * @param cacheProvider The provider of the caches to remove responses from.
+     * @throws NullPointerException if cache provider is {@code null}.
+     */
+    NotificationCacheInvalidator(final CacheProvider cacheProvider) {
+        this.cacheProvider = Objects.requireNonNull(cacheProvider);
+    }
+
+    @Override
+    public void handle(final JsonObject notification) {
+
+        final Resource resource = Resource.from(notification.getString(NotificationConstants.FIELD_RESOURCE));
+        final String tenantId = notification.getString(NotificationConstants.FIELD_TENANT_ID);
+        if (resource == null || tenantId == null) {
+            LOG.debug("ignoring malformed notification: {}", notification);
+            return;
+        }
+        LOG.debug("invalidating cached responses affected by notification: {}", notification);
+
+        switch (resource) {
+        case tenant:
+            // responses for queries by trusted CA cannot be related to the tenant
+            removeIf(TenantClientImpl.getTargetAddress(),
+                    key -> tenantId.equals(key.two()) || key.two() instanceof X500Principal);
+            removeIf(RegistrationClientImpl.getTargetAddress(tenantId), key -> true);
+            removeIf(CredentialsClientImpl.getTargetAddress(tenantId), key -> true);
+            break;
+        case device:
+            final String deviceId = notification.getString(NotificationConstants.FIELD_DEVICE_ID);
+            // assertions are cached per device and gateway
+            removeIf(RegistrationClientImpl.getTargetAddress(tenantId),
+                    key -> deviceId == null || deviceId.equals(key.two()) || deviceId.equals(key.three()));
+            break;
+        case credentials:
+            final String type = notification.getString(NotificationConstants.FIELD_CREDENTIALS_TYPE);
+            final String authId = notification.getString(NotificationConstants.FIELD_AUTH_ID);
+            removeIf(CredentialsClientImpl.getTargetAddress(tenantId),
+                    key -> (type == null || type.equals(key.two())) && (authId == null || authId.equals(key.three())));
+            break;
+        default:
+            // nothing to invalidate
+        }
+    }
+
+    private void removeIf(final String cacheName, final Predicate<TriTuple<?, ?, ?>> filter) {
+
+        // do not create caches for clients that have not been used yet
+        final ExpiringValueCache<Object, Object> cache = cacheProvider.getExistingCache(cacheName);
+        if (cache != null) {
+            cache.removeIf(key -> key instanceof TriTuple && filter.test((TriTuple<?, ?, ?>) key));
+        }
+    }
+}
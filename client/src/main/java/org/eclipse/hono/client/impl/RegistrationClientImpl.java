@@ -36,6 +36,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonConnection;
@@ -101,7 +102,7 @@ public class RegistrationClientImpl extends AbstractRequestResponseClient<Regist
     }
 
     @Override
-    protected final RegistrationResult getResult(final int status, final String payload, final CacheDirective cacheDirective) {
+    protected final RegistrationResult getResult(final int status, final Buffer payload, final CacheDirective cacheDirective) {
 
         if (payload == null) {
             return RegistrationResult.from(status);
@@ -288,7 +289,7 @@ public class RegistrationClientImpl extends AbstractRequestResponseClient<Regist
         Objects.requireNonNull(deviceId);
 
         final TriTuple<String, String, String> key = TriTuple.of(RegistrationConstants.ACTION_ASSERT, deviceId, gatewayId);
-        return getResponseFromCache(key).recover(t -> {
+        return getResponseFromCacheOrService(key, () -> {
             final Future<RegistrationResult> regResult = Future.future();
             final Map<String, Object> properties = createDeviceIdProperties(deviceId);
             if (gatewayId != null) {
@@ -23,7 +23,10 @@ import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.MessageConsumer;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.TelemetryConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -35,6 +38,8 @@ public class TelemetryConsumerImpl extends AbstractConsumer implements MessageCo
 
     private static final String TELEMETRY_ADDRESS_TEMPLATE  = TelemetryConstants.TELEMETRY_ENDPOINT + "%s%s";
 
+    private static final Logger LOG = LoggerFactory.getLogger(TelemetryConsumerImpl.class);
+
     private TelemetryConsumerImpl(final Context context, final ClientConfigProperties config, final ProtonReceiver receiver) {
         super(context, config, receiver);
     }
@@ -95,7 +100,7 @@ public class TelemetryConsumerImpl extends AbstractConsumer implements MessageCo
         Objects.requireNonNull(creationHandler);
 
         createReceiver(context, clientConfig, con, String.format(TELEMETRY_ADDRESS_TEMPLATE, pathSeparator, tenantId), ProtonQoS.AT_LEAST_ONCE,
-                (delivery, message) -> telemetryConsumer.accept(message), closeHook).setHandler(created -> {
+                (delivery, message) -> handleMessage(message, telemetryConsumer), closeHook).setHandler(created -> {
                     if (created.succeeded()) {
                         creationHandler.handle(Future.succeededFuture(
                                 new TelemetryConsumerImpl(context, clientConfig, created.result())));
@@ -105,4 +110,26 @@ public class TelemetryConsumerImpl extends AbstractConsumer implements MessageCo
                 });
     }
 
+    /**
+     * Passes a telemetry message to a consumer.
+     * <p>
+     * If the message is an aggregate (see {@link MessageHelper#CONTENT_TYPE_AGGREGATE})
+     * created by Hono Messaging, the consumer is invoked with each of the contained
+     * messages instead.
+     * 
+     * @param message The message received from the server.
+     * @param telemetryConsumer The consumer to pass the message(s) to.
+     */
+    static void handleMessage(final Message message, final Consumer<Message> telemetryConsumer) {
+
+        if (MessageHelper.isAggregate(message)) {
+            try {
+                MessageHelper.getAggregatedMessages(message).forEach(telemetryConsumer);
+            } catch (final IllegalArgumentException e) {
+                LOG.debug("discarding malformed aggregate message: {}", e.getMessage());
+            }
+        } else {
+            telemetryConsumer.accept(message);
+        }
+    }
 }
@@ -23,7 +23,6 @@ import org.eclipse.hono.client.MessageSender;
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.config.ClientConfigProperties;
-import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.TelemetryConstants;
 
 import io.vertx.core.AsyncResult;
@@ -118,11 +117,9 @@ public final class TelemetrySenderImpl extends AbstractSender {
 
         Objects.requireNonNull(rawMessage);
 
-        if (!isRegistrationAssertionRequired()) {
-            MessageHelper.getAndRemoveRegistrationAssertion(rawMessage);
-        }
+        prepareMessage(rawMessage);
         final Future<ProtonDelivery> result = Future.future();
-        context.runOnContext(send -> {
+        executeOnContext(send -> {
             if (sender.sendQueueFull()) {
                 result.fail(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "no credit available"));
             } else {
@@ -38,6 +38,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonConnection;
 import io.vertx.proton.ProtonReceiver;
@@ -92,13 +93,13 @@ public class TenantClientImpl extends AbstractRequestResponseClient<TenantResult
     }
 
     @Override
-    protected final TenantResult<TenantObject> getResult(final int status, final String payload, final CacheDirective cacheDirective) {
+    protected final TenantResult<TenantObject> getResult(final int status, final Buffer payload, final CacheDirective cacheDirective) {
 
         if (payload == null) {
             return TenantResult.from(status, (TenantObject) null, cacheDirective);
         } else {
             try {
-                return TenantResult.from(status, OBJECT_MAPPER.readValue(payload, TenantObject.class), cacheDirective);
+                return TenantResult.from(status, OBJECT_MAPPER.readValue(payload.getBytes(), TenantObject.class), cacheDirective);
             } catch (final IOException e) {
                 LOG.warn("received malformed payload from Tenant service", e);
                 return TenantResult.from(HttpURLConnection.HTTP_INTERNAL_ERROR);
@@ -162,7 +163,7 @@ public class TenantClientImpl extends AbstractRequestResponseClient<TenantResult
 
         final TriTuple<TenantAction, String, Object> key = TriTuple.of(TenantAction.get, tenantId, null);
 
-        return getResponseFromCache(key).recover(t -> {
+        return getResponseFromCacheOrService(key, () -> {
             final Future<TenantResult<TenantObject>> tenantResult = Future.future();
             final JsonObject payload = new JsonObject().put(TenantConstants.FIELD_PAYLOAD_TENANT_ID, tenantId);
             createAndSendRequest(TenantConstants.TenantAction.get.toString(), null, payload,
@@ -186,7 +187,7 @@ public class TenantClientImpl extends AbstractRequestResponseClient<TenantResult
 
         final TriTuple<TenantAction, X500Principal, Object> key = TriTuple.of(TenantAction.get, subjectDn, null);
 
-        return getResponseFromCache(key).recover(t -> {
+        return getResponseFromCacheOrService(key, () -> {
             final Future<TenantResult<TenantObject>> tenantResult = Future.future();
             final JsonObject payload = new JsonObject().put(TenantConstants.FIELD_PAYLOAD_SUBJECT_DN, subjectDn.getName(X500Principal.RFC2253));
             createAndSendRequest(TenantConstants.TenantAction.get.toString(), null, payload, tenantResult.completer(), key);
@@ -24,7 +24,9 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 
+import org.apache.qpid.proton.amqp.Symbol;
 import org.apache.qpid.proton.amqp.messaging.AmqpValue;
+import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.amqp.messaging.Rejected;
 import org.apache.qpid.proton.amqp.transport.Target;
 import org.apache.qpid.proton.message.Message;
@@ -34,6 +36,7 @@ import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.util.CacheDirective;
 import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RequestResponseApiConstants;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -44,6 +47,7 @@ import org.mockito.ArgumentCaptor;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
@@ -158,6 +162,29 @@ public class AbstractRequestResponseClientTest  {
         verify(vertx).setTimer(eq(200L), any(Handler.class));
     }
 
+    /**
+     * Verifies that the client sends the payload in a Data section if the
+     * peer has offered support for binary payload.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCreateAndSendRequestUsesDataSectionIfSupportedByPeer() {
+
+        // GIVEN a request-response client for a peer that supports binary payload
+        when(receiver.getRemoteOfferedCapabilities()).thenReturn(
+                new Symbol[] { RequestResponseApiConstants.CAPABILITY_BINARY_PAYLOAD });
+
+        // WHEN sending a request message with some payload
+        final JsonObject payload = new JsonObject().put("key", "value");
+        client.createAndSendRequest("get", null, payload, s -> {});
+
+        // THEN the payload is sent in a Data section
+        final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(sender).send(messageCaptor.capture(), any(Handler.class));
+        assertThat(messageCaptor.getValue().getBody(), instanceOf(Data.class));
+        assertThat(MessageHelper.getJsonPayload(messageCaptor.getValue()), is(payload));
+    }
+
     /**
      * Verifies that the client fails the result handler if the peer rejects
      * the request message.
@@ -414,9 +441,50 @@ public class AbstractRequestResponseClientTest  {
         verify(cache, never()).put(eq("cacheKey"), any(SimpleRequestResponseResult.class), any(Duration.class));
     }
 
+    /**
+     * Verifies that the adapter puts a <em>not found</em> response from the service
+     * that does not contain any cache directive to the cache using the negative cache
+     * timeout.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCreateAndSendRequestAddsNotFoundResponseToCacheWithNegativeTimeout(final TestContext ctx) {
+
+        // GIVEN an adapter with an empty cache that is configured to cache negative responses
+        final RequestResponseClientConfigProperties config = new RequestResponseClientConfigProperties();
+        config.setResponseCacheNegativeTimeout(30);
+        client = getClient("tenant", sender, receiver, config);
+        client.setRequestTimeout(0);
+        client.setResponseCache(cache);
+
+        // WHEN getting a 404 response to a request which contains
+        // no cache directive
+        final Async invocation = ctx.async();
+        client.createAndSendRequest("get", (JsonObject) null, ctx.asyncAssertSuccess(result -> invocation.complete()), "cacheKey");
+
+        final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(sender).send(messageCaptor.capture(), any(Handler.class));
+        final Message response = ProtonHelper.message();
+        response.setCorrelationId(messageCaptor.getValue().getMessageId());
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_NOT_FOUND);
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        client.handleResponse(delivery, response);
+
+        // THEN the response is put to the cache using the negative timeout
+        invocation.await();
+        verify(cache).put(eq("cacheKey"), any(SimpleRequestResponseResult.class), eq(Duration.ofSeconds(30)));
+    }
+
     private AbstractRequestResponseClient<SimpleRequestResponseResult> getClient(final String tenant, final ProtonSender sender, final ProtonReceiver receiver) {
+        return getClient(tenant, sender, receiver, new ClientConfigProperties());
+    }
+
+    private AbstractRequestResponseClient<SimpleRequestResponseResult> getClient(final String tenant, final ProtonSender sender,
+            final ProtonReceiver receiver, final ClientConfigProperties config) {
 
-        return new AbstractRequestResponseClient<SimpleRequestResponseResult>(context, new ClientConfigProperties(), tenant, sender, receiver) {
+        return new AbstractRequestResponseClient<SimpleRequestResponseResult>(context, config, tenant, sender, receiver) {
 
             @Override
             protected String getName() {
@@ -429,8 +497,8 @@ public class AbstractRequestResponseClientTest  {
             }
 
             @Override
-            protected SimpleRequestResponseResult getResult(final int status, final String payload, final CacheDirective cacheDirective) {
-                return SimpleRequestResponseResult.from(status, payload, cacheDirective);
+            protected SimpleRequestResponseResult getResult(final int status, final Buffer payload, final CacheDirective cacheDirective) {
+                return SimpleRequestResponseResult.from(status, payload == null ? null : payload.toString(), cacheDirective);
             }
         };
     }
@@ -22,6 +22,7 @@ import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.TelemetryConstants;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -103,6 +104,57 @@ public class AbstractSenderTest {
         assertNull(MessageHelper.getAndRemoveRegistrationAssertion(sentMessage.getValue()));
     }
 
+    /**
+     * Verifies that the sender annotates a message with the tenant, device and
+     * resource identifiers if the peer does not support validation of registration
+     * assertions, e.g. if it is connected to the AMQP Messaging Network directly.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSendMessageAnnotatesMessageIfAssertionsAreNotValidated() {
+
+        // GIVEN a sender that is connected to a peer which does not
+        // support validation of registration assertions
+        when(protonSender.getRemoteOfferedCapabilities()).thenReturn(null);
+        when(protonSender.send(any(Message.class), any(Handler.class))).thenReturn(mock(ProtonDelivery.class));
+        final AbstractSender sender = newSender("tenant", "endpoint");
+
+        // WHEN sending a message
+        sender.send("device", "some payload", "application/text", "token");
+
+        // THEN the message is annotated like Hono Messaging would have done
+        final ArgumentCaptor<Message> sentMessage = ArgumentCaptor.forClass(Message.class);
+        verify(protonSender).send(sentMessage.capture());
+        assertEquals("tenant", MessageHelper.getTenantIdAnnotation(sentMessage.getValue()));
+        assertEquals("device", MessageHelper.getDeviceIdAnnotation(sentMessage.getValue()));
+        assertEquals("telemetry/tenant/device",
+                MessageHelper.getAnnotation(sentMessage.getValue(), MessageHelper.APP_PROPERTY_RESOURCE, String.class));
+    }
+
+    /**
+     * Verifies that the sender does not annotate a message if the peer
+     * validates registration assertions.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSendMessageDoesNotAnnotateMessageIfAssertionsAreValidated() {
+
+        // GIVEN a sender that is connected to a peer which supports
+        // validation of registration assertions
+        when(protonSender.getRemoteOfferedCapabilities()).thenReturn(new Symbol[] { Constants.CAP_REG_ASSERTION_VALIDATION });
+        when(protonSender.send(any(Message.class), any(Handler.class))).thenReturn(mock(ProtonDelivery.class));
+        final AbstractSender sender = newSender("tenant", "endpoint");
+
+        // WHEN sending a message
+        sender.send("device", "some payload", "application/text", "token");
+
+        // THEN the message is sent with the registration assertion and without annotations
+        final ArgumentCaptor<Message> sentMessage = ArgumentCaptor.forClass(Message.class);
+        verify(protonSender).send(sentMessage.capture());
+        assertNull(MessageHelper.getDeviceIdAnnotation(sentMessage.getValue()));
+        assertEquals("token", MessageHelper.getAndRemoveRegistrationAssertion(sentMessage.getValue()));
+    }
+
     /**
      * Verifies that the sender fails if no credit is available.
      */
@@ -132,7 +184,7 @@ public class AbstractSenderTest {
 
             @Override
             public String getEndpoint() {
-                return null;
+                return TelemetryConstants.TELEMETRY_ENDPOINT;
             }
 
             @Override
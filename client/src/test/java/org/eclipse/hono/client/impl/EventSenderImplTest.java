@@ -11,26 +11,33 @@
  */
 package org.eclipse.hono.client.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
+import io.vertx.proton.ProtonHelper;
 import io.vertx.proton.ProtonSender;
 import org.apache.qpid.proton.amqp.messaging.Accepted;
 import org.apache.qpid.proton.amqp.messaging.Rejected;
 import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.MessageSender;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.ext.unit.TestContext;
@@ -133,4 +140,46 @@ public class EventSenderImplTest {
 
         assertFalse(result.succeeded());
     }
+
+    /**
+     * Verifies that the sender reports the outcome of each message of a batch.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings({ "unchecked" })
+    @Test
+    public void testSendBatchReportsOutcomePerMessage(final TestContext ctx) {
+
+        // GIVEN a sender that has credit
+        when(sender.sendQueueFull()).thenReturn(Boolean.FALSE);
+        MessageSender messageSender = new EventSenderImpl(config, sender, "tenant", "event/tenant", context);
+        final List<Handler<ProtonDelivery>> handlers = new ArrayList<>();
+        doAnswer(invocation -> {
+            handlers.add(invocation.getArgument(1));
+            return mock(ProtonDelivery.class);
+        }).when(sender).send(any(Message.class), any(Handler.class));
+
+        // WHEN sending a batch of two messages
+        final CompositeFuture result = messageSender.sendBatch(Arrays.asList(ProtonHelper.message("one"), ProtonHelper.message("two")));
+
+        // THEN both messages have been sent in a single pass
+        verify(context).runOnContext(any(Handler.class));
+        assertEquals(2, handlers.size());
+        assertFalse(result.isComplete());
+
+        // and the result fails once the peer has accepted the first but rejected the second message
+        ProtonDelivery accepted = mock(ProtonDelivery.class);
+        when(accepted.remotelySettled()).thenReturn(Boolean.TRUE);
+        when(accepted.getRemoteState()).thenReturn(new Accepted());
+        handlers.get(0).handle(accepted);
+        assertFalse(result.isComplete());
+        ProtonDelivery rejected = mock(ProtonDelivery.class);
+        when(rejected.remotelySettled()).thenReturn(Boolean.TRUE);
+        when(rejected.getRemoteState()).thenReturn(new Rejected());
+        handlers.get(1).handle(rejected);
+
+        assertTrue(result.failed());
+        assertTrue(result.succeeded(0));
+        assertTrue(result.cause(1) instanceof ClientErrorException);
+    }
 }
@@ -566,4 +566,22 @@ public class HonoClientImplTest {
         }
     }
 
+
+    /**
+     * Verifies that the delay before re-connecting is chosen randomly from an
+     * interval that grows exponentially with the number of attempts up to the
+     * maximum reconnect interval.
+     */
+    @Test
+    public void testReconnectDelayUsesExponentialBackoffWithJitter() {
+
+        for (int i = 0; i < 100; i++) {
+            final long firstDelay = HonoClientImpl.getReconnectDelay(50, 1000, 0);
+            assertTrue(firstDelay > 0 && firstDelay <= 50);
+            final long thirdDelay = HonoClientImpl.getReconnectDelay(50, 1000, 2);
+            assertTrue(thirdDelay > 0 && thirdDelay <= 200);
+            final long cappedDelay = HonoClientImpl.getReconnectDelay(50, 1000, 100);
+            assertTrue(cappedDelay > 0 && cappedDelay <= 1000);
+        }
+    }
 }
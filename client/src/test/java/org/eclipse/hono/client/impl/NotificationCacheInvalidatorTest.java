@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.client.impl;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.function.Predicate;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.eclipse.hono.cache.CacheProvider;
+import org.eclipse.hono.cache.ExpiringValueCache;
+import org.eclipse.hono.util.NotificationConstants;
+import org.eclipse.hono.util.NotificationConstants.Change;
+import org.eclipse.hono.util.TenantConstants.TenantAction;
+import org.eclipse.hono.util.TriTuple;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.json.JsonObject;
+
+
+/**
+ * Tests verifying behavior of {@link NotificationCacheInvalidator}.
+ *
+ */
+public class NotificationCacheInvalidatorTest {
+
+    private ExpiringValueCache<Object, Object> tenantCache;
+    private ExpiringValueCache<Object, Object> registrationCache;
+    private ExpiringValueCache<Object, Object> credentialsCache;
+    private CacheProvider cacheProvider;
+    private NotificationCacheInvalidator invalidator;
+
+    /**
+     * Sets up the fixture.
+     */
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+
+        tenantCache = mock(ExpiringValueCache.class);
+        registrationCache = mock(ExpiringValueCache.class);
+        credentialsCache = mock(ExpiringValueCache.class);
+        cacheProvider = mock(CacheProvider.class);
+        when(cacheProvider.getExistingCache(TenantClientImpl.getTargetAddress())).thenReturn(tenantCache);
+        when(cacheProvider.getExistingCache(RegistrationClientImpl.getTargetAddress("tenant"))).thenReturn(registrationCache);
+        when(cacheProvider.getExistingCache(CredentialsClientImpl.getTargetAddress("tenant"))).thenReturn(credentialsCache);
+        invalidator = new NotificationCacheInvalidator(cacheProvider);
+    }
+
+    /**
+     * Verifies that a notification about a changed tenant removes the tenant's
+     * configuration and all responses for the tenant's devices.
+     */
+    @Test
+    public void testTenantNotificationInvalidatesTenantScopedCaches() {
+
+        invalidator.handle(NotificationConstants.getTenantNotification(Change.updated, "tenant"));
+
+        final Predicate<? super Object> tenantFilter = getFilter(tenantCache);
+        assertTrue(tenantFilter.test(TriTuple.of(TenantAction.get, "tenant", null)));
+        assertTrue(tenantFilter.test(TriTuple.of(TenantAction.get, new X500Principal("CN=ca"), null)));
+        assertFalse(tenantFilter.test(TriTuple.of(TenantAction.get, "other-tenant", null)));
+        assertTrue(getFilter(registrationCache).test(TriTuple.of("assert", "device", null)));
+        assertTrue(getFilter(credentialsCache).test(TriTuple.of("get", "psk", "device")));
+    }
+
+    /**
+     * Verifies that a notification about a changed device removes the assertions
+     * for the device and for devices connected via the device as a gateway only.
+     */
+    @Test
+    public void testDeviceNotificationInvalidatesAssertionsForDevice() {
+
+        invalidator.handle(NotificationConstants.getDeviceNotification(Change.removed, "tenant", "device"));
+
+        final Predicate<? super Object> filter = getFilter(registrationCache);
+        assertTrue(filter.test(TriTuple.of("assert", "device", null)));
+        assertTrue(filter.test(TriTuple.of("assert", "other-device", "device")));
+        assertFalse(filter.test(TriTuple.of("assert", "other-device", null)));
+        verify(tenantCache, never()).removeIf(any());
+        verify(credentialsCache, never()).removeIf(any());
+    }
+
+    /**
+     * Verifies that a notification about changed credentials removes the responses
+     * for the changed type and authentication identifier only.
+     */
+    @Test
+    public void testCredentialsNotificationInvalidatesMatchingCredentials() {
+
+        invalidator.handle(NotificationConstants.getCredentialsNotification(
+                Change.updated, "tenant", "device", "psk", "auth"));
+
+        final Predicate<? super Object> filter = getFilter(credentialsCache);
+        assertTrue(filter.test(TriTuple.of("get", "psk", "auth")));
+        assertFalse(filter.test(TriTuple.of("get", "hashed-password", "auth")));
+        assertFalse(filter.test(TriTuple.of("get", "psk", "other-auth")));
+        verify(registrationCache, never()).removeIf(any());
+    }
+
+    /**
+     * Verifies that a notification does not create caches that have not been used yet.
+     */
+    @Test
+    public void testNotificationDoesNotCreateCaches() {
+
+        invalidator.handle(NotificationConstants.getTenantNotification(Change.removed, "other-tenant"));
+
+        verify(cacheProvider).getExistingCache(RegistrationClientImpl.getTargetAddress("other-tenant"));
+        verify(cacheProvider, never()).getCache(anyString());
+        verify(registrationCache, never()).removeIf(any());
+    }
+
+    /**
+     * Verifies that malformed notifications are ignored.
+     */
+    @Test
+    public void testMalformedNotificationIsIgnored() {
+
+        invalidator.handle(new JsonObject().put(NotificationConstants.FIELD_RESOURCE, "unknown"));
+        invalidator.handle(new JsonObject().put(NotificationConstants.FIELD_RESOURCE, "tenant"));
+
+        verify(tenantCache, never()).removeIf(any());
+        verify(registrationCache, never()).removeIf(any());
+        verify(credentialsCache, never()).removeIf(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<? super Object> getFilter(final ExpiringValueCache<Object, Object> cache) {
+
+        final ArgumentCaptor<Predicate<? super Object>> filter = ArgumentCaptor.forClass(Predicate.class);
+        verify(cache).removeIf(filter.capture());
+        return filter.getValue();
+    }
+}
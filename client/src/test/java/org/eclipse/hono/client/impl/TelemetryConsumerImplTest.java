@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.client.impl;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.util.MessageHelper;
+import org.junit.Test;
+
+import io.vertx.proton.ProtonHelper;
+
+/**
+ * Tests verifying behavior of {@link TelemetryConsumerImpl}.
+ *
+ */
+public class TelemetryConsumerImplTest {
+
+    /**
+     * Verifies that the consumer is invoked with each message contained in
+     * an aggregate message.
+     */
+    @Test
+    public void testHandleMessageUnpacksAggregate() {
+
+        final Message aggregate = MessageHelper.newAggregate("telemetry/tenant", Arrays.asList(
+                ProtonHelper.message("one"), ProtonHelper.message("two")));
+        final List<String> payloads = new ArrayList<>();
+
+        TelemetryConsumerImpl.handleMessage(aggregate, msg -> payloads.add(MessageHelper.getPayload(msg)));
+
+        assertThat(payloads, is(Arrays.asList("one", "two")));
+    }
+
+    /**
+     * Verifies that the consumer is invoked with a plain message as is.
+     */
+    @Test
+    public void testHandleMessagePassesOnPlainMessage() {
+
+        final Message msg = ProtonHelper.message("telemetry/tenant", "one");
+        final List<Message> messages = new ArrayList<>();
+
+        TelemetryConsumerImpl.handleMessage(msg, messages::add);
+
+        assertThat(messages, is(Arrays.asList(msg)));
+    }
+}
@@ -11,21 +11,26 @@
  */
 package org.eclipse.hono.client.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.net.HttpURLConnection;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.qpid.proton.amqp.messaging.Rejected;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.MessageSender;
+import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -33,6 +38,7 @@ import io.vertx.core.Vertx;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonHelper;
 import io.vertx.proton.ProtonSender;
 
 /**
@@ -93,4 +99,32 @@ public class TelemetrySenderImplTest {
         // and the message has been sent
         verify(sender).send(any(Message.class), eq(handlerRef.get()));
     }
+
+    /**
+     * Verifies that the sender sends the messages of a batch as long as
+     * credit is available and fails the remaining messages.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings({ "unchecked" })
+    @Test
+    public void testSendBatchSendsMessagesWhileCreditIsAvailable(final TestContext ctx) {
+
+        // GIVEN a sender that has credit for two messages
+        when(sender.sendQueueFull()).thenReturn(Boolean.FALSE, Boolean.FALSE, Boolean.TRUE);
+        when(sender.send(any(Message.class), any(Handler.class))).thenReturn(mock(ProtonDelivery.class));
+        MessageSender messageSender = new TelemetrySenderImpl(config, sender, "tenant", "telemetry/tenant", context);
+
+        // WHEN sending a batch of three messages
+        final CompositeFuture result = messageSender.sendBatch(Arrays.asList(
+                ProtonHelper.message("one"), ProtonHelper.message("two"), ProtonHelper.message("three")));
+
+        // THEN the first two messages have been sent
+        verify(sender, times(2)).send(any(Message.class), any(Handler.class));
+        assertTrue(result.succeeded(0));
+        assertTrue(result.succeeded(1));
+        // and the third message has been failed because of the lack of credit
+        assertTrue(result.failed());
+        assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, ((ServerErrorException) result.cause(2)).getErrorCode());
+    }
 }
@@ -159,7 +159,7 @@ public class TenantClientImplTest {
         client.setResponseCache(cache);
 
         final JsonObject tenantJsonObject = newTenantResult("tenant");
-        final TenantResult<TenantObject> tenantResult = client.getResult(HttpURLConnection.HTTP_OK, tenantJsonObject.toString(), null);
+        final TenantResult<TenantObject> tenantResult = client.getResult(HttpURLConnection.HTTP_OK, tenantJsonObject.toBuffer(), null);
 
         when(cache.get(any(TriTuple.class))).thenReturn(tenantResult);
 
@@ -172,6 +172,34 @@ public class TenantClientImplTest {
 
     }
 
+    /**
+     * Verifies that a cached value that is about to expire is returned from the cache
+     * while a request for renewing the cached value is sent to the service.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetTenantRefreshesCachedValueAheadOfExpiration(final TestContext ctx) {
+
+        // GIVEN an adapter with a cache containing a tenant that should be refreshed
+        client.setResponseCache(cache);
+
+        final JsonObject tenantJsonObject = newTenantResult("tenant");
+        final TenantResult<TenantObject> tenantResult = client.getResult(HttpURLConnection.HTTP_OK, tenantJsonObject.toBuffer(), null);
+
+        when(cache.get(any(TriTuple.class))).thenReturn(tenantResult);
+        when(cache.isRefreshRequired(any(TriTuple.class))).thenReturn(Boolean.TRUE);
+
+        // WHEN getting tenant information
+        client.get("tenant").setHandler(ctx.asyncAssertSuccess(result -> {
+            // THEN the tenant information is read from the cache
+            ctx.assertEquals(tenantResult.getPayload(), result);
+            // and a request for refreshing the cached value is sent to the service
+            verify(sender).send(any(Message.class), any(Handler.class));
+        }));
+    }
+
     /**
      * Verifies that the client includes the required information in the request
      * message sent to the Tenant service.
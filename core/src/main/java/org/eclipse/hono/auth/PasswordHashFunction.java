@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.auth;
+
+import java.security.GeneralSecurityException;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A function for creating the hash of a password.
+ * <p>
+ * Implementations are registered with {@link PasswordHashFunctions} under the name
+ * that is used in the <em>hash-function</em> property of <em>hashed-password</em>
+ * secrets.
+ */
+@FunctionalInterface
+public interface PasswordHashFunction {
+
+    /**
+     * Creates the hash of a password.
+     * <p>
+     * Implementations may take a considerable amount of time to compute the hash.
+     * This method should therefore not be invoked on a vert.x event loop thread.
+     * 
+     * @param password The password to hash.
+     * @param salt The salt to use (may be {@code null}).
+     * @param secret The secret that the hash is created for. Implementations may read
+     *               additional parameters, e.g. the number of iterations, from the secret.
+     * @return The hashed password.
+     * @throws GeneralSecurityException if the hash cannot be created.
+     */
+    byte[] hash(String password, byte[] salt, JsonObject secret) throws GeneralSecurityException;
+}
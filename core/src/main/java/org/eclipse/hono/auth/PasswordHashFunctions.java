@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+import org.eclipse.hono.util.CredentialsConstants;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A registry of functions for hashing passwords.
+ * <p>
+ * The registry contains the following functions by default:
+ * <ul>
+ * <li>{@value #HASH_FUNCTION_PBKDF2_SHA256} and {@value #HASH_FUNCTION_PBKDF2_SHA512} - the
+ * PBKDF2 key derivation function using HMAC SHA-256 or HMAC SHA-512 respectively. The number of
+ * iterations is read from the secret's {@link CredentialsConstants#FIELD_SECRETS_ITERATIONS}
+ * property and defaults to {@value #DEFAULT_PBKDF2_ITERATIONS}. A salt is required.</li>
+ * </ul>
+ * Any other name is interpreted as the name of a {@code MessageDigest} algorithm supported by the JVM,
+ * e.g. <em>sha-256</em>. The digest is computed over the salt (if any) followed by the password's
+ * UTF-8 bytes.
+ * <p>
+ * Additional functions can be registered using {@link #register(String, PasswordHashFunction)}.
+ */
+public final class PasswordHashFunctions {
+
+    /**
+     * The name of the PBKDF2 function using HMAC SHA-256.
+     */
+    public static final String HASH_FUNCTION_PBKDF2_SHA256 = "pbkdf2-sha256";
+    /**
+     * The name of the PBKDF2 function using HMAC SHA-512.
+     */
+    public static final String HASH_FUNCTION_PBKDF2_SHA512 = "pbkdf2-sha512";
+    /**
+     * The number of iterations of the PBKDF2 functions if not set on a secret.
+     */
+    public static final int DEFAULT_PBKDF2_ITERATIONS = 10000;
+
+    private static final Map<String, PasswordHashFunction> FUNCTIONS = new ConcurrentHashMap<>();
+
+    static {
+        register(HASH_FUNCTION_PBKDF2_SHA256, pbkdf2("PBKDF2WithHmacSHA256", 256));
+        register(HASH_FUNCTION_PBKDF2_SHA512, pbkdf2("PBKDF2WithHmacSHA512", 512));
+    }
+
+    private PasswordHashFunctions() {
+        // prevent instantiation
+    }
+
+    /**
+     * Registers a hash function.
+     * <p>
+     * A function that has already been registered under the same name is replaced.
+     *
+     * @param name The name of the function as used in the <em>hash-function</em>
+     *             property of secrets. The name is not case sensitive.
+     * @param function The function.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static void register(final String name, final PasswordHashFunction function) {
+        FUNCTIONS.put(Objects.requireNonNull(name).toLowerCase(Locale.ROOT), Objects.requireNonNull(function));
+    }
+
+    /**
+     * Creates the hash of a password.
+     *
+     * @param hashFunction The name of the hash function to use.
+     * @param password The password to hash.
+     * @param salt The salt to use (may be {@code null}).
+     * @param secret The secret that the hash is created for. The secret may contain additional
+     *               parameters for the hash function.
+     * @return The hashed password.
+     * @throws NullPointerException if any of hash function, password or secret are {@code null}.
+     * @throws NoSuchAlgorithmException if the hash function is not supported.
+     * @throws IllegalArgumentException if the hash cannot be created from the given parameters.
+     */
+    public static byte[] hash(
+            final String hashFunction,
+            final String password,
+            final byte[] salt,
+            final JsonObject secret) throws NoSuchAlgorithmException {
+
+        Objects.requireNonNull(hashFunction);
+        Objects.requireNonNull(password);
+        Objects.requireNonNull(secret);
+
+        final PasswordHashFunction function = FUNCTIONS.get(hashFunction.toLowerCase(Locale.ROOT));
+        try {
+            if (function == null) {
+                return digest(hashFunction, password, salt);
+            } else {
+                return function.hash(password, salt, secret);
+            }
+        } catch (final NoSuchAlgorithmException e) {
+            throw e;
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalArgumentException("cannot hash password", e);
+        }
+    }
+
+    private static byte[] digest(final String algorithm, final String password, final byte[] salt) throws NoSuchAlgorithmException {
+
+        final MessageDigest digest = MessageDigest.getInstance(algorithm);
+        if (salt != null) {
+            digest.update(salt);
+        }
+        digest.update(password.getBytes(StandardCharsets.UTF_8));
+        return digest.digest();
+    }
+
+    private static PasswordHashFunction pbkdf2(final String algorithm, final int keyLength) {
+
+        return (password, salt, secret) -> {
+            if (salt == null || salt.length == 0) {
+                throw new GeneralSecurityException("PBKDF2 requires a salt");
+            }
+            final Object iterations = secret.getValue(CredentialsConstants.FIELD_SECRETS_ITERATIONS);
+            if (iterations != null && !(iterations instanceof Integer && (Integer) iterations > 0)) {
+                throw new GeneralSecurityException("number of iterations must be a positive integer");
+            }
+            final PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt,
+                    iterations == null ? DEFAULT_PBKDF2_ITERATIONS : (Integer) iterations, keyLength);
+            try {
+                return SecretKeyFactory.getInstance(algorithm).generateSecret(spec).getEncoded();
+            } finally {
+                spec.clearPassword();
+            }
+        };
+    }
+}
@@ -32,4 +32,26 @@ public interface CacheProvider {
      * @throws NullPointerException if the cache name is {@code null}.
      */
     public <K, V> ExpiringValueCache<K, V> getCache(String cacheName);
+
+    /**
+     * Gets an existing cache instance by name.
+     * <p>
+     * In contrast to {@link #getCache(String)} this method never creates a new cache.
+     * It is intended for operations that only make sense for a cache that is already
+     * in use, e.g. removing outdated values from it.
+     * <p>
+     * This default implementation delegates to {@link #getCache(String)}. Providers
+     * that create caches on demand should override this method.
+     * 
+     * @param cacheName the name of the cache to get. Must not be {@code null}.
+     * @param <K> The type of keys that the cache supports.
+     * @param <V> The type of values that the cache supports.
+     * 
+     * @return The cache instance or {@code null} if no cache with that name exists.
+     * 
+     * @throws NullPointerException if the cache name is {@code null}.
+     */
+    default <K, V> ExpiringValueCache<K, V> getExistingCache(final String cacheName) {
+        return getCache(cacheName);
+    }
 }
@@ -15,6 +15,7 @@ package org.eclipse.hono.cache;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.function.Predicate;
 
 /**
  * A cache for values that have a limited validity period.
@@ -60,4 +61,35 @@ public interface ExpiringValueCache<K, V> {
      *         if the value is expired.
      */
     V get(K key);
+
+    /**
+     * Removes all values from the cache whose keys match a predicate.
+     * <p>
+     * This method is used for invalidating values that are known to be outdated,
+     * e.g. because the data they have been derived from has changed.
+     * Implementations that cannot iterate over their keys may remove more
+     * values than those matching the predicate, e.g. all values of the cache.
+     * 
+     * @param filter The predicate to test the keys with.
+     * @throws NullPointerException if filter is {@code null}.
+     */
+    void removeIf(Predicate<? super K> filter);
+
+    /**
+     * Checks if the value cached for a key should be renewed before it expires.
+     * <p>
+     * Implementations supporting <em>refresh-ahead</em> return {@code true} at most
+     * once per cached value, i.e. only to the first caller asking after the
+     * value has reached the implementation specific refresh threshold. That caller
+     * is then expected to retrieve a fresh value and put it to the cache while
+     * the existing value continues to be served until it expires.
+     * <p>
+     * This default implementation always returns {@code false}.
+     * 
+     * @param key The key to check.
+     * @return {@code true} if the caller should refresh the value.
+     */
+    default boolean isRefreshRequired(final K key) {
+        return false;
+    }
 }
@@ -14,6 +14,9 @@ package org.eclipse.hono.config;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
@@ -37,10 +40,16 @@ public class ClientConfigProperties extends AbstractConfig {
      * The default amount of time to wait for a response before a request times out.
      */
     public static final long DEFAULT_REQUEST_TIMEOUT = 200L; // ms
+    /**
+     * The default maximum amount of time to wait before trying to re-connect.
+     */
+    public static final long DEFAULT_RECONNECT_MAX_INTERVAL = 10000L; // ms
 
     private String name;
     private String host = "localhost";
     private int port = Constants.PORT_AMQPS;
+    private List<String> hosts = Collections.emptyList();
+    private long reconnectMaxInterval = DEFAULT_RECONNECT_MAX_INTERVAL;
     private String username;
     private char[] password;
     private String credentialsPath;
@@ -50,6 +59,7 @@ public class ClientConfigProperties extends AbstractConfig {
     private long requestTimeoutMillis = DEFAULT_REQUEST_TIMEOUT;
     private boolean hostnameVerificationRequired = true;
     private boolean tlsEnabled = false;
+    private boolean binaryPayloadEnabled = false;
 
     /**
      * Gets the name or literal IP address of the host that the client is configured to connect to.
@@ -72,6 +82,40 @@ public class ClientConfigProperties extends AbstractConfig {
         this.host = Objects.requireNonNull(host);
     }
 
+    /**
+     * Gets the hosts that the client is configured to connect to.
+     * <p>
+     * Each entry consists of a host name or literal IP address, optionally followed by
+     * a colon and a port number. Entries without a port number refer to the port
+     * configured by means of {@link #setPort(int)}. IPv6 addresses need to be enclosed
+     * in square brackets if a port is given, e.g. <em>[::1]:5671</em>.
+     * <p>
+     * If this property is empty (the default), the client connects to the host
+     * configured by means of {@link #setHost(String)}. Otherwise, the host property is
+     * ignored and the client connects to the host with the fewest open connections from
+     * this process.
+     *
+     * @return An unmodifiable list of hosts.
+     */
+    public final List<String> getHosts() {
+        return hosts;
+    }
+
+    /**
+     * Sets the hosts that the client should connect to.
+     * <p>
+     * This property can be used for spreading the connections of multiple clients
+     * over several replicas of a service.
+     *
+     * @param hosts The hosts, each one consisting of a host name or literal IP address
+     *              and an optional port number.
+     * @throws NullPointerException if hosts is {@code null}.
+     * @see #getHosts()
+     */
+    public final void setHosts(final List<String> hosts) {
+        this.hosts = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(hosts)));
+    }
+
     /**
      * Gets the TCP port of the server that this client is configured to connect to.
      * <p>
@@ -403,4 +447,65 @@ public class ClientConfigProperties extends AbstractConfig {
     public final void setTlsEnabled(boolean enabled) {
         this.tlsEnabled = enabled;
     }
+
+    /**
+     * Gets the maximum amount of time to wait before trying to re-connect to the server.
+     * <p>
+     * The client waits for a random amount of time before each attempt to re-connect.
+     * The upper bound of this time starts at the reconnect interval and is doubled with
+     * every failed attempt until it reaches the value of this property. Spreading the
+     * attempts over time this way prevents a large number of clients from re-connecting
+     * at the same time after the server has become available again.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RECONNECT_MAX_INTERVAL}.
+     *
+     * @return The maximum interval in milliseconds.
+     */
+    public final long getReconnectMaxInterval() {
+        return reconnectMaxInterval;
+    }
+
+    /**
+     * Sets the maximum amount of time to wait before trying to re-connect to the server.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RECONNECT_MAX_INTERVAL}.
+     *
+     * @param interval The maximum interval in milliseconds.
+     * @throws IllegalArgumentException if interval is &lt; 0.
+     */
+    public final void setReconnectMaxInterval(final long interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("reconnect max interval must be >= 0");
+        }
+        this.reconnectMaxInterval = interval;
+    }
+
+    /**
+     * Checks if the client should ask the server to exchange request and response payload
+     * in binary form.
+     * <p>
+     * If enabled, request-response clients negotiate the use of <em>Data</em> sections
+     * for carrying JSON payload with the server. Payload is then (de-)serialized directly
+     * from/to bytes instead of being converted to a String first. Servers not supporting
+     * the capability continue to exchange payload in <em>AmqpValue</em> sections.
+     * <p>
+     * The default value of this property is {@code false}.
+     * 
+     * @return {@code true} if binary payload should be negotiated.
+     */
+    public final boolean isBinaryPayloadEnabled() {
+        return binaryPayloadEnabled;
+    }
+
+    /**
+     * Sets whether the client should ask the server to exchange request and response payload
+     * in binary form.
+     * <p>
+     * The default value of this property is {@code false}.
+     * 
+     * @param enabled {@code true} if binary payload should be negotiated.
+     */
+    public final void setBinaryPayloadEnabled(final boolean enabled) {
+        this.binaryPayloadEnabled = enabled;
+    }
 }
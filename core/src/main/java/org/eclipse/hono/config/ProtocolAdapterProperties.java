@@ -21,6 +21,13 @@ public class ProtocolAdapterProperties extends ServiceConfigProperties {
     private boolean authenticationRequired = true;
     private boolean jmsVendorPropsEnabled = false;
     private boolean defaultsEnabled = true;
+    private String eventSpoolPath;
+    private long eventSpoolMaxSize = 64 * 1024 * 1024;
+    private long eventSpoolMaxSizePerTenant = 0;
+    private int eventSpoolSegmentSize = 4 * 1024 * 1024;
+    private int credentialsValidationPoolSize = 4;
+    private int credentialsValidationQueueSize = 1000;
+    private int messageTemplateCacheSize = 1000;
 
     /**
      * Checks whether the protocol adapter always authenticates devices using their provided credentials as defined
@@ -129,4 +136,227 @@ public class ProtocolAdapterProperties extends ServiceConfigProperties {
     public void setDefaultsEnabled(final boolean flag) {
         this.defaultsEnabled = flag;
     }
+
+    /**
+     * Checks if the adapter should spool events to local disk if they cannot be
+     * forwarded downstream.
+     * 
+     * @return {@code true} if the <em>eventSpoolPath</em> property is set.
+     */
+    public final boolean isEventSpoolEnabled() {
+        return eventSpoolPath != null;
+    }
+
+    /**
+     * Gets the path to the directory that the adapter spools events to if they
+     * cannot be forwarded downstream, e.g. because the connection to the downstream
+     * peer is lost.
+     * <p>
+     * The default value of this property is {@code null}, meaning that events are
+     * not spooled but are rejected instead.
+     * 
+     * @return The path or {@code null} if spooling is disabled.
+     */
+    public final String getEventSpoolPath() {
+        return eventSpoolPath;
+    }
+
+    /**
+     * Sets the path to the directory that the adapter spools events to if they
+     * cannot be forwarded downstream, e.g. because the connection to the downstream
+     * peer is lost.
+     * <p>
+     * Spooled events are acknowledged to the device and are forwarded downstream
+     * in the order in which they have been received once the downstream peer is
+     * available again.
+     * <p>
+     * Each adapter instance uses its own sub-directory of the given path.
+     * <p>
+     * The default value of this property is {@code null}, meaning that events are
+     * not spooled but are rejected instead.
+     * 
+     * @param path The path or {@code null} if spooling should be disabled.
+     */
+    public final void setEventSpoolPath(final String path) {
+        this.eventSpoolPath = path;
+    }
+
+    /**
+     * Gets the maximum number of bytes of events that an adapter instance spools.
+     * <p>
+     * The default value of this property is 64 MB.
+     * 
+     * @return The number of bytes.
+     */
+    public final long getEventSpoolMaxSize() {
+        return eventSpoolMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of bytes of events that an adapter instance spools.
+     * <p>
+     * Events that would exceed this limit are rejected.
+     * <p>
+     * The default value of this property is 64 MB.
+     * 
+     * @param bytes The number of bytes.
+     * @throws IllegalArgumentException if bytes is &lt; 0.
+     */
+    public final void setEventSpoolMaxSize(final long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("maximum size must be >= 0");
+        }
+        this.eventSpoolMaxSize = bytes;
+    }
+
+    /**
+     * Gets the maximum number of bytes of events of a single tenant that an adapter instance spools.
+     * <p>
+     * The default value of this property is 0, meaning that the number of bytes
+     * is limited by the <em>eventSpoolMaxSize</em> only.
+     * 
+     * @return The number of bytes.
+     */
+    public final long getEventSpoolMaxSizePerTenant() {
+        return eventSpoolMaxSizePerTenant;
+    }
+
+    /**
+     * Sets the maximum number of bytes of events of a single tenant that an adapter instance spools.
+     * <p>
+     * This limit prevents a single tenant from using up all of the spool's capacity.
+     * Events that would exceed this limit are rejected.
+     * <p>
+     * The default value of this property is 0, meaning that the number of bytes
+     * is limited by the <em>eventSpoolMaxSize</em> only.
+     * 
+     * @param bytes The number of bytes.
+     * @throws IllegalArgumentException if bytes is &lt; 0.
+     */
+    public final void setEventSpoolMaxSizePerTenant(final long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("maximum size must be >= 0");
+        }
+        this.eventSpoolMaxSizePerTenant = bytes;
+    }
+
+    /**
+     * Gets the size of the segment files that the event spool consists of.
+     * <p>
+     * The default value of this property is 4 MB.
+     * 
+     * @return The number of bytes.
+     */
+    public final int getEventSpoolSegmentSize() {
+        return eventSpoolSegmentSize;
+    }
+
+    /**
+     * Sets the size of the segment files that the event spool consists of.
+     * <p>
+     * The segment size also limits the size of a single spooled event.
+     * <p>
+     * The default value of this property is 4 MB.
+     * 
+     * @param bytes The number of bytes.
+     * @throws IllegalArgumentException if bytes is &lt; 4096.
+     */
+    public final void setEventSpoolSegmentSize(final int bytes) {
+        if (bytes < 4096) {
+            throw new IllegalArgumentException("segment size must be >= 4096 bytes");
+        }
+        this.eventSpoolSegmentSize = bytes;
+    }
+
+    /**
+     * Gets the number of threads used for validating the credentials presented by devices.
+     * <p>
+     * Validating credentials may require the computation of expensive password hashes.
+     * The adapter therefore validates credentials on a dedicated pool of worker threads
+     * in order to not block the event loop threads that handle the traffic of devices
+     * that are already connected.
+     * <p>
+     * The default value of this property is 4.
+     * 
+     * @return The number of threads or 0 if credentials are validated on the event loop.
+     */
+    public final int getCredentialsValidationPoolSize() {
+        return credentialsValidationPoolSize;
+    }
+
+    /**
+     * Sets the number of threads used for validating the credentials presented by devices.
+     * <p>
+     * The default value of this property is 4.
+     * 
+     * @param size The number of threads or 0 if credentials should be validated on the event loop.
+     * @throws IllegalArgumentException if size is &lt; 0.
+     */
+    public final void setCredentialsValidationPoolSize(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("pool size must be >= 0");
+        }
+        this.credentialsValidationPoolSize = size;
+    }
+
+    /**
+     * Gets the maximum number of credentials validations that may be waiting for a thread
+     * of the validation pool to become available.
+     * <p>
+     * Authentication attempts are rejected while this number is exceeded.
+     * <p>
+     * The default value of this property is 1000.
+     * 
+     * @return The maximum number of waiting validations.
+     */
+    public final int getCredentialsValidationQueueSize() {
+        return credentialsValidationQueueSize;
+    }
+
+    /**
+     * Sets the maximum number of credentials validations that may be waiting for a thread
+     * of the validation pool to become available.
+     * <p>
+     * The default value of this property is 1000.
+     * 
+     * @param size The maximum number of waiting validations.
+     * @throws IllegalArgumentException if size is &lt; 0.
+     */
+    public final void setCredentialsValidationQueueSize(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("queue size must be >= 0");
+        }
+        this.credentialsValidationQueueSize = size;
+    }
+
+    /**
+     * Gets the maximum number of devices for which the properties added to
+     * downstream messages are cached.
+     * <p>
+     * The default value of this property is 1000.
+     * 
+     * @return The maximum number of devices.
+     */
+    public final int getMessageTemplateCacheSize() {
+        return messageTemplateCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of devices for which the properties added to
+     * downstream messages are cached.
+     * <p>
+     * The properties are derived from a device's registration information. Caching them
+     * spares the adapter from evaluating the registration information for every message.
+     * <p>
+     * The default value of this property is 1000.
+     * 
+     * @param size The maximum number of devices or 0 if the properties should not be cached.
+     * @throws IllegalArgumentException if size is &lt; 0.
+     */
+    public final void setMessageTemplateCacheSize(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("cache size must be >= 0");
+        }
+        this.messageTemplateCacheSize = size;
+    }
 }
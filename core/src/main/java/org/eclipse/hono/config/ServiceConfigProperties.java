@@ -36,6 +36,17 @@ public class ServiceConfigProperties extends AbstractConfig {
     private String insecurePortBindAddress = LOOPBACK_DEVICE_ADDRESS;
     private int insecurePort = Constants.PORT_UNCONFIGURED;
     private int maxPayloadSize = 2048;
+    private int maxRequestsInFlightPerLink = 0;
+    private int maxRequestsInFlightPerConnection = 0;
+    private long maxEventLoopDelay = 0;
+    private int maxOutstandingRequests = 0;
+    private boolean reusePort = false;
+    private boolean tcpNoDelay = true;
+    private boolean tcpQuickAck = false;
+    private int sendBufferSize = -1;
+    private int receiveBufferSize = -1;
+    private boolean nativeTlsEnabled = false;
+    private boolean tlsSessionCacheEnabled = true;
 
     /**
      * Gets the host name or literal IP address of the network interface that this server's secure port is
@@ -290,4 +301,333 @@ public class ServiceConfigProperties extends AbstractConfig {
         return this;
     }
 
+    /**
+     * Gets the maximum number of requests that a client may have outstanding on a
+     * single link to a request-response endpoint.
+     * <p>
+     * If this property is set to a value &gt; 0, request-response endpoints issue credit
+     * to clients only when a response to a previous request has been produced, thus
+     * limiting the number of requests that are being processed concurrently.
+     * Otherwise, credit is replenished as soon as a request has been accepted.
+     * <p>
+     * The default value of this property is 0.
+     *
+     * @return The maximum number of outstanding requests per link.
+     */
+    public final int getMaxRequestsInFlightPerLink() {
+        return maxRequestsInFlightPerLink;
+    }
+
+    /**
+     * Sets the maximum number of requests that a client may have outstanding on a
+     * single link to a request-response endpoint.
+     * <p>
+     * If this property is set to a value &gt; 0, request-response endpoints issue credit
+     * to clients only when a response to a previous request has been produced, thus
+     * limiting the number of requests that are being processed concurrently.
+     * Otherwise, credit is replenished as soon as a request has been accepted.
+     * <p>
+     * The default value of this property is 0.
+     *
+     * @param maxRequests The maximum number of outstanding requests per link.
+     * @return This instance for setter chaining.
+     * @throws IllegalArgumentException if the number is &lt; 0.
+     */
+    public final ServiceConfigProperties setMaxRequestsInFlightPerLink(final int maxRequests) {
+        if (maxRequests < 0) {
+            throw new IllegalArgumentException("max requests in flight must not be negative");
+        }
+        this.maxRequestsInFlightPerLink = maxRequests;
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of requests that a client may have outstanding on
+     * all links of a connection to request-response endpoints.
+     * <p>
+     * This property is only used if the <em>maxRequestsInFlightPerLink</em>
+     * property is set to a value &gt; 0.
+     * <p>
+     * The default value of this property is 0 which means that the number of
+     * outstanding requests is only limited per link.
+     *
+     * @return The maximum number of outstanding requests per connection.
+     */
+    public final int getMaxRequestsInFlightPerConnection() {
+        return maxRequestsInFlightPerConnection;
+    }
+
+    /**
+     * Sets the maximum number of requests that a client may have outstanding on
+     * all links of a connection to request-response endpoints.
+     * <p>
+     * This property is only used if the <em>maxRequestsInFlightPerLink</em>
+     * property is set to a value &gt; 0.
+     * <p>
+     * The default value of this property is 0 which means that the number of
+     * outstanding requests is only limited per link.
+     *
+     * @param maxRequests The maximum number of outstanding requests per connection.
+     * @return This instance for setter chaining.
+     * @throws IllegalArgumentException if the number is &lt; 0.
+     */
+    public final ServiceConfigProperties setMaxRequestsInFlightPerConnection(final int maxRequests) {
+        if (maxRequests < 0) {
+            throw new IllegalArgumentException("max requests in flight must not be negative");
+        }
+        this.maxRequestsInFlightPerConnection = maxRequests;
+        return this;
+    }
+
+    /**
+     * Gets the maximum delay of tasks scheduled on an event loop
+     * after which the server is considered overloaded.
+     * <p>
+     * An overloaded server refuses new connections and links and rejects
+     * requests until the delay has dropped below the threshold again.
+     * <p>
+     * The default value of this property is 0 which means that the event
+     * loop delay is not monitored.
+     *
+     * @return The maximum delay in milliseconds.
+     */
+    public final long getMaxEventLoopDelay() {
+        return maxEventLoopDelay;
+    }
+
+    /**
+     * Sets the maximum delay of tasks scheduled on an event loop
+     * after which the server is considered overloaded.
+     * <p>
+     * An overloaded server refuses new connections and links and rejects
+     * requests until the delay has dropped below the threshold again.
+     * <p>
+     * The default value of this property is 0 which means that the event
+     * loop delay is not monitored.
+     *
+     * @param delay The maximum delay in milliseconds.
+     * @return This instance for setter chaining.
+     * @throws IllegalArgumentException if the delay is &lt; 0.
+     */
+    public final ServiceConfigProperties setMaxEventLoopDelay(final long delay) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("max event loop delay must not be negative");
+        }
+        this.maxEventLoopDelay = delay;
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of requests that a server instance may be processing
+     * concurrently before it is considered overloaded.
+     * <p>
+     * The default value of this property is 0 which means that the number of
+     * outstanding requests is not limited.
+     *
+     * @return The maximum number of outstanding requests.
+     */
+    public final int getMaxOutstandingRequests() {
+        return maxOutstandingRequests;
+    }
+
+    /**
+     * Sets the maximum number of requests that a server instance may be processing
+     * concurrently before it is considered overloaded.
+     * <p>
+     * The default value of this property is 0 which means that the number of
+     * outstanding requests is not limited.
+     *
+     * @param maxRequests The maximum number of outstanding requests.
+     * @return This instance for setter chaining.
+     * @throws IllegalArgumentException if the number is &lt; 0.
+     */
+    public final ServiceConfigProperties setMaxOutstandingRequests(final int maxRequests) {
+        if (maxRequests < 0) {
+            throw new IllegalArgumentException("max outstanding requests must not be negative");
+        }
+        this.maxOutstandingRequests = maxRequests;
+        return this;
+    }
+
+    /**
+     * Checks whether the server's sockets are bound using the <em>SO_REUSEPORT</em> option.
+     *
+     * @return {@code true} if the option is set.
+     */
+    public final boolean isReusePort() {
+        return reusePort;
+    }
+
+    /**
+     * Sets whether the server's sockets should be bound using the <em>SO_REUSEPORT</em> option.
+     * <p>
+     * The option allows multiple server processes on the same host to bind to the same
+     * port, in which case the operating system's kernel distributes incoming connections
+     * among them. The option is only supported by the native transport on Linux and is
+     * ignored otherwise.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param reusePort {@code true} if the option should be set.
+     * @return This instance for setter chaining.
+     */
+    public final ServiceConfigProperties setReusePort(final boolean reusePort) {
+        this.reusePort = reusePort;
+        return this;
+    }
+
+    /**
+     * Checks whether the <em>TCP_NODELAY</em> option is set on connections accepted by the server.
+     *
+     * @return {@code true} if the option is set.
+     */
+    public final boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    /**
+     * Sets whether the <em>TCP_NODELAY</em> option should be set on connections accepted by the server.
+     * <p>
+     * The option disables Nagle's algorithm so that small messages are sent immediately
+     * instead of being coalesced.
+     * <p>
+     * The default value of this property is {@code true}.
+     *
+     * @param tcpNoDelay {@code true} if the option should be set.
+     * @return This instance for setter chaining.
+     */
+    public final ServiceConfigProperties setTcpNoDelay(final boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+        return this;
+    }
+
+    /**
+     * Checks whether the <em>TCP_QUICKACK</em> option is set on connections accepted by the server.
+     *
+     * @return {@code true} if the option is set.
+     */
+    public final boolean isTcpQuickAck() {
+        return tcpQuickAck;
+    }
+
+    /**
+     * Sets whether the <em>TCP_QUICKACK</em> option should be set on connections accepted by the server.
+     * <p>
+     * The option disables delayed acknowledgements. It is only supported by the native
+     * transport on Linux and is ignored otherwise.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param tcpQuickAck {@code true} if the option should be set.
+     * @return This instance for setter chaining.
+     */
+    public final ServiceConfigProperties setTcpQuickAck(final boolean tcpQuickAck) {
+        this.tcpQuickAck = tcpQuickAck;
+        return this;
+    }
+
+    /**
+     * Gets the size of the send buffer of connections accepted by the server.
+     *
+     * @return The number of bytes or -1 if the server's default is used.
+     */
+    public final int getSendBufferSize() {
+        return sendBufferSize;
+    }
+
+    /**
+     * Sets the size of the send buffer of connections accepted by the server.
+     * <p>
+     * The default value of this property is -1 which means that the server's
+     * default is used.
+     *
+     * @param bytes The number of bytes or -1 if the server's default should be used.
+     * @return This instance for setter chaining.
+     * @throws IllegalArgumentException if the size is neither -1 nor &gt; 0.
+     */
+    public final ServiceConfigProperties setSendBufferSize(final int bytes) {
+        if (bytes == 0 || bytes < -1) {
+            throw new IllegalArgumentException("send buffer size must be -1 or > 0");
+        }
+        this.sendBufferSize = bytes;
+        return this;
+    }
+
+    /**
+     * Gets the size of the receive buffer of connections accepted by the server.
+     *
+     * @return The number of bytes or -1 if the server's default is used.
+     */
+    public final int getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    /**
+     * Sets the size of the receive buffer of connections accepted by the server.
+     * <p>
+     * The default value of this property is -1 which means that the server's
+     * default is used.
+     *
+     * @param bytes The number of bytes or -1 if the server's default should be used.
+     * @return This instance for setter chaining.
+     * @throws IllegalArgumentException if the size is neither -1 nor &gt; 0.
+     */
+    public final ServiceConfigProperties setReceiveBufferSize(final int bytes) {
+        if (bytes == 0 || bytes < -1) {
+            throw new IllegalArgumentException("receive buffer size must be -1 or > 0");
+        }
+        this.receiveBufferSize = bytes;
+        return this;
+    }
+
+    /**
+     * Checks whether the server uses OpenSSL for TLS instead of the JDK's implementation.
+     *
+     * @return {@code true} if OpenSSL is used if available.
+     */
+    public final boolean isNativeTlsEnabled() {
+        return nativeTlsEnabled;
+    }
+
+    /**
+     * Sets whether the server should use OpenSSL for TLS instead of the JDK's implementation.
+     * <p>
+     * OpenSSL requires the <em>netty-tcnative</em> library to be on the class path.
+     * If it is not available, the server falls back to the JDK's implementation.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param nativeTlsEnabled {@code true} if OpenSSL should be used if available.
+     * @return This instance for setter chaining.
+     */
+    public final ServiceConfigProperties setNativeTlsEnabled(final boolean nativeTlsEnabled) {
+        this.nativeTlsEnabled = nativeTlsEnabled;
+        return this;
+    }
+
+    /**
+     * Checks whether the server caches TLS sessions so that clients can resume them.
+     *
+     * @return {@code true} if sessions are cached.
+     */
+    public final boolean isTlsSessionCacheEnabled() {
+        return tlsSessionCacheEnabled;
+    }
+
+    /**
+     * Sets whether the server should cache TLS sessions so that clients can resume them.
+     * <p>
+     * Resuming a session requires an abbreviated handshake only which is considerably
+     * less expensive than a full handshake. This property is only used with OpenSSL,
+     * the JDK's implementation always caches sessions.
+     * <p>
+     * The default value of this property is {@code true}.
+     *
+     * @param enabled {@code true} if sessions should be cached.
+     * @return This instance for setter chaining.
+     */
+    public final ServiceConfigProperties setTlsSessionCacheEnabled(final boolean enabled) {
+        this.tlsSessionCacheEnabled = enabled;
+        return this;
+    }
 }
@@ -13,6 +13,9 @@
 
 package org.eclipse.hono.connection;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -27,6 +30,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.net.KeyCertOptions;
+import io.vertx.core.net.SocketAddress;
 import io.vertx.core.net.TrustOptions;
 import io.vertx.proton.ProtonClient;
 import io.vertx.proton.ProtonClientOptions;
@@ -36,13 +40,21 @@ import io.vertx.proton.sasl.impl.ProtonSaslPlainImpl;
 
 /**
  * A <em>vertx-proton</em> based connection factory.
+ * <p>
+ * If the configuration contains a list of hosts, the factory connects to the host
+ * that the fewest connections of this process are currently established with. If a connection
+ * attempt fails, the next attempt is made to another host.
  */
 public final class ConnectionFactoryImpl implements ConnectionFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(ConnectionFactoryImpl.class);
     private final Vertx vertx;
     private final ClientConfigProperties config;
+    private final List<SocketAddress> endpoints;
+    private EndpointSelector endpointSelector = EndpointSelector.getInstance();
     private ProtonClient protonClient;
+    private volatile SocketAddress currentEndpoint;
+    private volatile SocketAddress failedEndpoint;
 
     /**
      * Constructor with the Vert.x instance to use and the configuration 
@@ -54,10 +66,31 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
      * @param vertx The Vert.x instance.
      * @param config The configuration parameters.
      * @throws NullPointerException if the parameters are {@code null}.
+     * @throws IllegalArgumentException if the configuration contains an invalid host.
      */
     public ConnectionFactoryImpl(final Vertx vertx, final ClientConfigProperties config) {
         this.vertx = Objects.requireNonNull(vertx);
         this.config = Objects.requireNonNull(config);
+        if (config.getHosts().isEmpty()) {
+            this.endpoints = Collections.singletonList(SocketAddress.inetSocketAddress(config.getPort(), config.getHost()));
+        } else {
+            final List<SocketAddress> hosts = new ArrayList<>(config.getHosts().size());
+            config.getHosts().forEach(host -> hosts.add(EndpointSelector.parse(host, config.getPort())));
+            this.endpoints = Collections.unmodifiableList(hosts);
+        }
+        this.currentEndpoint = endpoints.get(0);
+    }
+
+    /**
+     * Sets the selector to use for choosing the host to connect to.
+     * <p>
+     * If not set, the selector shared by all factories of the process is used.
+     *
+     * @param endpointSelector The selector.
+     * @throws NullPointerException if the selector is {@code null}.
+     */
+    void setEndpointSelector(final EndpointSelector endpointSelector) {
+        this.endpointSelector = Objects.requireNonNull(endpointSelector);
     }
 
     /**
@@ -78,14 +111,26 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
         return config.getName();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the configuration contains a list of hosts, this is the host that
+     * the factory has most recently tried to connect to.
+     */
     @Override
     public String getHost() {
-        return config.getHost();
+        return currentEndpoint.host();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the configuration contains a list of hosts, this is the port of the host
+     * that the factory has most recently tried to connect to.
+     */
     @Override
     public int getPort() {
-        return config.getPort();
+        return currentEndpoint.port();
     }
 
     @Override
@@ -124,19 +169,32 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
         addOptions(clientOptions, effectiveUsername, effectivePassword);
 
         final ProtonClient client = protonClient != null ? protonClient : ProtonClient.create(vertx);
+        final SocketAddress endpoint = endpointSelector.select(endpoints, failedEndpoint);
+        currentEndpoint = endpoint;
         logger.debug("connecting to AMQP 1.0 container [{}://{}:{}]", clientOptions.isSsl() ? "amqps" : "amqp",
-                config.getHost(), config.getPort());
+                endpoint.host(), endpoint.port());
         client.connect(
                 clientOptions,
-                config.getHost(),
-                config.getPort(),
+                endpoint.host(),
+                endpoint.port(),
                 effectiveUsername,
                 effectivePassword,
-                conAttempt -> handleConnectionAttemptResult(conAttempt, clientOptions, closeHandler, disconnectHandler, connectionResultHandler));
+                conAttempt -> handleConnectionAttemptResult(conAttempt, endpoint, clientOptions, closeHandler, disconnectHandler,
+                        conResult -> {
+                            if (conResult.succeeded()) {
+                                failedEndpoint = null;
+                                endpointSelector.addConnection(endpoint, conResult.result());
+                            } else {
+                                // try another host next time
+                                failedEndpoint = endpoint;
+                            }
+                            connectionResultHandler.handle(conResult);
+                        }));
     }
 
     private void handleConnectionAttemptResult(
             final AsyncResult<ProtonConnection> conAttempt,
+            final SocketAddress endpoint,
             final ProtonClientOptions clientOptions,
             final Handler<AsyncResult<ProtonConnection>> closeHandler,
             final Handler<ProtonConnection> disconnectHandler,
@@ -145,14 +203,14 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
         if (conAttempt.failed()) {
 
             logger.debug("can't connect to AMQP 1.0 container [{}://{}:{}]: {}", clientOptions.isSsl() ? "amqps" : "amqp",
-                    config.getHost(), config.getPort(), conAttempt.cause().getMessage());
+                    endpoint.host(), endpoint.port(), conAttempt.cause().getMessage());
             connectionResultHandler.handle(Future.failedFuture(conAttempt.cause()));
 
         } else {
 
             // at this point the SASL exchange has completed successfully
             logger.debug("connected to AMQP 1.0 container [{}://{}:{}], opening connection ...",
-                    clientOptions.isSsl() ? "amqps" : "amqp", config.getHost(), config.getPort());
+                    clientOptions.isSsl() ? "amqps" : "amqp", endpoint.host(), endpoint.port());
             ProtonConnection downstreamConnection = conAttempt.result();
             downstreamConnection
                     .setContainer(String.format("%s-%s", config.getName(), UUID.randomUUID()))
@@ -160,7 +218,7 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
                     .openHandler(openCon -> {
                         if (openCon.succeeded()) {
                             logger.debug("connection to container [{}] at [{}://{}:{}] open", downstreamConnection.getRemoteContainer(),
-                                    clientOptions.isSsl() ? "amqps" : "amqp", config.getHost(), config.getPort());
+                                    clientOptions.isSsl() ? "amqps" : "amqp", endpoint.host(), endpoint.port());
                             downstreamConnection.disconnectHandler(disconnectHandler);
                             downstreamConnection.closeHandler(closeHandler);
                             connectionResultHandler.handle(Future.succeededFuture(downstreamConnection));
@@ -168,18 +226,18 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
                             final ErrorCondition error = downstreamConnection.getRemoteCondition();
                             if (error == null) {
                                 logger.warn("can't open connection to container [{}] at [{}://{}:{}]", downstreamConnection.getRemoteContainer(),
-                                        clientOptions.isSsl() ? "amqps" : "amqp", config.getHost(), config.getPort(), openCon.cause());
+                                        clientOptions.isSsl() ? "amqps" : "amqp", endpoint.host(), endpoint.port(), openCon.cause());
                             } else {
                                 logger.warn("can't open connection to container [{}] at [{}://{}:{}]: {} -{}",
                                         downstreamConnection.getRemoteContainer(), clientOptions.isSsl() ? "amqps" : "amqp",
-                                        config.getHost(), config.getPort(), error.getCondition(), error.getDescription());
+                                        endpoint.host(), endpoint.port(), error.getCondition(), error.getDescription());
                             }
                             connectionResultHandler.handle(Future.failedFuture(openCon.cause()));
                         }
                     }).disconnectHandler(disconnectedCon -> {
                         logger.warn("can't open connection to container [{}] at [{}://{}:{}]: {}",
                                 downstreamConnection.getRemoteContainer(),
-                                clientOptions.isSsl() ? "amqps" : "amqp", config.getHost(), config.getPort(),
+                                clientOptions.isSsl() ? "amqps" : "amqp", endpoint.host(), endpoint.port(),
                                 "underlying connection was disconnected while opening AMQP connection");
                         connectionResultHandler.handle(Future
                                 .failedFuture("underlying connection was disconnected while opening AMQP connection"));
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.connection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.vertx.core.net.SocketAddress;
+import io.vertx.proton.ProtonConnection;
+
+/**
+ * A selector for the endpoint to connect to out of a list of replicas of a service.
+ * <p>
+ * The selector keeps track of the connections that have been established to each
+ * endpoint and selects the endpoint with the fewest open connections. Ties are broken
+ * randomly so that clients starting at the same time spread over all endpoints.
+ * <p>
+ * A single instance is shared by all connection factories of a process so that the
+ * connections of all verticle instances are balanced. All methods are thread safe.
+ */
+final class EndpointSelector {
+
+    private static final EndpointSelector SHARED_INSTANCE = new EndpointSelector();
+
+    private final Map<String, Set<ProtonConnection>> openConnections = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the selector shared by all connection factories of this process.
+     *
+     * @return The selector.
+     */
+    static EndpointSelector getInstance() {
+        return SHARED_INSTANCE;
+    }
+
+    /**
+     * Parses an endpoint definition.
+     *
+     * @param hostAndPort The host name or literal IP address, optionally followed
+     *                    by a colon and a port number. IPv6 addresses need to be enclosed
+     *                    in square brackets if a port is given.
+     * @param defaultPort The port to use if the definition does not contain a port.
+     * @return The endpoint's address.
+     * @throws NullPointerException if definition is {@code null}.
+     * @throws IllegalArgumentException if the definition does not contain a valid host and port.
+     */
+    static SocketAddress parse(final String hostAndPort, final int defaultPort) {
+
+        Objects.requireNonNull(hostAndPort);
+        final String definition = hostAndPort.trim();
+        String host = definition;
+        String port = null;
+        if (definition.startsWith("[")) {
+            final int closingBracket = definition.indexOf(']');
+            if (closingBracket < 0) {
+                throw new IllegalArgumentException("invalid IPv6 address: " + hostAndPort);
+            }
+            host = definition.substring(1, closingBracket);
+            if (definition.length() > closingBracket + 1) {
+                if (definition.charAt(closingBracket + 1) != ':') {
+                    throw new IllegalArgumentException("invalid endpoint: " + hostAndPort);
+                }
+                port = definition.substring(closingBracket + 2);
+            }
+        } else if (definition.indexOf(':') >= 0 && definition.indexOf(':') == definition.lastIndexOf(':')) {
+            host = definition.substring(0, definition.indexOf(':'));
+            port = definition.substring(definition.indexOf(':') + 1);
+        }
+        if (host.isEmpty()) {
+            throw new IllegalArgumentException("endpoint must contain host: " + hostAndPort);
+        }
+        try {
+            final int portNumber = port == null ? defaultPort : Integer.parseInt(port);
+            if (portNumber < 0 || portNumber > 65535) {
+                throw new IllegalArgumentException("invalid port: " + hostAndPort);
+            }
+            return SocketAddress.inetSocketAddress(portNumber, host);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("invalid port: " + hostAndPort);
+        }
+    }
+
+    /**
+     * Selects the endpoint to connect to.
+     *
+     * @param endpoints The endpoints to choose from.
+     * @param excluded The endpoint that should not be selected unless it is the only one,
+     *                 e.g. because the last attempt to connect to it has failed (may be {@code null}).
+     * @return The endpoint with the fewest open connections.
+     * @throws IllegalArgumentException if the list of endpoints is empty.
+     */
+    SocketAddress select(final List<SocketAddress> endpoints, final SocketAddress excluded) {
+
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("no endpoints to select from");
+        } else if (endpoints.size() == 1) {
+            return endpoints.get(0);
+        }
+
+        final List<SocketAddress> candidates = new ArrayList<>(endpoints.size());
+        int fewestConnections = Integer.MAX_VALUE;
+        for (final SocketAddress endpoint : endpoints) {
+            if (excluded != null && key(endpoint).equals(key(excluded))) {
+                continue;
+            }
+            final int connections = getConnectionCount(endpoint);
+            if (connections < fewestConnections) {
+                fewestConnections = connections;
+                candidates.clear();
+            }
+            if (connections == fewestConnections) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return excluded;
+        }
+        return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+    }
+
+    /**
+     * Records a connection that has been established to an endpoint.
+     * <p>
+     * The connection is considered open until it has been disconnected.
+     *
+     * @param endpoint The endpoint.
+     * @param connection The connection.
+     */
+    void addConnection(final SocketAddress endpoint, final ProtonConnection connection) {
+        openConnections.computeIfAbsent(key(endpoint), k -> ConcurrentHashMap.newKeySet()).add(connection);
+    }
+
+    /**
+     * Gets the number of open connections to an endpoint.
+     *
+     * @param endpoint The endpoint.
+     * @return The number of connections that have not been disconnected yet.
+     */
+    int getConnectionCount(final SocketAddress endpoint) {
+        final Set<ProtonConnection> connections = openConnections.get(key(endpoint));
+        if (connections == null) {
+            return 0;
+        }
+        connections.removeIf(ProtonConnection::isDisconnected);
+        return connections.size();
+    }
+
+    private static String key(final SocketAddress endpoint) {
+        return endpoint.host() + ":" + endpoint.port();
+    }
+}
@@ -33,6 +33,7 @@ public final class CredentialsConstants extends RequestResponseApiConstants {
     public static final String FIELD_SECRETS_KEY                 = "key";
     public static final String FIELD_SECRETS_NOT_BEFORE          = "not-before";
     public static final String FIELD_SECRETS_NOT_AFTER           = "not-after";
+    public static final String FIELD_SECRETS_ITERATIONS          = "iterations";
 
     public static final String CREDENTIALS_ENDPOINT              = "credentials";
 
@@ -48,6 +49,13 @@ public final class CredentialsConstants extends RequestResponseApiConstants {
      * The vert.x event bus address to which inbound credentials messages are published.
      */
     public static final String EVENT_BUS_ADDRESS_CREDENTIALS_IN = "credentials.in";
+    /**
+     * The operation for adding a batch of credentials.
+     * <p>
+     * This operation is not part of the Credentials API. It is only used
+     * internally for processing bulk imports received via the HTTP endpoint.
+     */
+    public static final String OPERATION_ADD_BATCH = "add-batch";
 
     /**
      * Request actions that belong to the Credentials API.
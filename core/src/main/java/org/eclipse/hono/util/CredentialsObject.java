@@ -11,8 +11,6 @@
  */
 package org.eclipse.hono.util;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.OffsetDateTime;
@@ -25,6 +23,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import org.eclipse.hono.auth.PasswordHashFunctions;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -359,24 +359,29 @@ public final class CredentialsObject {
     /**
      * Creates a salted hash for a password.
      * <p>
-     * Gets the password's UTF-8 bytes, prepends them with the salt (if not {@code null}
-     * and returns the output of the hash function applied to the byte array.
+     * Applies the hash function registered under the given name with
+     * {@link PasswordHashFunctions} to the password using the given salt. If no function
+     * has been registered under the name, the password's UTF-8 bytes are prepended with
+     * the salt (if not {@code null}) and the output of the {@code MessageDigest} of the
+     * given name applied to the byte array is returned.
+     * <p>
+     * The PBKDF2 functions always use {@value PasswordHashFunctions#DEFAULT_PBKDF2_ITERATIONS}
+     * iterations because no secret is passed to the function. Use
+     * {@link PasswordHashFunctions#hash(String, String, byte[], JsonObject)} with a secret
+     * containing the <em>iterations</em> property in order to use a different number.
      * 
      * @param hashFunction The hash function to use.
-     * @param salt The salt to prepend the password bytes with.
+     * @param salt The salt to use.
      * @param password The password to hash.
      * @return The hashed password.
      * @throws NoSuchAlgorithmException if the given hash function is not supported on
      *           the JVM.
+     * @throws IllegalArgumentException if the hash function cannot be applied to the given
+     *           salt and password.
      */
     public static byte[] getHashedPassword(final String hashFunction, final byte[] salt, final String password) throws NoSuchAlgorithmException {
 
-        final MessageDigest digest = MessageDigest.getInstance(hashFunction);
-        if (salt != null) {
-            digest.update(salt);
-        }
-        digest.update(password.getBytes(StandardCharsets.UTF_8));
-        return digest.digest();
+        return PasswordHashFunctions.hash(hashFunction, password, salt, new JsonObject());
     }
 
     /**
@@ -12,12 +12,17 @@
  */
 package org.eclipse.hono.util;
 
+import java.nio.BufferOverflowException;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.apache.qpid.proton.amqp.Binary;
 import org.apache.qpid.proton.amqp.Symbol;
 import org.apache.qpid.proton.amqp.messaging.AmqpValue;
 import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
@@ -29,7 +34,9 @@ import org.apache.qpid.proton.message.Message;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonDelivery;
 
@@ -150,6 +157,15 @@ public final class MessageHelper {
      */
     public static final String JMS_VENDOR_PROPERTY_CONTENT_TYPE     = "JMS_AMQP_CONTENT_TYPE";
 
+    /**
+     * The content type indicating that a message contains a batch of aggregated messages.
+     * <p>
+     * The body of such a message consists of a single <em>AmqpValue</em> section containing
+     * a list of <em>binary</em> values, each one containing a complete encoded AMQP 1.0 message.
+     */
+    public static final String CONTENT_TYPE_AGGREGATE = "application/vnd.eclipse-hono-aggregate";
+
+    private static final int DEFAULT_ENCODING_BUFFER_SIZE = 256;
     private static final Logger LOG = LoggerFactory.getLogger(MessageHelper.class);
 
     private MessageHelper() {
@@ -284,6 +300,9 @@ public final class MessageHelper {
 
     /**
      * Parses a message's body into a JSON object.
+     * <p>
+     * The content of a <em>Data</em> section is parsed directly from its
+     * bytes without creating an intermediary String.
      * 
      * @param msg The AMQP 1.0 message to parse the body of.
      * @return The message body parsed into a JSON object or {@code null} if the message does not have a
@@ -293,8 +312,69 @@ public final class MessageHelper {
      */
     public static JsonObject getJsonPayload(final Message msg) {
 
-        final String payload = getPayload(msg);
-        return (payload != null ? new JsonObject(payload) : null);
+        Objects.requireNonNull(msg);
+        if (msg.getBody() instanceof Data) {
+            return new JsonObject(getPayloadBuffer(msg));
+        } else {
+            final String payload = getPayload(msg);
+            return (payload != null ? new JsonObject(payload) : null);
+        }
+    }
+
+    /**
+     * Sets a message's body to the UTF-8 encoding of a JSON object.
+     * <p>
+     * The JSON object is serialized directly into a byte array which is
+     * then put into a single <em>Data</em> section. The message's content type
+     * is set to {@link RequestResponseApiConstants#CONTENT_TYPE_APPLICATION_JSON}.
+     * 
+     * @param msg The message to set the body of.
+     * @param payload The payload.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static void setJsonPayload(final Message msg, final JsonObject payload) {
+
+        Objects.requireNonNull(msg);
+        Objects.requireNonNull(payload);
+        msg.setContentType(RequestResponseApiConstants.CONTENT_TYPE_APPLICATION_JSON);
+        msg.setBody(new Data(new Binary(Json.encodeToBuffer(payload).getBytes())));
+    }
+
+    /**
+     * Gets a message's body as a buffer of bytes.
+     * <p>
+     * The bytes of a <em>Data</em> section are not copied if the section
+     * contains a complete byte array. A String contained in an <em>AmqpValue</em>
+     * section is UTF-8 encoded.
+     * 
+     * @param msg The AMQP 1.0 message to get the body of.
+     * @return The message body or {@code null} if the message does not have a <em>Data</em>
+     *         nor an <em>AmqpValue</em> section containing a String or binary value.
+     * @throws NullPointerException if the message is {@code null}.
+     */
+    public static Buffer getPayloadBuffer(final Message msg) {
+
+        Objects.requireNonNull(msg);
+        if (msg.getBody() instanceof Data) {
+            return toBuffer(((Data) msg.getBody()).getValue());
+        } else if (msg.getBody() instanceof AmqpValue) {
+            final Object value = ((AmqpValue) msg.getBody()).getValue();
+            if (value instanceof String) {
+                return Buffer.buffer((String) value, StandardCharsets.UTF_8.name());
+            } else if (value instanceof Binary) {
+                return toBuffer((Binary) value);
+            }
+        }
+        return null;
+    }
+
+    private static Buffer toBuffer(final Binary binary) {
+        if (binary.getArrayOffset() == 0 && binary.getLength() == binary.getArray().length) {
+            return Buffer.buffer(binary.getArray());
+        } else {
+            return Buffer.buffer(Arrays.copyOfRange(binary.getArray(), binary.getArrayOffset(),
+                    binary.getArrayOffset() + binary.getLength()));
+        }
     }
 
     /**
@@ -527,4 +607,88 @@ public final class MessageHelper {
         }
     }
 
+    /**
+     * Creates a message containing a batch of other messages.
+     * <p>
+     * The messages are encoded in the format described for {@link #CONTENT_TYPE_AGGREGATE}.
+     * The created message has the given address and content type {@link #CONTENT_TYPE_AGGREGATE}
+     * but no other properties.
+     * 
+     * @param address The address of the message to create.
+     * @param messages The messages to aggregate.
+     * @return The aggregate message.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static Message newAggregate(final String address, final List<Message> messages) {
+
+        Objects.requireNonNull(address);
+        Objects.requireNonNull(messages);
+
+        final List<Binary> records = new ArrayList<>(messages.size());
+        byte[] buffer = new byte[DEFAULT_ENCODING_BUFFER_SIZE];
+        for (final Message message : messages) {
+            int length = -1;
+            while (length < 0) {
+                try {
+                    length = message.encode(buffer, 0, buffer.length);
+                } catch (final BufferOverflowException e) {
+                    buffer = new byte[buffer.length * 2];
+                }
+            }
+            records.add(new Binary(Arrays.copyOf(buffer, length)));
+        }
+        final Message aggregate = Message.Factory.create();
+        aggregate.setAddress(address);
+        aggregate.setContentType(CONTENT_TYPE_AGGREGATE);
+        aggregate.setBody(new AmqpValue(records));
+        return aggregate;
+    }
+
+    /**
+     * Checks if a message contains a batch of aggregated messages.
+     * 
+     * @param msg The message to check.
+     * @return {@code true} if the message's content type is {@link #CONTENT_TYPE_AGGREGATE}.
+     * @throws NullPointerException if the message is {@code null}.
+     */
+    public static boolean isAggregate(final Message msg) {
+        return CONTENT_TYPE_AGGREGATE.equals(Objects.requireNonNull(msg).getContentType());
+    }
+
+    /**
+     * Gets the messages contained in an aggregate message.
+     * <p>
+     * This method is the counterpart of {@link #newAggregate(String, List)}.
+     * 
+     * @param aggregate The message containing the batch.
+     * @return The messages in the order that they have been aggregated in.
+     * @throws NullPointerException if the message is {@code null}.
+     * @throws IllegalArgumentException if the message is not an aggregate or if its
+     *                                  body does not comply with the aggregate format.
+     */
+    public static List<Message> getAggregatedMessages(final Message aggregate) {
+
+        if (!isAggregate(aggregate)) {
+            throw new IllegalArgumentException("message is not an aggregate");
+        } else if (!(aggregate.getBody() instanceof AmqpValue) || !(((AmqpValue) aggregate.getBody()).getValue() instanceof List)) {
+            throw new IllegalArgumentException("aggregate must contain a list of messages");
+        }
+
+        final List<?> records = (List<?>) ((AmqpValue) aggregate.getBody()).getValue();
+        final List<Message> messages = new ArrayList<>(records.size());
+        for (final Object record : records) {
+            if (!(record instanceof Binary)) {
+                throw new IllegalArgumentException("aggregate must contain binary encoded messages only");
+            }
+            final Binary encodedMessage = (Binary) record;
+            final Message message = Message.Factory.create();
+            try {
+                message.decode(encodedMessage.getArray(), encodedMessage.getArrayOffset(), encodedMessage.getLength());
+            } catch (final RuntimeException e) {
+                throw new IllegalArgumentException("aggregate contains malformed message", e);
+            }
+            messages.add(message);
+        }
+        return messages;
+    }
 }
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.util;
+
+import java.util.Objects;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Constants &amp; utility methods used for notifying clients about changes
+ * to the data managed by a device registry.
+ * <p>
+ * A notification is a JSON object which contains the type of the changed
+ * resource, the kind of change and the identifiers of the changed resource.
+ * Clients use notifications for removing outdated entries from their caches.
+ */
+public final class NotificationConstants {
+
+    /**
+     * The name of the endpoint that clients receive notifications from.
+     */
+    public static final String NOTIFICATION_ENDPOINT = "notification";
+
+    /**
+     * The vert.x event bus address to which notifications are published.
+     */
+    public static final String EVENT_BUS_ADDRESS_NOTIFICATION = "registry.notification";
+
+    /**
+     * The name of the field that contains the type of the changed resource.
+     */
+    public static final String FIELD_RESOURCE = "resource";
+    /**
+     * The name of the field that contains the kind of change.
+     */
+    public static final String FIELD_CHANGE = "change";
+    /**
+     * The name of the field that contains the identifier of the tenant that the changed resource belongs to.
+     */
+    public static final String FIELD_TENANT_ID = "tenant-id";
+    /**
+     * The name of the field that contains the identifier of the device that the changed resource belongs to.
+     */
+    public static final String FIELD_DEVICE_ID = "device-id";
+    /**
+     * The name of the field that contains the authentication identifier of changed credentials.
+     */
+    public static final String FIELD_AUTH_ID = "auth-id";
+    /**
+     * The name of the field that contains the type of changed credentials.
+     */
+    public static final String FIELD_CREDENTIALS_TYPE = "credentials-type";
+
+    /**
+     * The type of resource that a notification is about.
+     */
+    public enum Resource {
+        /**
+         * A tenant.
+         */
+        tenant,
+        /**
+         * A device's registration information.
+         */
+        device,
+        /**
+         * A device's credentials.
+         */
+        credentials;
+
+        /**
+         * Construct a Resource from a value.
+         *
+         * @param value The name of the resource.
+         * @return The resource or {@code null} if the value does not represent a known resource.
+         */
+        public static Resource from(final String value) {
+            for (final Resource resource : values()) {
+                if (resource.name().equals(value)) {
+                    return resource;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The kind of change that a notification is about.
+     */
+    public enum Change {
+        /**
+         * The resource has been created.
+         */
+        created,
+        /**
+         * The resource has been updated.
+         */
+        updated,
+        /**
+         * The resource has been removed.
+         */
+        removed
+    }
+
+    private NotificationConstants() {
+        // prevent instantiation
+    }
+
+    /**
+     * Creates a notification about a changed tenant.
+     *
+     * @param change The kind of change.
+     * @param tenantId The tenant.
+     * @return The notification.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static JsonObject getTenantNotification(final Change change, final String tenantId) {
+
+        return getNotification(Resource.tenant, change, tenantId);
+    }
+
+    /**
+     * Creates a notification about a changed device.
+     *
+     * @param change The kind of change.
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The device.
+     * @return The notification.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static JsonObject getDeviceNotification(final Change change, final String tenantId, final String deviceId) {
+
+        return getNotification(Resource.device, change, tenantId)
+                .put(FIELD_DEVICE_ID, Objects.requireNonNull(deviceId));
+    }
+
+    /**
+     * Creates a notification about changed credentials.
+     *
+     * @param change The kind of change.
+     * @param tenantId The tenant that the credentials belong to.
+     * @param deviceId The device that the credentials belong to or {@code null} if unknown.
+     * @param type The type of credentials or {@code null} if credentials of all types have changed.
+     * @param authId The authentication identifier or {@code null} if all credentials of the device have changed.
+     * @return The notification.
+     * @throws NullPointerException if any of change or tenant ID is {@code null}.
+     */
+    public static JsonObject getCredentialsNotification(
+            final Change change,
+            final String tenantId,
+            final String deviceId,
+            final String type,
+            final String authId) {
+
+        final JsonObject notification = getNotification(Resource.credentials, change, tenantId);
+        if (deviceId != null) {
+            notification.put(FIELD_DEVICE_ID, deviceId);
+        }
+        if (type != null) {
+            notification.put(FIELD_CREDENTIALS_TYPE, type);
+        }
+        if (authId != null) {
+            notification.put(FIELD_AUTH_ID, authId);
+        }
+        return notification;
+    }
+
+    private static JsonObject getNotification(final Resource resource, final Change change, final String tenantId) {
+
+        return new JsonObject()
+                .put(FIELD_RESOURCE, resource.name())
+                .put(FIELD_CHANGE, Objects.requireNonNull(change).name())
+                .put(FIELD_TENANT_ID, Objects.requireNonNull(tenantId));
+    }
+}
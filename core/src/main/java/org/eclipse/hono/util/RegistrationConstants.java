@@ -39,6 +39,20 @@ public final class RegistrationConstants extends RequestResponseApiConstants {
      * The AMQP 1.0 <em>subject</em> to use for the <em>update device registration</em> operation.
      */
     public static final String ACTION_UPDATE     = "update";
+    /**
+     * The operation for registering a batch of devices.
+     * <p>
+     * This operation is not part of the Device Registration API. It is only used
+     * internally for processing bulk imports received via the HTTP endpoint.
+     */
+    public static final String ACTION_REGISTER_BATCH = "register-batch";
+    /**
+     * The operation for retrieving a page of the devices registered for a tenant.
+     * <p>
+     * This operation is not part of the Device Registration API. It is only used
+     * internally for processing exports requested via the HTTP endpoint.
+     */
+    public static final String ACTION_LIST = "list";
 
     /**
      * The name of the field in a response to the <em>assert device registration</em> operation
@@ -56,6 +70,22 @@ public final class RegistrationConstants extends RequestResponseApiConstants {
      * by the device.
      */
     public static final String FIELD_DEFAULTS     = "defaults";
+    /**
+     * The name of the field in <em>register-batch</em> requests and <em>list</em> responses
+     * that contains the devices.
+     */
+    public static final String FIELD_DEVICES      = "devices";
+    /**
+     * The name of the field in <em>list</em> requests that contains the identifier of the
+     * last device of the previous page. Only devices having an identifier that is greater
+     * than this identifier are returned.
+     */
+    public static final String FIELD_AFTER        = "after";
+    /**
+     * The name of the field in <em>list</em> requests that contains the maximum number
+     * of devices to return.
+     */
+    public static final String FIELD_LIMIT        = "limit";
 
     /**
      * The name of the Device Registration API endpoint.
@@ -34,6 +34,17 @@ public abstract class RequestResponseApiConstants {
      * The MIME type representing the String representation of a JSON Object.
      */
     public static final String CONTENT_TYPE_APPLICATION_JSON = "application/json";
+    /**
+     * The capability indicating support for payload being carried in a <em>Data</em> section.
+     * <p>
+     * A client includes this capability in the <em>desired capabilities</em> of the link
+     * for receiving responses. A service supporting the capability includes it in the
+     * <em>offered capabilities</em> of the link and then sends response payload as the UTF-8
+     * encoding of a JSON object in a single <em>Data</em> section instead of a JSON string in
+     * an <em>AmqpValue</em> section. The client may then use <em>Data</em> sections for request
+     * payload as well. Both sides can thus (de-)serialize payload directly from/to bytes.
+     */
+    public static final Symbol CAPABILITY_BINARY_PAYLOAD = Symbol.valueOf("hono-binary-payload");
 
     /* message payload fields */
     public static final String FIELD_PAYLOAD_DEVICE_ID = Constants.JSON_FIELD_DEVICE_ID;
@@ -42,6 +53,11 @@ public abstract class RequestResponseApiConstants {
     public static final String FIELD_ENABLED   = "enabled";
     public static final String FIELD_ERROR     = "error";
     public static final String FIELD_PAYLOAD   = "payload";
+    /**
+     * The name of the field in responses to batch operations that contains the
+     * outcome of each of the batch's entries.
+     */
+    public static final String FIELD_RESULTS   = "results";
 
     /**
      * Empty default constructor.
@@ -51,6 +67,8 @@ public abstract class RequestResponseApiConstants {
 
     /**
      * Creates an AMQP message from a response to a service invocation.
+     * <p>
+     * Any payload is included as a JSON string in an <em>AmqpValue</em> section.
      *
      * @param endpoint The service endpoint that the operation has been invoked on.
      * @param response The response message.
@@ -58,6 +76,21 @@ public abstract class RequestResponseApiConstants {
      * @throws NullPointerException if endpoint is {@code null}.
      */
     public static final Message getAmqpReply(final String endpoint, final EventBusMessage response) {
+        return getAmqpReply(endpoint, response, false);
+    }
+
+    /**
+     * Creates an AMQP message from a response to a service invocation.
+     *
+     * @param endpoint The service endpoint that the operation has been invoked on.
+     * @param response The response message.
+     * @param binaryPayload {@code true} if any payload should be included in a <em>Data</em> section
+     *                      (see {@link #CAPABILITY_BINARY_PAYLOAD}).
+     * @return The AMQP message.
+     * @throws NullPointerException if endpoint is {@code null}.
+     */
+    public static final Message getAmqpReply(final String endpoint, final EventBusMessage response,
+            final boolean binaryPayload) {
 
         Objects.requireNonNull(endpoint);
         Objects.requireNonNull(response);
@@ -98,8 +131,12 @@ public abstract class RequestResponseApiConstants {
             }
 
             if (payload != null) {
-                message.setContentType(CONTENT_TYPE_APPLICATION_JSON);
-                message.setBody(new AmqpValue(payload.encode()));
+                if (binaryPayload) {
+                    MessageHelper.setJsonPayload(message, payload);
+                } else {
+                    message.setContentType(CONTENT_TYPE_APPLICATION_JSON);
+                    message.setBody(new AmqpValue(payload.encode()));
+                }
             }
             return message;
         }
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.auth;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.eclipse.hono.util.CredentialsConstants;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Tests verifying behavior of {@link PasswordHashFunctions}.
+ *
+ */
+public class PasswordHashFunctionsTest {
+
+    private static final byte[] SALT = "salt".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Verifies that names of message digests are supported as hash functions.
+     *
+     * @throws NoSuchAlgorithmException if the JVM does not support SHA-256.
+     */
+    @Test
+    public void testHashSupportsMessageDigests() throws NoSuchAlgorithmException {
+
+        final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(SALT);
+        final byte[] expected = digest.digest("secret".getBytes(StandardCharsets.UTF_8));
+
+        assertArrayEquals(expected, PasswordHashFunctions.hash("sha-256", "secret", SALT, new JsonObject()));
+    }
+
+    /**
+     * Verifies that the PBKDF2 functions use the number of iterations contained in the secret.
+     *
+     * @throws NoSuchAlgorithmException if the JVM does not support PBKDF2.
+     */
+    @Test
+    public void testHashPbkdf2UsesIterationsFromSecret() throws NoSuchAlgorithmException {
+
+        final byte[] defaultIterations = PasswordHashFunctions.hash(
+                PasswordHashFunctions.HASH_FUNCTION_PBKDF2_SHA256, "secret", SALT, new JsonObject());
+        final byte[] explicitDefaultIterations = PasswordHashFunctions.hash(
+                PasswordHashFunctions.HASH_FUNCTION_PBKDF2_SHA256, "secret", SALT, new JsonObject()
+                .put(CredentialsConstants.FIELD_SECRETS_ITERATIONS, PasswordHashFunctions.DEFAULT_PBKDF2_ITERATIONS));
+        final byte[] otherIterations = PasswordHashFunctions.hash(
+                PasswordHashFunctions.HASH_FUNCTION_PBKDF2_SHA256, "secret", SALT, new JsonObject()
+                .put(CredentialsConstants.FIELD_SECRETS_ITERATIONS, 1000));
+
+        assertEquals(32, defaultIterations.length);
+        assertArrayEquals(defaultIterations, explicitDefaultIterations);
+        assertFalse(MessageDigest.isEqual(defaultIterations, otherIterations));
+    }
+
+    /**
+     * Verifies that the PBKDF2 functions require a salt.
+     *
+     * @throws NoSuchAlgorithmException if the JVM does not support PBKDF2.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testHashPbkdf2FailsForMissingSalt() throws NoSuchAlgorithmException {
+
+        PasswordHashFunctions.hash(PasswordHashFunctions.HASH_FUNCTION_PBKDF2_SHA512, "secret", null, new JsonObject());
+    }
+
+    /**
+     * Verifies that registered functions are looked up regardless of case.
+     *
+     * @throws NoSuchAlgorithmException if the function cannot be found.
+     */
+    @Test
+    public void testHashUsesRegisteredFunction() throws NoSuchAlgorithmException {
+
+        PasswordHashFunctions.register("Reverse", (password, salt, secret) ->
+            new StringBuilder(password).reverse().toString().getBytes(StandardCharsets.UTF_8));
+
+        assertArrayEquals("terces".getBytes(StandardCharsets.UTF_8),
+                PasswordHashFunctions.hash("reverse", "secret", null, new JsonObject()));
+    }
+
+    /**
+     * Verifies that unknown hash functions are rejected.
+     *
+     * @throws NoSuchAlgorithmException if the function is not supported.
+     */
+    @Test(expected = NoSuchAlgorithmException.class)
+    public void testHashFailsForUnknownFunction() throws NoSuchAlgorithmException {
+
+        PasswordHashFunctions.hash("unknown", "secret", SALT, new JsonObject());
+    }
+}
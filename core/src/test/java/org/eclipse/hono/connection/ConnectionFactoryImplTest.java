@@ -14,6 +14,8 @@ package org.eclipse.hono.connection;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.util.Arrays;
+
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.proton.ProtonConnection;
@@ -210,4 +212,36 @@ public class ConnectionFactoryImplTest {
         verify(client).connect(optionsCaptor.capture(), eq("remote.host"), anyInt(), any(), any(), any(Handler.class));
         assertTrue(optionsCaptor.getValue().isSsl());
     }
+
+    /**
+     * Verifies that the factory connects to another host of the configured
+     * hosts after a connection attempt has failed.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testConnectTriesOtherHostAfterFailedAttempt() {
+
+        // GIVEN a factory configured with two hosts
+        final ClientConfigProperties config = new ClientConfigProperties();
+        config.setHosts(Arrays.asList("replica-1", "replica-2:5673"));
+        final ProtonClient client = mock(ProtonClient.class);
+        doAnswer(invocation -> {
+            final Handler<AsyncResult<ProtonConnection>> resultHandler = invocation.getArgument(5);
+            resultHandler.handle(Future.failedFuture("connection refused"));
+            return null;
+        }).when(client).connect(any(ProtonClientOptions.class), anyString(), anyInt(), any(), any(), any(Handler.class));
+        final ConnectionFactoryImpl factory = new ConnectionFactoryImpl(vertx, config);
+        factory.setProtonClient(client);
+        factory.setEndpointSelector(new EndpointSelector());
+
+        // WHEN the first attempt to connect fails
+        factory.connect(null, null, null, c -> {});
+        final String firstHost = factory.getHost();
+
+        // THEN the next attempt is made to the other host
+        factory.connect(null, null, null, c -> {});
+        assertNotEquals(firstHost, factory.getHost());
+        verify(client).connect(any(ProtonClientOptions.class), eq("replica-1"), eq(config.getPort()), any(), any(), any(Handler.class));
+        verify(client).connect(any(ProtonClientOptions.class), eq("replica-2"), eq(5673), any(), any(), any(Handler.class));
+    }
 }
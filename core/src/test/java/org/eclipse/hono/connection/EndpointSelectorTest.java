@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.connection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.net.SocketAddress;
+import io.vertx.proton.ProtonConnection;
+
+/**
+ * Tests verifying behavior of {@link EndpointSelector}.
+ *
+ */
+public class EndpointSelectorTest {
+
+    private EndpointSelector selector;
+    private SocketAddress replicaOne;
+    private SocketAddress replicaTwo;
+    private List<SocketAddress> endpoints;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        selector = new EndpointSelector();
+        replicaOne = SocketAddress.inetSocketAddress(5671, "replica-1");
+        replicaTwo = SocketAddress.inetSocketAddress(5671, "replica-2");
+        endpoints = Arrays.asList(replicaOne, replicaTwo);
+    }
+
+    /**
+     * Verifies that endpoint definitions are parsed into host and port.
+     */
+    @Test
+    public void testParseSupportsOptionalPort() {
+
+        assertAddress(EndpointSelector.parse("replica-1", 5671), "replica-1", 5671);
+        assertAddress(EndpointSelector.parse(" replica-1:5673 ", 5671), "replica-1", 5673);
+        assertAddress(EndpointSelector.parse("[::1]:5673", 5671), "::1", 5673);
+        assertAddress(EndpointSelector.parse("::1", 5671), "::1", 5671);
+    }
+
+    /**
+     * Verifies that invalid endpoint definitions are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseRejectsInvalidPort() {
+        EndpointSelector.parse("replica-1:amqp", 5671);
+    }
+
+    /**
+     * Verifies that the endpoint with the fewest open connections is selected
+     * and that disconnected connections are not taken into account.
+     */
+    @Test
+    public void testSelectReturnsEndpointWithFewestConnections() {
+
+        final ProtonConnection con = mock(ProtonConnection.class);
+        selector.addConnection(replicaOne, con);
+        assertThat(selector.select(endpoints, null), is(replicaTwo));
+
+        when(con.isDisconnected()).thenReturn(Boolean.TRUE);
+        assertThat(selector.getConnectionCount(replicaOne), is(0));
+    }
+
+    /**
+     * Verifies that an excluded endpoint is selected only if there is no other endpoint.
+     */
+    @Test
+    public void testSelectAvoidsExcludedEndpoint() {
+
+        selector.addConnection(replicaTwo, mock(ProtonConnection.class));
+        assertThat(selector.select(endpoints, replicaOne), is(replicaTwo));
+        assertThat(selector.select(Arrays.asList(replicaOne), replicaOne), is(replicaOne));
+    }
+
+    private static void assertAddress(final SocketAddress address, final String host, final int port) {
+        assertThat(address.host(), is(host));
+        assertThat(address.port(), is(port));
+    }
+}
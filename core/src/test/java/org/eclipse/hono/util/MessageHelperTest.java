@@ -16,10 +16,17 @@ package org.eclipse.hono.util;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.message.Message;
 import org.junit.Test;
 
+import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonHelper;
 
 /**
@@ -78,4 +85,63 @@ public class MessageHelperTest {
         MessageHelper.addJmsVendorProperties(msg);
         assertNull(msg.getApplicationProperties());
     }
+
+    /**
+     * Verifies that messages aggregated into a single message can be
+     * retrieved again after the aggregate has been transferred.
+     */
+    @Test
+    public void testGetAggregatedMessagesReturnsAggregatedMessages() {
+
+        final Message small = ProtonHelper.message("telemetry/tenant", "23");
+        MessageHelper.addDeviceId(small, "device-1");
+        final byte[] largePayload = new byte[1000];
+        Arrays.fill(largePayload, (byte) 'a');
+        final Message large = ProtonHelper.message();
+        large.setAddress("telemetry/tenant");
+        large.setBody(new Data(new Binary(largePayload)));
+        MessageHelper.addDeviceId(large, "device-2");
+
+        final Message aggregate = MessageHelper.newAggregate("telemetry/tenant", Arrays.asList(small, large));
+        assertTrue(MessageHelper.isAggregate(aggregate));
+
+        // simulate transfer of the aggregate
+        final byte[] buffer = new byte[4096];
+        final int length = aggregate.encode(buffer, 0, buffer.length);
+        final Message received = ProtonHelper.message();
+        received.decode(buffer, 0, length);
+
+        final List<Message> messages = MessageHelper.getAggregatedMessages(received);
+        assertThat(messages.size(), is(2));
+        assertThat(MessageHelper.getDeviceId(messages.get(0)), is("device-1"));
+        assertThat(MessageHelper.getPayload(messages.get(0)), is("23"));
+        assertThat(MessageHelper.getDeviceId(messages.get(1)), is("device-2"));
+        assertThat(((Data) messages.get(1).getBody()).getValue().getLength(), is(1000));
+    }
+
+    /**
+     * Verifies that a JSON payload set as a Data section can be parsed again
+     * and that a payload contained in an AmqpValue section can be read as bytes.
+     */
+    @Test
+    public void testSetJsonPayloadUsesDataSection() {
+
+        final Message msg = ProtonHelper.message();
+        MessageHelper.setJsonPayload(msg, new JsonObject().put("device-id", "4711"));
+        assertTrue(msg.getBody() instanceof Data);
+        assertThat(msg.getContentType(), is("application/json"));
+        assertThat(MessageHelper.getJsonPayload(msg).getString("device-id"), is("4711"));
+
+        final Message legacy = ProtonHelper.message("{\"device-id\": \"4711\"}");
+        assertThat(new JsonObject(MessageHelper.getPayloadBuffer(legacy)).getString("device-id"), is("4711"));
+    }
+
+    /**
+     * Verifies that a message which is not an aggregate is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetAggregatedMessagesRejectsPlainMessage() {
+
+        MessageHelper.getAggregatedMessages(ProtonHelper.message("telemetry/tenant", "23"));
+    }
 }
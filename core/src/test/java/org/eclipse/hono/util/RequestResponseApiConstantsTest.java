@@ -15,10 +15,13 @@ package org.eclipse.hono.util;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
+import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.message.Message;
 import org.junit.Test;
 
+import io.vertx.core.json.JsonObject;
 
 /**
  * Tests verifying behavior of {@link RequestResponseApiConstants}.
@@ -48,4 +51,23 @@ public class RequestResponseApiConstantsTest {
         // THEN the message contains the corresponding cache control property
         assertThat(MessageHelper.getCacheDirective(reply), is(directive.toString()));
     }
+
+    /**
+     * Verifies that the AMQP reply created by the helper contains the payload
+     * in a Data section if binary payload has been requested.
+     */
+    @Test
+    public void testGetAmqpReplyUsesDataSectionForBinaryPayload() {
+
+        final EventBusMessage response = EventBusMessage.forStatusCode(200)
+                .setTenant("my-tenant")
+                .setJsonPayload(new JsonObject().put("enabled", true))
+                .setCorrelationId("message-id");
+
+        final Message reply = RequestResponseApiConstants.getAmqpReply("endpoint", response, true);
+
+        assertTrue(reply.getBody() instanceof Data);
+        assertThat(reply.getContentType(), is(RequestResponseApiConstants.CONTENT_TYPE_APPLICATION_JSON));
+        assertThat(MessageHelper.getJsonPayload(reply).getBoolean("enabled"), is(true));
+    }
 }
@@ -18,7 +18,7 @@ import org.eclipse.hono.client.HonoClient;
 import org.eclipse.hono.client.RequestResponseClientConfigProperties;
 import org.eclipse.hono.client.impl.HonoClientImpl;
 import org.eclipse.hono.config.ClientConfigProperties;
-import org.eclipse.hono.service.cache.SpringCacheProvider;
+import org.eclipse.hono.service.cache.BoundedCacheProvider;
 import org.eclipse.hono.service.metric.MetricConfig;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.CredentialsConstants;
@@ -27,12 +27,9 @@ import org.eclipse.hono.util.TenantConstants;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.cache.guava.GuavaCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Scope;
 
-import com.google.common.cache.CacheBuilder;
-
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
 import io.vertx.core.dns.AddressResolverOptions;
@@ -65,6 +62,7 @@ public abstract class AbstractAdapterConfig {
     public Vertx vertx() {
         final VertxOptions options = new VertxOptions()
                 .setWarningExceptionTime(1500000000)
+                .setPreferNativeTransport(true) // use epoll on Linux if available on the class path
                 .setAddressResolverOptions(new AddressResolverOptions()
                         .setCacheNegativeTimeToLive(0) // discard failed DNS lookup results immediately
                         .setCacheMaxTimeToLive(0) // support DNS based service resolution
@@ -170,14 +168,16 @@ public abstract class AbstractAdapterConfig {
 
     /**
      * Exposes the provider for caches as a Spring bean.
+     * <p>
+     * The provider is a singleton so that all verticle instances of the
+     * adapter share the same caches.
      * 
      * @return The provider instance.
      */
     @Bean
     @Qualifier(RegistrationConstants.REGISTRATION_ENDPOINT)
-    @Scope("prototype")
     public CacheProvider registrationCacheProvider() {
-        return newGuavaCache(registrationServiceClientConfig());
+        return newCacheProvider(registrationServiceClientConfig());
     }
 
     /**
@@ -216,7 +216,39 @@ public abstract class AbstractAdapterConfig {
     @Qualifier(CredentialsConstants.CREDENTIALS_ENDPOINT)
     @Scope("prototype")
     public HonoClient credentialsServiceClient() {
-        return new HonoClientImpl(vertx(), credentialsServiceClientConfig());
+
+        final HonoClientImpl result = new HonoClientImpl(vertx(), credentialsServiceClientConfig());
+
+        final CacheProvider cacheProvider = credentialsCacheProvider();
+        if (cacheProvider != null) {
+            result.setCacheProvider(cacheProvider);
+        }
+
+        return result;
+    }
+
+    /**
+     * Exposes the provider for caches as a Spring bean.
+     * <p>
+     * The Credentials client only caches responses that the Credentials service
+     * explicitly declares as cacheable and (if configured) responses indicating
+     * that the requested credentials do not exist.
+     * <p>
+     * The provider is a singleton so that all verticle instances of the
+     * adapter share the same caches.
+     * 
+     * @return The provider instance or {@code null} if the credentials service
+     *         client configuration does not support caching.
+     */
+    @Bean
+    @Qualifier(CredentialsConstants.CREDENTIALS_ENDPOINT)
+    public CacheProvider credentialsCacheProvider() {
+        final ClientConfigProperties config = credentialsServiceClientConfig();
+        if (config instanceof RequestResponseClientConfigProperties) {
+            return newCacheProvider((RequestResponseClientConfigProperties) config);
+        } else {
+            return null;
+        }
     }
 
     /**
@@ -268,23 +300,29 @@ public abstract class AbstractAdapterConfig {
 
     /**
      * Exposes the provider for caches as a Spring bean.
+     * <p>
+     * The provider is a singleton so that all verticle instances of the
+     * adapter share the same caches.
      * 
      * @return The provider instance.
      */
     @Bean
     @Qualifier(TenantConstants.TENANT_ENDPOINT)
-    @Scope("prototype")
     public CacheProvider tenantCacheProvider() {
-        return newGuavaCache(tenantServiceClientConfig());
+        return newCacheProvider(tenantServiceClientConfig());
     }
 
     /**
-     * Create a new cache provider based on Guava and Spring Cache.
+     * Creates a new provider for size bounded caches.
+     * <p>
+     * The caches are striped by the number of available processors, which is the
+     * default number of event loops, so that the verticle instances sharing the
+     * caches do not contend for a single lock.
      * 
-     * @param config The configuration to use as base for this cache.
+     * @param config The configuration to use as base for the caches.
      * @return A new cache provider or {@code null} if no cache should be used.
      */
-    private static final CacheProvider newGuavaCache(final RequestResponseClientConfigProperties config) {
+    private static CacheProvider newCacheProvider(final RequestResponseClientConfigProperties config) {
         final int minCacheSize = config.getResponseCacheMinSize();
         final long maxCacheSize = config.getResponseCacheMaxSize();
 
@@ -292,15 +330,10 @@ public abstract class AbstractAdapterConfig {
             return null;
         }
 
-        final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
-                .concurrencyLevel(1)
-                .initialCapacity(minCacheSize)
-                .maximumSize(Math.max(minCacheSize, maxCacheSize));
-
-        final GuavaCacheManager manager = new GuavaCacheManager();
-        manager.setAllowNullValues(false);
-        manager.setCacheBuilder(builder);
-
-        return new SpringCacheProvider(manager);
+        return new BoundedCacheProvider(
+                minCacheSize,
+                (int) Math.min(Integer.MAX_VALUE, Math.max(minCacheSize, maxCacheSize)),
+                config.getResponseCacheRefreshThreshold(),
+                Runtime.getRuntime().availableProcessors());
     }
 }
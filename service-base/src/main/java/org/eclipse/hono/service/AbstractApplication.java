@@ -125,6 +125,7 @@ public class AbstractApplication implements ApplicationRunner {
             throw new IllegalStateException("no service factory has been configured");
         }
 
+        log.info("vert.x uses {} transport", vertx.isNativeTransportEnabled() ? "native" : "NIO");
         healthCheckServer = new HealthCheckServer(vertx, config);
 
         final Future<Void> future = deployRequiredVerticles(config.getMaxInstances())
@@ -12,24 +12,39 @@
  */
 package org.eclipse.hono.service;
 
+import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 import io.vertx.core.Handler;
 import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
 import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.cache.ExpiringValueCache;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.HonoClient;
 import org.eclipse.hono.client.MessageSender;
 import org.eclipse.hono.client.RegistrationClient;
+import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.client.TenantClient;
 import org.eclipse.hono.config.AbstractConfig;
 import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.auth.TenantApiTrustOptions;
+import org.eclipse.hono.service.auth.device.CredentialsValidationExecutor;
 import org.eclipse.hono.service.auth.device.Device;
+import org.eclipse.hono.service.cache.BoundedExpiringValueCache;
+import org.eclipse.hono.service.metric.Metrics;
+import org.eclipse.hono.service.spool.EventSpool;
+import org.eclipse.hono.service.spool.EventSpool.SpooledEvent;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.CredentialsConstants;
 import org.eclipse.hono.util.MessageHelper;
@@ -48,6 +63,7 @@ import io.vertx.core.net.TrustOptions;
 import io.vertx.ext.healthchecks.HealthCheckHandler;
 import io.vertx.ext.healthchecks.Status;
 import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonDelivery;
 import io.vertx.proton.ProtonHelper;
 
 /**
@@ -64,10 +80,27 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
      */
     protected static final String CONTENT_TYPE_OCTET_STREAM = "application/octet-stream";
 
+    private static final long EVENT_SPOOL_REPLAY_RETRY_INTERVAL_MILLIS = 1000;
+    private static final int EVENT_SPOOL_REPLAY_BATCH_SIZE = 100;
+    private static final Duration MESSAGE_TEMPLATE_MAX_AGE = Duration.ofMinutes(10);
+
+    /**
+     * The templates of the properties added to downstream messages, keyed by tenant and device ID.
+     */
+    private ExpiringValueCache<String, MessageTemplate> messageTemplates;
+
     private HonoClient messagingClient;
     private HonoClient registrationClient;
     private HonoClient tenantClient;
     private HonoClient credentialsServiceClient;
+    private EventSpool eventSpool;
+    /**
+     * The number of events that have been (or are being) appended to the spool
+     * and that have not been removed from the spool yet.
+     */
+    private long eventSpoolPendingEvents;
+    private boolean eventSpoolReplayInProgress = false;
+    private CredentialsValidationExecutor credentialsValidationExecutor;
 
     /**
      * Sets the configuration by means of Spring dependency injection.
@@ -212,11 +245,33 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
             connectToService(messagingClient, "Messaging");
             connectToService(registrationClient, "Device Registration service");
             connectToService(credentialsServiceClient, "Credentials service");
-            doStart(result);
+            openEventSpool().compose(s -> doStart(result), result);
         }
         return result;
     }
 
+    /**
+     * Gets the executor to use for validating the credentials presented by devices.
+     * <p>
+     * The executor is created on first invocation based on the <em>credentialsValidationPoolSize</em>
+     * and <em>credentialsValidationQueueSize</em> configuration properties and is closed when
+     * this adapter is stopped.
+     * 
+     * @param metrics The metrics to report the state of the executor to (may be {@code null}).
+     * @return The executor.
+     */
+    protected final CredentialsValidationExecutor getCredentialsValidationExecutor(final Metrics metrics) {
+
+        if (credentialsValidationExecutor == null) {
+            credentialsValidationExecutor = new CredentialsValidationExecutor(
+                    vertx,
+                    getConfig().getCredentialsValidationPoolSize(),
+                    getConfig().getCredentialsValidationQueueSize(),
+                    metrics);
+        }
+        return credentialsValidationExecutor;
+    }
+
     /**
      * Invoked after the adapter has started up.
      * <p>
@@ -239,7 +294,13 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
         final Future<Void> doStopResult = Future.future();
         doStop(doStopResult);
         doStopResult
-            .compose(s -> closeServiceClients())
+            .compose(s -> {
+                if (credentialsValidationExecutor != null) {
+                    credentialsValidationExecutor.close();
+                }
+                return closeServiceClients();
+            })
+            .compose(s -> closeEventSpool())
             .recover(t -> {
                 LOG.info("error while stopping protocol adapter", t);
                 return Future.failedFuture(t);
@@ -259,6 +320,53 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
                 closeServiceClient(credentialsServiceClient));
     }
 
+    private Future<Void> openEventSpool() {
+
+        if (!getConfig().isEventSpoolEnabled()) {
+            return Future.succeededFuture();
+        }
+        final Future<EventSpool> result = Future.future();
+        vertx.executeBlocking(open -> {
+            try {
+                open.complete(EventSpool.open(
+                        Paths.get(getConfig().getEventSpoolPath()),
+                        getConfig().getEventSpoolMaxSize(),
+                        getConfig().getEventSpoolMaxSizePerTenant(),
+                        getConfig().getEventSpoolSegmentSize()));
+            } catch (final IOException | RuntimeException e) {
+                open.fail(e);
+            }
+        }, result.completer());
+        return result.map(spool -> {
+            eventSpool = spool;
+            eventSpoolPendingEvents = spool.getCount();
+            replaySpooledEvents();
+            return (Void) null;
+        }).recover(t -> {
+            LOG.error("cannot open event spool [path: {}]", getConfig().getEventSpoolPath(), t);
+            return Future.failedFuture(t);
+        });
+    }
+
+    private Future<Void> closeEventSpool() {
+
+        final EventSpool spool = eventSpool;
+        eventSpool = null;
+        if (spool == null) {
+            return Future.succeededFuture();
+        }
+        final Future<Void> result = Future.future();
+        vertx.executeBlocking(close -> {
+            try {
+                spool.close();
+                close.complete();
+            } catch (final IOException e) {
+                close.fail(e);
+            }
+        }, result.completer());
+        return result;
+    }
+
     private Future<Void> closeServiceClient(final HonoClient client) {
 
         final Future<Void> shutdownTracker = Future.future();
@@ -357,9 +465,10 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
 
     /**
      * Checks if this adapter is connected to the services it depends on.
-     * 
-     * <em>Hono Messaging</em>
-     * and the <em>Device Registration</em> service.
+     * <p>
+     * If this adapter has been configured to spool events, the connection to the service
+     * implementing the Telemetry &amp; Event APIs is not required because events
+     * can be accepted from devices while the connection is lost.
      * 
      * @return A future indicating the outcome of the check.
      *         The future will succeed if this adapter is currently connected to
@@ -378,6 +487,7 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
                 .orElse(Future.failedFuture(new IllegalStateException("Tenant service client is not set")));
         final Future<Void> messagingCheck = Optional.ofNullable(messagingClient)
                 .map(client -> client.isConnected())
+                .map(check -> eventSpool == null ? check : check.otherwiseEmpty())
                 .orElse(Future.failedFuture(new IllegalStateException("Messaging client is not set")));
         final Future<Void> registrationCheck = Optional.ofNullable(registrationClient)
                 .map(client -> client.isConnected())
@@ -410,6 +520,249 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
         return getHonoMessagingClient().getOrCreateEventSender(tenantId);
     }
 
+    /**
+     * Sends an event downstream.
+     * <p>
+     * If this adapter has been configured to spool events (see
+     * {@link ProtocolAdapterProperties#isEventSpoolEnabled()}), the event is appended
+     * to the spool instead of being sent if
+     * <ul>
+     * <li>no sender is available, e.g. because the connection to the downstream peer is lost, or</li>
+     * <li>the sender has no credit, or</li>
+     * <li>the spool already contains events which need to be forwarded first in order
+     * to retain the order of events, or</li>
+     * <li>the downstream peer fails to process the event with a {@link ServerErrorException}.</li>
+     * </ul>
+     * Spooled events are forwarded downstream in the order in which they have been spooled
+     * as soon as the downstream peer is available again. Up to the sender's available credit,
+     * spooled events are forwarded without waiting for the outcome of the previous event. An event
+     * may therefore be forwarded more than once if a preceding event needs to be forwarded again.
+     * The spool's file I/O is performed on worker threads.
+     * 
+     * @param senderTracker The outcome of the attempt to get a sender for the tenant's events.
+     * @param tenantId The tenant that the event belongs to.
+     * @param event The event to send.
+     * @param waitForOutcome {@code true} if the event should be sent using
+     *                       {@link MessageSender#sendAndWaitForOutcome(Message)}.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with the delivery if the event has been sent downstream
+     *         or with {@code null} if the event has been spooled.
+     *         <p>
+     *         Otherwise the future will be failed with a {@link ServiceInvocationException}.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    protected final Future<ProtonDelivery> sendEvent(
+            final Future<MessageSender> senderTracker,
+            final String tenantId,
+            final Message event,
+            final boolean waitForOutcome) {
+
+        Objects.requireNonNull(senderTracker);
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(event);
+
+        if (eventSpool == null) {
+            return senderTracker.compose(sender -> send(sender, event, waitForOutcome));
+        }
+
+        final Future<ProtonDelivery> result = Future.future();
+        senderTracker.setHandler(attempt -> {
+            if (attempt.failed() || eventSpool == null || eventSpoolPendingEvents > 0 || attempt.result().sendQueueFull()) {
+                spoolEvent(tenantId, event, result);
+            } else {
+                send(attempt.result(), event, waitForOutcome).setHandler(sendAttempt -> {
+                    if (sendAttempt.succeeded()) {
+                        result.complete(sendAttempt.result());
+                    } else if (ServerErrorException.class.isInstance(sendAttempt.cause())) {
+                        spoolEvent(tenantId, event, result);
+                    } else {
+                        result.fail(sendAttempt.cause());
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    private static Future<ProtonDelivery> send(final MessageSender sender, final Message message, final boolean waitForOutcome) {
+
+        if (waitForOutcome) {
+            return sender.sendAndWaitForOutcome(message);
+        } else {
+            return sender.send(message);
+        }
+    }
+
+    private void spoolEvent(final String tenantId, final Message event, final Future<ProtonDelivery> result) {
+
+        final EventSpool spool = eventSpool;
+        if (spool == null) {
+            result.fail(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "event spool is closed"));
+            return;
+        }
+        // count the event right away so that subsequent events are spooled as well
+        // in order to retain the order of events
+        eventSpoolPendingEvents++;
+        vertx.<Boolean>executeBlocking(append -> {
+            try {
+                append.complete(spool.append(tenantId, event));
+            } catch (final IOException e) {
+                append.fail(e);
+            }
+        }, true, append -> {
+            if (append.succeeded() && append.result()) {
+                LOG.trace("spooled event for tenant [{}], spooled events: {}", tenantId, eventSpoolPendingEvents);
+                result.complete();
+                replaySpooledEvents();
+            } else {
+                eventSpoolPendingEvents--;
+                if (append.failed()) {
+                    LOG.warn("cannot spool event for tenant [{}]", tenantId, append.cause());
+                    result.fail(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "cannot spool event"));
+                } else {
+                    result.fail(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "event spool limit exceeded"));
+                }
+            }
+        });
+    }
+
+    private void replaySpooledEvents() {
+
+        if (eventSpool != null && eventSpoolPendingEvents > 0 && !eventSpoolReplayInProgress) {
+            LOG.debug("forwarding {} spooled events", eventSpoolPendingEvents);
+            eventSpoolReplayInProgress = true;
+            replayNextSpooledEvents();
+        }
+    }
+
+    private void replayNextSpooledEvents() {
+
+        final EventSpool spool = eventSpool;
+        if (spool == null) {
+            eventSpoolReplayInProgress = false;
+            return;
+        }
+
+        vertx.<List<SpooledEvent>>executeBlocking(peek -> {
+            peek.complete(spool.peek(EVENT_SPOOL_REPLAY_BATCH_SIZE));
+        }, true, peek -> {
+            if (peek.failed()) {
+                LOG.warn("cannot read events from spool", peek.cause());
+                eventSpoolReplayInProgress = false;
+            } else if (peek.result().isEmpty()) {
+                eventSpoolReplayInProgress = false;
+            } else {
+                final List<SpooledEvent> events = peek.result();
+                forwardSpooledEvents(events).compose(forwarded -> {
+                    return removeSpooledEvents(spool, forwarded).map(forwarded);
+                }).setHandler(removal -> {
+                    if (removal.failed() || eventSpool != spool) {
+                        eventSpoolReplayInProgress = false;
+                    } else if (removal.result() < events.size()) {
+                        LOG.debug("cannot forward all spooled events, will retry in {}ms", EVENT_SPOOL_REPLAY_RETRY_INTERVAL_MILLIS);
+                        vertx.setTimer(EVENT_SPOOL_REPLAY_RETRY_INTERVAL_MILLIS, retry -> replayNextSpooledEvents());
+                    } else {
+                        replayNextSpooledEvents();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Forwards spooled events downstream.
+     * <p>
+     * The events are sent one after the other without waiting for the outcome of the previous
+     * event as long as the sender has credit. Once the outcomes of all events that have been
+     * sent are known, the returned future is completed with the number of leading events that
+     * do not need to be forwarded again, i.e. which have been accepted or rejected by the
+     * downstream peer. Note that events following an event that needs to be forwarded again
+     * will be forwarded again as well, even if they have been accepted already.
+     */
+    private Future<Integer> forwardSpooledEvents(final List<SpooledEvent> events) {
+
+        final List<Future> outcomes = new ArrayList<>(events.size());
+        Future<Void> previous = Future.succeededFuture();
+        for (final SpooledEvent spooledEvent : events) {
+            final Future<ProtonDelivery> outcome = Future.future();
+            outcomes.add(outcome);
+            previous = previous.compose(ok -> getEventSender(spooledEvent.getTenantId())).compose(sender -> {
+                if (sender.sendQueueFull()) {
+                    return Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "no credit available"));
+                } else if (sender.isRegistrationAssertionRequired()) {
+                    // the assertion contained in the event may have expired in the meantime
+                    return refreshRegistrationAssertion(spooledEvent).map(event -> {
+                        sender.sendAndWaitForOutcome(event).setHandler(outcome.completer());
+                        return (Void) null;
+                    });
+                } else {
+                    sender.sendAndWaitForOutcome(spooledEvent.getMessage()).setHandler(outcome.completer());
+                    return Future.<Void> succeededFuture();
+                }
+            }).recover(t -> {
+                outcome.tryFail(t);
+                // continue with the next event unless the event needs to be forwarded again
+                return ClientErrorException.class.isInstance(t) ? Future.succeededFuture() : Future.failedFuture(t);
+            });
+        }
+
+        final Future<Integer> result = Future.future();
+        CompositeFuture.join(outcomes).setHandler(done -> {
+            int forwarded = 0;
+            for (int i = 0; i < events.size(); i++) {
+                final Future<?> outcome = outcomes.get(i);
+                if (outcome.failed() && !ClientErrorException.class.isInstance(outcome.cause())) {
+                    LOG.debug("cannot forward spooled event: {}", outcome.cause().getMessage());
+                    break;
+                } else if (outcome.failed()) {
+                    LOG.debug("discarding spooled event for tenant [{}] that has been rejected by downstream peer: {}",
+                            events.get(i).getTenantId(), outcome.cause().getMessage());
+                }
+                forwarded++;
+            }
+            result.complete(forwarded);
+        });
+        return result;
+    }
+
+    private Future<Void> removeSpooledEvents(final EventSpool spool, final int events) {
+
+        if (events == 0) {
+            return Future.succeededFuture();
+        } else if (eventSpool != spool) {
+            return Future.failedFuture(new IllegalStateException("event spool has been closed"));
+        }
+        final Future<Void> result = Future.future();
+        vertx.<Void>executeBlocking(remove -> {
+            for (int i = 0; i < events; i++) {
+                try {
+                    spool.remove();
+                } catch (final IOException e) {
+                    LOG.warn("cannot remove event from spool", e);
+                }
+            }
+            remove.complete();
+        }, true, remove -> {
+            eventSpoolPendingEvents -= events;
+            result.handle(remove);
+        });
+        return result;
+    }
+
+    private Future<Message> refreshRegistrationAssertion(final SpooledEvent spooledEvent) {
+
+        final Message event = spooledEvent.getMessage();
+        final String deviceId = MessageHelper.getDeviceId(event);
+        if (deviceId == null) {
+            return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST, "event contains no device ID"));
+        }
+        return getRegistrationAssertion(spooledEvent.getTenantId(), deviceId, null).map(registrationInfo -> {
+            MessageHelper.addRegistrationAssertion(event, registrationInfo.getString(RegistrationConstants.FIELD_ASSERTION));
+            return event;
+        });
+    }
+
     /**
      * Gets a client for interacting with the Device Registration service.
      * 
@@ -519,68 +872,67 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
      */
     protected final void addProperties(final Message message, final JsonObject registrationInfo) {
 
-        final String registrationAssertion = registrationInfo.getString(RegistrationConstants.FIELD_ASSERTION);
-        MessageHelper.addRegistrationAssertion(message, registrationAssertion);
-        MessageHelper.addProperty(message, MessageHelper.APP_PROPERTY_ORIG_ADAPTER, getTypeName());
-        if (getConfig().isDefaultsEnabled()) {
-            final JsonObject defaults = registrationInfo.getJsonObject(RegistrationConstants.FIELD_DEFAULTS);
-            if (defaults != null) {
-                addDefaults(message, defaults);
-            }
-        }
-        if (Strings.isNullOrEmpty(message.getContentType())) {
-            // set default content type if none has been specified when creating the
-            // message nor a default content type is available
-            message.setContentType(CONTENT_TYPE_OCTET_STREAM);
+        Objects.requireNonNull(message);
+        getMessageTemplate(message.getAddress(), MessageHelper.getDeviceId(message), registrationInfo)
+            .applyTo(message, getConfig().isJmsVendorPropsEnabled());
+    }
+
+    /**
+     * Gets the template of the properties to add to a device's messages.
+     * <p>
+     * Templates are cached per device so that the registration information only
+     * needs to be evaluated again once the registration assertion has changed.
+     * The size of the cache is determined by the <em>messageTemplateCacheSize</em>
+     * configuration property.
+     * 
+     * @param address The address of the message, i.e. <em>endpoint/tenant</em>
+     *                (may be {@code null}).
+     * @param deviceId The identifier of the device (may be {@code null}).
+     * @param registrationInfo The device's registration information.
+     * @return The template. The template is not cached if the address or the
+     *         device identifier is {@code null}.
+     * @throws NullPointerException if registration info is {@code null} or does not
+     *                              contain an assertion.
+     */
+    private MessageTemplate getMessageTemplate(final String address, final String deviceId, final JsonObject registrationInfo) {
+
+        final String registrationAssertion = Objects.requireNonNull(
+                registrationInfo.getString(RegistrationConstants.FIELD_ASSERTION));
+        final ExpiringValueCache<String, MessageTemplate> cache = getMessageTemplateCache();
+        if (cache == null || address == null || deviceId == null) {
+            return newMessageTemplate(registrationInfo);
         }
-        if (getConfig().isJmsVendorPropsEnabled()) {
-            MessageHelper.addJmsVendorProperties(message);
+
+        // the address already contains the tenant
+        final String key = address.substring(address.indexOf('/') + 1) + "/" + deviceId;
+        MessageTemplate template = cache.get(key);
+        if (template == null || !template.isFor(registrationAssertion)) {
+            template = newMessageTemplate(registrationInfo);
+            cache.put(key, template, MESSAGE_TEMPLATE_MAX_AGE);
         }
+        return template;
     }
 
-    private void addDefaults(final Message message, final JsonObject defaults) {
+    private MessageTemplate newMessageTemplate(final JsonObject registrationInfo) {
+        return MessageTemplate.from(registrationInfo, getTypeName(), getConfig().isDefaultsEnabled(), CONTENT_TYPE_OCTET_STREAM);
+    }
 
-        defaults.forEach(prop -> {
+    private ExpiringValueCache<String, MessageTemplate> getMessageTemplateCache() {
 
-            switch(prop.getKey()) {
-            case MessageHelper.SYS_PROPERTY_CONTENT_TYPE:
-                if (Strings.isNullOrEmpty(message.getContentType()) && String.class.isInstance(prop.getValue())) {
-                    // set to default type registered for device or fall back to default content type
-                    message.setContentType((String) prop.getValue());
-                }
-                break;
-            case MessageHelper.SYS_PROPERTY_CONTENT_ENCODING:
-                if (Strings.isNullOrEmpty(message.getContentEncoding()) && String.class.isInstance(prop.getValue())) {
-                    message.setContentEncoding((String) prop.getValue());
-                }
-                break;
-            case MessageHelper.SYS_PROPERTY_ABSOLUTE_EXPIRY_TIME:
-            case MessageHelper.SYS_PROPERTY_CORRELATION_ID:
-            case MessageHelper.SYS_PROPERTY_CREATION_TIME:
-            case MessageHelper.SYS_PROPERTY_GROUP_ID:
-            case MessageHelper.SYS_PROPERTY_GROUP_SEQUENCE:
-            case MessageHelper.SYS_PROPERTY_MESSAGE_ID:
-            case MessageHelper.SYS_PROPERTY_REPLY_TO:
-            case MessageHelper.SYS_PROPERTY_REPLY_TO_GROUP_ID:
-            case MessageHelper.SYS_PROPERTY_SUBJECT:
-            case MessageHelper.SYS_PROPERTY_TO:
-            case MessageHelper.SYS_PROPERTY_USER_ID:
-                // these standard properties cannot be set using defaults
-                LOG.debug("ignoring default property [{}] registered for device", prop.getKey());
-                break;
-            default:
-                // add all other defaults as application properties
-                MessageHelper.addProperty(message, prop.getKey(), prop.getValue());
-            }
-        });
+        if (messageTemplates == null && getConfig().getMessageTemplateCacheSize() > 0) {
+            messageTemplates = new BoundedExpiringValueCache<>(16, getConfig().getMessageTemplateCacheSize(), 0);
+        }
+        return messageTemplates;
     }
 
     /**
      * Registers a check that succeeds if this component is connected to Hono Messaging,
-     * the Tenant Service, the Device Registration and the Credentials service.
+     * the Tenant Service, the Device Registration and the Credentials service and a check
+     * that fails while this component is overloaded.
      */
     @Override
     public void registerReadinessChecks(final HealthCheckHandler handler) {
+        registerOverloadCheck(handler);
         handler.register("connection-to-services", status -> {
             isConnected().map(connected -> {
                 status.tryComplete(Status.OK());
@@ -641,12 +993,16 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
         Objects.requireNonNull(deviceId);
         Objects.requireNonNull(registrationInfo);
 
-        final Message msg = ProtonHelper.message();
-        msg.setAddress(address);
-        MessageHelper.addDeviceId(msg, deviceId);
+        final MessageTemplate template = getMessageTemplate(address, deviceId, registrationInfo);
+        final Map<String, Object> props = new HashMap<>(
+                (int) ((template.getApplicationPropertiesCount() + 4) / 0.75f) + 1);
+        props.put(MessageHelper.APP_PROPERTY_DEVICE_ID, deviceId);
         if (publishAddress != null) {
-            MessageHelper.addProperty(msg, MessageHelper.APP_PROPERTY_ORIG_ADDRESS, publishAddress);
+            props.put(MessageHelper.APP_PROPERTY_ORIG_ADDRESS, publishAddress);
         }
+        final Message msg = ProtonHelper.message();
+        msg.setAddress(address);
+        msg.setApplicationProperties(new ApplicationProperties(props));
         if (contentType != null) {
             msg.setContentType(contentType);
         }
@@ -656,7 +1012,7 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
 
         MessageHelper.setCreationTime(msg);
 
-        addProperties(msg, registrationInfo);
+        template.applyTo(msg, getConfig().isJmsVendorPropsEnabled());
         return msg;
     }
 }
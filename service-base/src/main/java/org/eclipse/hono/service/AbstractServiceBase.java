@@ -1,16 +1,24 @@
 package org.eclipse.hono.service;
 
+import java.util.Objects;
+
 import org.eclipse.hono.config.AbstractConfig;
 import org.eclipse.hono.config.ServiceConfigProperties;
+import org.eclipse.hono.service.metric.NullGaugeService;
 import org.eclipse.hono.util.ConfigurationSupportingVerticle;
 import org.eclipse.hono.util.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.GaugeService;
 
+import io.netty.handler.ssl.OpenSsl;
 import io.vertx.core.Future;
 import io.vertx.core.http.ClientAuth;
+import io.vertx.core.net.JdkSSLEngineOptions;
 import io.vertx.core.net.KeyCertOptions;
 import io.vertx.core.net.NetServerOptions;
+import io.vertx.core.net.OpenSSLEngineOptions;
 import io.vertx.core.net.TrustOptions;
 import io.vertx.ext.healthchecks.HealthCheckHandler;
 
@@ -26,9 +34,26 @@ public abstract class AbstractServiceBase<T extends ServiceConfigProperties> ext
      */
     protected final Logger LOG = LoggerFactory.getLogger(getClass());
 
+    private GaugeService gaugeService = NullGaugeService.getInstance();
+    private OverloadDetector overloadDetector;
+
+    /**
+     * Sets the service to use for reporting the load of this component.
+     * <p>
+     * Spring Boot will inject a concrete implementation that is available on the class path.
+     *
+     * @param gaugeService The gauge service.
+     * @throws NullPointerException if service is {@code null}.
+     */
+    @Autowired(required = false)
+    public final void setGaugeService(final GaugeService gaugeService) {
+        this.gaugeService = Objects.requireNonNull(gaugeService);
+    }
+
     /**
      * Starts up this component.
      * <ol>
+     * <li>starts monitoring the load of this component's event loop</li>
      * <li>invokes {@link #startInternal()}</li>
      * </ol>
      * 
@@ -36,9 +61,63 @@ public abstract class AbstractServiceBase<T extends ServiceConfigProperties> ext
      */
     @Override
     public final void start(final Future<Void> startFuture) {
+        getOverloadDetector().start();
         startInternal().setHandler(startFuture.completer());
     }
 
+    /**
+     * Gets the name to use for scoping this component's load metrics and readiness check.
+     *
+     * @return The name.
+     */
+    private String getOverloadDetectorName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Gets the detector that monitors this component's load.
+     * <p>
+     * Subclasses should record the processing of requests using the detector's
+     * {@link OverloadDetector#requestStarted()} and {@link OverloadDetector#requestCompleted()}
+     * methods.
+     *
+     * @return The detector.
+     */
+    protected final OverloadDetector getOverloadDetector() {
+        if (overloadDetector == null) {
+            final T config = getConfig();
+            overloadDetector = new OverloadDetector(
+                    vertx,
+                    getOverloadDetectorName(),
+                    config == null ? 0 : config.getMaxEventLoopDelay(),
+                    config == null ? 0 : config.getMaxOutstandingRequests());
+            overloadDetector.setGaugeService(gaugeService);
+        }
+        return overloadDetector;
+    }
+
+    /**
+     * Checks if this component is overloaded and should therefore
+     * refuse new connections and requests.
+     *
+     * @return {@code true} if this component is overloaded.
+     */
+    protected final boolean isOverloaded() {
+        return overloadDetector != null && overloadDetector.isOverloaded();
+    }
+
+    /**
+     * Registers a check that fails while any instance of this component is overloaded.
+     * <p>
+     * Subclasses overriding {@link #registerReadinessChecks(HealthCheckHandler)} should
+     * invoke this method.
+     *
+     * @param handler The handler to register the check with.
+     */
+    protected final void registerOverloadCheck(final HealthCheckHandler handler) {
+        OverloadDetector.registerReadinessCheck(handler, getOverloadDetectorName());
+    }
+
     /**
      * Subclasses should override this method to perform any work required on start-up of this protocol component.
      * <p>
@@ -54,6 +133,7 @@ public abstract class AbstractServiceBase<T extends ServiceConfigProperties> ext
     /**
      * Stops this component.
      * <ol>
+     * <li>stops monitoring the load of this component's event loop</li>
      * <li>invokes {@link #stopInternal()}</li>
      * </ol>
      * 
@@ -61,6 +141,9 @@ public abstract class AbstractServiceBase<T extends ServiceConfigProperties> ext
      */
     @Override
     public final void stop(Future<Void> stopFuture) {
+        if (overloadDetector != null) {
+            overloadDetector.stop();
+        }
         stopInternal().setHandler(stopFuture.completer());
     }
 
@@ -81,11 +164,14 @@ public abstract class AbstractServiceBase<T extends ServiceConfigProperties> ext
      * <p>
      * An external systems management component can get the result of running these checks by means
      * of doing a HTTP GET /readiness.
+     * <p>
+     * This default implementation registers a check that fails while this component
+     * is overloaded.
      * 
      * @param handler The handler to register the checks with.
      */
     public void registerReadinessChecks(final HealthCheckHandler handler) {
-        // empty default implementation
+        registerOverloadCheck(handler);
     }
 
     /**
@@ -336,6 +422,8 @@ public abstract class AbstractServiceBase<T extends ServiceConfigProperties> ext
      * <p>
      * If <em>config</em> contains key &amp; certificate configuration it is added to
      * the given server options and the <em>ssl</em> flag is set to {@code true}.
+     * The options are also configured to use OpenSSL if <em>config</em> says so and
+     * if OpenSSL is available.
      * 
      * @param serverOptions The options to add configuration to.
      */
@@ -345,6 +433,49 @@ public abstract class AbstractServiceBase<T extends ServiceConfigProperties> ext
 
         if (keyCertOptions != null) {
             serverOptions.setSsl(true).setKeyCertOptions(keyCertOptions);
+            addSslEngineOptions(serverOptions);
+        }
+    }
+
+    private void addSslEngineOptions(final NetServerOptions serverOptions) {
+
+        if (!getConfig().isNativeTlsEnabled()) {
+            serverOptions.setSslEngineOptions(new JdkSSLEngineOptions());
+        } else if (OpenSsl.isAvailable() && OpenSsl.supportsKeyManagerFactory()) {
+            LOG.debug("using OpenSSL [version: {}] for TLS", OpenSsl.versionString());
+            serverOptions.setSslEngineOptions(new OpenSSLEngineOptions()
+                    .setSessionCacheEnabled(getConfig().isTlsSessionCacheEnabled()));
+        } else {
+            LOG.warn("OpenSSL is not available, using JDK's implementation for TLS instead");
+            serverOptions.setSslEngineOptions(new JdkSSLEngineOptions());
+        }
+    }
+
+    /**
+     * Adds the transport related configuration to a given set of server options.
+     * <p>
+     * The <em>SO_REUSEPORT</em> and <em>TCP_NODELAY</em> options are always set according
+     * to <em>config</em>. The <em>TCP_QUICKACK</em> option and the sizes of the send and
+     * receive buffers are set only if they have been configured explicitly so that the
+     * given options' values are kept otherwise.
+     * <p>
+     * Options which are only supported by the native transport are ignored by vert.x
+     * if the native transport is not available.
+     * 
+     * @param serverOptions The options to add configuration to.
+     */
+    protected final void addTransportOptions(final NetServerOptions serverOptions) {
+
+        serverOptions.setReusePort(getConfig().isReusePort());
+        serverOptions.setTcpNoDelay(getConfig().isTcpNoDelay());
+        if (getConfig().isTcpQuickAck()) {
+            serverOptions.setTcpQuickAck(true);
+        }
+        if (getConfig().getSendBufferSize() > 0) {
+            serverOptions.setSendBufferSize(getConfig().getSendBufferSize());
+        }
+        if (getConfig().getReceiveBufferSize() > 0) {
+            serverOptions.setReceiveBufferSize(getConfig().getReceiveBufferSize());
         }
     }
 }
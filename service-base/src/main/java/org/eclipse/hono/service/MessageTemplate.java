@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The properties that a protocol adapter adds to all downstream messages of a device
+ * for a given registration assertion.
+ * <p>
+ * A template is created once from the registration information returned by the
+ * <em>assert Device Registration</em> operation and can then be applied to any number of
+ * messages. This spares the adapter from evaluating the registration information, in
+ * particular the default properties registered for the device, for every single message.
+ * <p>
+ * Instances of this class are immutable.
+ */
+final class MessageTemplate {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MessageTemplate.class);
+
+    private final String registrationAssertion;
+    private final Map<String, Object> applicationProperties;
+    private final String defaultContentType;
+    private final String defaultContentEncoding;
+    private final String fallbackContentType;
+
+    private MessageTemplate(
+            final String registrationAssertion,
+            final Map<String, Object> applicationProperties,
+            final String defaultContentType,
+            final String defaultContentEncoding,
+            final String fallbackContentType) {
+
+        this.registrationAssertion = registrationAssertion;
+        this.applicationProperties = Collections.unmodifiableMap(applicationProperties);
+        this.defaultContentType = defaultContentType;
+        this.defaultContentEncoding = defaultContentEncoding;
+        this.fallbackContentType = fallbackContentType;
+    }
+
+    /**
+     * Creates a template for a device's registration information.
+     *
+     * @param registrationInfo The device's registration information as retrieved by the <em>Device
+     *                         Registration</em> service's <em>assert Device Registration</em> operation.
+     * @param adapterName The name of the protocol adapter to set as the origin of messages.
+     * @param defaultsEnabled {@code true} if the default properties contained in the registration
+     *                        information should be added to messages.
+     * @param fallbackContentType The content type to set on messages that have neither a content type
+     *                            of their own nor a default content type registered for the device.
+     * @return The template.
+     * @throws NullPointerException if any of the parameters is {@code null} or if the
+     *                              registration information does not contain an assertion.
+     */
+    static MessageTemplate from(
+            final JsonObject registrationInfo,
+            final String adapterName,
+            final boolean defaultsEnabled,
+            final String fallbackContentType) {
+
+        Objects.requireNonNull(registrationInfo);
+        Objects.requireNonNull(adapterName);
+        Objects.requireNonNull(fallbackContentType);
+
+        final String registrationAssertion = Objects.requireNonNull(
+                registrationInfo.getString(RegistrationConstants.FIELD_ASSERTION));
+        final JsonObject defaults = defaultsEnabled ? registrationInfo.getJsonObject(RegistrationConstants.FIELD_DEFAULTS) : null;
+
+        final Map<String, Object> props = new HashMap<>();
+        props.put(MessageHelper.APP_PROPERTY_REGISTRATION_ASSERTION, registrationAssertion);
+        props.put(MessageHelper.APP_PROPERTY_ORIG_ADAPTER, adapterName);
+        String contentType = null;
+        String contentEncoding = null;
+
+        if (defaults != null) {
+            for (final Map.Entry<String, Object> prop : defaults) {
+
+                switch (prop.getKey()) {
+                case MessageHelper.SYS_PROPERTY_CONTENT_TYPE:
+                    if (String.class.isInstance(prop.getValue())) {
+                        contentType = (String) prop.getValue();
+                    }
+                    break;
+                case MessageHelper.SYS_PROPERTY_CONTENT_ENCODING:
+                    if (String.class.isInstance(prop.getValue())) {
+                        contentEncoding = (String) prop.getValue();
+                    }
+                    break;
+                case MessageHelper.SYS_PROPERTY_ABSOLUTE_EXPIRY_TIME:
+                case MessageHelper.SYS_PROPERTY_CORRELATION_ID:
+                case MessageHelper.SYS_PROPERTY_CREATION_TIME:
+                case MessageHelper.SYS_PROPERTY_GROUP_ID:
+                case MessageHelper.SYS_PROPERTY_GROUP_SEQUENCE:
+                case MessageHelper.SYS_PROPERTY_MESSAGE_ID:
+                case MessageHelper.SYS_PROPERTY_REPLY_TO:
+                case MessageHelper.SYS_PROPERTY_REPLY_TO_GROUP_ID:
+                case MessageHelper.SYS_PROPERTY_SUBJECT:
+                case MessageHelper.SYS_PROPERTY_TO:
+                case MessageHelper.SYS_PROPERTY_USER_ID:
+                    // these standard properties cannot be set using defaults
+                    LOG.debug("ignoring default property [{}] registered for device", prop.getKey());
+                    break;
+                default:
+                    // add all other defaults as application properties
+                    props.put(prop.getKey(), Objects.requireNonNull(prop.getValue()));
+                }
+            }
+        }
+        return new MessageTemplate(registrationAssertion, props, contentType, contentEncoding, fallbackContentType);
+    }
+
+    /**
+     * Gets the number of application properties that this template adds to a message.
+     *
+     * @return The number of properties.
+     */
+    int getApplicationPropertiesCount() {
+        return applicationProperties.size();
+    }
+
+    /**
+     * Checks if this template has been created for a registration assertion.
+     * <p>
+     * The registration information returned by the <em>assert Device Registration</em>
+     * operation is only compared by means of the assertion. A device's default properties
+     * are therefore expected to change only along with the assertion, which is the case
+     * when the registration information is retrieved from the Device Registration service
+     * again, e.g. after the cached response has expired.
+     *
+     * @param assertion The registration assertion.
+     * @return {@code true} if the template has been created for the given assertion.
+     */
+    boolean isFor(final String assertion) {
+        return registrationAssertion.equals(assertion);
+    }
+
+    /**
+     * Adds this template's properties to a message.
+     * <p>
+     * Application properties already set on the message are overwritten by the template's
+     * properties of the same name. The registered default content type and encoding are only
+     * set if the message does not have a content type or encoding of its own.
+     *
+     * @param message The message to add the properties to.
+     * @param jmsVendorPropsEnabled {@code true} if JMS vendor properties should be added as well.
+     * @throws NullPointerException if message is {@code null}.
+     */
+    void applyTo(final Message message, final boolean jmsVendorPropsEnabled) {
+
+        final ApplicationProperties props = message.getApplicationProperties();
+        if (props == null) {
+            message.setApplicationProperties(new ApplicationProperties(new HashMap<>(applicationProperties)));
+        } else {
+            @SuppressWarnings("unchecked")
+            final Map<String, Object> values = props.getValue();
+            values.putAll(applicationProperties);
+        }
+        if (Strings.isNullOrEmpty(message.getContentType())) {
+            // set default content type registered for device or fall back to default content type
+            message.setContentType(defaultContentType == null ? fallbackContentType : defaultContentType);
+        }
+        if (Strings.isNullOrEmpty(message.getContentEncoding()) && defaultContentEncoding != null) {
+            message.setContentEncoding(defaultContentEncoding);
+        }
+        if (jmsVendorPropsEnabled) {
+            MessageHelper.addJmsVendorProperties(message);
+        }
+    }
+}
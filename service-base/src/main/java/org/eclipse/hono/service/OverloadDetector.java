@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.eclipse.hono.service.metric.NullGaugeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.metrics.GaugeService;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.HealthCheckHandler;
+import io.vertx.ext.healthchecks.Status;
+
+/**
+ * A detector for overload of a service verticle's event loop.
+ * <p>
+ * The detector periodically schedules a timer on the event loop of the verticle
+ * that it has been started on and measures the delay with which the timer fires.
+ * It also keeps track of the number of requests that the verticle is currently
+ * processing. The service is considered overloaded if the (smoothed) delay
+ * exceeds the configured maximum event loop delay or if the number of outstanding
+ * requests has reached the configured maximum.
+ * <p>
+ * Services are expected to refuse new connections, links and requests while
+ * they are overloaded so that clients can fail over to other instances
+ * instead of running into time outs.
+ */
+public final class OverloadDetector {
+
+    /**
+     * The number of seconds that clients are advised to wait before retrying
+     * a request that has been rejected because of overload.
+     */
+    public static final int RETRY_AFTER_SECONDS = 2;
+    /**
+     * The interval at which the event loop delay is sampled.
+     */
+    static final long SAMPLING_INTERVAL_MILLIS = 100;
+
+    private static final Logger LOG = LoggerFactory.getLogger(OverloadDetector.class);
+    // all started detectors, used for reporting overload of any event loop in readiness checks
+    private static final Set<OverloadDetector> ACTIVE_DETECTORS = ConcurrentHashMap.newKeySet();
+
+    private final Vertx vertx;
+    private final String name;
+    private final long maxEventLoopDelay;
+    private final int maxOutstandingRequests;
+    private final LongSupplier clock;
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+
+    private GaugeService gaugeService = NullGaugeService.getInstance();
+    private volatile long eventLoopDelay;
+    private volatile boolean overloaded;
+    private long timerId = -1;
+
+    /**
+     * Creates a new detector.
+     *
+     * @param vertx The vert.x instance to use for scheduling timers. May be {@code null}
+     *              if the event loop delay is not monitored.
+     * @param name The name of the service being monitored. The name is used for scoping
+     *             metrics and readiness checks.
+     * @param maxEventLoopDelay The maximum event loop delay in milliseconds or 0 if the
+     *                          delay should not be monitored.
+     * @param maxOutstandingRequests The maximum number of outstanding requests or 0 if
+     *                               the number should not be limited.
+     * @throws NullPointerException if name is {@code null} or if vertx is {@code null}
+     *                              and max event loop delay is &gt; 0.
+     */
+    public OverloadDetector(final Vertx vertx, final String name, final long maxEventLoopDelay, final int maxOutstandingRequests) {
+        this(vertx, name, maxEventLoopDelay, maxOutstandingRequests, System::currentTimeMillis);
+    }
+
+    OverloadDetector(final Vertx vertx, final String name, final long maxEventLoopDelay, final int maxOutstandingRequests,
+            final LongSupplier clock) {
+        this.vertx = maxEventLoopDelay > 0 ? Objects.requireNonNull(vertx) : vertx;
+        this.name = Objects.requireNonNull(name);
+        this.maxEventLoopDelay = maxEventLoopDelay;
+        this.maxOutstandingRequests = maxOutstandingRequests;
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Sets the service to report the sampled event loop delay and number of
+     * outstanding requests to.
+     *
+     * @param gaugeService The service.
+     * @throws NullPointerException if service is {@code null}.
+     */
+    public void setGaugeService(final GaugeService gaugeService) {
+        this.gaugeService = Objects.requireNonNull(gaugeService);
+    }
+
+    /**
+     * Starts sampling the delay of the current event loop.
+     * <p>
+     * This method must be invoked on the event loop of the verticle to monitor.
+     */
+    public void start() {
+        ACTIVE_DETECTORS.add(this);
+        if (maxEventLoopDelay > 0 && timerId == -1) {
+            scheduleSample(clock.getAsLong());
+        }
+    }
+
+    /**
+     * Stops sampling the delay of the event loop.
+     */
+    public void stop() {
+        ACTIVE_DETECTORS.remove(this);
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+        overloaded = false;
+    }
+
+    private void scheduleSample(final long now) {
+        timerId = vertx.setTimer(SAMPLING_INTERVAL_MILLIS, tid -> {
+            final long firedAt = clock.getAsLong();
+            recordDelay(Math.max(0, firedAt - now - SAMPLING_INTERVAL_MILLIS));
+            if (timerId != -1) {
+                scheduleSample(firedAt);
+            }
+        });
+    }
+
+    /**
+     * Records a sampled event loop delay.
+     *
+     * @param delay The delay in milliseconds.
+     */
+    void recordDelay(final long delay) {
+        // exponentially weighted moving average smoothing out single spikes
+        eventLoopDelay = (eventLoopDelay * 3 + delay) / 4;
+        gaugeService.submit("hono." + name + ".eventLoop.delay", eventLoopDelay);
+        updateState();
+    }
+
+    private void updateState() {
+        final boolean isOverloaded = (maxEventLoopDelay > 0 && eventLoopDelay > maxEventLoopDelay)
+                || (maxOutstandingRequests > 0 && outstandingRequests.get() >= maxOutstandingRequests);
+        if (isOverloaded != overloaded) {
+            overloaded = isOverloaded;
+            if (isOverloaded) {
+                LOG.warn("{} is overloaded [event loop delay: {}ms, outstanding requests: {}]",
+                        name, eventLoopDelay, outstandingRequests.get());
+            } else {
+                LOG.info("{} has recovered from overload [event loop delay: {}ms, outstanding requests: {}]",
+                        name, eventLoopDelay, outstandingRequests.get());
+            }
+        }
+    }
+
+    /**
+     * Records the start of processing a request.
+     * <p>
+     * Every invocation of this method must be followed by an
+     * invocation of {@link #requestCompleted()}.
+     */
+    public void requestStarted() {
+        gaugeService.submit("hono." + name + ".requests.outstanding", outstandingRequests.incrementAndGet());
+        updateState();
+    }
+
+    /**
+     * Records the completion of processing a request.
+     */
+    public void requestCompleted() {
+        gaugeService.submit("hono." + name + ".requests.outstanding", outstandingRequests.decrementAndGet());
+        updateState();
+    }
+
+    /**
+     * Checks if the monitored service is overloaded.
+     *
+     * @return {@code true} if the service should shed load.
+     */
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    /**
+     * Gets the smoothed delay of tasks scheduled on the monitored event loop.
+     *
+     * @return The delay in milliseconds.
+     */
+    public long getEventLoopDelay() {
+        return eventLoopDelay;
+    }
+
+    /**
+     * Gets the number of requests currently being processed.
+     *
+     * @return The number of requests.
+     */
+    public int getOutstandingRequests() {
+        return outstandingRequests.get();
+    }
+
+    /**
+     * Registers a readiness check that fails while any started detector with a
+     * given name reports overload.
+     * <p>
+     * Only a single check needs to be registered for all instances of a service
+     * because the check takes all instances' detectors into account.
+     *
+     * @param handler The handler to register the check with.
+     * @param name The name of the detectors to check.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static void registerReadinessCheck(final HealthCheckHandler handler, final String name) {
+
+        Objects.requireNonNull(handler);
+        Objects.requireNonNull(name);
+
+        handler.register(name + "-load", status -> {
+            final JsonObject data = new JsonObject();
+            boolean anyOverloaded = false;
+            for (final OverloadDetector detector : ACTIVE_DETECTORS) {
+                if (detector.name.equals(name)) {
+                    anyOverloaded |= detector.isOverloaded();
+                    data.put("eventLoopDelay", Math.max(data.getLong("eventLoopDelay", 0L), detector.getEventLoopDelay()));
+                    data.put("outstandingRequests", data.getInteger("outstandingRequests", 0) + detector.getOutstandingRequests());
+                }
+            }
+            status.tryComplete(anyOverloaded ? Status.KO(data) : Status.OK(data));
+        });
+    }
+}
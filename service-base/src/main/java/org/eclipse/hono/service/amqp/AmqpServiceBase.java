@@ -367,6 +367,7 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
         options.setReceiveBufferSize(16 * 1024); // 16kb
         options.setSendBufferSize(16 * 1024); // 16kb
         options.setLogActivity(getConfig().isNetworkDebugLoggingEnabled());
+        addTransportOptions(options);
 
         return options;
     }
@@ -470,6 +471,20 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
         link.close();
     }
 
+    /**
+     * Closes a link because this service is overloaded.
+     * <p>
+     * The link is closed with AMQP error code <em>amqp:resource-limit-exceeded</em>.
+     *
+     * @param con The connection that the link belongs to.
+     * @param link The link.
+     */
+    protected final void rejectLinkOnOverload(final ProtonConnection con, final ProtonLink<?> link) {
+        LOG.debug("rejecting link request from client [container: {}], service is overloaded", con.getRemoteContainer());
+        link.setCondition(ProtonHelper.condition(AmqpError.RESOURCE_LIMIT_EXCEEDED, "service is overloaded"));
+        link.close();
+    }
+
     /**
      * Creates a resource identifier for a given address.
      * 
@@ -495,7 +510,9 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
      * @param receiver the receiver created for the link.
      */
     protected void handleReceiverOpen(final ProtonConnection con, final ProtonReceiver receiver) {
-        if (receiver.getRemoteTarget().getAddress() == null) {
+        if (isOverloaded()) {
+            rejectLinkOnOverload(con, receiver);
+        } else if (receiver.getRemoteTarget().getAddress() == null) {
             LOG.debug("client [container: {}] wants to open an anonymous link for sending messages to arbitrary addresses, closing link ...",
                     con.getRemoteContainer());
             receiver.setCondition(ProtonHelper.condition(AmqpError.NOT_ALLOWED, "anonymous relay not supported"));
@@ -537,6 +554,10 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
      * @param sender the sender created for the link.
      */
     protected void handleSenderOpen(final ProtonConnection con, final ProtonSender sender) {
+        if (isOverloaded()) {
+            rejectLinkOnOverload(con, sender);
+            return;
+        }
         final Source remoteSource = sender.getRemoteSource();
         LOG.debug("client [container: {}] wants to open a link [address: {}] for receiving messages",
                 con.getRemoteContainer(), remoteSource);
@@ -577,7 +598,8 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
      * <li>senderOpenHandler - {@link #handleSenderOpen(ProtonConnection, ProtonSender)}</li>
      * <li>disconnectHandler - {@link #handleRemoteDisconnect(ProtonConnection)}</li>
      * <li>closeHandler - {@link #handleRemoteConnectionClose(ProtonConnection, AsyncResult)}</li>
-     * <li>openHandler - {@link #processRemoteOpen(ProtonConnection)}</li>
+     * <li>openHandler - {@link #processRemoteOpen(ProtonConnection)} or rejecting the connection
+     * if this service is overloaded</li>
      * </ul>
      * <p>
      * Subclasses should override this method in order to register service
@@ -594,6 +616,12 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
         connection.openHandler(remoteOpen -> {
             if (remoteOpen.failed()) {
                 LOG.debug("ignoring peer's open frame containing error", remoteOpen.cause());
+            } else if (isOverloaded()) {
+                LOG.debug("rejecting connection from client [container: {}], service is overloaded",
+                        connection.getRemoteContainer());
+                connection.setCondition(ProtonHelper.condition(AmqpError.RESOURCE_LIMIT_EXCEEDED, "service is overloaded"));
+                connection.open();
+                connection.close();
             } else {
                 processRemoteOpen(remoteOpen.result());
             }
@@ -705,8 +733,8 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
     /**
      * Registers this service's endpoints' readiness checks.
      * <p>
-     * This default implementation invokes {@link AmqpEndpoint#registerReadinessChecks(HealthCheckHandler)}
-     * for all registered endpoints.
+     * This default implementation registers a check for overload of this service and invokes
+     * {@link AmqpEndpoint#registerReadinessChecks(HealthCheckHandler)} for all registered endpoints.
      * <p>
      * Subclasses should override this method to register more specific checks.
      * 
@@ -715,6 +743,7 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
     @Override
     public void registerReadinessChecks(final HealthCheckHandler handler) {
 
+        registerOverloadCheck(handler);
         for (AmqpEndpoint ep : endpoints()) {
             ep.registerReadinessChecks(handler);
         }
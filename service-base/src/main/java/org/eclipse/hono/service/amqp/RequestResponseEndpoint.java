@@ -12,9 +12,16 @@
 package org.eclipse.hono.service.amqp;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.apache.qpid.proton.amqp.Symbol;
+import org.apache.qpid.proton.amqp.messaging.AmqpValue;
 import org.apache.qpid.proton.amqp.transport.AmqpError;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.auth.HonoUser;
@@ -26,6 +33,7 @@ import org.eclipse.hono.util.AmqpErrorException;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.EventBusMessage;
 import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RequestResponseApiConstants;
 import org.eclipse.hono.util.ResourceIdentifier;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -51,6 +59,15 @@ import io.vertx.proton.ProtonSender;
 public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties> extends AbstractAmqpEndpoint<T> {
 
     private static final int REQUEST_RESPONSE_ENDPOINT_DEFAULT_CREDITS = 20;
+    /**
+     * The number of milliseconds after which a request for which no response has been
+     * produced is no longer counted as being in flight.
+     */
+    private static final long IN_FLIGHT_REQUEST_TIMEOUT_MILLIS = 10000;
+    private static final String KEY_CONNECTION_FLOW_CONTROL = "REQUEST_RESPONSE_CONNECTION_FLOW_CONTROL";
+    private static final String KEY_LINK_FLOW_CONTROL = "REQUEST_RESPONSE_LINK_FLOW_CONTROL";
+
+    private final Map<String, InFlightRequest> inFlightRequests = new HashMap<>();
 
     private int receiverLinkCredit = REQUEST_RESPONSE_ENDPOINT_DEFAULT_CREDITS;
     private AuthorizationService authorizationService = new ClaimsBasedAuthorizationService();
@@ -85,6 +102,33 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
      */
     protected abstract Message getAmqpReply(final EventBusMessage response);
 
+    /**
+     * Creates an AMQP message for a service response.
+     * <p>
+     * This method is invoked for responses to be sent to clients that have negotiated
+     * the {@link RequestResponseApiConstants#CAPABILITY_BINARY_PAYLOAD} capability.
+     * This default implementation invokes {@link #getAmqpReply(EventBusMessage)} and
+     * moves the payload from the resulting message's <em>AmqpValue</em> section to a
+     * <em>Data</em> section. Subclasses should override this method in order to
+     * serialize the payload into a <em>Data</em> section directly.
+     *
+     * @param response The response to create the AMQP message for.
+     * @param binaryPayload {@code true} if the payload should be included in a <em>Data</em> section.
+     * @return The AMQP message.
+     * @throws NullPointerException If response is {@code null}.
+     */
+    protected Message getAmqpReply(final EventBusMessage response, final boolean binaryPayload) {
+
+        final Message reply = getAmqpReply(response);
+        if (binaryPayload && reply.getBody() instanceof AmqpValue) {
+            final JsonObject payload = MessageHelper.getJsonPayload(reply);
+            if (payload != null) {
+                MessageHelper.setJsonPayload(reply, payload);
+            }
+        }
+        return reply;
+    }
+
     /**
      * Gets the number of message credits this endpoint grants as a receiver.
      *
@@ -135,6 +179,12 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
      * The receiver link itself is configured with the AT_LEAST_ONCE QoS and grants the configured credits ({@link #setReceiverLinkCredit(int)})
      * with autoAcknowledge.
      * <p>
+     * If the configuration properties define a maximum number of requests in flight per link,
+     * credit is not replenished automatically. Instead, the endpoint issues credit only
+     * when the response to an outstanding request has been produced (or the request has
+     * been rejected), thus never exceeding the configured maximum number of requests per
+     * link and connection.
+     * <p>
      * Handling of received messages is delegated to {@link #handleMessage(ProtonConnection, ProtonReceiver, ResourceIdentifier, ProtonDelivery, Message)}.
      *
      * @param con The AMQP connection that the link is part of.
@@ -150,14 +200,28 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
         } else {
 
             logger.debug("establishing link for receiving messages from client [{}]", receiver.getName());
+            final LinkFlowControl flowControl = isCompletionDrivenFlowControlEnabled()
+                    ? new LinkFlowControl(receiver, getConnectionFlowControl(con), config.getMaxRequestsInFlightPerLink())
+                    : null;
+            if (flowControl != null) {
+                receiver.attachments().set(KEY_LINK_FLOW_CONTROL, LinkFlowControl.class, flowControl);
+            }
             receiver
                     .setQoS(ProtonQoS.AT_LEAST_ONCE)
                     .setAutoAccept(true) // settle received messages if the handler succeeds
-                    .setPrefetch(receiverLinkCredit)
+                    .setPrefetch(flowControl == null ? receiverLinkCredit : 0)
                     .handler((delivery, message) -> {
                         handleMessage(con, receiver, targetAddress, delivery, message);
-                    }).closeHandler(clientDetached -> onLinkDetach(receiver))
+                    }).closeHandler(clientDetached -> {
+                        if (flowControl != null) {
+                            flowControl.close();
+                        }
+                        onLinkDetach(receiver);
+                    })
                     .open();
+            if (flowControl != null) {
+                flowControl.replenish();
+            }
         }
     }
 
@@ -182,6 +246,10 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
     protected final void handleMessage(final ProtonConnection con, final ProtonReceiver receiver,
             final ResourceIdentifier targetAddress, ProtonDelivery delivery, Message message) {
 
+        final LinkFlowControl flowControl = getLinkFlowControl(receiver);
+        if (flowControl != null) {
+            flowControl.onRequestReceived();
+        }
         final Future<Void> formalCheck = Future.future();
         if (passesFormalVerification(targetAddress, message)) {
             formalCheck.complete();
@@ -197,6 +265,9 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
                 try {
                     processRequest(message, targetAddress, clientPrincipal);
                     ProtonHelper.accepted(delivery, true);
+                    if (flowControl != null) {
+                        trackInFlightRequest(flowControl, message);
+                    }
                     return Future.succeededFuture();
                 } catch (DecodeException e) {
                     return Future.failedFuture(new AmqpErrorException(AmqpError.DECODE_ERROR, "malformed payload"));
@@ -207,6 +278,9 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
 
         }).otherwise(t -> {
 
+            if (flowControl != null) {
+                flowControl.onRequestCompleted();
+            }
             if (t instanceof AmqpErrorException) {
                 AmqpErrorException cause = (AmqpErrorException) t;
                 MessageHelper.rejected(delivery, cause.asErrorCondition());
@@ -268,8 +342,12 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
      * <p>
      * This method registers a consumer on the vert.x event bus for the given reply-to address.
      * Response messages received over the event bus are transformed into AMQP messages using
-     * the {@link #getAmqpReply(EventBusMessage)} method and sent to the client over the established
+     * the {@link #getAmqpReply(EventBusMessage, boolean)} method and sent to the client over the established
      * link.
+     * <p>
+     * If the client includes the {@link RequestResponseApiConstants#CAPABILITY_BINARY_PAYLOAD}
+     * capability in the link's desired capabilities, the capability is offered back to the client
+     * and response payload is sent in <em>Data</em> sections.
      *
      * @param con The AMQP connection that the link is part of.
      * @param sender The link to establish.
@@ -280,12 +358,17 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
 
         if (isValidReplyToAddress(replyToAddress)) {
             logger.debug("establishing sender link with client [{}]", sender.getName());
+            final boolean binaryPayload = isBinaryPayloadRequested(sender);
+            if (binaryPayload) {
+                sender.setOfferedCapabilities(new Symbol[] { RequestResponseApiConstants.CAPABILITY_BINARY_PAYLOAD });
+            }
             final MessageConsumer<JsonObject> replyConsumer = vertx.eventBus().consumer(replyToAddress.toString(), message -> {
                 // TODO check for correct session here...?
                 if (logger.isTraceEnabled()) {
                     logger.trace("forwarding reply to client [{}]: {}", sender.getName(), message.body().encodePrettily());
                 }
                 final EventBusMessage response = EventBusMessage.fromJson(message.body());
+                completeInFlightRequest(message.address(), response.getCorrelationId());
                 filterResponse(Constants.getClientPrincipal(con), response)
                     .recover(t -> {
                         final int status = Optional.of(t).map(cause -> {
@@ -297,7 +380,7 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
                         }).orElse(HttpURLConnection.HTTP_INTERNAL_ERROR);
                         return Future.succeededFuture(response.getResponse(status));
                     }).map(filteredResponse -> {
-                        final Message amqpReply = getAmqpReply(filteredResponse);
+                        final Message amqpReply = getAmqpReply(filteredResponse, binaryPayload);
                         sender.send(amqpReply);
                         return null;
                     });
@@ -320,6 +403,72 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
         }
     }
 
+    private static boolean isBinaryPayloadRequested(final ProtonSender sender) {
+        final Symbol[] desiredCapabilities = sender.getRemoteDesiredCapabilities();
+        return desiredCapabilities != null
+                && Arrays.asList(desiredCapabilities).contains(RequestResponseApiConstants.CAPABILITY_BINARY_PAYLOAD);
+    }
+
+    private boolean isCompletionDrivenFlowControlEnabled() {
+        return config != null && config.getMaxRequestsInFlightPerLink() > 0;
+    }
+
+    private ConnectionFlowControl getConnectionFlowControl(final ProtonConnection con) {
+
+        ConnectionFlowControl flowControl = con.attachments().get(KEY_CONNECTION_FLOW_CONTROL, ConnectionFlowControl.class);
+        if (flowControl == null) {
+            flowControl = new ConnectionFlowControl(config.getMaxRequestsInFlightPerConnection());
+            con.attachments().set(KEY_CONNECTION_FLOW_CONTROL, ConnectionFlowControl.class, flowControl);
+        }
+        return flowControl;
+    }
+
+    private static LinkFlowControl getLinkFlowControl(final ProtonReceiver receiver) {
+        return Optional.ofNullable(receiver.attachments())
+                .map(attachments -> attachments.get(KEY_LINK_FLOW_CONTROL, LinkFlowControl.class))
+                .orElse(null);
+    }
+
+    private static String getInFlightRequestKey(final String replyToAddress, final Object correlationId) {
+        return replyToAddress + "#" + correlationId;
+    }
+
+    private void trackInFlightRequest(final LinkFlowControl flowControl, final Message request) {
+
+        final Object correlationId = Optional.ofNullable(request.getCorrelationId()).orElse(request.getMessageId());
+        if (request.getReplyTo() == null || correlationId == null) {
+            // no response will be sent
+            flowControl.onRequestCompleted();
+        } else {
+            final String key = getInFlightRequestKey(request.getReplyTo(), correlationId);
+            final long timerId = vertx.setTimer(IN_FLIGHT_REQUEST_TIMEOUT_MILLIS, tid -> {
+                final InFlightRequest expired = inFlightRequests.remove(key);
+                if (expired != null) {
+                    logger.debug("no response produced for request [reply-to: {}, correlation-id: {}] in time, replenishing credit",
+                            request.getReplyTo(), correlationId);
+                    expired.flowControl.onRequestCompleted();
+                }
+            });
+            final InFlightRequest previous = inFlightRequests.put(key, new InFlightRequest(flowControl, timerId));
+            if (previous != null) {
+                // client has re-used correlation ID
+                vertx.cancelTimer(previous.timerId);
+                previous.flowControl.onRequestCompleted();
+            }
+        }
+    }
+
+    private void completeInFlightRequest(final String replyToAddress, final Object correlationId) {
+
+        if (!inFlightRequests.isEmpty() && correlationId != null) {
+            final InFlightRequest request = inFlightRequests.remove(getInFlightRequestKey(replyToAddress, correlationId));
+            if (request != null) {
+                vertx.cancelTimer(request.timerId);
+                request.flowControl.onRequestCompleted();
+            }
+        }
+    }
+
     /**
      * Checks if a resource identifier constitutes a valid reply-to address
      * for this service endpoint.
@@ -345,4 +494,109 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
             return replyToAddress.getResourcePath().length >= 3;
         }
     }
+
+    /**
+     * A request for which no response has been produced yet.
+     */
+    private static final class InFlightRequest {
+
+        private final LinkFlowControl flowControl;
+        private final long timerId;
+
+        InFlightRequest(final LinkFlowControl flowControl, final long timerId) {
+            this.flowControl = flowControl;
+            this.timerId = timerId;
+        }
+    }
+
+    /**
+     * Keeps track of the links established by a client over a connection.
+     */
+    private static final class ConnectionFlowControl {
+
+        private final List<LinkFlowControl> links = new ArrayList<>(3);
+        private final int maxRequestsInFlight;
+
+        ConnectionFlowControl(final int maxRequestsInFlight) {
+            this.maxRequestsInFlight = maxRequestsInFlight;
+        }
+
+        int getAvailableCredit() {
+            if (maxRequestsInFlight <= 0) {
+                return Integer.MAX_VALUE;
+            } else {
+                int reserved = 0;
+                for (final LinkFlowControl link : links) {
+                    reserved += link.getReservedCredit();
+                }
+                return maxRequestsInFlight - reserved;
+            }
+        }
+
+        void replenish(final LinkFlowControl preferredLink) {
+            preferredLink.replenish();
+            if (maxRequestsInFlight > 0) {
+                // other links may have been starved by the connection limit
+                for (final LinkFlowControl link : links) {
+                    if (link != preferredLink) {
+                        link.replenish();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Issues credit on a receiver link based on the number of requests in flight.
+     */
+    private static final class LinkFlowControl {
+
+        private final ProtonReceiver receiver;
+        private final ConnectionFlowControl connection;
+        private final int maxRequestsInFlight;
+        private int requestsInFlight;
+        private boolean closed;
+
+        LinkFlowControl(final ProtonReceiver receiver, final ConnectionFlowControl connection, final int maxRequestsInFlight) {
+            this.receiver = receiver;
+            this.connection = connection;
+            this.maxRequestsInFlight = maxRequestsInFlight;
+            connection.links.add(this);
+        }
+
+        int getReservedCredit() {
+            return requestsInFlight + receiver.getCredit();
+        }
+
+        void onRequestReceived() {
+            requestsInFlight++;
+        }
+
+        void onRequestCompleted() {
+            if (requestsInFlight > 0) {
+                requestsInFlight--;
+            }
+            if (!closed) {
+                connection.replenish(this);
+            }
+        }
+
+        void replenish() {
+            if (!closed) {
+                final int credit = Math.min(maxRequestsInFlight - getReservedCredit(), connection.getAvailableCredit());
+                if (credit > 0) {
+                    receiver.flow(credit);
+                }
+            }
+        }
+
+        void close() {
+            closed = true;
+            connection.links.remove(this);
+            // credit reserved by this link may now be used by other links
+            for (final LinkFlowControl link : connection.links) {
+                link.replenish();
+            }
+        }
+    }
 }
@@ -22,7 +22,13 @@ import org.eclipse.hono.config.SignatureSupportingConfigProperties;
  */
 public class AuthenticationServerClientConfigProperties extends ClientConfigProperties {
 
+    /**
+     * The default maximum number of tokens to cache.
+     */
+    public static final int DEFAULT_TOKEN_CACHE_MAX_SIZE = 1000;
+
     private final SignatureSupportingConfigProperties validation = new SignatureSupportingConfigProperties();
+    private int tokenCacheMaxSize = DEFAULT_TOKEN_CACHE_MAX_SIZE;
 
     /**
      * Gets the properties for determining key material for validating user tokens.
@@ -32,4 +38,36 @@ public class AuthenticationServerClientConfigProperties extends ClientConfigProp
     public final SignatureSupportingConfigProperties getValidation() {
         return validation;
     }
+
+    /**
+     * Gets the maximum number of tokens issued by the Authentication service to cache.
+     * <p>
+     * Cached tokens are re-used for subsequent authentication requests containing the same
+     * credentials until they expire. A value of 0 disables caching.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TOKEN_CACHE_MAX_SIZE}.
+     *
+     * @return The maximum number of tokens.
+     */
+    public final int getTokenCacheMaxSize() {
+        return tokenCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of tokens issued by the Authentication service to cache.
+     * <p>
+     * Cached tokens are re-used for subsequent authentication requests containing the same
+     * credentials until they expire. A value of 0 disables caching.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TOKEN_CACHE_MAX_SIZE}.
+     *
+     * @param maxSize The maximum number of tokens.
+     * @throws IllegalArgumentException if max size is &lt; 0.
+     */
+    public final void setTokenCacheMaxSize(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("max size must be >= 0");
+        }
+        this.tokenCacheMaxSize = maxSize;
+    }
 }
@@ -12,6 +12,17 @@
 
 package org.eclipse.hono.service.auth.delegating;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.eclipse.hono.auth.HonoUser;
@@ -19,12 +30,15 @@ import org.eclipse.hono.client.impl.AuthenticationServerClient;
 import org.eclipse.hono.connection.ConnectionFactory;
 import org.eclipse.hono.service.HealthCheckProvider;
 import org.eclipse.hono.service.auth.AbstractHonoAuthenticationService;
+import org.eclipse.hono.service.auth.AuthTokenHelper;
+import org.eclipse.hono.service.cache.BoundedExpiringValueCache;
 import org.eclipse.hono.util.AuthenticationConstants;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import io.jsonwebtoken.JwtException;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -38,6 +52,11 @@ import io.vertx.ext.healthchecks.Status;
  * An authentication service that delegates authentication requests to a remote identity server.
  * <p>
  * This is the default authentication service for all Hono services.
+ * <p>
+ * Tokens issued by the remote server for username/password credentials are cached until they
+ * expire, if a token validator has been set. Concurrent requests containing the same
+ * credentials are sent to the remote server only once. Credentials are not kept in memory
+ * but only a salted digest of them.
  */
 @Service
 @Profile("!authentication-impl")
@@ -46,6 +65,10 @@ public class DelegatingAuthenticationService extends AbstractHonoAuthenticationS
     private AuthenticationServerClient client;
     private ConnectionFactory factory;
     private DnsClient dnsClient;
+    private AuthTokenHelper tokenValidator;
+    private BoundedExpiringValueCache<String, HonoUser> tokenCache;
+    private final Map<String, List<Handler<AsyncResult<HonoUser>>>> pendingRequests = new HashMap<>();
+    private final byte[] salt = new byte[16];
 
     @Autowired
     @Override
@@ -77,6 +100,20 @@ public class DelegatingAuthenticationService extends AbstractHonoAuthenticationS
         this.factory = Objects.requireNonNull(connectionFactory);
     }
 
+    /**
+     * Sets the helper to use for determining the expiration time of tokens
+     * issued by the authentication server.
+     * <p>
+     * If not set, tokens are not cached.
+     *
+     * @param tokenValidator The helper.
+     * @throws NullPointerException if the helper is {@code null}.
+     */
+    @Autowired(required = false)
+    public void setTokenValidator(@Qualifier(AuthenticationConstants.QUALIFIER_AUTHENTICATION) final AuthTokenHelper tokenValidator) {
+        this.tokenValidator = Objects.requireNonNull(tokenValidator);
+    }
+
     /**
      * This method does not register any specific liveness checks.
      */
@@ -132,6 +169,11 @@ public class DelegatingAuthenticationService extends AbstractHonoAuthenticationS
             startFuture.fail("no connection factory for Authentication service set");
         } else {
             client = new AuthenticationServerClient(vertx, factory);
+            if (tokenValidator != null && getConfig().getTokenCacheMaxSize() > 0) {
+                new SecureRandom().nextBytes(salt);
+                tokenCache = new BoundedExpiringValueCache<>(0, getConfig().getTokenCacheMaxSize(), 0f);
+                log.info("caching up to {} tokens issued by Authentication service", getConfig().getTokenCacheMaxSize());
+            }
             startFuture.complete();
         }
     }
@@ -145,7 +187,65 @@ public class DelegatingAuthenticationService extends AbstractHonoAuthenticationS
     public void verifyPlain(final String authzid, final String authcid, final String password,
             final Handler<AsyncResult<HonoUser>> authenticationResultHandler) {
 
-        client.verifyPlain(authzid, authcid, password, authenticationResultHandler);
+        if (tokenCache == null) {
+            client.verifyPlain(authzid, authcid, password, authenticationResultHandler);
+            return;
+        }
+
+        final String key = getCacheKey(authzid, authcid, password);
+        final HonoUser cachedUser = tokenCache.get(key);
+        if (cachedUser != null) {
+            log.trace("using cached token [authcid: {}]", authcid);
+            authenticationResultHandler.handle(Future.succeededFuture(cachedUser));
+            return;
+        }
+
+        final List<Handler<AsyncResult<HonoUser>>> waitingHandlers = pendingRequests.get(key);
+        if (waitingHandlers != null) {
+            log.trace("token request for same credentials already in progress [authcid: {}]", authcid);
+            waitingHandlers.add(authenticationResultHandler);
+            return;
+        }
+
+        final List<Handler<AsyncResult<HonoUser>>> handlers = new ArrayList<>();
+        handlers.add(authenticationResultHandler);
+        pendingRequests.put(key, handlers);
+        client.verifyPlain(authzid, authcid, password, attempt -> {
+            pendingRequests.remove(key);
+            if (attempt.succeeded()) {
+                addToCache(key, attempt.result());
+            }
+            handlers.forEach(handler -> handler.handle(attempt));
+        });
+    }
+
+    private void addToCache(final String key, final HonoUser user) {
+
+        try {
+            final Date expiration = tokenValidator.expand(user.getToken()).getBody().getExpiration();
+            if (expiration != null && expiration.toInstant().isAfter(Instant.now())) {
+                tokenCache.put(key, user, expiration.toInstant());
+            }
+        } catch (final JwtException | IllegalArgumentException e) {
+            log.debug("not caching invalid token issued by Authentication service: {}", e.getMessage());
+        }
+    }
+
+    private String getCacheKey(final String authzid, final String authcid, final String password) {
+
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            digest.update(String.valueOf(authzid).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(authcid.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (final NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
     }
 
     @Override
@@ -43,6 +43,7 @@ public abstract class CredentialsApiAuthProvider implements HonoClientBasedAuthP
      */
     protected final Logger log = LoggerFactory.getLogger(getClass());
     private HonoClient credentialsServiceClient;
+    private CredentialsValidationExecutor validationExecutor;
 
     /**
      * Creates a new authentication provider for a credentials service client.
@@ -54,6 +55,19 @@ public abstract class CredentialsApiAuthProvider implements HonoClientBasedAuthP
         this.credentialsServiceClient = Objects.requireNonNull(credentialsServiceClient);
     }
 
+    /**
+     * Sets the executor to use for validating the credentials provided by devices.
+     * <p>
+     * If not set, credentials are validated on the vert.x context that the
+     * credentials on record have been retrieved on.
+     * 
+     * @param executor The executor or {@code null} if credentials should not be
+     *                 validated on a dedicated pool of worker threads.
+     */
+    public final void setValidationExecutor(final CredentialsValidationExecutor executor) {
+        this.validationExecutor = executor;
+    }
+
     /**
      * Gets a client for the Credentials service.
      * 
@@ -104,13 +118,28 @@ public abstract class CredentialsApiAuthProvider implements HonoClientBasedAuthP
             } else {
                 return Future.failedFuture(t);
             }
-        }).map(credentialsOnRecord -> {
-            if (deviceCredentials.validate(credentialsOnRecord)) {
+        }).compose(credentialsOnRecord -> validateCredentials(deviceCredentials, credentialsOnRecord).map(valid -> {
+            if (valid) {
                 return new Device(deviceCredentials.getTenantId(), credentialsOnRecord.getDeviceId());
             } else {
                  throw new ClientErrorException(HttpURLConnection.HTTP_UNAUTHORIZED, "invalid credentials");
             }
-        }).setHandler(resultHandler);
+        })).setHandler(resultHandler);
+    }
+
+    private Future<Boolean> validateCredentials(
+            final DeviceCredentials deviceCredentials,
+            final CredentialsObject credentialsOnRecord) {
+
+        if (validationExecutor == null) {
+            try {
+                return Future.succeededFuture(deviceCredentials.validate(credentialsOnRecord));
+            } catch (final IllegalArgumentException e) {
+                return Future.failedFuture(e);
+            }
+        } else {
+            return validationExecutor.validate(deviceCredentials, credentialsOnRecord);
+        }
     }
 
     @Override
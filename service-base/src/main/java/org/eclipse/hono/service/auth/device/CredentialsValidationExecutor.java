@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.auth.device;
+
+import java.net.HttpURLConnection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.service.metric.Metrics;
+import org.eclipse.hono.util.CredentialsObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+
+/**
+ * Validates the credentials presented by devices on a bounded pool of worker threads.
+ * <p>
+ * Validating credentials may require the computation of expensive password hashes, e.g. when
+ * using PBKDF2. Running these computations on a dedicated pool keeps the event loop threads
+ * responsive for devices that are already connected, even if a large number of devices try to
+ * connect at the same time.
+ * <p>
+ * The number of validations that may be waiting for a thread of the pool is limited. A validation
+ * submitted while this limit is exceeded fails with a {@link ServerErrorException} having
+ * status code 503.
+ * <p>
+ * If the pool size is 0, credentials are validated on the calling thread.
+ */
+public final class CredentialsValidationExecutor {
+
+    /**
+     * The name of the pool of worker threads shared by all executors of a vert.x instance.
+     */
+    public static final String POOL_NAME = "hono-credentials-validation";
+
+    private static final Logger LOG = LoggerFactory.getLogger(CredentialsValidationExecutor.class);
+
+    private final WorkerExecutor workerExecutor;
+    private final int maxPendingValidations;
+    private final Metrics metrics;
+    private final AtomicInteger pendingValidations = new AtomicInteger();
+
+    /**
+     * Creates a new executor.
+     *
+     * @param vertx The vert.x instance to create the pool of worker threads with.
+     * @param poolSize The number of worker threads to use for validating credentials
+     *                 or 0 if credentials should be validated on the calling thread.
+     * @param maxQueueSize The maximum number of validations that may be waiting for
+     *                     a worker thread to become available.
+     * @param metrics The metrics to report the pending and rejected validations to
+     *                (may be {@code null}).
+     * @throws NullPointerException if vertx is {@code null}.
+     * @throws IllegalArgumentException if pool size or max queue size is &lt; 0.
+     */
+    public CredentialsValidationExecutor(final Vertx vertx, final int poolSize, final int maxQueueSize, final Metrics metrics) {
+
+        Objects.requireNonNull(vertx);
+        if (poolSize < 0) {
+            throw new IllegalArgumentException("pool size must be >= 0");
+        } else if (maxQueueSize < 0) {
+            throw new IllegalArgumentException("max queue size must be >= 0");
+        }
+        this.workerExecutor = poolSize > 0 ? vertx.createSharedWorkerExecutor(POOL_NAME, poolSize) : null;
+        this.maxPendingValidations = poolSize + maxQueueSize;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Verifies that the credentials provided by a device match the credentials
+     * that are on record for the device.
+     * <p>
+     * The outcome of the validation is reported on the vert.x context of the caller.
+     *
+     * @param deviceCredentials The credentials provided by the device.
+     * @param credentialsOnRecord The credentials for the device as returned by the
+     *                            <em>Credentials</em> API.
+     * @return A future indicating the outcome of the validation.
+     *         <p>
+     *         The future will be succeeded with {@code true} if the credentials have been
+     *         validated successfully or with {@code false} if they do not match.
+     *         <p>
+     *         The future will be failed with a {@link ServerErrorException} if too many
+     *         validations are pending or with an {@code IllegalArgumentException} if the
+     *         credentials on record do not contain any secrets.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public Future<Boolean> validate(final DeviceCredentials deviceCredentials, final CredentialsObject credentialsOnRecord) {
+
+        Objects.requireNonNull(deviceCredentials);
+        Objects.requireNonNull(credentialsOnRecord);
+
+        if (workerExecutor == null) {
+            try {
+                return Future.succeededFuture(deviceCredentials.validate(credentialsOnRecord));
+            } catch (final IllegalArgumentException e) {
+                return Future.failedFuture(e);
+            }
+        }
+
+        if (pendingValidations.incrementAndGet() > maxPendingValidations) {
+            pendingValidations.decrementAndGet();
+            LOG.debug("rejecting validation of credentials [tenant: {}, auth-id: {}], too many pending validations",
+                    deviceCredentials.getTenantId(), deviceCredentials.getAuthId());
+            if (metrics != null) {
+                metrics.incrementRejectedCredentialsValidations();
+            }
+            return Future.failedFuture(new ServerErrorException(
+                    HttpURLConnection.HTTP_UNAVAILABLE, "too many pending authentication requests"));
+        }
+
+        if (metrics != null) {
+            metrics.incrementPendingCredentialsValidations();
+        }
+        final long submitted = System.currentTimeMillis();
+        final Future<Boolean> result = Future.future();
+        workerExecutor.<Boolean>executeBlocking(
+                validation -> validation.complete(deviceCredentials.validate(credentialsOnRecord)),
+                false,
+                validation -> {
+                    pendingValidations.decrementAndGet();
+                    if (metrics != null) {
+                        metrics.decrementPendingCredentialsValidations(System.currentTimeMillis() - submitted);
+                    }
+                    result.handle(validation);
+                });
+        return result;
+    }
+
+    /**
+     * Gets the number of validations that have been submitted but have not completed yet.
+     *
+     * @return The number of validations.
+     */
+    public int getPendingValidations() {
+        return pendingValidations.get();
+    }
+
+    /**
+     * Releases the pool of worker threads.
+     * <p>
+     * The threads are terminated once all executors of the vert.x instance using the
+     * pool have been closed.
+     */
+    public void close() {
+        if (workerExecutor != null) {
+            workerExecutor.close();
+        }
+    }
+}
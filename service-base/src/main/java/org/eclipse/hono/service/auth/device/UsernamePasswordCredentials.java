@@ -11,12 +11,11 @@
  */
 package org.eclipse.hono.service.auth.device;
 
-import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
 import java.util.Base64;
 
+import org.eclipse.hono.auth.PasswordHashFunctions;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.CredentialsConstants;
 import org.slf4j.Logger;
@@ -136,6 +135,11 @@ public class UsernamePasswordCredentials extends AbstractDeviceCredentials {
      * <p>
      * The secret is expected to be of type <em>hashed-password</em> as defined by
      * <a href="https://www.eclipse.org/hono/api/Credentials-API/">Hono's Credentials API</a>.
+     * The password is hashed using the function registered with {@link PasswordHashFunctions}
+     * under the name contained in the secret's <em>hash-function</em> property.
+     * <p>
+     * Depending on the hash function, this method may take a considerable amount of time
+     * and should therefore not be invoked on a vert.x event loop thread.
      * 
      * @param candidateSecret The secret to match against.
      * @return {@code true} if the credentials match the secret.
@@ -143,12 +147,12 @@ public class UsernamePasswordCredentials extends AbstractDeviceCredentials {
     @Override
     public boolean matchesCredentials(final JsonObject candidateSecret) {
 
-        String pwdHash = candidateSecret.getString(CredentialsConstants.FIELD_SECRETS_PWD_HASH);
+        final String pwdHash = candidateSecret.getString(CredentialsConstants.FIELD_SECRETS_PWD_HASH);
         if (pwdHash == null) {
             return false;
         }
 
-        byte[] hashedPasswordOnRecord = Base64.getDecoder().decode(pwdHash);
+        final byte[] hashedPasswordOnRecord = Base64.getDecoder().decode(pwdHash);
 
         byte[] salt = null;
         final String encodedSalt = candidateSecret.getString(CredentialsConstants.FIELD_SECRETS_SALT);
@@ -157,22 +161,24 @@ public class UsernamePasswordCredentials extends AbstractDeviceCredentials {
             salt = Base64.getDecoder().decode(encodedSalt);
         }
 
-        String hashFunction = candidateSecret.getString(
+        final String hashFunction = candidateSecret.getString(
                 CredentialsConstants.FIELD_SECRETS_HASH_FUNCTION,
                 CredentialsConstants.DEFAULT_HASH_FUNCTION);
 
-        return checkPassword(hashFunction, salt, hashedPasswordOnRecord);
+        return checkPassword(hashFunction, salt, hashedPasswordOnRecord, candidateSecret);
     }
 
-    private boolean checkPassword(final String hashFunction, final byte[] salt, final byte[] hashedPasswordOnRecord) {
+    private boolean checkPassword(
+            final String hashFunction,
+            final byte[] salt,
+            final byte[] hashedPasswordOnRecord,
+            final JsonObject secret) {
+
         try {
-            MessageDigest messageDigest = MessageDigest.getInstance(hashFunction);
-            if (salt != null) {
-                messageDigest.update(salt);
-            }
-            byte[] hashedPassword = messageDigest.digest(getPassword().getBytes(StandardCharsets.UTF_8));
-            return Arrays.equals(hashedPassword, hashedPasswordOnRecord);
-        } catch (final NoSuchAlgorithmException e) {
+            final byte[] hashedPassword = PasswordHashFunctions.hash(hashFunction, getPassword(), salt, secret);
+            return MessageDigest.isEqual(hashedPassword, hashedPasswordOnRecord);
+        } catch (final NoSuchAlgorithmException | IllegalArgumentException e) {
+            LOG.debug("cannot hash password using hash function [{}]: {}", hashFunction, e.getMessage());
             return false;
         }
     }
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.hono.cache.CacheProvider;
+import org.eclipse.hono.cache.ExpiringValueCache;
+
+/**
+ * A provider for size bounded caches.
+ * <p>
+ * The provider creates a cache instance per name and returns the same
+ * instance for subsequent invocations using the same name.
+ * <p>
+ * If the provider is created for a concurrency level &gt; 1, it creates
+ * {@link StripedExpiringValueCache} instances which can be shared by all
+ * verticle instances of a process without contending for a single lock.
+ * Otherwise, it creates {@link BoundedExpiringValueCache} instances.
+ */
+public class BoundedCacheProvider implements CacheProvider {
+
+    private final Map<String, ExpiringValueCache<?, ?>> caches = new ConcurrentHashMap<>();
+    private final int initialCapacity;
+    private final int maxSize;
+    private final float refreshThreshold;
+    private final int concurrencyLevel;
+
+    /**
+     * Creates a new provider.
+     *
+     * @param initialCapacity The number of entries to allocate space for initially in each cache.
+     * @param maxSize The maximum number of entries to keep in each cache.
+     * @param refreshThreshold The fraction of a cached value's lifetime after which the value
+     *                         should be refreshed or 0 if refresh-ahead should be disabled.
+     * @throws IllegalArgumentException if initial capacity is &lt; 0, if max size is &lt; 1
+     *                                  or if the refresh threshold is not within [0, 1).
+     */
+    public BoundedCacheProvider(final int initialCapacity, final int maxSize, final float refreshThreshold) {
+        this(initialCapacity, maxSize, refreshThreshold, 1);
+    }
+
+    /**
+     * Creates a new provider for caches that are accessed by multiple threads concurrently.
+     *
+     * @param initialCapacity The number of entries to allocate space for initially in each cache.
+     * @param maxSize The maximum number of entries to keep in each cache.
+     * @param refreshThreshold The fraction of a cached value's lifetime after which the value
+     *                         should be refreshed or 0 if refresh-ahead should be disabled.
+     * @param concurrencyLevel The expected number of threads accessing each cache concurrently,
+     *                         e.g. the number of event loops of the process.
+     * @throws IllegalArgumentException if initial capacity is &lt; 0, if max size is &lt; 1,
+     *                                  if the refresh threshold is not within [0, 1) or if
+     *                                  the concurrency level is &lt; 1.
+     */
+    public BoundedCacheProvider(final int initialCapacity, final int maxSize, final float refreshThreshold,
+            final int concurrencyLevel) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initial capacity must not be negative");
+        } else if (maxSize < 1) {
+            throw new IllegalArgumentException("max size must be > 0");
+        } else if (refreshThreshold < 0 || refreshThreshold >= 1) {
+            throw new IllegalArgumentException("refresh threshold must be >= 0 and < 1");
+        } else if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("concurrency level must be > 0");
+        }
+        this.initialCapacity = initialCapacity;
+        this.maxSize = maxSize;
+        this.refreshThreshold = refreshThreshold;
+        this.concurrencyLevel = concurrencyLevel;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K, V> ExpiringValueCache<K, V> getCache(final String cacheName) {
+        requireNonNull(cacheName);
+        return (ExpiringValueCache<K, V>) caches.computeIfAbsent(cacheName, name -> {
+            if (concurrencyLevel > 1) {
+                return new StripedExpiringValueCache<>(initialCapacity, maxSize, refreshThreshold, concurrencyLevel);
+            } else {
+                return new BoundedExpiringValueCache<>(initialCapacity, maxSize, refreshThreshold);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K, V> ExpiringValueCache<K, V> getExistingCache(final String cacheName) {
+        requireNonNull(cacheName);
+        return (ExpiringValueCache<K, V>) caches.get(cacheName);
+    }
+}
@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import org.eclipse.hono.cache.ExpiringValueCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A size bounded cache for expiring values.
+ * <p>
+ * The cache keeps its entries in access order and evicts the least recently
+ * used entry once the maximum number of entries has been reached. Expired entries
+ * are removed when they are accessed.
+ * <p>
+ * The cache supports <em>refresh-ahead</em>: if a refresh threshold has been
+ * configured, {@link #isRefreshRequired(Object)} returns {@code true} once for every
+ * value that has been accessed after the given fraction of its lifetime has passed.
+ * This allows callers to renew frequently used values before they expire.
+ * <p>
+ * All methods are thread safe.
+ *
+ * @param <K> The type of keys that the cache supports.
+ * @param <V> The type of values that the cache supports.
+ */
+public final class BoundedExpiringValueCache<K, V> implements ExpiringValueCache<K, V> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BoundedExpiringValueCache.class);
+
+    private final Map<K, Entry<V>> entries;
+    private final int maxSize;
+    private final float refreshThreshold;
+    private final LongSupplier clock;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param initialCapacity The number of entries to allocate space for initially.
+     * @param maxSize The maximum number of entries to keep in the cache.
+     * @param refreshThreshold The fraction of a value's lifetime after which the value
+     *                         should be refreshed or 0 if refresh-ahead should be disabled.
+     * @throws IllegalArgumentException if initial capacity is &lt; 0, if max size is &lt; 1
+     *                                  or if the refresh threshold is not within [0, 1).
+     */
+    public BoundedExpiringValueCache(final int initialCapacity, final int maxSize, final float refreshThreshold) {
+        this(initialCapacity, maxSize, refreshThreshold, System::currentTimeMillis);
+    }
+
+    BoundedExpiringValueCache(final int initialCapacity, final int maxSize, final float refreshThreshold,
+            final LongSupplier clock) {
+
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initial capacity must not be negative");
+        } else if (maxSize < 1) {
+            throw new IllegalArgumentException("max size must be > 0");
+        } else if (refreshThreshold < 0 || refreshThreshold >= 1) {
+            throw new IllegalArgumentException("refresh threshold must be >= 0 and < 1");
+        }
+        this.maxSize = maxSize;
+        this.refreshThreshold = refreshThreshold;
+        this.clock = Objects.requireNonNull(clock);
+        this.entries = new LinkedHashMap<K, Entry<V>>(Math.min(initialCapacity, maxSize), 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedExpiringValueCache.this.maxSize) {
+                    evictions++;
+                    LOG.trace("evicting least recently used entry [key: {}]", eldest.getKey());
+                    return true;
+                } else {
+                    return false;
+                }
+            }
+        };
+    }
+
+    @Override
+    public void put(final K key, final V value, final Instant expirationTime) {
+
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(expirationTime);
+
+        put(key, value, clock.getAsLong(), expirationTime.toEpochMilli());
+    }
+
+    @Override
+    public void put(final K key, final V value, final Duration maxAge) {
+
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(maxAge);
+
+        final long now = clock.getAsLong();
+        put(key, value, now, now + maxAge.toMillis());
+    }
+
+    private void put(final K key, final V value, final long now, final long expirationTime) {
+
+        if (expirationTime <= now) {
+            throw new IllegalArgumentException("value is already expired");
+        }
+        final long refreshTime = refreshThreshold > 0
+                ? now + (long) ((expirationTime - now) * refreshThreshold)
+                : Long.MAX_VALUE;
+        final Entry<V> entry = new Entry<>(value, expirationTime, refreshTime);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    @Override
+    public V get(final K key) {
+
+        if (key == null) {
+            return null;
+        }
+        final long now = clock.getAsLong();
+        synchronized (entries) {
+            final Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses++;
+                LOG.trace("cache miss [key: {}]", key);
+                return null;
+            } else if (entry.expirationTime <= now) {
+                misses++;
+                expirations++;
+                entries.remove(key);
+                LOG.trace("cache hit expired [key: {}]", key);
+                return null;
+            } else {
+                hits++;
+                LOG.trace("cache hit [key: {}]", key);
+                return entry.value;
+            }
+        }
+    }
+
+    @Override
+    public void removeIf(final Predicate<? super K> filter) {
+
+        Objects.requireNonNull(filter);
+        synchronized (entries) {
+            entries.keySet().removeIf(filter);
+        }
+    }
+
+    @Override
+    public boolean isRefreshRequired(final K key) {
+
+        if (key == null) {
+            return false;
+        }
+        final long now = clock.getAsLong();
+        synchronized (entries) {
+            final Entry<V> entry = entries.get(key);
+            if (entry == null || entry.refreshRequested || entry.expirationTime <= now || entry.refreshTime > now) {
+                return false;
+            } else {
+                entry.refreshRequested = true;
+                LOG.trace("cached value requires refresh [key: {}]", key);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of entries currently contained in this cache.
+     * <p>
+     * The number may include entries that are expired but have not yet been accessed.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Gets the number of lookups that have returned a cached value.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        synchronized (entries) {
+            return hits;
+        }
+    }
+
+    /**
+     * Gets the number of lookups that have not returned a value,
+     * either because no value was cached or because the value has expired.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        synchronized (entries) {
+            return misses;
+        }
+    }
+
+    /**
+     * Gets the number of entries that have been removed in order to
+     * keep the cache within its size bound.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictionCount() {
+        synchronized (entries) {
+            return evictions;
+        }
+    }
+
+    /**
+     * Gets the number of entries that have been removed because they have expired.
+     *
+     * @return The number of expired entries.
+     */
+    public long getExpirationCount() {
+        synchronized (entries) {
+            return expirations;
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (entries) {
+            return new StringBuilder("BoundedExpiringValueCache [size: ").append(entries.size())
+                    .append(", max size: ").append(maxSize)
+                    .append(", hits: ").append(hits)
+                    .append(", misses: ").append(misses)
+                    .append(", evictions: ").append(evictions)
+                    .append(", expirations: ").append(expirations)
+                    .append("]").toString();
+        }
+    }
+
+    /**
+     * A cached value along with its expiration and refresh times.
+     *
+     * @param <V> The type of value.
+     */
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long expirationTime;
+        private final long refreshTime;
+        private boolean refreshRequested;
+
+        Entry(final V value, final long expirationTime, final long refreshTime) {
+            this.value = value;
+            this.expirationTime = expirationTime;
+            this.refreshTime = refreshTime;
+        }
+    }
+}
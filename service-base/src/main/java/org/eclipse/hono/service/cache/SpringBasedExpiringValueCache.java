@@ -16,6 +16,8 @@ package org.eclipse.hono.service.cache;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 
 import org.eclipse.hono.cache.BasicExpiringValue;
 import org.eclipse.hono.cache.ExpiringValue;
@@ -34,6 +36,7 @@ import org.springframework.cache.Cache;
 public class SpringBasedExpiringValueCache<K, V> implements ExpiringValueCache<K, V> {
 
     private static final Logger LOG = LoggerFactory.getLogger(SpringBasedExpiringValueCache.class);
+    private static final AtomicBoolean CLEAR_WARNING_LOGGED = new AtomicBoolean();
 
     private final Cache cache;
 
@@ -93,4 +96,24 @@ public class SpringBasedExpiringValueCache<K, V> implements ExpiringValueCache<K
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Spring caches do not support iterating over their keys. This method
+     * therefore ignores the predicate and removes <em>all</em> values from the cache.
+     * A warning is logged the first time that this happens.
+     */
+    @Override
+    public void removeIf(final Predicate<? super K> filter) {
+
+        Objects.requireNonNull(filter);
+        if (CLEAR_WARNING_LOGGED.compareAndSet(false, true)) {
+            LOG.warn("Spring based caches do not support removing individual values, clearing cache [{}] instead",
+                    cache.getName());
+        } else {
+            LOG.debug("clearing cache [{}]", cache.getName());
+        }
+        cache.clear();
+    }
+
 }
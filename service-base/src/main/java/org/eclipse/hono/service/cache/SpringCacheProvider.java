@@ -47,4 +47,21 @@ public class SpringCacheProvider implements CacheProvider {
         return new SpringBasedExpiringValueCache<>(cache);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation only returns caches that are known to the
+     * cache manager, i.e. it does not make the cache manager create
+     * a cache dynamically.
+     */
+    @Override
+    public <K, V> ExpiringValueCache<K, V> getExistingCache(final String cacheName) {
+        requireNonNull(cacheName);
+        if (manager.getCacheNames().contains(cacheName)) {
+            return getCache(cacheName);
+        } else {
+            return null;
+        }
+    }
+
 }
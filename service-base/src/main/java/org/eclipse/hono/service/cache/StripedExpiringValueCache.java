@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import org.eclipse.hono.cache.ExpiringValueCache;
+
+/**
+ * A size bounded cache for expiring values that can be shared by multiple event loops.
+ * <p>
+ * The cache partitions its keys into a fixed number of stripes based on the keys' hash codes.
+ * Each stripe is a {@link BoundedExpiringValueCache} holding an equal share of the cache's
+ * maximum size and being guarded by its own lock. Threads accessing keys that belong
+ * to different stripes therefore do not contend with each other, which allows all verticle
+ * instances of a process to share a single cache without the single lock becoming a bottleneck.
+ * <p>
+ * Least recently used entries are evicted per stripe, i.e. the cache may start evicting entries
+ * before its overall maximum size has been reached if keys are not evenly distributed.
+ * <p>
+ * All methods are thread safe.
+ *
+ * @param <K> The type of keys that the cache supports.
+ * @param <V> The type of values that the cache supports.
+ */
+public final class StripedExpiringValueCache<K, V> implements ExpiringValueCache<K, V> {
+
+    private final BoundedExpiringValueCache<K, V>[] stripes;
+    private final int mask;
+    private final int maxSize;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param initialCapacity The number of entries to allocate space for initially.
+     * @param maxSize The maximum number of entries to keep in the cache.
+     * @param refreshThreshold The fraction of a value's lifetime after which the value
+     *                         should be refreshed or 0 if refresh-ahead should be disabled.
+     * @param concurrencyLevel The expected number of threads accessing the cache concurrently.
+     *                         The number of stripes is the smallest power of two that is not less
+     *                         than this value but it is limited so that each stripe can hold at
+     *                         least one entry.
+     * @throws IllegalArgumentException if initial capacity is &lt; 0, if max size is &lt; 1,
+     *                                  if the refresh threshold is not within [0, 1) or if
+     *                                  the concurrency level is &lt; 1.
+     */
+    public StripedExpiringValueCache(final int initialCapacity, final int maxSize, final float refreshThreshold,
+            final int concurrencyLevel) {
+        this(initialCapacity, maxSize, refreshThreshold, concurrencyLevel, System::currentTimeMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    StripedExpiringValueCache(final int initialCapacity, final int maxSize, final float refreshThreshold,
+            final int concurrencyLevel, final LongSupplier clock) {
+
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initial capacity must not be negative");
+        } else if (maxSize < 1) {
+            throw new IllegalArgumentException("max size must be > 0");
+        } else if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("concurrency level must be > 0");
+        }
+        int stripeCount = 1;
+        while (stripeCount < concurrencyLevel && stripeCount * 2 <= maxSize) {
+            stripeCount *= 2;
+        }
+        this.stripes = new BoundedExpiringValueCache[stripeCount];
+        this.mask = stripeCount - 1;
+        this.maxSize = maxSize;
+        for (int i = 0; i < stripeCount; i++) {
+            // distribute the remainder so that the stripes' sizes add up to the max size
+            final int stripeMaxSize = maxSize / stripeCount + (i < maxSize % stripeCount ? 1 : 0);
+            stripes[i] = new BoundedExpiringValueCache<>(
+                    Math.min(stripeMaxSize, (initialCapacity + stripeCount - 1) / stripeCount),
+                    stripeMaxSize,
+                    refreshThreshold,
+                    clock);
+        }
+    }
+
+    private BoundedExpiringValueCache<K, V> getStripe(final Object key) {
+        final int h = key.hashCode();
+        // spread higher bits downwards because only the lower bits are used for selecting the stripe
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+
+    @Override
+    public void put(final K key, final V value, final Instant expirationTime) {
+        getStripe(Objects.requireNonNull(key)).put(key, value, expirationTime);
+    }
+
+    @Override
+    public void put(final K key, final V value, final Duration maxAge) {
+        getStripe(Objects.requireNonNull(key)).put(key, value, maxAge);
+    }
+
+    @Override
+    public V get(final K key) {
+        if (key == null) {
+            return null;
+        }
+        return getStripe(key).get(key);
+    }
+
+    @Override
+    public void removeIf(final Predicate<? super K> filter) {
+        Objects.requireNonNull(filter);
+        for (final BoundedExpiringValueCache<K, V> stripe : stripes) {
+            stripe.removeIf(filter);
+        }
+    }
+
+    @Override
+    public boolean isRefreshRequired(final K key) {
+        if (key == null) {
+            return false;
+        }
+        return getStripe(key).isRefreshRequired(key);
+    }
+
+    /**
+     * Gets the number of stripes that the keys are partitioned into.
+     *
+     * @return The number of stripes.
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Gets the number of entries currently contained in this cache.
+     * <p>
+     * The number may include entries that are expired but have not yet been accessed.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return (int) sum(BoundedExpiringValueCache::size);
+    }
+
+    /**
+     * Gets the number of lookups that have returned a cached value.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        return sum(BoundedExpiringValueCache::getHitCount);
+    }
+
+    /**
+     * Gets the number of lookups that have not returned a value,
+     * either because no value was cached or because the value has expired.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        return sum(BoundedExpiringValueCache::getMissCount);
+    }
+
+    /**
+     * Gets the number of entries that have been removed in order to
+     * keep the cache within its size bound.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictionCount() {
+        return sum(BoundedExpiringValueCache::getEvictionCount);
+    }
+
+    /**
+     * Gets the number of entries that have been removed because they have expired.
+     *
+     * @return The number of expired entries.
+     */
+    public long getExpirationCount() {
+        return sum(BoundedExpiringValueCache::getExpirationCount);
+    }
+
+    private long sum(final ToLongFunction<BoundedExpiringValueCache<K, V>> counter) {
+        long result = 0;
+        for (final BoundedExpiringValueCache<K, V> stripe : stripes) {
+            result += counter.applyAsLong(stripe);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("StripedExpiringValueCache [stripes: ").append(stripes.length)
+                .append(", size: ").append(size())
+                .append(", max size: ").append(maxSize)
+                .append(", hits: ").append(getHitCount())
+                .append(", misses: ").append(getMissCount())
+                .append(", evictions: ").append(getEvictionCount())
+                .append(", expirations: ").append(getExpirationCount())
+                .append("]").toString();
+    }
+}
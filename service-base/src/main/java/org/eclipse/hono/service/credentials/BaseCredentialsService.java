@@ -12,6 +12,8 @@
 package org.eclipse.hono.service.credentials;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -21,11 +23,13 @@ import org.eclipse.hono.util.CredentialsConstants;
 import org.eclipse.hono.util.CredentialsObject;
 import org.eclipse.hono.util.CredentialsResult;
 import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.TenantConstants;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 /**
@@ -61,6 +65,10 @@ public abstract class BaseCredentialsService<T> extends EventBusService<T> imple
 
         final String operation = request.getOperation();
 
+        if (CredentialsConstants.OPERATION_ADD_BATCH.equals(operation)) {
+            return processAddBatchRequest(request);
+        }
+
         switch (CredentialsConstants.CredentialsAction.from(operation)) {
             case get:
                 return processGetRequest(request);
@@ -141,6 +149,37 @@ public abstract class BaseCredentialsService<T> extends EventBusService<T> imple
         }
     }
 
+    private Future<EventBusMessage> processAddBatchRequest(final EventBusMessage request) {
+
+        final String tenantId = request.getTenant();
+        final JsonArray credentials = request.getJsonPayload(new JsonObject()).getJsonArray(CredentialsConstants.CREDENTIALS_ENDPOINT);
+
+        if (tenantId == null || credentials == null) {
+            return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST));
+        } else {
+            log.debug("adding batch of {} credentials for tenant [{}]", credentials.size(), tenantId);
+            final List<JsonObject> credentialsList = new ArrayList<>(credentials.size());
+            for (Object obj : credentials) {
+                credentialsList.add(obj instanceof JsonObject ? (JsonObject) obj : new JsonObject());
+            }
+            final Future<List<CredentialsResult<JsonObject>>> result = Future.future();
+            addAll(tenantId, credentialsList, result.completer());
+            return result.map(res -> {
+                final JsonArray results = new JsonArray();
+                for (int i = 0; i < res.size(); i++) {
+                    final JsonObject entry = credentialsList.get(i);
+                    results.add(new JsonObject()
+                            .put(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID, entry.getValue(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID))
+                            .put(CredentialsConstants.FIELD_AUTH_ID, entry.getValue(CredentialsConstants.FIELD_AUTH_ID))
+                            .put(CredentialsConstants.FIELD_TYPE, entry.getValue(CredentialsConstants.FIELD_TYPE))
+                            .put(MessageHelper.APP_PROPERTY_STATUS, res.get(i).getStatus()));
+                }
+                return request.getResponse(HttpURLConnection.HTTP_OK)
+                        .setJsonPayload(new JsonObject().put(CredentialsConstants.FIELD_RESULTS, results));
+            });
+        }
+    }
+
     private Future<EventBusMessage> processUpdateRequest(final EventBusMessage request) {
 
         final String tenantId = request.getTenant();
@@ -234,6 +273,49 @@ public abstract class BaseCredentialsService<T> extends EventBusService<T> imple
         handleUnimplementedOperation(resultHandler);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This default implementation validates each set of credentials and then adds it
+     * by means of {@link #add(String, JsonObject, Handler)}, one after the other. Subclasses
+     * may override this method in order to add the credentials more efficiently.
+     */
+    @Override
+    public void addAll(
+            final String tenantId,
+            final List<JsonObject> credentialsObjects,
+            final Handler<AsyncResult<List<CredentialsResult<JsonObject>>>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(credentialsObjects);
+        Objects.requireNonNull(resultHandler);
+
+        Future<List<CredentialsResult<JsonObject>>> result = Future.succeededFuture(new ArrayList<>(credentialsObjects.size()));
+        for (final JsonObject credentials : credentialsObjects) {
+            result = result.compose(results -> {
+                CredentialsObject payload = null;
+                try {
+                    payload = credentials.mapTo(CredentialsObject.class);
+                } catch (final IllegalArgumentException e) {
+                    log.debug("cannot parse credentials: {}", e.getMessage());
+                }
+                if (payload != null && payload.isValid()) {
+                    final Future<CredentialsResult<JsonObject>> addResult = Future.future();
+                    add(tenantId, JsonObject.mapFrom(payload), addResult.completer());
+                    return addResult.otherwise(CredentialsResult.from(HttpURLConnection.HTTP_INTERNAL_ERROR))
+                            .map(res -> {
+                                results.add(res);
+                                return results;
+                            });
+                } else {
+                    results.add(CredentialsResult.from(HttpURLConnection.HTTP_BAD_REQUEST));
+                    return Future.succeededFuture(results);
+                }
+            });
+        }
+        result.setHandler(resultHandler);
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -72,4 +72,9 @@ public class CredentialsAmqpEndpoint extends RequestResponseEndpoint<ServiceConf
     protected final Message getAmqpReply(final EventBusMessage message) {
         return CredentialsConstants.getAmqpReply(CredentialsConstants.CREDENTIALS_ENDPOINT, message);
     }
+
+    @Override
+    protected final Message getAmqpReply(final EventBusMessage message, final boolean binaryPayload) {
+        return CredentialsConstants.getAmqpReply(CredentialsConstants.CREDENTIALS_ENDPOINT, message, binaryPayload);
+    }
 }
@@ -16,13 +16,17 @@ import java.net.HttpURLConnection;
 import java.util.Objects;
 
 import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.service.http.AbstractHttpEndpoint;
+import org.eclipse.hono.service.http.BulkOperations;
+import org.eclipse.hono.service.http.HttpUtils;
 import org.eclipse.hono.util.CredentialsConstants;
 import org.eclipse.hono.util.EventBusMessage;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
@@ -34,6 +38,10 @@ import io.vertx.ext.web.handler.BodyHandler;
  * This endpoint implements Hono's <a href="https://www.eclipse.org/hono/api/Credentials-API//">Credentials API</a>.
  * It receives HTTP requests representing operation invocations and sends them to the address {@link CredentialsConstants#CREDENTIALS_ENDPOINT} on the vertx
  * event bus for processing. The outcome is then returned to the client in the HTTP response.
+ * <p>
+ * In addition, the endpoint supports adding credentials in bulk by means of a POST request
+ * with content type {@link HttpUtils#CONTENT_TYPE_NDJSON} to the tenant's resource. The
+ * credentials are streamed in batches of {@link BulkOperations#DEFAULT_BATCH_SIZE} entries.
  */
 public final class CredentialsHttpEndpoint extends AbstractHttpEndpoint<ServiceConfigProperties> {
 
@@ -69,6 +77,10 @@ public final class CredentialsHttpEndpoint extends AbstractHttpEndpoint<ServiceC
         final BodyHandler bodyHandler = BodyHandler.create();
         bodyHandler.setBodyLimit(config.getMaxPayloadSize());
 
+        // add credentials in bulk
+        BulkOperations.markImportRoute(router, HttpMethod.POST, pathWithTenant);
+        router.post(pathWithTenant).consumes(HttpUtils.CONTENT_TYPE_NDJSON).handler(this::addCredentialsInBulk);
+
         // add credentials
         router.post(pathWithTenant).handler(bodyHandler);
         router.post(pathWithTenant).handler(this::extractRequiredJsonPayload);
@@ -104,6 +116,21 @@ public final class CredentialsHttpEndpoint extends AbstractHttpEndpoint<ServiceC
         return CredentialsConstants.CREDENTIALS_ENDPOINT;
     }
 
+    private void addCredentialsInBulk(final RoutingContext ctx) {
+
+        final String tenantId = getTenantParam(ctx);
+        logger.debug("adding credentials in bulk [tenant: {}]", tenantId);
+        BulkOperations.processImport(ctx, BulkOperations.DEFAULT_BATCH_SIZE, config.getMaxPayloadSize(),
+                BulkOperations.DEFAULT_MAX_IMPORT_ENTRIES, credentials -> {
+            final JsonObject requestMsg = EventBusMessage.forOperation(CredentialsConstants.OPERATION_ADD_BATCH)
+                    .setTenant(tenantId)
+                    .setJsonPayload(new JsonObject().put(CredentialsConstants.CREDENTIALS_ENDPOINT, new JsonArray(credentials)))
+                    .toJson();
+            return sendAction(requestMsg).map(response -> response.getJsonPayload(new JsonObject())
+                    .getJsonArray(CredentialsConstants.FIELD_RESULTS, new JsonArray()));
+        });
+    }
+
     private void addCredentials(final RoutingContext ctx) {
 
         final JsonObject payload = (JsonObject) ctx.get(KEY_REQUEST_BODY);
@@ -12,6 +12,8 @@
 
 package org.eclipse.hono.service.credentials;
 
+import java.util.List;
+
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import io.vertx.core.Verticle;
@@ -48,6 +50,23 @@ public interface CredentialsService extends Verticle {
      */
     void add(String tenantId, JsonObject credentialsObject, Handler<AsyncResult<CredentialsResult<JsonObject>>> resultHandler);
 
+    /**
+     * Adds a batch of credentials.
+     * <p>
+     * This operation is not part of the Credentials API. It is used for
+     * importing a large number of credentials without the overhead of processing a
+     * separate request for each set of credentials.
+     *
+     * @param tenantId The tenant the devices belong to.
+     * @param credentialsObjects The credentials to add.
+     * @param resultHandler The handler to invoke with the result of the operation.
+     *         The list contains a result for each of the given credentials (in the same order)
+     *         having the <em>status</em> that {@link #add(String, JsonObject, Handler)} would
+     *         have returned for the credentials.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    void addAll(String tenantId, List<JsonObject> credentialsObjects, Handler<AsyncResult<List<CredentialsResult<JsonObject>>>> resultHandler);
+
     /**
      * Gets credentials for a device.
      *
@@ -17,15 +17,20 @@ import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.client.StatusCodeMapper;
 import org.eclipse.hono.service.AbstractEndpoint;
 import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.EventBusMessage;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RequestResponseApiConstants;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonObject;
@@ -204,6 +209,38 @@ public abstract class AbstractHttpEndpoint<T> extends AbstractEndpoint implement
         });
     }
 
+    /**
+     * Sends a request message to an address via the vert.x event bus for further processing.
+     * <p>
+     * The address is determined by invoking {@link #getEventBusAddress()}.
+     * 
+     * @param requestMsg The JSON object to send via the event bus.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be completed with the response message if its status code
+     *         indicates success. Otherwise the future will be failed with a
+     *         {@link org.eclipse.hono.client.ServiceInvocationException} containing the status code.
+     * @throws NullPointerException If the request message is {@code null}.
+     */
+    protected final Future<EventBusMessage> sendAction(final JsonObject requestMsg) {
+
+        Objects.requireNonNull(requestMsg);
+        final Future<Message<Object>> invocation = Future.future();
+        vertx.eventBus().send(getEventBusAddress(), requestMsg, invocation.completer());
+        return invocation.recover(t -> {
+            return Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, t.getMessage()));
+        }).compose(reply -> {
+            final EventBusMessage response = EventBusMessage.fromJson((JsonObject) reply.body());
+            final Integer status = response.getStatus();
+            if (status != null && status >= 200 && status < 300) {
+                return Future.succeededFuture(response);
+            } else {
+                return Future.failedFuture(StatusCodeMapper.from(
+                        status == null ? HttpURLConnection.HTTP_INTERNAL_ERROR : status, null));
+            }
+        });
+    }
+
     /**
      * Get the tenantId from the standard parameter name {@link #PARAM_TENANT_ID}.
      *
@@ -0,0 +1,482 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.http;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.client.ServiceInvocationException;
+import org.eclipse.hono.util.RequestResponseApiConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.parsetools.JsonEventType;
+import io.vertx.core.parsetools.JsonParser;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+
+/**
+ * Support for importing and exporting large numbers of entities via HTTP.
+ * <p>
+ * Entities are streamed as <a href="http://ndjson.org">newline delimited JSON</a>, i.e.
+ * one JSON object per line, in both the request and the response body. Neither the
+ * request nor the response body is ever kept in memory as a whole, instead entities
+ * are processed in batches of limited size.
+ * <p>
+ * Routes for importing entities need to be registered using {@link #markImportRoute(Router, HttpMethod, String)}
+ * and the router's {@code BodyHandler} needs to be wrapped using {@link #skipImportRequests(BodyHandler)}
+ * so that the body of import requests is not consumed before it can be processed as a stream.
+ */
+public final class BulkOperations {
+
+    /**
+     * The default number of entities to process in a single batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    /**
+     * The default maximum number of entities that can be imported by a single request.
+     */
+    public static final int DEFAULT_MAX_IMPORT_ENTRIES = 100000;
+
+    /**
+     * The order of the routes marking import requests. The marker routes precede all
+     * routes that have been added without an explicit order, in particular the route
+     * of the {@code BodyHandler}.
+     */
+    private static final int IMPORT_MARKER_ROUTE_ORDER = -1;
+    private static final String KEY_IMPORT_REQUEST = BulkOperations.class.getName() + ".import";
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkOperations.class);
+    private static final Buffer NEWLINE = Buffer.buffer("\n");
+
+    private BulkOperations() {
+        // prevent instantiation
+    }
+
+    /**
+     * Marks requests with content type {@link HttpUtils#CONTENT_TYPE_NDJSON} matching
+     * a route as import requests.
+     * <p>
+     * The body of marked requests is not consumed by a {@code BodyHandler} that has been
+     * wrapped using {@link #skipImportRequests(BodyHandler)}. The body of requests to any
+     * other route is still limited and buffered by the {@code BodyHandler}, regardless of
+     * the request's content type.
+     *
+     * @param router The router to add the marker route to.
+     * @param method The HTTP method of the import route.
+     * @param path The path of the import route.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static void markImportRoute(final Router router, final HttpMethod method, final String path) {
+
+        Objects.requireNonNull(router);
+        Objects.requireNonNull(method);
+        Objects.requireNonNull(path);
+
+        router.route(method, path).consumes(HttpUtils.CONTENT_TYPE_NDJSON).order(IMPORT_MARKER_ROUTE_ORDER).handler(ctx -> {
+            ctx.put(KEY_IMPORT_REQUEST, Boolean.TRUE);
+            ctx.next();
+        });
+    }
+
+    /**
+     * Wraps a {@code BodyHandler} so that it does not consume the body of import requests.
+     *
+     * @param bodyHandler The handler to wrap.
+     * @return The handler to register with the router instead of the given handler.
+     * @throws NullPointerException if body handler is {@code null}.
+     * @see #markImportRoute(Router, HttpMethod, String)
+     */
+    public static Handler<RoutingContext> skipImportRequests(final BodyHandler bodyHandler) {
+
+        Objects.requireNonNull(bodyHandler);
+        return ctx -> {
+            if (Boolean.TRUE.equals(ctx.get(KEY_IMPORT_REQUEST))) {
+                ctx.next();
+            } else {
+                bodyHandler.handle(ctx);
+            }
+        };
+    }
+
+    /**
+     * Processes a request containing a stream of entities to import.
+     * <p>
+     * The request body may either contain a sequence of JSON objects (e.g. one per line)
+     * or a single JSON array of objects. The objects are collected into batches of the given
+     * size which are then passed to the given batch processor one after the other. The request
+     * is paused while a batch is being processed so that the amount of memory required for
+     * processing the request is limited by the batch size.
+     * <p>
+     * The response body contains the per-entity results returned by the batch processor,
+     * one JSON object per line, in the order of the entities in the request body. The
+     * response's status code is <em>200 OK</em> if the request could be parsed, regardless
+     * of the individual entities' outcome. If the request body contains malformed JSON
+     * or the batch processor fails after some results have been written already, a final
+     * line containing an <em>error</em> property is written to the response.
+     * <p>
+     * The request is rejected with a <em>413 Request Entity Too Large</em> status (or a corresponding
+     * final line) as soon as it contains more than the given number of entities or an entity exceeds
+     * the given size. The size limit is enforced on the bytes read since the previous entity has been
+     * parsed. The request body is passed to the parser in slices of at most the given size, so an entity
+     * may exceed the limit by less than the size of a slice before the request is rejected.
+     * <p>
+     * The request body must not have been consumed already, e.g. by means of a {@code BodyHandler}.
+     *
+     * @param ctx The routing context containing the request.
+     * @param batchSize The maximum number of entities to process in a single batch.
+     * @param maxEntrySize The maximum size of a single entity in bytes.
+     * @param maxEntries The maximum number of entities contained in the request.
+     * @param batchProcessor The function to invoke for processing a batch. The function must return
+     *                       a future that is completed with an array containing a result object for
+     *                       each of the batch's entities (in the same order).
+     * @throws NullPointerException if context or processor are {@code null}.
+     * @throws IllegalArgumentException if any of batch size, max entry size or max entries is &lt; 1.
+     */
+    public static void processImport(
+            final RoutingContext ctx,
+            final int batchSize,
+            final int maxEntrySize,
+            final int maxEntries,
+            final Function<List<JsonObject>, Future<JsonArray>> batchProcessor) {
+
+        Objects.requireNonNull(ctx);
+        Objects.requireNonNull(batchProcessor);
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch size must be > 0");
+        } else if (maxEntrySize < 1) {
+            throw new IllegalArgumentException("max entry size must be > 0");
+        } else if (maxEntries < 1) {
+            throw new IllegalArgumentException("max entries must be > 0");
+        }
+        new Import(ctx, batchSize, maxEntrySize, maxEntries, batchProcessor).start();
+    }
+
+    /**
+     * Processes a request for exporting a stream of entities.
+     * <p>
+     * The entities are retrieved page by page from the given supplier and are written
+     * to the response body, one JSON object per line. The next page is only retrieved
+     * once the previous page has been written to the network so that the amount of memory
+     * required for processing the request is limited by the page size.
+     * <p>
+     * If retrieving the first page fails, the request is failed with the corresponding
+     * status code. Otherwise, the response's status code is <em>200 OK</em>. If retrieving any
+     * subsequent page fails, a final line containing an <em>error</em> property is written
+     * to the response.
+     *
+     * @param ctx The routing context containing the request.
+     * @param pageSize The maximum number of entities to retrieve in a single page.
+     * @param pageSupplier The function to invoke for retrieving a page. The function is invoked
+     *                     with the last entity of the previous page ({@code null} for the first page)
+     *                     and the page size. It must return a future that is completed with the
+     *                     entities following the given entity, e.g. the entities having an identifier
+     *                     greater than the given entity's identifier. A page containing less than the
+     *                     requested number of entities is considered the last page.
+     * @throws NullPointerException if context or supplier are {@code null}.
+     * @throws IllegalArgumentException if page size is &lt; 1.
+     */
+    public static void processExport(
+            final RoutingContext ctx,
+            final int pageSize,
+            final BiFunction<JsonObject, Integer, Future<JsonArray>> pageSupplier) {
+
+        Objects.requireNonNull(ctx);
+        Objects.requireNonNull(pageSupplier);
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("page size must be > 0");
+        }
+        writePages(ctx, null, pageSize, pageSupplier);
+    }
+
+    private static void writePages(
+            final RoutingContext ctx,
+            final JsonObject lastEntity,
+            final int pageSize,
+            final BiFunction<JsonObject, Integer, Future<JsonArray>> pageSupplier) {
+
+        final HttpServerResponse response = ctx.response();
+        pageSupplier.apply(lastEntity, pageSize).setHandler(page -> {
+            if (response.closed()) {
+                LOG.debug("client closed connection during export");
+            } else if (page.failed()) {
+                if (response.headWritten()) {
+                    writeError(response, page.cause());
+                } else {
+                    failRequest(ctx, page.cause());
+                }
+            } else {
+                writeEntries(response, page.result());
+                if (page.result().size() < pageSize) {
+                    response.end();
+                } else {
+                    final JsonObject last = page.result().getJsonObject(page.result().size() - 1);
+                    if (response.writeQueueFull()) {
+                        response.drainHandler(drained -> writePages(ctx, last, pageSize, pageSupplier));
+                    } else {
+                        writePages(ctx, last, pageSize, pageSupplier);
+                    }
+                }
+            }
+        });
+    }
+
+    private static void writeEntries(final HttpServerResponse response, final JsonArray entries) {
+
+        if (!response.headWritten()) {
+            response.setChunked(true).putHeader(HttpHeaders.CONTENT_TYPE, HttpUtils.CONTENT_TYPE_NDJSON);
+        }
+        if (!entries.isEmpty()) {
+            final Buffer chunk = Buffer.buffer();
+            for (Object entry : entries) {
+                chunk.appendBuffer(Buffer.buffer(((JsonObject) entry).encode())).appendBuffer(NEWLINE);
+            }
+            response.write(chunk);
+        }
+    }
+
+    private static void failRequest(final RoutingContext ctx, final Throwable cause) {
+        if (cause instanceof ServiceInvocationException) {
+            HttpUtils.failWithStatus(ctx, ((ServiceInvocationException) cause).getErrorCode(), null, cause.getMessage());
+        } else {
+            HttpUtils.internalServerError(ctx, cause.getMessage());
+        }
+    }
+
+    private static void writeError(final HttpServerResponse response, final Throwable cause) {
+        final JsonObject error = new JsonObject().put(RequestResponseApiConstants.FIELD_ERROR, cause.getMessage());
+        writeEntries(response, new JsonArray().add(error));
+        response.end();
+    }
+
+    /**
+     * The state of processing a single import request.
+     */
+    private static final class Import {
+
+        private final RoutingContext ctx;
+        private final HttpServerResponse response;
+        private final int batchSize;
+        private final int maxEntrySize;
+        private final int maxEntries;
+        private final Function<List<JsonObject>, Future<JsonArray>> batchProcessor;
+        private final JsonParser parser;
+
+        private List<JsonObject> pendingEntries;
+        private int entries;
+        private long bytesSinceLastEntry;
+        private boolean processingBatch;
+        private boolean requestEnded;
+        private boolean failed;
+
+        Import(
+                final RoutingContext ctx,
+                final int batchSize,
+                final int maxEntrySize,
+                final int maxEntries,
+                final Function<List<JsonObject>, Future<JsonArray>> batchProcessor) {
+            this.ctx = ctx;
+            this.response = ctx.response();
+            this.batchSize = batchSize;
+            this.maxEntrySize = maxEntrySize;
+            this.maxEntries = maxEntries;
+            this.batchProcessor = batchProcessor;
+            this.pendingEntries = new ArrayList<>(batchSize);
+            this.parser = JsonParser.newParser(new LimitedRequestStream(ctx.request())).objectValueMode();
+        }
+
+        void start() {
+
+            parser.handler(event -> {
+                if (failed) {
+                    return;
+                } else if (event.type() == JsonEventType.VALUE) {
+                    bytesSinceLastEntry = 0;
+                    if (++entries > maxEntries) {
+                        fail(new ClientErrorException(HttpURLConnection.HTTP_ENTITY_TOO_LARGE,
+                                String.format("request must not contain more than %d entries", maxEntries)));
+                    } else if (event.value() instanceof JsonObject) {
+                        addEntry(event.objectValue());
+                    } else {
+                        fail(new IllegalArgumentException("entries must be JSON objects"));
+                    }
+                }
+                // array boundaries are irrelevant because
+                // the entries are processed in batches anyway
+            });
+            parser.exceptionHandler(t -> fail(new IllegalArgumentException("request body contains malformed JSON")));
+            parser.endHandler(end -> {
+                requestEnded = true;
+                if (!failed && !processingBatch) {
+                    processNextBatch();
+                }
+            });
+        }
+
+        private void addEntry(final JsonObject entry) {
+            pendingEntries.add(entry);
+            if (pendingEntries.size() >= batchSize) {
+                // the parser may emit the remaining entries of the current
+                // chunk so the next batch may be slightly larger than the batch size
+                parser.pause();
+                if (!processingBatch) {
+                    processNextBatch();
+                }
+            }
+        }
+
+        private void processNextBatch() {
+
+            if (pendingEntries.isEmpty()) {
+                if (requestEnded) {
+                    writeEntries(response, new JsonArray());
+                    response.end();
+                } else {
+                    parser.resume();
+                }
+                return;
+            }
+
+            final List<JsonObject> batch = pendingEntries;
+            pendingEntries = new ArrayList<>(batchSize);
+            processingBatch = true;
+            batchProcessor.apply(batch).setHandler(results -> {
+                processingBatch = false;
+                if (failed) {
+                    return;
+                } else if (results.failed()) {
+                    fail(results.cause());
+                } else if (response.closed()) {
+                    LOG.debug("client closed connection during import");
+                    failed = true;
+                } else {
+                    writeEntries(response, results.result());
+                    if (requestEnded || pendingEntries.size() >= batchSize) {
+                        whenDrained(this::processNextBatch);
+                    } else {
+                        whenDrained(parser::resume);
+                    }
+                }
+            });
+        }
+
+        private void whenDrained(final Runnable action) {
+            if (response.writeQueueFull()) {
+                response.drainHandler(drained -> action.run());
+            } else {
+                action.run();
+            }
+        }
+
+        private void fail(final Throwable cause) {
+
+            if (failed) {
+                return;
+            }
+            failed = true;
+            LOG.debug("cannot process import: {}", cause.getMessage());
+            parser.resume();
+            if (response.closed()) {
+                return;
+            } else if (response.headWritten()) {
+                writeError(response, cause);
+            } else if (cause instanceof IllegalArgumentException) {
+                HttpUtils.badRequest(ctx, cause.getMessage());
+            } else {
+                failRequest(ctx, cause);
+            }
+        }
+
+        /**
+         * A stream of the request body's chunks which stops passing on data once
+         * the import has failed or the entry currently being parsed exceeds the
+         * maximum entry size. This prevents the parser from buffering arbitrarily
+         * large entries.
+         */
+        private final class LimitedRequestStream implements ReadStream<Buffer> {
+
+            private final HttpServerRequest request;
+
+            LimitedRequestStream(final HttpServerRequest request) {
+                this.request = request;
+            }
+
+            @Override
+            public ReadStream<Buffer> exceptionHandler(final Handler<Throwable> handler) {
+                request.exceptionHandler(handler);
+                return this;
+            }
+
+            @Override
+            public ReadStream<Buffer> handler(final Handler<Buffer> handler) {
+                if (handler == null) {
+                    request.handler(null);
+                } else {
+                    request.handler(chunk -> {
+                        int offset = 0;
+                        // a single chunk may contain many small entries, so it is
+                        // passed to the parser in slices of at most the max entry size
+                        while (!failed && offset < chunk.length()) {
+                            final int end = Math.min(chunk.length(), offset + maxEntrySize);
+                            bytesSinceLastEntry += end - offset;
+                            if (bytesSinceLastEntry > maxEntrySize) {
+                                fail(new ClientErrorException(HttpURLConnection.HTTP_ENTITY_TOO_LARGE,
+                                        String.format("entries must not exceed %d bytes", maxEntrySize)));
+                            } else {
+                                handler.handle(chunk.slice(offset, end));
+                                offset = end;
+                            }
+                        }
+                        // the remainder of the request body is discarded once the import has failed
+                    });
+                }
+                return this;
+            }
+
+            @Override
+            public ReadStream<Buffer> pause() {
+                request.pause();
+                return this;
+            }
+
+            @Override
+            public ReadStream<Buffer> resume() {
+                request.resume();
+                return this;
+            }
+
+            @Override
+            public ReadStream<Buffer> endHandler(final Handler<Void> endHandler) {
+                request.endHandler(endHandler);
+                return this;
+            }
+        }
+    }
+}
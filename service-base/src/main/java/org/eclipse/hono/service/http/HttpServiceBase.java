@@ -155,17 +155,24 @@ public abstract class HttpServiceBase<T extends ServiceConfigProperties> extends
     /**
      * Creates the router for handling requests.
      * <p>
-     * This method creates a router instance with a default route limiting the body size of requests to the maximum
+     * This method creates a router instance with a default route rejecting requests while this service
+     * is overloaded and a default route limiting the body size of requests to the maximum
      * payload size set in the <em>config</em> properties.
+     * <p>
+     * The body of requests to routes that have been registered using
+     * {@link BulkOperations#markImportRoute(Router, io.vertx.core.http.HttpMethod, String)}
+     * is neither limited nor buffered so that endpoints can process such requests as a stream.
      *
      * @return The newly created router (never {@code null}).
      */
     protected Router createRouter() {
 
         final Router router = Router.router(vertx);
+        router.route().handler(new OverloadHandler(getOverloadDetector()));
         LOG.info("limiting size of inbound request body to {} bytes", getConfig().getMaxPayloadSize());
-        router.route().handler(BodyHandler.create().setBodyLimit(getConfig().getMaxPayloadSize())
-                .setUploadsDirectory(DEFAULT_UPLOADS_DIRECTORY));
+        final BodyHandler bodyHandler = BodyHandler.create().setBodyLimit(getConfig().getMaxPayloadSize())
+                .setUploadsDirectory(DEFAULT_UPLOADS_DIRECTORY);
+        router.route().handler(BulkOperations.skipImportRequests(bodyHandler));
 
         return router;
     }
@@ -206,6 +213,7 @@ public abstract class HttpServiceBase<T extends ServiceConfigProperties> extends
         HttpServerOptions options = new HttpServerOptions();
         options.setHost(getConfig().getBindAddress()).setPort(getConfig().getPort(getPortDefaultValue()))
                 .setMaxChunkSize(4096);
+        addTransportOptions(options);
         addTlsKeyCertOptions(options);
         addTlsTrustOptions(options);
         return options;
@@ -226,6 +234,7 @@ public abstract class HttpServiceBase<T extends ServiceConfigProperties> extends
         HttpServerOptions options = new HttpServerOptions();
         options.setHost(getConfig().getInsecurePortBindAddress())
                 .setPort(getConfig().getInsecurePort(getInsecurePortDefaultValue())).setMaxChunkSize(4096);
+        addTransportOptions(options);
         return options;
     }
 
@@ -387,7 +396,8 @@ public abstract class HttpServiceBase<T extends ServiceConfigProperties> extends
     }
 
     /**
-     * Iterates over all endpoints and registers their readiness checks with the handler.
+     * Registers a check for overload of this service and iterates over all endpoints and
+     * registers their readiness checks with the handler.
      * <p>
      * Subclasses may override this method in order to register other/additional checks.
      * 
@@ -395,6 +405,7 @@ public abstract class HttpServiceBase<T extends ServiceConfigProperties> extends
      */
     @Override
     public void registerReadinessChecks(final HealthCheckHandler handler) {
+        registerOverloadCheck(handler);
         for (HttpEndpoint ep : endpoints) {
             ep.registerReadinessChecks(handler);
         }
@@ -41,6 +41,14 @@ public final class HttpUtils {
      */
     public static final String CONTENT_TYPE_JSON_UFT8 = "application/json; charset=utf-8";
 
+    /**
+     * The <em>application/x-ndjson</em> content type.
+     * <p>
+     * Requests having this content type are not buffered in memory but
+     * are expected to be processed as a stream of JSON objects.
+     */
+    public static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+
     private HttpUtils() {
         // prevent instantiation
     }
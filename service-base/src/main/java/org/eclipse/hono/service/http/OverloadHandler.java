@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.http;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.hono.service.OverloadDetector;
+
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * A handler that rejects requests while a server is overloaded.
+ * <p>
+ * Rejected requests are failed with a <em>503 Service Unavailable</em> status
+ * and a <em>Retry-After</em> header. All other requests are recorded as
+ * outstanding with the detector until their response has been sent.
+ * <p>
+ * The handler should be added to the router before any other handlers so
+ * that rejected requests are not processed any further.
+ */
+public final class OverloadHandler implements Handler<RoutingContext> {
+
+    private final OverloadDetector detector;
+
+    /**
+     * Creates a new handler for a detector.
+     *
+     * @param detector The detector to determine overload with.
+     * @throws NullPointerException if detector is {@code null}.
+     */
+    public OverloadHandler(final OverloadDetector detector) {
+        this.detector = Objects.requireNonNull(detector);
+    }
+
+    @Override
+    public void handle(final RoutingContext ctx) {
+
+        if (detector.isOverloaded()) {
+            HttpUtils.serviceUnavailable(ctx, OverloadDetector.RETRY_AFTER_SECONDS, "server is overloaded");
+        } else {
+            final AtomicBoolean completed = new AtomicBoolean(false);
+            final Handler<Void> completionHandler = v -> {
+                if (completed.compareAndSet(false, true)) {
+                    detector.requestCompleted();
+                }
+            };
+            detector.requestStarted();
+            ctx.addBodyEndHandler(completionHandler);
+            ctx.response().closeHandler(completionHandler);
+            ctx.next();
+        }
+    }
+}
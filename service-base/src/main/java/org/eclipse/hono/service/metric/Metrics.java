@@ -41,6 +41,7 @@ abstract public class Metrics {
     protected static final String UNDELIVERABLE = ".undeliverable";
     protected static final String CONNECTIONS   = ".connections.";
     protected static final String UNAUTHENTICATED_CONNECTIONS   = ".unauthenticatedConnections.";
+    protected static final String CREDENTIALS_VALIDATIONS       = ".credentialsValidations.";
 
     protected GaugeService   gaugeService   = NullGaugeService.getInstance();
     protected CounterService counterService = NullCounterService.getInstance();
@@ -106,4 +107,29 @@ abstract public class Metrics {
         return String.join(".",parts);
     }
 
+    /**
+     * Reports that the validation of credentials presented by a device has been
+     * submitted for execution.
+     */
+    public void incrementPendingCredentialsValidations() {
+        counterService.increment(getPrefix() + CREDENTIALS_VALIDATIONS + "pending");
+    }
+
+    /**
+     * Reports that the validation of credentials presented by a device has completed.
+     *
+     * @param durationMillis The number of milliseconds since the validation has been submitted.
+     */
+    public void decrementPendingCredentialsValidations(final long durationMillis) {
+        counterService.decrement(getPrefix() + CREDENTIALS_VALIDATIONS + "pending");
+        gaugeService.submit(TIMER_PREFIX + getPrefix() + CREDENTIALS_VALIDATIONS + "duration", durationMillis);
+    }
+
+    /**
+     * Reports that the validation of credentials presented by a device has been rejected
+     * because too many validations are pending.
+     */
+    public void incrementRejectedCredentialsValidations() {
+        counterService.increment(METER_PREFIX + getPrefix() + CREDENTIALS_VALIDATIONS + "rejected");
+    }
 }
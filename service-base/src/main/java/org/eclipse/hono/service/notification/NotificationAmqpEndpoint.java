@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.config.ServiceConfigProperties;
+import org.eclipse.hono.service.amqp.AbstractAmqpEndpoint;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.NotificationConstants;
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonQoS;
+import io.vertx.proton.ProtonSender;
+
+/**
+ * An {@code AmqpEndpoint} for notifying clients about changes to the data managed by a device registry.
+ * <p>
+ * The endpoint consumes the notifications published by the registry's services to the
+ * {@link NotificationConstants#EVENT_BUS_ADDRESS_NOTIFICATION} event bus address and forwards
+ * them to all clients that have opened a link for receiving messages from the
+ * {@link NotificationConstants#NOTIFICATION_ENDPOINT} address.
+ * <p>
+ * Notifications are sent pre-settled. A client that cannot keep up or that is temporarily
+ * disconnected misses notifications and needs to rely on the expiration of its cached values.
+ */
+public class NotificationAmqpEndpoint extends AbstractAmqpEndpoint<ServiceConfigProperties> {
+
+    private final List<ProtonSender> senders = new ArrayList<>();
+    private MessageConsumer<JsonObject> notificationConsumer;
+
+    /**
+     * Creates a new notification endpoint for a vertx instance.
+     *
+     * @param vertx The vertx instance to use.
+     * @throws NullPointerException if vertx is {@code null}.
+     */
+    @Autowired
+    public NotificationAmqpEndpoint(final Vertx vertx) {
+        super(Objects.requireNonNull(vertx));
+    }
+
+    @Override
+    public final String getName() {
+        return NotificationConstants.NOTIFICATION_ENDPOINT;
+    }
+
+    @Override
+    protected void doStart(final Future<Void> startFuture) {
+
+        notificationConsumer = vertx.eventBus().consumer(
+                NotificationConstants.EVENT_BUS_ADDRESS_NOTIFICATION,
+                notification -> forwardNotification(notification.body()));
+        startFuture.complete();
+    }
+
+    @Override
+    protected void doStop(final Future<Void> stopFuture) {
+
+        if (notificationConsumer != null) {
+            notificationConsumer.unregister();
+        }
+        senders.forEach(ProtonSender::close);
+        senders.clear();
+        stopFuture.complete();
+    }
+
+    /**
+     * Registers a link for forwarding notifications to a client.
+     *
+     * @param con The AMQP connection that the link is part of.
+     * @param sender The link to forward notifications on.
+     * @param sourceResource The source address from the client's <em>ATTACH</em> frame.
+     */
+    @Override
+    public final void onLinkAttach(final ProtonConnection con, final ProtonSender sender, final ResourceIdentifier sourceResource) {
+
+        sender.setQoS(ProtonQoS.AT_MOST_ONCE);
+        sender.closeHandler(remoteClose -> {
+            senders.remove(sender);
+            sender.close();
+        });
+        sender.open();
+        senders.add(sender);
+        logger.debug("established link for sending notifications to client [{}]", con.getRemoteContainer());
+    }
+
+    /**
+     * Forwards a notification to all clients that have opened a link.
+     * <p>
+     * Links whose connection has been lost are removed. The notification
+     * is not sent to clients that do not have credit left.
+     *
+     * @param notification The notification to forward.
+     */
+    void forwardNotification(final JsonObject notification) {
+
+        senders.removeIf(sender -> !sender.isOpen() || sender.getSession().getConnection().isDisconnected());
+        if (senders.isEmpty()) {
+            return;
+        }
+        logger.trace("forwarding notification to {} clients: {}", senders.size(), notification);
+        for (final ProtonSender sender : senders) {
+            if (sender.sendQueueFull()) {
+                logger.debug("client has no credit, discarding notification [{}]", notification);
+            } else {
+                final Message message = ProtonHelper.message();
+                MessageHelper.setJsonPayload(message, notification);
+                sender.send(message);
+            }
+        }
+    }
+
+    /**
+     * Clients cannot upload messages to this endpoint.
+     *
+     * @param targetAddress The address the message has been received on.
+     * @param message The message to check.
+     * @return {@code false}.
+     */
+    @Override
+    protected boolean passesFormalVerification(final ResourceIdentifier targetAddress, final Message message) {
+        return false;
+    }
+}
@@ -12,12 +12,15 @@
 package org.eclipse.hono.service.registration;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.service.EventBusService;
 import org.eclipse.hono.util.CacheDirective;
 import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.RegistrationResult;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +30,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 /**
@@ -109,6 +113,10 @@ public abstract class BaseRegistrationService<T> extends EventBusService<T> impl
             return processUpdateRequest(requestMessage);
         case RegistrationConstants.ACTION_DEREGISTER:
             return processDeregisterRequest(requestMessage);
+        case RegistrationConstants.ACTION_REGISTER_BATCH:
+            return processRegisterBatchRequest(requestMessage);
+        case RegistrationConstants.ACTION_LIST:
+            return processListRequest(requestMessage);
         default:
             return processCustomRegistrationMessage(requestMessage);
         }
@@ -193,6 +201,56 @@ public abstract class BaseRegistrationService<T> extends EventBusService<T> impl
         }
     }
 
+    private Future<EventBusMessage> processRegisterBatchRequest(final EventBusMessage request) {
+
+        final String tenantId = request.getTenant();
+        final JsonArray devices = request.getJsonPayload(new JsonObject()).getJsonArray(RegistrationConstants.FIELD_DEVICES);
+
+        if (tenantId == null || devices == null) {
+            return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST));
+        } else {
+            log.debug("registering batch of {} devices for tenant [{}]", devices.size(), tenantId);
+            final List<JsonObject> deviceList = new ArrayList<>(devices.size());
+            for (Object device : devices) {
+                deviceList.add(device instanceof JsonObject ? (JsonObject) device : new JsonObject());
+            }
+            final Future<List<RegistrationResult>> result = Future.future();
+            addDevices(tenantId, deviceList, result.completer());
+            return result.map(res -> {
+                final JsonArray results = new JsonArray();
+                for (int i = 0; i < res.size(); i++) {
+                    results.add(new JsonObject()
+                            .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID,
+                                    deviceList.get(i).getValue(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID))
+                            .put(MessageHelper.APP_PROPERTY_STATUS, res.get(i).getStatus()));
+                }
+                return request.getResponse(HttpURLConnection.HTTP_OK)
+                        .setJsonPayload(new JsonObject().put(RegistrationConstants.FIELD_RESULTS, results));
+            });
+        }
+    }
+
+    private Future<EventBusMessage> processListRequest(final EventBusMessage request) {
+
+        final String tenantId = request.getTenant();
+        final JsonObject payload = request.getJsonPayload(new JsonObject());
+        final Object afterDeviceId = payload.getValue(RegistrationConstants.FIELD_AFTER);
+        final Integer limit = getTypesafeValueForField(payload, RegistrationConstants.FIELD_LIMIT);
+
+        if (tenantId == null || (afterDeviceId != null && !(afterDeviceId instanceof String)) || limit == null || limit < 1) {
+            return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST));
+        } else {
+            log.debug("retrieving devices [after: {}, limit: {}] of tenant [{}]", afterDeviceId, limit, tenantId);
+            final Future<RegistrationResult> result = Future.future();
+            getDevices(tenantId, (String) afterDeviceId, limit, result.completer());
+            return result.map(res -> {
+                return request.getResponse(res.getStatus())
+                        .setJsonPayload(res.getPayload())
+                        .setCacheDirective(res.getCacheDirective());
+            });
+        }
+    }
+
     private Future<EventBusMessage> processAssertRequest(final EventBusMessage request) {
 
         final String tenantId = request.getTenant();
@@ -288,6 +346,58 @@ public abstract class BaseRegistrationService<T> extends EventBusService<T> impl
         handleUnimplementedOperation(resultHandler);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This default implementation registers the devices one after the other by means of
+     * {@link #addDevice(String, String, JsonObject, Handler)}. Subclasses may override this
+     * method in order to register the devices more efficiently, e.g. in a single transaction.
+     */
+    @Override
+    public void addDevices(
+            final String tenantId,
+            final List<JsonObject> devices,
+            final Handler<AsyncResult<List<RegistrationResult>>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(devices);
+        Objects.requireNonNull(resultHandler);
+
+        Future<List<RegistrationResult>> result = Future.succeededFuture(new ArrayList<>(devices.size()));
+        for (final JsonObject device : devices) {
+            result = result.compose(results -> {
+                final Object deviceId = device.getValue(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID);
+                if (deviceId instanceof String) {
+                    final JsonObject data = device.copy();
+                    data.remove(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID);
+                    final Future<RegistrationResult> addResult = Future.future();
+                    addDevice(tenantId, (String) deviceId, getRequestPayload(data), addResult.completer());
+                    return addResult.otherwise(RegistrationResult.from(HttpURLConnection.HTTP_INTERNAL_ERROR))
+                            .map(res -> {
+                                results.add(res);
+                                return results;
+                            });
+                } else {
+                    results.add(RegistrationResult.from(HttpURLConnection.HTTP_BAD_REQUEST));
+                    return Future.succeededFuture(results);
+                }
+            });
+        }
+        result.setHandler(resultHandler);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This default implementation simply returns an empty result with status code 501 (Not Implemented).
+     * Subclasses should override this method in order to provide a reasonable implementation.
+     */
+    @Override
+    public void getDevices(final String tenantId, final String afterDeviceId, final int limit,
+            final Handler<AsyncResult<RegistrationResult>> resultHandler) {
+        handleUnimplementedOperation(resultHandler);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -72,4 +72,9 @@ public class RegistrationAmqpEndpoint extends RequestResponseEndpoint<ServiceCon
     protected final Message getAmqpReply(final EventBusMessage message) {
         return RegistrationConstants.getAmqpReply(RegistrationConstants.REGISTRATION_ENDPOINT, message);
     }
+
+    @Override
+    protected final Message getAmqpReply(final EventBusMessage message, final boolean binaryPayload) {
+        return RegistrationConstants.getAmqpReply(RegistrationConstants.REGISTRATION_ENDPOINT, message, binaryPayload);
+    }
 }
@@ -17,6 +17,7 @@ import java.util.Objects;
 
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.service.http.AbstractHttpEndpoint;
+import org.eclipse.hono.service.http.BulkOperations;
 import org.eclipse.hono.service.http.HttpUtils;
 import org.eclipse.hono.util.EventBusMessage;
 import org.eclipse.hono.util.RegistrationConstants;
@@ -27,6 +28,7 @@ import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
@@ -37,6 +39,11 @@ import io.vertx.ext.web.RoutingContext;
  * This endpoint implements Hono's <a href="https://www.eclipse.org/hono/api/Device-Registration-API/">Device Registration API</a>.
  * It receives HTTP requests representing operation invocations and sends them to an address on the vertx
  * event bus for processing. The outcome is then returned to the peer in the HTTP response.
+ * <p>
+ * In addition, the endpoint supports registering devices in bulk by means of a POST request
+ * with content type {@link HttpUtils#CONTENT_TYPE_NDJSON} to the tenant's resource and exporting
+ * all of a tenant's devices by means of a GET request to the tenant's resource. In both cases
+ * the devices are streamed in batches of {@link BulkOperations#DEFAULT_BATCH_SIZE} devices.
  */
 public final class RegistrationHttpEndpoint extends AbstractHttpEndpoint<ServiceConfigProperties> {
 
@@ -68,8 +75,14 @@ public final class RegistrationHttpEndpoint extends AbstractHttpEndpoint<Service
         // ADD device registration
         router.route(HttpMethod.POST, pathWithTenant).consumes(HttpUtils.CONTENT_TYPE_JSON)
                 .handler(this::doRegisterDeviceJson);
+        // ADD device registrations in bulk
+        BulkOperations.markImportRoute(router, HttpMethod.POST, pathWithTenant);
+        router.route(HttpMethod.POST, pathWithTenant).consumes(HttpUtils.CONTENT_TYPE_NDJSON)
+                .handler(this::doRegisterDevices);
         router.route(HttpMethod.POST, pathWithTenant)
                 .handler(ctx -> HttpUtils.badRequest(ctx, "missing or unsupported content-type"));
+        // GET all device registrations of tenant
+        router.route(HttpMethod.GET, pathWithTenant).handler(this::doGetDevices);
 
         final String pathWithTenantAndDeviceId = String.format("/%s/:%s/:%s",
                 RegistrationConstants.REGISTRATION_ENDPOINT, PARAM_TENANT_ID, PARAM_DEVICE_ID);
@@ -148,6 +161,40 @@ public final class RegistrationHttpEndpoint extends AbstractHttpEndpoint<Service
         }
     }
 
+    private void doRegisterDevices(final RoutingContext ctx) {
+
+        final String tenantId = getTenantParam(ctx);
+        logger.debug("registering devices in bulk [tenant: {}]", tenantId);
+        BulkOperations.processImport(ctx, BulkOperations.DEFAULT_BATCH_SIZE, config.getMaxPayloadSize(),
+                BulkOperations.DEFAULT_MAX_IMPORT_ENTRIES, devices -> {
+            final JsonObject requestMsg = EventBusMessage.forOperation(RegistrationConstants.ACTION_REGISTER_BATCH)
+                    .setTenant(tenantId)
+                    .setJsonPayload(new JsonObject().put(RegistrationConstants.FIELD_DEVICES, new JsonArray(devices)))
+                    .toJson();
+            return sendAction(requestMsg).map(response -> response.getJsonPayload(new JsonObject())
+                    .getJsonArray(RegistrationConstants.FIELD_RESULTS, new JsonArray()));
+        });
+    }
+
+    private void doGetDevices(final RoutingContext ctx) {
+
+        final String tenantId = getTenantParam(ctx);
+        logger.debug("exporting devices [tenant: {}]", tenantId);
+        BulkOperations.processExport(ctx, BulkOperations.DEFAULT_BATCH_SIZE, (lastDevice, limit) -> {
+            final JsonObject payload = new JsonObject().put(RegistrationConstants.FIELD_LIMIT, limit);
+            if (lastDevice != null) {
+                // continue after the last device of the previous page
+                payload.put(RegistrationConstants.FIELD_AFTER, lastDevice.getString(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID));
+            }
+            final JsonObject requestMsg = EventBusMessage.forOperation(RegistrationConstants.ACTION_LIST)
+                    .setTenant(tenantId)
+                    .setJsonPayload(payload)
+                    .toJson();
+            return sendAction(requestMsg).map(response -> response.getJsonPayload(new JsonObject())
+                    .getJsonArray(RegistrationConstants.FIELD_DEVICES, new JsonArray()));
+        });
+    }
+
     private void doUpdateRegistrationJson(final RoutingContext ctx) {
 
         try {
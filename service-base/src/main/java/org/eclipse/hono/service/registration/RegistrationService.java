@@ -12,6 +12,8 @@
 
 package org.eclipse.hono.service.registration;
 
+import java.util.List;
+
 import org.eclipse.hono.util.RegistrationResult;
 
 import io.vertx.core.AsyncResult;
@@ -152,4 +154,58 @@ public interface RegistrationService extends Verticle {
      *      Device Registration API - Deregister Device</a>
      */
     void removeDevice(String tenantId, String deviceId, Handler<AsyncResult<RegistrationResult>> resultHandler);
+
+    /**
+     * Registers a batch of devices.
+     * <p>
+     * This operation is not part of the Device Registration API. It is used for
+     * importing a large number of devices without the overhead of processing a
+     * separate request for each device.
+     * 
+     * @param tenantId The tenant that the devices belong to.
+     * @param devices The devices to register. Each object must contain the device's identifier
+     *                in the <em>device-id</em> property. All other properties are registered
+     *                with the device.
+     * @param resultHandler The handler to invoke with the result of the operation.
+     *             The list contains a result for each of the given devices (in the same order).
+     *             The <em>status</em> of each result will be
+     *             <ul>
+     *             <li><em>201 Created</em> if the device has been registered successfully.</li>
+     *             <li><em>400 Bad Request</em> if the object does not contain a device identifier.</li>
+     *             <li><em>409 Conflict</em> if a device with the given identifier already exists
+     *             for the tenant.</li>
+     *             </ul>
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    void addDevices(String tenantId, List<JsonObject> devices, Handler<AsyncResult<List<RegistrationResult>>> resultHandler);
+
+    /**
+     * Gets a page of the devices registered for a tenant.
+     * <p>
+     * This operation is not part of the Device Registration API. It is used for
+     * exporting all devices of a tenant page by page.
+     * <p>
+     * The devices are ordered by their identifiers. A page is requested by means of the
+     * identifier of the last device of the previous page so that each device that exists
+     * during the whole export is contained in exactly one page, regardless of any devices
+     * being added or removed concurrently.
+     * 
+     * @param tenantId The tenant to get the devices of.
+     * @param afterDeviceId The identifier of the last device of the previous page or
+     *                      {@code null} if the first page should be returned.
+     * @param limit The maximum number of devices to return.
+     * @param resultHandler The handler to invoke with the result of the operation.
+     *             The <em>status</em> will be
+     *             <ul>
+     *             <li><em>200 OK</em> if the page has been retrieved successfully.
+     *             The <em>payload</em> will contain the devices in a JSON array under key
+     *             {@link org.eclipse.hono.util.RegistrationConstants#FIELD_DEVICES}. Each
+     *             device has the same structure as the payload returned by
+     *             {@link #getDevice(String, String, Handler)}. The array contains less than
+     *             <em>limit</em> devices if the page is the last one.</li>
+     *             </ul>
+     * @throws NullPointerException if any of tenant ID or result handler is {@code null}.
+     * @throws IllegalArgumentException if limit is &lt; 1.
+     */
+    void getDevices(String tenantId, String afterDeviceId, int limit, Handler<AsyncResult<RegistrationResult>> resultHandler);
 }
@@ -0,0 +1,571 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.spool;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.apache.qpid.proton.message.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.proton.ProtonHelper;
+
+/**
+ * An append-only, memory-mapped log of events that could not be forwarded downstream (yet).
+ * <p>
+ * The spool consists of a sequence of fixed size <em>segment</em> files in a directory.
+ * Events are appended to the last segment and are read (and removed) in the order in which
+ * they have been appended. Segments that have been read completely are deleted.
+ * The position of the oldest event that has not been removed yet is recorded in a
+ * <em>checkpoint</em> file so that spooled events survive a restart of the process.
+ * <p>
+ * Each record consists of a 4 byte length field followed by the tenant identifier
+ * (2 byte length + UTF-8 bytes) and the AMQP encoding of the event. The length field is written
+ * last so that a record which has not been written completely (e.g. because the process has
+ * crashed) is never read. Note that records are not explicitly synced to disk, i.e. spooled events
+ * survive a crash of the process but not necessarily a crash of the operating system.
+ * <p>
+ * The spool limits the overall number of bytes of events that have not been removed yet
+ * and (optionally) the number of bytes per tenant.
+ * <p>
+ * Instances are <em>not</em> thread safe. Because appending and removing events may create, map
+ * and delete segment files, instances should be used by means of <em>ordered</em> blocking code
+ * executed on a single vert.x context only (see {@code Vertx#executeBlocking(Handler, boolean, Handler)}).
+ */
+public final class EventSpool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventSpool.class);
+
+    private static final String INSTANCE_DIR_PREFIX = "instance-";
+    private static final String LOCK_FILE_NAME = "lock";
+    private static final String CHECKPOINT_FILE_NAME = "checkpoint";
+    private static final String SEGMENT_FILE_PREFIX = "segment-";
+    private static final String SEGMENT_FILE_SUFFIX = ".log";
+    private static final int MAX_INSTANCE_DIRS = 1024;
+    private static final int LENGTH_FIELD_SIZE = 4;
+    private static final int TENANT_LENGTH_FIELD_SIZE = 2;
+    private static final int CHECKPOINT_SIZE = 16;
+
+    /**
+     * The minimum size of a segment file in bytes.
+     */
+    public static final int MIN_SEGMENT_SIZE = 4096;
+
+    private final Path directory;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final long maxSize;
+    private final long maxSizePerTenant;
+    private final int segmentSize;
+    private final byte[] scratch;
+    private final Map<String, Long> tenantSizes = new HashMap<>();
+    private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+
+    private MappedByteBuffer checkpoint;
+    private long readSegment;
+    private int readPosition;
+    private long writeSegment;
+    private int writePosition;
+    private long size;
+    private long count;
+
+    private EventSpool(
+            final Path directory,
+            final FileChannel lockChannel,
+            final FileLock lock,
+            final long maxSize,
+            final long maxSizePerTenant,
+            final int segmentSize) {
+
+        this.directory = directory;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+        this.maxSize = maxSize;
+        this.maxSizePerTenant = maxSizePerTenant;
+        this.segmentSize = segmentSize;
+        this.scratch = new byte[segmentSize - LENGTH_FIELD_SIZE];
+    }
+
+    /**
+     * Opens a spool in a base directory.
+     * <p>
+     * Several protocol adapter instances may share the same base directory. Each instance
+     * uses its own sub-directory which it locks exclusively while the spool is open.
+     * This method uses the first sub-directory that is not locked by another instance, creating it
+     * if necessary. Any events contained in the sub-directory are recovered and will be the first
+     * events returned by {@link #peek()}.
+     * <p>
+     * Note that this method performs blocking I/O and should therefore not be invoked on an
+     * event loop thread.
+     *
+     * @param baseDirectory The directory to create the spool in.
+     * @param maxSize The maximum number of bytes of spooled events.
+     * @param maxSizePerTenant The maximum number of bytes of spooled events per tenant or
+     *                         {@code 0} if the number of bytes per tenant should not be limited.
+     * @param segmentSize The size of a segment file in bytes.
+     * @return The spool.
+     * @throws NullPointerException if base directory is {@code null}.
+     * @throws IllegalArgumentException if segment size is &lt; {@link #MIN_SEGMENT_SIZE} or
+     *                                  any of the sizes is negative.
+     * @throws IOException if the spool cannot be opened.
+     */
+    public static EventSpool open(
+            final Path baseDirectory,
+            final long maxSize,
+            final long maxSizePerTenant,
+            final int segmentSize) throws IOException {
+
+        Objects.requireNonNull(baseDirectory);
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("segment size must be at least " + MIN_SEGMENT_SIZE + " bytes");
+        } else if (maxSize < 0 || maxSizePerTenant < 0) {
+            throw new IllegalArgumentException("maximum size must not be negative");
+        }
+
+        Files.createDirectories(baseDirectory);
+        for (int i = 0; i < MAX_INSTANCE_DIRS; i++) {
+            final Path instanceDir = baseDirectory.resolve(INSTANCE_DIR_PREFIX + i);
+            Files.createDirectories(instanceDir);
+            final FileChannel channel = FileChannel.open(instanceDir.resolve(LOCK_FILE_NAME),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileLock lock = null;
+            try {
+                lock = channel.tryLock();
+            } catch (final OverlappingFileLockException e) {
+                // locked by another instance running in this JVM
+            }
+            if (lock == null) {
+                channel.close();
+            } else {
+                final EventSpool spool = new EventSpool(instanceDir, channel, lock, maxSize, maxSizePerTenant, segmentSize);
+                try {
+                    spool.recover();
+                } catch (final IOException | RuntimeException e) {
+                    spool.close();
+                    throw e;
+                }
+                LOG.info("opened event spool [directory: {}, spooled events: {}, bytes: {}]",
+                        instanceDir, spool.count, spool.size);
+                return spool;
+            }
+        }
+        throw new IOException("all spool directories are locked by other instances");
+    }
+
+    /**
+     * Gets the directory that this spool's files are stored in.
+     *
+     * @return The directory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Checks if this spool contains any events.
+     *
+     * @return {@code true} if there are no spooled events.
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Gets the number of spooled events.
+     *
+     * @return The number of events.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of bytes of spooled events.
+     *
+     * @return The number of bytes.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of bytes of spooled events of a tenant.
+     *
+     * @param tenantId The tenant.
+     * @return The number of bytes.
+     */
+    public long getSize(final String tenantId) {
+        return tenantSizes.getOrDefault(tenantId, 0L);
+    }
+
+    /**
+     * Appends an event to this spool.
+     *
+     * @param tenantId The tenant that the event belongs to.
+     * @param event The event.
+     * @return {@code true} if the event has been spooled or {@code false} if the event exceeds
+     *         the maximum size of a segment or if spooling the event would exceed the spool's
+     *         overall or per tenant limit.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     * @throws IOException if a new segment file cannot be created.
+     */
+    public boolean append(final String tenantId, final Message event) throws IOException {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(event);
+
+        final byte[] tenant = tenantId.getBytes(StandardCharsets.UTF_8);
+        final int messageOffset = TENANT_LENGTH_FIELD_SIZE + tenant.length;
+        if (tenant.length > 0xFFFF || messageOffset >= scratch.length) {
+            LOG.debug("cannot spool event, tenant identifier too long");
+            return false;
+        }
+        final int recordLength;
+        try {
+            recordLength = messageOffset + event.encode(scratch, messageOffset, scratch.length - messageOffset);
+        } catch (final BufferOverflowException e) {
+            LOG.debug("cannot spool event of tenant [{}], event exceeds segment size", tenantId);
+            return false;
+        }
+
+        final long tenantSize = getSize(tenantId);
+        if (size + recordLength > maxSize || (maxSizePerTenant > 0 && tenantSize + recordLength > maxSizePerTenant)) {
+            LOG.debug("cannot spool event of tenant [{}], spool limit exceeded [spool size: {}, tenant size: {}]",
+                    tenantId, size, tenantSize);
+            return false;
+        }
+
+        scratch[0] = (byte) (tenant.length >> 8);
+        scratch[1] = (byte) tenant.length;
+        System.arraycopy(tenant, 0, scratch, TENANT_LENGTH_FIELD_SIZE, tenant.length);
+
+        if (writePosition + LENGTH_FIELD_SIZE + recordLength > segmentSize) {
+            writeSegment++;
+            writePosition = 0;
+            segments.put(writeSegment, mapSegment(writeSegment));
+        }
+        final MappedByteBuffer segment = segments.get(writeSegment);
+        segment.position(writePosition + LENGTH_FIELD_SIZE);
+        segment.put(scratch, 0, recordLength);
+        // committing the record by writing its length last
+        segment.putInt(writePosition, recordLength);
+        writePosition += LENGTH_FIELD_SIZE + recordLength;
+
+        size += recordLength;
+        count++;
+        tenantSizes.put(tenantId, tenantSize + recordLength);
+        return true;
+    }
+
+    /**
+     * Gets the oldest event contained in this spool.
+     * <p>
+     * The event is not removed from the spool.
+     *
+     * @return The event or {@code null} if this spool is empty.
+     */
+    public SpooledEvent peek() {
+
+        final List<SpooledEvent> events = peek(1);
+        return events.isEmpty() ? null : events.get(0);
+    }
+
+    /**
+     * Gets the oldest events contained in this spool.
+     * <p>
+     * The events are not removed from the spool.
+     *
+     * @param maxEvents The maximum number of events to get.
+     * @return The events in the order in which they have been appended. The list is empty
+     *         if this spool is empty.
+     * @throws IllegalArgumentException if max events is &lt; 1.
+     */
+    public List<SpooledEvent> peek(final int maxEvents) {
+
+        if (maxEvents < 1) {
+            throw new IllegalArgumentException("max events must be > 0");
+        }
+        final List<SpooledEvent> events = new ArrayList<>((int) Math.min(maxEvents, count));
+        if (count == 0) {
+            return events;
+        }
+        skipToNextRecord();
+        long seq = readSegment;
+        int pos = readPosition;
+        while (events.size() < maxEvents && events.size() < count) {
+            final MappedByteBuffer segment = segments.get(seq);
+            if (pos + LENGTH_FIELD_SIZE > segmentSize || segment.getInt(pos) == 0) {
+                // end of segment reached, continue with next one
+                final Long next = segments.higherKey(seq);
+                if (next == null) {
+                    throw new IllegalStateException("spool is corrupted, no more records");
+                }
+                seq = next;
+                pos = 0;
+                continue;
+            }
+            final int recordLength = segment.getInt(pos);
+            events.add(readEvent(segment, pos, recordLength));
+            pos += LENGTH_FIELD_SIZE + recordLength;
+        }
+        return events;
+    }
+
+    private static SpooledEvent readEvent(final MappedByteBuffer segment, final int position, final int recordLength) {
+
+        final int tenantLength = ((segment.get(position + LENGTH_FIELD_SIZE) & 0xFF) << 8)
+                | (segment.get(position + LENGTH_FIELD_SIZE + 1) & 0xFF);
+        final byte[] record = new byte[recordLength];
+        segment.position(position + LENGTH_FIELD_SIZE);
+        segment.get(record);
+
+        final String tenantId = new String(record, TENANT_LENGTH_FIELD_SIZE, tenantLength, StandardCharsets.UTF_8);
+        final Message event = ProtonHelper.message();
+        final int messageOffset = TENANT_LENGTH_FIELD_SIZE + tenantLength;
+        event.decode(record, messageOffset, recordLength - messageOffset);
+        return new SpooledEvent(tenantId, event);
+    }
+
+    /**
+     * Removes the oldest event from this spool.
+     *
+     * @throws IOException if a segment file that has been read completely cannot be deleted.
+     */
+    public void remove() throws IOException {
+
+        if (count == 0) {
+            return;
+        }
+        skipToNextRecord();
+        final MappedByteBuffer segment = segments.get(readSegment);
+        final int recordLength = segment.getInt(readPosition);
+        final int tenantLength = ((segment.get(readPosition + LENGTH_FIELD_SIZE) & 0xFF) << 8)
+                | (segment.get(readPosition + LENGTH_FIELD_SIZE + 1) & 0xFF);
+        final byte[] tenant = new byte[tenantLength];
+        segment.position(readPosition + LENGTH_FIELD_SIZE + TENANT_LENGTH_FIELD_SIZE);
+        segment.get(tenant);
+        final String tenantId = new String(tenant, StandardCharsets.UTF_8);
+
+        readPosition += LENGTH_FIELD_SIZE + recordLength;
+        size -= recordLength;
+        count--;
+        final long tenantSize = getSize(tenantId) - recordLength;
+        if (tenantSize > 0) {
+            tenantSizes.put(tenantId, tenantSize);
+        } else {
+            tenantSizes.remove(tenantId);
+        }
+        if (count == 0 && readSegment < writeSegment) {
+            deleteSegmentsBefore(writeSegment);
+            readSegment = writeSegment;
+            readPosition = writePosition;
+        }
+        writeCheckpoint();
+    }
+
+    /**
+     * Closes this spool and releases the lock on its directory.
+     * <p>
+     * Spooled events are retained and will be recovered when the
+     * directory is opened again.
+     *
+     * @throws IOException if the lock cannot be released.
+     */
+    public void close() throws IOException {
+
+        segments.clear();
+        checkpoint = null;
+        try {
+            if (lock.isValid()) {
+                lock.release();
+            }
+        } finally {
+            lockChannel.close();
+        }
+    }
+
+    private void skipToNextRecord() {
+
+        while (readPosition + LENGTH_FIELD_SIZE > segmentSize || segments.get(readSegment).getInt(readPosition) == 0) {
+            // end of segment reached, continue with next one
+            final Long next = segments.higherKey(readSegment);
+            if (next == null) {
+                throw new IllegalStateException("spool is corrupted, no more records");
+            }
+            segments.remove(readSegment);
+            deleteSegmentFile(readSegment);
+            readSegment = next;
+            readPosition = 0;
+        }
+    }
+
+    private void recover() throws IOException {
+
+        final TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_FILE_PREFIX + "*" + SEGMENT_FILE_SUFFIX)) {
+            for (final Path file : stream) {
+                final String name = file.getFileName().toString();
+                try {
+                    files.put(Long.parseLong(name.substring(SEGMENT_FILE_PREFIX.length(),
+                            name.length() - SEGMENT_FILE_SUFFIX.length())), file);
+                } catch (final NumberFormatException e) {
+                    LOG.warn("ignoring unexpected file in spool directory: {}", file);
+                }
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(directory.resolve(CHECKPOINT_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            checkpoint = channel.map(MapMode.READ_WRITE, 0, CHECKPOINT_SIZE);
+        }
+        readSegment = checkpoint.getLong(0);
+        readPosition = checkpoint.getInt(8);
+
+        if (files.isEmpty() || files.lastKey() < readSegment) {
+            files.keySet().forEach(this::deleteSegmentFile);
+            readPosition = 0;
+            writeSegment = readSegment;
+            writePosition = 0;
+            segments.put(writeSegment, mapSegment(writeSegment));
+            writeCheckpoint();
+            return;
+        }
+
+        if (files.firstKey() > readSegment) {
+            // checkpoint refers to a segment that has already been deleted
+            readSegment = files.firstKey();
+            readPosition = 0;
+        }
+        for (final Long seq : files.keySet()) {
+            if (seq < readSegment) {
+                deleteSegmentFile(seq);
+            } else if (Files.size(files.get(seq)) != segmentSize) {
+                throw new IOException("segment size does not match configured size: " + files.get(seq));
+            } else {
+                segments.put(seq, mapSegment(seq));
+            }
+        }
+
+        // scan records that have not been removed yet
+        for (final Map.Entry<Long, MappedByteBuffer> entry : segments.entrySet()) {
+            final MappedByteBuffer segment = entry.getValue();
+            int pos = entry.getKey() == readSegment ? readPosition : 0;
+            while (pos + LENGTH_FIELD_SIZE <= segmentSize) {
+                final int recordLength = segment.getInt(pos);
+                if (recordLength <= 0 || pos + LENGTH_FIELD_SIZE + recordLength > segmentSize) {
+                    break;
+                }
+                final int tenantLength = ((segment.get(pos + LENGTH_FIELD_SIZE) & 0xFF) << 8)
+                        | (segment.get(pos + LENGTH_FIELD_SIZE + 1) & 0xFF);
+                final byte[] tenant = new byte[tenantLength];
+                segment.position(pos + LENGTH_FIELD_SIZE + TENANT_LENGTH_FIELD_SIZE);
+                segment.get(tenant);
+                tenantSizes.merge(new String(tenant, StandardCharsets.UTF_8), (long) recordLength, Long::sum);
+                size += recordLength;
+                count++;
+                pos += LENGTH_FIELD_SIZE + recordLength;
+            }
+            writeSegment = entry.getKey();
+            writePosition = pos;
+        }
+        if (count == 0) {
+            readSegment = writeSegment;
+            readPosition = writePosition;
+            deleteSegmentsBefore(writeSegment);
+        }
+        writeCheckpoint();
+    }
+
+    private MappedByteBuffer mapSegment(final long seq) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(getSegmentFile(seq),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private void deleteSegmentsBefore(final long seq) {
+
+        while (!segments.isEmpty() && segments.firstKey() < seq) {
+            deleteSegmentFile(segments.pollFirstEntry().getKey());
+        }
+    }
+
+    private void deleteSegmentFile(final long seq) {
+
+        try {
+            Files.deleteIfExists(getSegmentFile(seq));
+        } catch (final IOException e) {
+            LOG.warn("cannot delete spool segment {}", getSegmentFile(seq), e);
+        }
+    }
+
+    private Path getSegmentFile(final long seq) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_FILE_PREFIX, seq, SEGMENT_FILE_SUFFIX));
+    }
+
+    private void writeCheckpoint() {
+        checkpoint.putLong(0, readSegment);
+        checkpoint.putInt(8, readPosition);
+    }
+
+    /**
+     * An event retrieved from the spool.
+     */
+    public static final class SpooledEvent {
+
+        private final String tenantId;
+        private final Message message;
+
+        private SpooledEvent(final String tenantId, final Message message) {
+            this.tenantId = tenantId;
+            this.message = message;
+        }
+
+        /**
+         * Gets the tenant that the event belongs to.
+         *
+         * @return The tenant identifier.
+         */
+        public String getTenantId() {
+            return tenantId;
+        }
+
+        /**
+         * Gets the event.
+         *
+         * @return The AMQP message.
+         */
+        public Message getMessage() {
+            return message;
+        }
+    }
+}
@@ -151,6 +151,11 @@ public class TenantAmqpEndpoint extends RequestResponseEndpoint<ServiceConfigPro
         return TenantConstants.getAmqpReply(TenantConstants.TENANT_ENDPOINT, message);
     }
 
+    @Override
+    protected final Message getAmqpReply(final EventBusMessage message, final boolean binaryPayload) {
+        return TenantConstants.getAmqpReply(TenantConstants.TENANT_ENDPOINT, message, binaryPayload);
+    }
+
     /**
      * Checks if a resource identifier constitutes a valid reply-to address
      * for the Tenant service.
@@ -14,16 +14,22 @@
 package org.eclipse.hono.service;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.HonoClient;
+import org.eclipse.hono.client.MessageSender;
 import org.eclipse.hono.client.RegistrationClient;
+import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.auth.device.Device;
@@ -32,14 +38,19 @@ import org.eclipse.hono.util.RegistrationConstants;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.rules.Timeout;
 import org.junit.runner.RunWith;
 
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.proton.ProtonDelivery;
 import io.vertx.proton.ProtonHelper;
 
 
@@ -56,6 +67,12 @@ public class AbstractProtocolAdapterBaseTest {
     @Rule
     public Timeout timeout = Timeout.seconds(5);
 
+    /**
+     * A folder for spooling events.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private static final String ADAPTER_NAME = "abstract-adapter";
 
     private ProtocolAdapterProperties properties;
@@ -210,6 +227,77 @@ public class AbstractProtocolAdapterBaseTest {
         assertThat(message.getContentType(), is(AbstractProtocolAdapterBase.CONTENT_TYPE_OCTET_STREAM));
     }
 
+    /**
+     * Verifies that messages created for the same registration assertion do not
+     * share their application properties.
+     */
+    @Test
+    public void testNewMessageCreatesIndependentApplicationProperties() {
+
+        final JsonObject registrationInfo = newRegistrationAssertionResult("token", "application/hono");
+        final Message first = adapter.newMessage("telemetry/tenant", "device", "topic", null, null, registrationInfo);
+        final Message second = adapter.newMessage("telemetry/tenant", "device", null, "text/plain", null, registrationInfo);
+
+        MessageHelper.getAndRemoveRegistrationAssertion(first);
+        assertThat(MessageHelper.getRegistrationAssertion(second), is("token"));
+        assertThat(MessageHelper.getDeviceId(second), is("device"));
+        assertThat(first.getContentType(), is("application/hono"));
+        assertThat(second.getContentType(), is("text/plain"));
+        assertNull(MessageHelper.getApplicationProperty(
+                second.getApplicationProperties(), MessageHelper.APP_PROPERTY_ORIG_ADDRESS, String.class));
+    }
+
+    /**
+     * Verifies that the adapter adds the current registration information to a new
+     * message once the registration assertion for a device has changed.
+     */
+    @Test
+    public void testNewMessageUsesUpdatedRegistrationInformation() {
+
+        adapter.newMessage("telemetry/tenant", "device", null, null, null,
+                newRegistrationAssertionResult("token", "application/hono"));
+        final Message message = adapter.newMessage("telemetry/tenant", "device", null, null, null,
+                newRegistrationAssertionResult("new-token", "application/json"));
+
+        assertThat(MessageHelper.getRegistrationAssertion(message), is("new-token"));
+        assertThat(message.getContentType(), is("application/json"));
+    }
+
+    /**
+     * Verifies that the adapter keeps the properties added to messages separately
+     * for devices having the same identifier in different tenants.
+     */
+    @Test
+    public void testNewMessageUsesTemplatePerTenantAndDevice() {
+
+        adapter.newMessage("telemetry/tenant", "device", null, null, null,
+                newRegistrationAssertionResult("token", "application/hono"));
+        adapter.newMessage("telemetry/other-tenant", "device", null, null, null,
+                newRegistrationAssertionResult("other-token", "application/json"));
+        final Message message = adapter.newMessage("event/tenant", "device", null, null, null,
+                newRegistrationAssertionResult("token", "application/hono"));
+
+        assertThat(MessageHelper.getRegistrationAssertion(message), is("token"));
+        assertThat(message.getContentType(), is("application/hono"));
+    }
+
+    /**
+     * Verifies that the adapter creates the properties added to messages from the
+     * registration information if the template cache has been disabled.
+     */
+    @Test
+    public void testNewMessageSucceedsIfTemplateCacheIsDisabled() {
+
+        properties.setMessageTemplateCacheSize(0);
+        adapter.newMessage("telemetry/tenant", "device", null, null, null,
+                newRegistrationAssertionResult("token", "application/hono"));
+        final Message message = adapter.newMessage("telemetry/tenant", "device", null, null, null,
+                newRegistrationAssertionResult("new-token", "application/json"));
+
+        assertThat(MessageHelper.getRegistrationAssertion(message), is("new-token"));
+        assertThat(message.getContentType(), is("application/json"));
+    }
+
     /**
      * Verifies that the adapter successfully retrieves a registration assertion
      * for an existing device.
@@ -272,6 +360,114 @@ public class AbstractProtocolAdapterBaseTest {
                 }));
     }
 
+    /**
+     * Verifies that an event is spooled if no sender is available and that the
+     * spooled event is forwarded once a sender becomes available.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testSendEventSpoolsEventIfNoSenderIsAvailable(final TestContext ctx) {
+
+        // GIVEN an adapter configured to spool events
+        final Vertx vertx = Vertx.vertx();
+        properties.setEventSpoolPath(folder.getRoot().getAbsolutePath());
+        adapter.init(vertx, vertx.getOrCreateContext());
+        final MessageSender sender = mock(MessageSender.class);
+        when(sender.sendAndWaitForOutcome(any(Message.class))).thenReturn(Future.succeededFuture());
+        final Future<MessageSender> senderTracker = Future.future();
+        when(messagingService.getOrCreateEventSender(anyString())).thenReturn(senderTracker);
+
+        final Async spooled = ctx.async();
+        adapter.startInternal().compose(ok -> {
+            // WHEN sending an event while no sender is available
+            return adapter.sendEvent(
+                    Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE)),
+                    "tenant",
+                    ProtonHelper.message("event/tenant", "hello"),
+                    true);
+        }).setHandler(ctx.asyncAssertSuccess(delivery -> {
+            // THEN the event is accepted without being sent
+            ctx.assertNull(delivery);
+            verify(sender, never()).sendAndWaitForOutcome(any(Message.class));
+            spooled.complete();
+        }));
+        spooled.await();
+
+        // and is forwarded once a sender becomes available
+        final Async forwarded = ctx.async();
+        when(sender.sendAndWaitForOutcome(any(Message.class))).thenAnswer(invocation -> {
+            final Message event = invocation.getArgument(0);
+            ctx.assertEquals("hello", MessageHelper.getPayload(event));
+            forwarded.complete();
+            return Future.succeededFuture();
+        });
+        senderTracker.complete(sender);
+        forwarded.await();
+        vertx.close();
+    }
+
+    /**
+     * Verifies that spooled events are forwarded without waiting for the outcome
+     * of the previously forwarded event and that events are removed from the spool
+     * once their outcome is known.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testReplayForwardsSpooledEventsWithoutWaitingForOutcome(final TestContext ctx) {
+
+        // GIVEN an adapter configured to spool events
+        final Vertx vertx = Vertx.vertx();
+        properties.setEventSpoolPath(folder.getRoot().getAbsolutePath());
+        adapter.init(vertx, vertx.getOrCreateContext());
+        final Future<MessageSender> senderTracker = Future.future();
+        when(messagingService.getOrCreateEventSender(anyString())).thenReturn(senderTracker);
+
+        // which has spooled three events because no sender has been available
+        final Async spooled = ctx.async();
+        adapter.startInternal().compose(ok -> {
+            final ServerErrorException noSender = new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE);
+            return CompositeFuture.all(
+                    adapter.sendEvent(Future.failedFuture(noSender), "tenant", ProtonHelper.message("event/tenant", "1"), true),
+                    adapter.sendEvent(Future.failedFuture(noSender), "tenant", ProtonHelper.message("event/tenant", "2"), true),
+                    adapter.sendEvent(Future.failedFuture(noSender), "tenant", ProtonHelper.message("event/tenant", "3"), true));
+        }).setHandler(ctx.asyncAssertSuccess(ok -> spooled.complete()));
+        spooled.await();
+
+        // WHEN a sender becomes available
+        final List<String> payloads = new ArrayList<>();
+        final List<Future<ProtonDelivery>> outcomes = new ArrayList<>();
+        final Async forwarded = ctx.async();
+        final MessageSender sender = mock(MessageSender.class);
+        when(sender.sendAndWaitForOutcome(any(Message.class))).thenAnswer(invocation -> {
+            payloads.add(MessageHelper.getPayload(invocation.getArgument(0)));
+            final Future<ProtonDelivery> outcome = Future.future();
+            outcomes.add(outcome);
+            if (outcomes.size() == 3) {
+                forwarded.complete();
+            }
+            return outcome;
+        });
+        vertx.runOnContext(go -> senderTracker.complete(sender));
+
+        // THEN all events are forwarded in order without waiting for their outcome
+        forwarded.await();
+        ctx.assertEquals(Arrays.asList("1", "2", "3"), payloads);
+
+        // and are not forwarded again once they have been accepted
+        final Async accepted = ctx.async();
+        vertx.runOnContext(go -> {
+            outcomes.forEach(outcome -> outcome.complete(mock(ProtonDelivery.class)));
+            vertx.setTimer(100, check -> {
+                ctx.verify(v -> verify(sender, times(3)).sendAndWaitForOutcome(any(Message.class)));
+                accepted.complete();
+            });
+        });
+        accepted.await();
+        vertx.close();
+    }
+
     private AbstractProtocolAdapterBase<ProtocolAdapterProperties> newProtocolAdapter(final ProtocolAdapterProperties props) {
 
         return newProtocolAdapter(props, ADAPTER_NAME);
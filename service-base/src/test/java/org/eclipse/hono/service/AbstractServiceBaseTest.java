@@ -11,14 +11,19 @@
  */
 package org.eclipse.hono.service;
 
+import io.netty.handler.ssl.OpenSsl;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.net.JdkSSLEngineOptions;
+import io.vertx.core.net.NetServerOptions;
+import io.vertx.core.net.OpenSSLEngineOptions;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.util.Constants;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
@@ -237,4 +242,35 @@ public class AbstractServiceBaseTest {
         // THEN port configuration fails
         assertTrue(portConfigurationTracker.failed());
     }
+
+    /**
+     * Verifies that the JDK's TLS implementation is used unless OpenSSL
+     * has been enabled explicitly and is available.
+     */
+    @Test
+    public void testAddTlsKeyCertOptionsFallsBackToJdkSslEngine() {
+
+        // GIVEN a configuration with a key store set
+        final ServiceConfigProperties configProperties = new ServiceConfigProperties();
+        configProperties.setKeyStorePath("/etc/hono/certs/honoKeyStore.p12");
+        final AbstractServiceBase<ServiceConfigProperties> server = createServer(configProperties);
+
+        // WHEN adding the TLS options to server options
+        NetServerOptions options = new NetServerOptions();
+        server.addTlsKeyCertOptions(options);
+
+        // THEN the JDK's implementation is used
+        assertTrue(options.isSsl());
+        assertThat(options.getSslEngineOptions(), instanceOf(JdkSSLEngineOptions.class));
+
+        // and OpenSSL is used only if it is available
+        configProperties.setNativeTlsEnabled(true);
+        options = new NetServerOptions();
+        server.addTlsKeyCertOptions(options);
+        if (OpenSsl.isAvailable() && OpenSsl.supportsKeyManagerFactory()) {
+            assertThat(options.getSslEngineOptions(), instanceOf(OpenSSLEngineOptions.class));
+        } else {
+            assertThat(options.getSslEngineOptions(), instanceOf(JdkSSLEngineOptions.class));
+        }
+    }
 }
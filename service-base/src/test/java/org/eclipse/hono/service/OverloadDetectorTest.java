@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.HealthCheckHandler;
+import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ * Tests verifying behavior of {@link OverloadDetector}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class OverloadDetectorTest {
+
+    private Vertx vertx;
+    private AtomicLong now;
+    private OverloadDetector detector;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        vertx = mock(Vertx.class);
+        now = new AtomicLong(0);
+        detector = new OverloadDetector(vertx, "test", 100, 2, now::get);
+    }
+
+    /**
+     * Stops the detector.
+     */
+    @After
+    public void tearDown() {
+        detector.stop();
+    }
+
+    /**
+     * Verifies that the detector reports overload once the sampled event loop
+     * delay exceeds the threshold and recovers once the delay has decreased.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDetectorReportsOverloadBasedOnEventLoopDelay() {
+
+        final ArgumentCaptor<Handler<Long>> timerHandler = ArgumentCaptor.forClass(Handler.class);
+        when(vertx.setTimer(eq(OverloadDetector.SAMPLING_INTERVAL_MILLIS), timerHandler.capture())).thenReturn(1L);
+        detector.start();
+
+        // a single spike does not result in overload
+        now.addAndGet(OverloadDetector.SAMPLING_INTERVAL_MILLIS + 200);
+        timerHandler.getValue().handle(1L);
+        assertFalse(detector.isOverloaded());
+
+        // but a lasting delay does
+        for (int i = 0; i < 5; i++) {
+            now.addAndGet(OverloadDetector.SAMPLING_INTERVAL_MILLIS + 200);
+            timerHandler.getValue().handle(1L);
+        }
+        assertTrue(detector.isOverloaded());
+
+        for (int i = 0; i < 10; i++) {
+            now.addAndGet(OverloadDetector.SAMPLING_INTERVAL_MILLIS);
+            timerHandler.getValue().handle(1L);
+        }
+        assertFalse(detector.isOverloaded());
+    }
+
+    /**
+     * Verifies that the detector reports overload while the maximum number
+     * of outstanding requests are being processed.
+     */
+    @Test
+    public void testDetectorReportsOverloadBasedOnOutstandingRequests() {
+
+        detector.start();
+        detector.requestStarted();
+        assertFalse(detector.isOverloaded());
+        detector.requestStarted();
+        assertTrue(detector.isOverloaded());
+        detector.requestCompleted();
+        assertFalse(detector.isOverloaded());
+    }
+
+    /**
+     * Verifies that the readiness check fails while a detector is overloaded.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testReadinessCheckFailsOnOverload(final TestContext ctx) {
+
+        final HealthCheckHandler handler = mock(HealthCheckHandler.class);
+        OverloadDetector.registerReadinessCheck(handler, "test");
+        final ArgumentCaptor<Handler<Future<Status>>> check = ArgumentCaptor.forClass(Handler.class);
+        verify(handler).register(anyString(), check.capture());
+
+        detector.start();
+        final Future<Status> okStatus = Future.future();
+        check.getValue().handle(okStatus);
+        ctx.assertTrue(okStatus.result().isOk());
+
+        detector.requestStarted();
+        detector.requestStarted();
+        final Future<Status> koStatus = Future.future();
+        check.getValue().handle(koStatus);
+        ctx.assertFalse(koStatus.result().isOk());
+        ctx.assertEquals(2, koStatus.result().getData().getInteger("outstandingRequests"));
+    }
+
+    /**
+     * Verifies that no timer is scheduled if the event loop delay is not monitored.
+     */
+    @Test
+    public void testStartDoesNotScheduleTimerIfDelayIsNotMonitored() {
+
+        detector = new OverloadDetector(vertx, "test", 0, 0, now::get);
+        detector.start();
+        verify(vertx, never()).setTimer(anyLong(), any());
+    }
+}
@@ -18,18 +18,24 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.hamcrest.MockitoHamcrest.booleanThat;
 
+import org.apache.qpid.proton.amqp.Symbol;
 import org.apache.qpid.proton.amqp.messaging.Accepted;
+import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.amqp.messaging.Rejected;
 import org.apache.qpid.proton.amqp.transport.DeliveryState;
+import org.apache.qpid.proton.engine.impl.RecordImpl;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.auth.HonoUser;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.service.auth.AuthorizationService;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RequestResponseApiConstants;
 import org.eclipse.hono.util.ResourceIdentifier;
 import org.junit.Before;
 import org.junit.Test;
@@ -39,7 +45,10 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonConnection;
 import io.vertx.proton.ProtonDelivery;
 import io.vertx.proton.ProtonHelper;
@@ -202,6 +211,105 @@ public class RequestResponseEndpointTest {
         assertTrue(processingTracker.isComplete());
     }
 
+    /**
+     * Verifies that the endpoint issues credit only when responses to outstanding
+     * requests have been produced if a maximum number of requests in flight
+     * is configured.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testHandleMessageReplenishesCreditWhenResponseIsProduced() {
+
+        // GIVEN an endpoint that allows for two requests in flight per link
+        final ServiceConfigProperties config = new ServiceConfigProperties();
+        config.setMaxRequestsInFlightPerLink(2);
+        final AuthorizationService authService = mock(AuthorizationService.class);
+        when(authService.isAuthorized(any(HonoUser.class), any(ResourceIdentifier.class), anyString())).thenReturn(Future.succeededFuture(Boolean.TRUE));
+        final RequestResponseEndpoint<ServiceConfigProperties> endpoint = getEndpoint(true);
+        endpoint.setConfiguration(config);
+        endpoint.setAuthorizationService(authService);
+
+        final EventBus eventBus = mock(EventBus.class);
+        when(vertx.eventBus()).thenReturn(eventBus);
+        when(connection.attachments()).thenReturn(new RecordImpl());
+        when(receiver.attachments()).thenReturn(new RecordImpl());
+        when(receiver.getRemoteQoS()).thenReturn(ProtonQoS.AT_LEAST_ONCE);
+        when(receiver.getCredit()).thenReturn(0);
+
+        final ResourceIdentifier replyTo = ResourceIdentifier.from("endpoint", Constants.DEFAULT_TENANT, "reply-id");
+        endpoint.onLinkAttach(connection, sender, replyTo);
+        final ArgumentCaptor<Handler<io.vertx.core.eventbus.Message<JsonObject>>> responseHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(eventBus).consumer(eq(replyTo.toString()), responseHandler.capture());
+
+        // WHEN a client establishes a link
+        endpoint.onLinkAttach(connection, receiver, resource);
+
+        // THEN the endpoint grants credit for two requests only
+        verify(receiver).setPrefetch(0);
+        verify(receiver).flow(2);
+
+        // and does not replenish credit when the requests are received
+        endpoint.handleMessage(connection, receiver, resource, mock(ProtonDelivery.class), newRequest(replyTo, "request-1"));
+        endpoint.handleMessage(connection, receiver, resource, mock(ProtonDelivery.class), newRequest(replyTo, "request-2"));
+        verify(receiver, never()).flow(1);
+
+        // but when the response to one of the requests has been produced
+        final io.vertx.core.eventbus.Message<JsonObject> response = mock(io.vertx.core.eventbus.Message.class);
+        when(response.address()).thenReturn(replyTo.toString());
+        when(response.body()).thenReturn(EventBusMessage.forStatusCode(200).setCorrelationId("request-1").toJson());
+        responseHandler.getValue().handle(response);
+
+        // THEN credit for another request is issued
+        verify(receiver).flow(1);
+    }
+
+    /**
+     * Verifies that the endpoint offers the binary payload capability to clients
+     * asking for it and then sends response payload in a Data section.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testOnLinkAttachNegotiatesBinaryPayload() {
+
+        // GIVEN an endpoint
+        final EventBus eventBus = mock(EventBus.class);
+        when(vertx.eventBus()).thenReturn(eventBus);
+        final RequestResponseEndpoint<ServiceConfigProperties> endpoint = getEndpoint(true);
+
+        // WHEN a client establishes a link for receiving responses asking for binary payload
+        final Symbol[] capabilities = new Symbol[] { RequestResponseApiConstants.CAPABILITY_BINARY_PAYLOAD };
+        when(sender.getRemoteDesiredCapabilities()).thenReturn(capabilities);
+        final ResourceIdentifier replyTo = ResourceIdentifier.from("endpoint", Constants.DEFAULT_TENANT, "reply-id");
+        endpoint.onLinkAttach(connection, sender, replyTo);
+
+        // THEN the endpoint offers the capability
+        verify(sender).setOfferedCapabilities(capabilities);
+
+        // and sends the payload of responses in a Data section
+        final ArgumentCaptor<Handler<io.vertx.core.eventbus.Message<JsonObject>>> responseHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(eventBus).consumer(eq(replyTo.toString()), responseHandler.capture());
+        final io.vertx.core.eventbus.Message<JsonObject> response = mock(io.vertx.core.eventbus.Message.class);
+        when(response.address()).thenReturn(replyTo.toString());
+        when(response.body()).thenReturn(EventBusMessage.forStatusCode(200)
+                .setCorrelationId("request-1")
+                .setJsonPayload(new JsonObject().put("enabled", true))
+                .toJson());
+        responseHandler.getValue().handle(response);
+
+        final ArgumentCaptor<Message> reply = ArgumentCaptor.forClass(Message.class);
+        verify(sender).send(reply.capture());
+        assertThat(reply.getValue().getBody(), instanceOf(Data.class));
+        assertTrue(MessageHelper.getJsonPayload(reply.getValue()).getBoolean("enabled"));
+    }
+
+    private static Message newRequest(final ResourceIdentifier replyTo, final String messageId) {
+        final Message request = ProtonHelper.message();
+        request.setSubject("get");
+        request.setMessageId(messageId);
+        request.setReplyTo(replyTo.toString());
+        return request;
+    }
+
     private RequestResponseEndpoint<ServiceConfigProperties> getEndpoint(final boolean passesFormalVerification) {
         return getEndpoint(passesFormalVerification, Future.future());
     }
@@ -217,12 +325,12 @@ public class RequestResponseEndpointTest {
 
             @Override
             public void processRequest(final Message message, final ResourceIdentifier targetAddress, final HonoUser clientPrincipal) {
-                processingTracker.complete();
+                processingTracker.tryComplete();
             }
 
             @Override
             protected Message getAmqpReply(final EventBusMessage message) {
-                return null;
+                return RequestResponseApiConstants.getAmqpReply(getName(), message);
             }
 
             @Override
@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.auth.delegating;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.auth.HonoUser;
+import org.eclipse.hono.connection.ConnectionFactory;
+import org.eclipse.hono.service.auth.AuthTokenHelper;
+import org.eclipse.hono.util.AuthenticationConstants;
+import org.eclipse.hono.util.MessageHelper;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.proton.ProtonClientOptions;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonMessageHandler;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Tests verifying behavior of {@link DelegatingAuthenticationService}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class DelegatingAuthenticationServiceTest {
+
+    private static final String TOKEN = "the-token";
+
+    /**
+     * Time out each test after 5 seconds.
+     */
+    @Rule
+    public Timeout timeout = Timeout.seconds(5);
+
+    private ConnectionFactory factory;
+    private ProtonConnection connection;
+    private ProtonReceiver receiver;
+    private AtomicReference<Handler<AsyncResult<ProtonConnection>>> connectionResultHandler;
+    private DelegatingAuthenticationService service;
+
+    /**
+     * Sets up the fixture.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp(final TestContext ctx) {
+
+        final Vertx vertx = mock(Vertx.class);
+        when(vertx.eventBus()).thenReturn(mock(EventBus.class));
+
+        receiver = mock(ProtonReceiver.class);
+        when(receiver.openHandler(any(Handler.class))).thenReturn(receiver);
+        when(receiver.handler(any(ProtonMessageHandler.class))).thenReturn(receiver);
+        connection = mock(ProtonConnection.class);
+        when(connection.createReceiver(anyString())).thenReturn(receiver);
+
+        connectionResultHandler = new AtomicReference<>();
+        factory = mock(ConnectionFactory.class);
+        doAnswer(invocation -> {
+            connectionResultHandler.set(invocation.getArgument(5));
+            return null;
+        }).when(factory).connect(any(ProtonClientOptions.class), anyString(), anyString(), any(), any(), any(Handler.class));
+
+        final Claims claims = mock(Claims.class);
+        when(claims.getExpiration()).thenReturn(Date.from(Instant.now().plusSeconds(60)));
+        final Jws<Claims> expandedToken = mock(Jws.class);
+        when(expandedToken.getBody()).thenReturn(claims);
+        final AuthTokenHelper tokenValidator = mock(AuthTokenHelper.class);
+        when(tokenValidator.expand(TOKEN)).thenReturn(expandedToken);
+
+        service = new DelegatingAuthenticationService();
+        service.setConfig(new AuthenticationServerClientConfigProperties());
+        service.setConnectionFactory(factory);
+        service.setTokenValidator(tokenValidator);
+        service.init(vertx, mock(Context.class));
+        final Future<Void> startup = Future.future();
+        service.start(startup);
+        ctx.assertTrue(startup.succeeded());
+    }
+
+    /**
+     * Verifies that concurrent requests containing the same credentials are sent to the
+     * Authentication service only once and that the issued token is used for subsequent requests.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testVerifyPlainUsesCachedToken(final TestContext ctx) {
+
+        final Async firstResult = ctx.async(2);
+        final Handler<AsyncResult<HonoUser>> resultHandler = result -> {
+            ctx.assertTrue(result.succeeded());
+            ctx.assertEquals(TOKEN, result.result().getToken());
+            firstResult.countDown();
+        };
+
+        // WHEN two requests containing the same credentials are processed concurrently
+        service.verifyPlain(null, "user", "pwd", resultHandler);
+        service.verifyPlain(null, "user", "pwd", resultHandler);
+
+        // and the Authentication service issues a token
+        issueToken();
+        firstResult.await();
+
+        // THEN a single connection has been established
+        // and subsequent requests do not connect to the Authentication service again
+        service.verifyPlain(null, "user", "pwd", ctx.asyncAssertSuccess(user -> {
+            ctx.assertEquals(TOKEN, user.getToken());
+            verify(factory, times(1)).connect(any(ProtonClientOptions.class), eq("user"), eq("pwd"), any(), any(), any());
+        }));
+    }
+
+    /**
+     * Verifies that requests containing different credentials are not served
+     * from the cache.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testVerifyPlainDoesNotUseTokenOfOtherCredentials(final TestContext ctx) {
+
+        final Async firstResult = ctx.async();
+        service.verifyPlain(null, "user", "pwd", ctx.asyncAssertSuccess(user -> firstResult.complete()));
+        issueToken();
+        firstResult.await();
+
+        service.verifyPlain(null, "user", "other-pwd", result -> {});
+        verify(factory).connect(any(ProtonClientOptions.class), eq("user"), eq("other-pwd"), any(), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void issueToken() {
+
+        connectionResultHandler.get().handle(Future.succeededFuture(connection));
+
+        final ArgumentCaptor<Handler<AsyncResult<ProtonReceiver>>> openHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(receiver).openHandler(openHandler.capture());
+        openHandler.getValue().handle(Future.succeededFuture(receiver));
+
+        final ArgumentCaptor<ProtonMessageHandler> messageHandler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
+        verify(receiver).handler(messageHandler.capture());
+        final Message token = ProtonHelper.message(TOKEN);
+        MessageHelper.addProperty(token, AuthenticationConstants.APPLICATION_PROPERTY_TYPE, AuthenticationConstants.TYPE_AMQP_JWT);
+        messageHandler.getValue().handle(null, token);
+    }
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.auth.device;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.service.metric.Metrics;
+import org.eclipse.hono.util.CredentialsObject;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ * Tests verifying behavior of {@link CredentialsValidationExecutor}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class CredentialsValidationExecutorTest {
+
+    private static Vertx vertx;
+
+    /**
+     * Time out all tests after 5 secs.
+     */
+    @Rule
+    public Timeout globalTimeout = new Timeout(5, TimeUnit.SECONDS);
+
+    private CredentialsObject credentialsOnRecord;
+    private DeviceCredentials deviceCredentials;
+    private Metrics metrics;
+    private CredentialsValidationExecutor executor;
+
+    /**
+     * Sets up vert.x.
+     */
+    @BeforeClass
+    public static void init() {
+        vertx = Vertx.vertx();
+    }
+
+    /**
+     * Closes vert.x.
+     */
+    @AfterClass
+    public static void shutDown() {
+        vertx.close();
+    }
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        credentialsOnRecord = new CredentialsObject("device", "device", "hashed-password");
+        deviceCredentials = mock(DeviceCredentials.class);
+        metrics = mock(Metrics.class);
+    }
+
+    /**
+     * Releases the executor's worker threads.
+     */
+    @After
+    public void closeExecutor() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    /**
+     * Verifies that credentials are validated on a worker thread and that the
+     * outcome is reported on the caller's context.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testValidateRunsOnWorkerThread(final TestContext ctx) {
+
+        final Context context = vertx.getOrCreateContext();
+        when(deviceCredentials.validate(any(CredentialsObject.class))).thenAnswer(invocation -> {
+            ctx.assertFalse(Context.isOnEventLoopThread());
+            return Boolean.TRUE;
+        });
+
+        final Async validation = ctx.async();
+        context.runOnContext(go -> {
+            executor = new CredentialsValidationExecutor(vertx, 1, 0, metrics);
+            executor.validate(deviceCredentials, credentialsOnRecord).setHandler(ctx.asyncAssertSuccess(valid -> {
+                ctx.assertTrue(valid);
+                ctx.assertEquals(context, Vertx.currentContext());
+                ctx.assertEquals(0, executor.getPendingValidations());
+                verify(metrics).incrementPendingCredentialsValidations();
+                verify(metrics).decrementPendingCredentialsValidations(anyLong());
+                validation.complete();
+            }));
+        });
+    }
+
+    /**
+     * Verifies that the executor rejects a validation while too many validations are pending.
+     *
+     * @param ctx The vert.x test context.
+     * @throws InterruptedException if the test is interrupted while waiting for the validation to start.
+     */
+    @Test
+    public void testValidateFailsIfTooManyValidationsArePending(final TestContext ctx) throws InterruptedException {
+
+        // GIVEN an executor with a single thread and no queue
+        // which is busy validating credentials
+        final CountDownLatch validationStarted = new CountDownLatch(1);
+        final CountDownLatch releaseValidation = new CountDownLatch(1);
+        when(deviceCredentials.validate(any(CredentialsObject.class))).thenAnswer(invocation -> {
+            validationStarted.countDown();
+            releaseValidation.await();
+            return Boolean.TRUE;
+        });
+        executor = new CredentialsValidationExecutor(vertx, 1, 0, metrics);
+        final Async firstValidation = ctx.async();
+        executor.validate(deviceCredentials, credentialsOnRecord).setHandler(ctx.asyncAssertSuccess(valid -> {
+            firstValidation.complete();
+        }));
+        validationStarted.await();
+
+        // WHEN another validation is submitted
+        executor.validate(deviceCredentials, credentialsOnRecord).setHandler(ctx.asyncAssertFailure(t -> {
+            // THEN the validation is rejected with a 503
+            ctx.assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, ((ServerErrorException) t).getErrorCode());
+            verify(metrics).incrementRejectedCredentialsValidations();
+        }));
+        ctx.assertEquals(1, executor.getPendingValidations());
+
+        // and the first validation completes once it is released
+        releaseValidation.countDown();
+        firstValidation.await();
+    }
+
+    /**
+     * Verifies that credentials are validated on the calling thread if
+     * the pool size is 0.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testValidateRunsOnCallingThreadIfPoolSizeIsZero(final TestContext ctx) {
+
+        final Thread caller = Thread.currentThread();
+        when(deviceCredentials.validate(any(CredentialsObject.class))).thenAnswer(invocation -> {
+            ctx.assertEquals(caller, Thread.currentThread());
+            return Boolean.FALSE;
+        });
+        executor = new CredentialsValidationExecutor(vertx, 0, 0, metrics);
+        executor.validate(deviceCredentials, credentialsOnRecord).setHandler(ctx.asyncAssertSuccess(valid -> {
+            ctx.assertFalse(valid);
+            verify(metrics, never()).incrementPendingCredentialsValidations();
+        }));
+    }
+}
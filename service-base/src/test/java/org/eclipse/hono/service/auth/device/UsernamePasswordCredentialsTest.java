@@ -17,6 +17,7 @@ import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 
+import org.eclipse.hono.auth.PasswordHashFunctions;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.CredentialsConstants;
 import org.eclipse.hono.util.CredentialsObject;
@@ -150,6 +151,41 @@ public class UsernamePasswordCredentialsTest {
         assertFalse(credentials.matchesCredentials(candidateSecret));
     }
 
+    /**
+     * Verifies that credentials are matched against secrets that have been
+     * hashed using PBKDF2.
+     */
+    @Test
+    public void testMatchesCredentialsSupportsPbkdf2() {
+
+        // GIVEN a secret on record that uses PBKDF2 as the hash function
+        final byte[] salt = "TheSalt".getBytes(StandardCharsets.UTF_8);
+        final JsonObject candidateSecret = CredentialsObject.hashedPasswordSecret(
+                TEST_PASSWORD, PasswordHashFunctions.HASH_FUNCTION_PBKDF2_SHA256, null, null, salt);
+
+        // WHEN a device provides matching credentials
+        // THEN verification of the credentials succeeds
+        assertTrue(UsernamePasswordCredentials.create(TEST_USER_OTHER_TENANT, TEST_PASSWORD, false)
+                .matchesCredentials(candidateSecret));
+        // and fails for non-matching credentials
+        assertFalse(UsernamePasswordCredentials.create(TEST_USER_OTHER_TENANT, "wrongpassword", false)
+                .matchesCredentials(candidateSecret));
+    }
+
+    /**
+     * Verifies that matching fails for secrets using an unsupported hash function.
+     */
+    @Test
+    public void testMatchesCredentialsFailsForUnsupportedHashFunction() {
+
+        final JsonObject candidateSecret = new JsonObject()
+                .put(CredentialsConstants.FIELD_SECRETS_HASH_FUNCTION, "unsupported")
+                .put(CredentialsConstants.FIELD_SECRETS_PWD_HASH, "aGFzaA==");
+
+        assertFalse(UsernamePasswordCredentials.create(TEST_USER_OTHER_TENANT, TEST_PASSWORD, false)
+                .matchesCredentials(candidateSecret));
+    }
+
     private String getHashedPassword(final String hashFunction, final byte[] salt, final String password) throws NoSuchAlgorithmException {
         return Base64.getEncoder().encodeToString(
                 CredentialsObject.getHashedPassword(hashFunction, salt, password));
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests verifying behavior of {@link BoundedExpiringValueCache}.
+ *
+ */
+public class BoundedExpiringValueCacheTest {
+
+    private AtomicLong now;
+    private BoundedExpiringValueCache<String, String> cache;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        now = new AtomicLong(100_000L);
+        cache = new BoundedExpiringValueCache<>(2, 3, 0.8f, now::get);
+    }
+
+    /**
+     * Verifies that the cache returns non-expired values only.
+     */
+    @Test
+    public void testGetReturnsNonExpiredValues() {
+
+        cache.put("key", "hello", Duration.ofSeconds(10));
+        assertThat(cache.get("key"), is("hello"));
+
+        now.addAndGet(10_000L);
+        assertNull(cache.get("key"));
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getExpirationCount(), is(1L));
+    }
+
+    /**
+     * Verifies that the least recently used entry is evicted once the
+     * maximum size has been reached.
+     */
+    @Test
+    public void testPutEvictsLeastRecentlyUsedEntry() {
+
+        cache.put("one", "1", Duration.ofSeconds(10));
+        cache.put("two", "2", Duration.ofSeconds(10));
+        cache.put("three", "3", Duration.ofSeconds(10));
+        // access "one" so that "two" becomes the least recently used entry
+        cache.get("one");
+
+        cache.put("four", "4", Duration.ofSeconds(10));
+
+        assertThat(cache.size(), is(3));
+        assertThat(cache.getEvictionCount(), is(1L));
+        assertNull(cache.get("two"));
+        assertThat(cache.get("one"), is("1"));
+        assertThat(cache.get("three"), is("3"));
+        assertThat(cache.get("four"), is("4"));
+    }
+
+    /**
+     * Verifies that a refresh is requested exactly once for a value that
+     * has reached the refresh threshold and again after it has been replaced.
+     */
+    @Test
+    public void testIsRefreshRequiredReturnsTrueOnceAfterThreshold() {
+
+        cache.put("key", "hello", Duration.ofSeconds(10));
+        assertFalse(cache.isRefreshRequired("key"));
+
+        now.addAndGet(8_000L);
+        assertTrue(cache.isRefreshRequired("key"));
+        assertFalse(cache.isRefreshRequired("key"));
+        // the value is still served until it expires
+        assertThat(cache.get("key"), is("hello"));
+
+        cache.put("key", "renewed", Duration.ofSeconds(10));
+        assertFalse(cache.isRefreshRequired("key"));
+        now.addAndGet(8_000L);
+        assertTrue(cache.isRefreshRequired("key"));
+    }
+
+    /**
+     * Verifies that no refresh is requested if refresh-ahead is disabled.
+     */
+    @Test
+    public void testIsRefreshRequiredReturnsFalseIfDisabled() {
+
+        cache = new BoundedExpiringValueCache<>(2, 3, 0f, now::get);
+        cache.put("key", "hello", Duration.ofSeconds(10));
+        now.addAndGet(9_999L);
+        assertFalse(cache.isRefreshRequired("key"));
+    }
+
+    /**
+     * Verifies that only the entries matching a filter are removed.
+     */
+    @Test
+    public void testRemoveIfRemovesMatchingEntriesOnly() {
+
+        cache.put("one", "1", Duration.ofSeconds(10));
+        cache.put("two", "2", Duration.ofSeconds(10));
+
+        cache.removeIf(key -> key.startsWith("o"));
+
+        assertNull(cache.get("one"));
+        assertThat(cache.get("two"), is("2"));
+        assertThat(cache.size(), is(1));
+    }
+
+    /**
+     * Verifies that the cache rejects values that are already expired.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutRejectsExpiredValue() {
+        cache.put("key", "hello", Duration.ZERO);
+    }
+}
@@ -86,4 +86,14 @@ public class SpringBasedExpiringValueCacheTest {
         verify(springCache).evict("key");
     }
 
+    /**
+     * Verifies that removing values by predicate clears the whole cache
+     * because Spring caches cannot iterate over their keys.
+     */
+    @Test
+    public void testRemoveIfClearsCache() {
+
+        cache.removeIf(key -> false);
+        verify(springCache).clear();
+    }
 }
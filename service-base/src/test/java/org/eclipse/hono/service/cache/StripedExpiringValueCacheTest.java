@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests verifying behavior of {@link StripedExpiringValueCache}.
+ *
+ */
+public class StripedExpiringValueCacheTest {
+
+    private AtomicLong now;
+    private StripedExpiringValueCache<String, String> cache;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        now = new AtomicLong(100_000L);
+        cache = new StripedExpiringValueCache<>(10, 100, 0.8f, 4, now::get);
+    }
+
+    /**
+     * Verifies that the number of stripes is rounded up to a power of two
+     * and is limited by the cache's maximum size.
+     */
+    @Test
+    public void testStripeCountIsPowerOfTwoLimitedByMaxSize() {
+
+        assertThat(new StripedExpiringValueCache<String, String>(0, 100, 0, 3).getStripeCount(), is(4));
+        assertThat(new StripedExpiringValueCache<String, String>(0, 100, 0, 16).getStripeCount(), is(16));
+        assertThat(new StripedExpiringValueCache<String, String>(0, 5, 0, 16).getStripeCount(), is(4));
+        assertThat(new StripedExpiringValueCache<String, String>(0, 1, 0, 16).getStripeCount(), is(1));
+    }
+
+    /**
+     * Verifies that values put to the cache can be retrieved from any stripe
+     * until they expire and that the statistics are aggregated over all stripes.
+     */
+    @Test
+    public void testGetReturnsNonExpiredValuesFromAllStripes() {
+
+        final List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            keys.add("key-" + i);
+            cache.put("key-" + i, "value-" + i, Duration.ofSeconds(10));
+        }
+        assertThat(cache.size(), is(20));
+        for (int i = 0; i < keys.size(); i++) {
+            assertThat(cache.get(keys.get(i)), is("value-" + i));
+        }
+        assertNull(cache.get("unknown"));
+        assertThat(cache.getHitCount(), is(20L));
+        assertThat(cache.getMissCount(), is(1L));
+
+        now.addAndGet(10_000L);
+        for (final String key : keys) {
+            assertNull(cache.get(key));
+        }
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getExpirationCount(), is(20L));
+    }
+
+    /**
+     * Verifies that the cache never holds more than its maximum number of entries.
+     */
+    @Test
+    public void testPutEvictsEntriesBeyondMaxSize() {
+
+        for (int i = 0; i < 500; i++) {
+            cache.put("key-" + i, "value", Duration.ofSeconds(10));
+        }
+        assertTrue(cache.size() <= 100);
+        assertThat(cache.getEvictionCount(), is(500L - cache.size()));
+    }
+
+    /**
+     * Verifies that refresh-ahead is delegated to the stripe holding the key.
+     */
+    @Test
+    public void testIsRefreshRequiredAfterThreshold() {
+
+        cache.put("key", "value", Duration.ofSeconds(10));
+        assertFalse(cache.isRefreshRequired("key"));
+        now.addAndGet(8_000L);
+        assertTrue(cache.isRefreshRequired("key"));
+        assertFalse(cache.isRefreshRequired("key"));
+        assertFalse(cache.isRefreshRequired(null));
+    }
+}
@@ -0,0 +1,326 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.http;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.handler.BodyHandler;
+
+/**
+ * Tests verifying behavior of {@link BulkOperations}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class BulkOperationsTest {
+
+    /**
+     * Time out each test after 5 seconds.
+     */
+    @Rule
+    public Timeout timeout = Timeout.seconds(5);
+
+    private Vertx vertx;
+    private HttpServer server;
+    private HttpClient client;
+    private Function<List<JsonObject>, Future<JsonArray>> batchProcessor;
+    private BiFunction<JsonObject, Integer, Future<JsonArray>> pageSupplier;
+
+    /**
+     * Starts an HTTP server exposing bulk import and export resources.
+     * <p>
+     * The server limits the size of request bodies to 100 bytes for all
+     * requests but import requests. Import requests may contain up to 10 entries
+     * of at most 50 bytes each.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Before
+    public void setUp(final TestContext ctx) {
+
+        vertx = Vertx.vertx();
+        final Router router = Router.router(vertx);
+        BulkOperations.markImportRoute(router, HttpMethod.POST, "/import");
+        router.route().handler(BulkOperations.skipImportRequests(BodyHandler.create().setBodyLimit(100)));
+        router.post("/import").handler(routingContext -> BulkOperations.processImport(
+                routingContext, 2, 50, 10, batch -> batchProcessor.apply(batch)));
+        router.post("/other").handler(routingContext -> routingContext.response().end());
+        router.get("/export").handler(routingContext -> BulkOperations.processExport(
+                routingContext, 2, (last, limit) -> pageSupplier.apply(last, limit)));
+        server = vertx.createHttpServer();
+        server.requestHandler(router::accept).listen(0, "localhost", ctx.asyncAssertSuccess(s -> {
+            client = vertx.createHttpClient();
+        }));
+    }
+
+    /**
+     * Shuts down the server.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @After
+    public void tearDown(final TestContext ctx) {
+        vertx.close(ctx.asyncAssertSuccess());
+    }
+
+    /**
+     * Verifies that entities contained in an NDJSON request body are processed in batches
+     * and that the results are streamed back in order.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testImportProcessesNdJsonInBatches(final TestContext ctx) {
+
+        final List<Integer> batchSizes = new ArrayList<>();
+        batchProcessor = batch -> {
+            batchSizes.add(batch.size());
+            return Future.succeededFuture(results(batch));
+        };
+
+        final Async response = ctx.async();
+        final HttpClientRequest request = client.post(server.actualPort(), "localhost", "/import", res -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_OK, res.statusCode());
+            res.bodyHandler(body -> {
+                final String[] lines = body.toString().split("\n");
+                ctx.assertEquals(5, lines.length);
+                for (int i = 0; i < lines.length; i++) {
+                    ctx.assertEquals(i, new JsonObject(lines[i]).getInteger("id"));
+                }
+                // the parser may emit a chunk's remaining entries while the request is paused
+                ctx.assertEquals(5, batchSizes.stream().mapToInt(Integer::intValue).sum());
+                ctx.assertTrue(batchSizes.size() >= 2);
+                response.complete();
+            });
+        });
+        request.setChunked(true).putHeader(HttpHeaders.CONTENT_TYPE, HttpUtils.CONTENT_TYPE_NDJSON);
+        for (int i = 0; i < 5; i++) {
+            request.write(new JsonObject().put("id", i).encode() + "\n");
+        }
+        request.end();
+    }
+
+    /**
+     * Verifies that entities contained in a JSON array are processed.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testImportAcceptsJsonArray(final TestContext ctx) {
+
+        batchProcessor = batch -> Future.succeededFuture(results(batch));
+
+        final JsonArray entities = new JsonArray()
+                .add(new JsonObject().put("id", 0))
+                .add(new JsonObject().put("id", 1))
+                .add(new JsonObject().put("id", 2));
+        final Async response = ctx.async();
+        client.post(server.actualPort(), "localhost", "/import", res -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_OK, res.statusCode());
+            res.bodyHandler(body -> {
+                ctx.assertEquals(3, body.toString().split("\n").length);
+                response.complete();
+            });
+        }).putHeader(HttpHeaders.CONTENT_TYPE, HttpUtils.CONTENT_TYPE_NDJSON).end(entities.encode());
+    }
+
+    /**
+     * Verifies that a request containing malformed JSON is rejected.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testImportRejectsMalformedJson(final TestContext ctx) {
+
+        batchProcessor = batch -> {
+            ctx.fail("should not process malformed request");
+            return Future.failedFuture("unexpected");
+        };
+
+        final Async response = ctx.async();
+        client.post(server.actualPort(), "localhost", "/import", res -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, res.statusCode());
+            response.complete();
+        }).putHeader(HttpHeaders.CONTENT_TYPE, HttpUtils.CONTENT_TYPE_NDJSON).end("{\"id\": ");
+    }
+
+    /**
+     * Verifies that a request containing an entry exceeding the maximum entry size
+     * is rejected with a 413 status code.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testImportRejectsTooLargeEntry(final TestContext ctx) {
+
+        batchProcessor = batch -> {
+            ctx.fail("should not process entry exceeding size limit");
+            return Future.failedFuture("unexpected");
+        };
+
+        final StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            name.append('x');
+        }
+        final Async response = ctx.async();
+        client.post(server.actualPort(), "localhost", "/import", res -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_ENTITY_TOO_LARGE, res.statusCode());
+            response.complete();
+        }).putHeader(HttpHeaders.CONTENT_TYPE, HttpUtils.CONTENT_TYPE_NDJSON)
+        .end(new JsonObject().put("id", 0).put("name", name.toString()).encode());
+    }
+
+    /**
+     * Verifies that a chunk containing many entries which are smaller than the
+     * maximum entry size is not rejected, even if the chunk itself exceeds the
+     * maximum entry size.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testImportAcceptsChunkExceedingMaxEntrySize(final TestContext ctx) {
+
+        batchProcessor = batch -> Future.succeededFuture(results(batch));
+
+        final StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            body.append(new JsonObject().put("id", i).encode()).append('\n');
+        }
+        final Async response = ctx.async();
+        client.post(server.actualPort(), "localhost", "/import", res -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_OK, res.statusCode());
+            res.bodyHandler(b -> {
+                ctx.assertEquals(10, b.toString().split("\n").length);
+                response.complete();
+            });
+        }).putHeader(HttpHeaders.CONTENT_TYPE, HttpUtils.CONTENT_TYPE_NDJSON).end(body.toString());
+    }
+
+    /**
+     * Verifies that a request containing more than the maximum number of entries
+     * is rejected.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testImportRejectsTooManyEntries(final TestContext ctx) {
+
+        batchProcessor = batch -> Future.succeededFuture(results(batch));
+
+        final StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 11; i++) {
+            body.append(new JsonObject().put("id", i).encode()).append('\n');
+        }
+        final Async response = ctx.async();
+        client.post(server.actualPort(), "localhost", "/import", res -> {
+            if (res.statusCode() == HttpURLConnection.HTTP_OK) {
+                // results of some batches may have been written already
+                res.bodyHandler(b -> {
+                    final String[] lines = b.toString().split("\n");
+                    ctx.assertTrue(new JsonObject(lines[lines.length - 1]).containsKey("error"));
+                    response.complete();
+                });
+            } else {
+                ctx.assertEquals(HttpURLConnection.HTTP_ENTITY_TOO_LARGE, res.statusCode());
+                response.complete();
+            }
+        }).putHeader(HttpHeaders.CONTENT_TYPE, HttpUtils.CONTENT_TYPE_NDJSON).end(body.toString());
+    }
+
+    /**
+     * Verifies that the body of an NDJSON request to a resource which has not been
+     * marked as an import resource is still limited by the body handler.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testBodyHandlerLimitsNdJsonRequestsToOtherResources(final TestContext ctx) {
+
+        final StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            body.append(new JsonObject().put("id", i).encode()).append('\n');
+        }
+        final Async response = ctx.async();
+        client.post(server.actualPort(), "localhost", "/other", res -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_ENTITY_TOO_LARGE, res.statusCode());
+            response.complete();
+        }).putHeader(HttpHeaders.CONTENT_TYPE, HttpUtils.CONTENT_TYPE_NDJSON).end(body.toString());
+    }
+
+    /**
+     * Verifies that all pages are exported and that each page is retrieved
+     * based on the last entity of the previous page.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testExportWritesAllPages(final TestContext ctx) {
+
+        final List<JsonObject> lastEntities = new ArrayList<>();
+        pageSupplier = (last, limit) -> {
+            lastEntities.add(last);
+            final int first = last == null ? 0 : last.getInteger("id") + 1;
+            final JsonArray page = new JsonArray();
+            for (int i = first; i < Math.min(first + limit, 5); i++) {
+                page.add(new JsonObject().put("id", i));
+            }
+            return Future.succeededFuture(page);
+        };
+
+        final Async response = ctx.async();
+        client.get(server.actualPort(), "localhost", "/export", res -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_OK, res.statusCode());
+            ctx.assertEquals(HttpUtils.CONTENT_TYPE_NDJSON, res.getHeader(HttpHeaders.CONTENT_TYPE));
+            res.bodyHandler(body -> {
+                final String[] lines = body.toString().split("\n");
+                ctx.assertEquals(5, lines.length);
+                ctx.assertEquals(4, new JsonObject(lines[4]).getInteger("id"));
+                ctx.assertEquals(3, lastEntities.size());
+                ctx.assertNull(lastEntities.get(0));
+                ctx.assertEquals(1, lastEntities.get(1).getInteger("id"));
+                ctx.assertEquals(3, lastEntities.get(2).getInteger("id"));
+                response.complete();
+            });
+        }).end();
+    }
+
+    private static JsonArray results(final List<JsonObject> batch) {
+        final JsonArray results = new JsonArray();
+        batch.forEach(entity -> results.add(new JsonObject().put("id", entity.getInteger("id")).put("status", 201)));
+        return results;
+    }
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.service.spool;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.service.spool.EventSpool.SpooledEvent;
+import org.eclipse.hono.util.MessageHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.vertx.proton.ProtonHelper;
+
+/**
+ * Tests verifying behavior of {@link EventSpool}.
+ *
+ */
+public class EventSpoolTest {
+
+    /**
+     * A folder to create the spool in.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path baseDir;
+    private EventSpool spool;
+
+    /**
+     * Sets up the fixture.
+     *
+     * @throws IOException if the spool cannot be opened.
+     */
+    @Before
+    public void setUp() throws IOException {
+        baseDir = folder.getRoot().toPath();
+        spool = EventSpool.open(baseDir, 1024 * 1024, 0, EventSpool.MIN_SEGMENT_SIZE);
+    }
+
+    /**
+     * Closes the spool.
+     *
+     * @throws IOException if the spool cannot be closed.
+     */
+    @After
+    public void tearDown() throws IOException {
+        if (spool != null) {
+            spool.close();
+        }
+    }
+
+    /**
+     * Verifies that events are returned in the order in which they have been appended.
+     *
+     * @throws IOException if the spool cannot be accessed.
+     */
+    @Test
+    public void testPeekReturnsEventsInOrder() throws IOException {
+
+        assertTrue(spool.append("tenant", newEvent("device-1")));
+        assertTrue(spool.append("other", newEvent("device-2")));
+        assertThat(spool.getCount(), is(2L));
+
+        assertEvent(spool.peek(), "tenant", "device-1");
+        spool.remove();
+        assertEvent(spool.peek(), "other", "device-2");
+        spool.remove();
+        assertTrue(spool.isEmpty());
+        assertThat(spool.getSize(), is(0L));
+        assertThat(spool.peek(), is(nullValue()));
+    }
+
+    /**
+     * Verifies that events spanning multiple segments are returned in order and
+     * that segments are deleted once they have been read.
+     *
+     * @throws IOException if the spool cannot be accessed.
+     */
+    @Test
+    public void testEventsSpanMultipleSegments() throws IOException {
+
+        final int events = 200;
+        for (int i = 0; i < events; i++) {
+            assertTrue(spool.append("tenant", newEvent("device-" + i)));
+        }
+        for (int i = 0; i < events; i++) {
+            assertEvent(spool.peek(), "tenant", "device-" + i);
+            spool.remove();
+        }
+        assertTrue(spool.isEmpty());
+        assertThat(spool.getDirectory().toFile().list((dir, name) -> name.startsWith("segment-")).length, is(1));
+    }
+
+    /**
+     * Verifies that several events spanning multiple segments can be retrieved
+     * at once without removing them from the spool.
+     *
+     * @throws IOException if the spool cannot be accessed.
+     */
+    @Test
+    public void testPeekReturnsMultipleEventsWithoutRemovingThem() throws IOException {
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(spool.append("tenant", newEvent("device-" + i)));
+        }
+        spool.remove();
+
+        final List<SpooledEvent> events = spool.peek(60);
+        assertThat(events.size(), is(60));
+        for (int i = 0; i < events.size(); i++) {
+            assertEvent(events.get(i), "tenant", "device-" + (i + 1));
+        }
+        assertThat(spool.getCount(), is(99L));
+        assertThat(spool.peek(200).size(), is(99));
+        assertEvent(spool.peek(), "tenant", "device-1");
+    }
+
+    /**
+     * Verifies that events that have not been removed are recovered when the
+     * spool is opened again.
+     *
+     * @throws IOException if the spool cannot be accessed.
+     */
+    @Test
+    public void testOpenRecoversSpooledEvents() throws IOException {
+
+        for (int i = 0; i < 100; i++) {
+            spool.append("tenant", newEvent("device-" + i));
+        }
+        for (int i = 0; i < 40; i++) {
+            spool.remove();
+        }
+        final long size = spool.getSize();
+        spool.close();
+
+        spool = EventSpool.open(baseDir, 1024 * 1024, 0, EventSpool.MIN_SEGMENT_SIZE);
+        assertThat(spool.getCount(), is(60L));
+        assertThat(spool.getSize(), is(size));
+        assertThat(spool.getSize("tenant"), is(size));
+        assertEvent(spool.peek(), "tenant", "device-40");
+
+        // and new events are appended after the recovered ones
+        spool.append("tenant", newEvent("new-device"));
+        for (int i = 0; i < 60; i++) {
+            spool.remove();
+        }
+        assertEvent(spool.peek(), "tenant", "new-device");
+    }
+
+    /**
+     * Verifies that events are rejected if the spool's limits are exceeded.
+     *
+     * @throws IOException if the spool cannot be accessed.
+     */
+    @Test
+    public void testAppendFailsIfLimitIsExceeded() throws IOException {
+
+        spool.close();
+        spool = EventSpool.open(baseDir, 1024, 300, EventSpool.MIN_SEGMENT_SIZE);
+
+        // GIVEN a spool that contains events of a tenant up to its limit
+        while (spool.append("tenant", newEvent("device"))) {
+            // fill up
+        }
+        assertThat(spool.getCount(), is(not(0L)));
+
+        // THEN events of other tenants can still be spooled
+        assertTrue(spool.append("other", newEvent("device")));
+
+        // until the overall limit has been reached
+        int i = 0;
+        while (spool.append("tenant-" + i, newEvent("device"))) {
+            i++;
+        }
+        assertFalse(spool.append("tenant-" + i, newEvent("device")));
+        assertTrue(spool.getSize() <= 1024);
+
+        // and events can be spooled again once events have been removed
+        spool.remove();
+        assertTrue(spool.append("tenant", newEvent("device")));
+    }
+
+    /**
+     * Verifies that spools opened in the same base directory use distinct directories.
+     *
+     * @throws IOException if the spool cannot be accessed.
+     */
+    @Test
+    public void testOpenUsesUnlockedDirectory() throws IOException {
+
+        final EventSpool other = EventSpool.open(baseDir, 1024, 0, EventSpool.MIN_SEGMENT_SIZE);
+        try {
+            assertThat(other.getDirectory(), is(not(spool.getDirectory())));
+        } finally {
+            other.close();
+        }
+    }
+
+    private static Message newEvent(final String deviceId) {
+        final Message event = ProtonHelper.message("event/tenant", "some payload");
+        MessageHelper.addDeviceId(event, deviceId);
+        return event;
+    }
+
+    private static void assertEvent(final SpooledEvent event, final String tenantId, final String deviceId) {
+        assertThat(event.getTenantId(), is(tenantId));
+        assertThat(MessageHelper.getDeviceId(event.getMessage()), is(deviceId));
+        assertThat(MessageHelper.getPayload(event.getMessage()), is("some payload"));
+    }
+}
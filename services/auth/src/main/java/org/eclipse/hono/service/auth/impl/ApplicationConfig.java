@@ -46,6 +46,7 @@ public class ApplicationConfig {
     public Vertx vertx() {
         VertxOptions options = new VertxOptions()
                 .setWarningExceptionTime(1500000000)
+                .setPreferNativeTransport(true) // use epoll on Linux if available on the class path
                 .setAddressResolverOptions(new AddressResolverOptions()
                         .setCacheNegativeTimeToLive(0) // discard failed DNS lookup results immediately
                         .setCacheMaxTimeToLive(0) // support DNS based service resolution
@@ -19,6 +19,7 @@ import org.eclipse.hono.config.ApplicationConfigProperties;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.service.credentials.CredentialsAmqpEndpoint;
 import org.eclipse.hono.service.credentials.CredentialsHttpEndpoint;
+import org.eclipse.hono.service.notification.NotificationAmqpEndpoint;
 import org.eclipse.hono.service.registration.RegistrationAssertionHelper;
 import org.eclipse.hono.service.registration.RegistrationAssertionHelperImpl;
 import org.eclipse.hono.service.registration.RegistrationHttpEndpoint;
@@ -54,6 +55,7 @@ public class ApplicationConfig {
     public Vertx vertx() {
         VertxOptions options = new VertxOptions()
                 .setWarningExceptionTime(1500000000)
+                .setPreferNativeTransport(true) // use epoll on Linux if available on the class path
                 .setAddressResolverOptions(new AddressResolverOptions()
                         .setCacheNegativeTimeToLive(0) // discard failed DNS lookup results immediately
                         .setCacheMaxTimeToLive(0) // support DNS based service resolution
@@ -118,6 +120,18 @@ public class ApplicationConfig {
         return new TenantAmqpEndpoint(vertx());
     }
 
+    /**
+     * Creates a new instance of an AMQP 1.0 protocol handler for notifying clients
+     * about changes to tenants, devices and credentials.
+     *
+     * @return The handler.
+     */
+    @Bean
+    @Scope("prototype")
+    public NotificationAmqpEndpoint notificationAmqpEndpoint() {
+        return new NotificationAmqpEndpoint(vertx());
+    }
+
     /**
      * Creates a new instance of the Device Registry's AMQP 1.0 endpoint.
      * <p>
@@ -14,8 +14,9 @@ package org.eclipse.hono.deviceregistry;
 
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -25,6 +26,8 @@ import org.eclipse.hono.service.credentials.BaseCredentialsService;
 import org.eclipse.hono.util.CacheDirective;
 import org.eclipse.hono.util.CredentialsConstants;
 import org.eclipse.hono.util.CredentialsResult;
+import org.eclipse.hono.util.NotificationConstants;
+import org.eclipse.hono.util.NotificationConstants.Change;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
@@ -43,6 +46,10 @@ import io.vertx.core.json.JsonObject;
  * <p>
  * On startup this adapter tries to load credentials from a file (if configured).
  * On shutdown all credentials kept in memory are written to the file (if configured).
+ * <p>
+ * Credentials are indexed by auth-id and type as well as by device identifier so that
+ * looking up or removing the credentials of a device does not require scanning all
+ * of the tenant's credentials.
  */
 @Repository
 public final class FileBasedCredentialsService extends BaseCredentialsService<FileBasedCredentialsConfigProperties> {
@@ -56,8 +63,10 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
      */
     public static final String FIELD_TENANT = "tenant";
 
-    // <tenantId, <authId, credentialsData[]>>
-    private Map<String, Map<String, JsonArray>> credentials = new HashMap<>();
+    // <tenantId, <authId, <type, credentialsData>>>
+    private final Map<String, Map<String, Map<String, JsonObject>>> credentials = new HashMap<>();
+    // <tenantId, <deviceId, credentialsData[]>>
+    private final Map<String, Map<String, List<JsonObject>>> credentialsByDevice = new HashMap<>();
     private boolean running = false;
     private boolean dirty = false;
 
@@ -158,20 +167,17 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
     int addCredentialsForTenant(final JsonObject tenant) {
         int count = 0;
         final String tenantId = tenant.getString(FIELD_TENANT);
-        final Map<String, JsonArray> credentialsMap = new HashMap<>();
+        credentials.remove(tenantId);
+        credentialsByDevice.remove(tenantId);
         for (Object credentialsObj : tenant.getJsonArray(ARRAY_CREDENTIALS)) {
             final JsonObject credentials = (JsonObject) credentialsObj;
-            final JsonArray authIdCredentials;
-            if (credentialsMap.containsKey(credentials.getString(CredentialsConstants.FIELD_AUTH_ID))) {
-                authIdCredentials = credentialsMap.get(credentials.getString(CredentialsConstants.FIELD_AUTH_ID));
+            if (addCredentials(tenantId, credentials)) {
+                count++;
             } else {
-                authIdCredentials = new JsonArray();
+                log.debug("ignoring duplicate credentials [tenant-id: {}, auth-id: {}, type: {}]", tenantId,
+                        credentials.getString(CredentialsConstants.FIELD_AUTH_ID), credentials.getString(CredentialsConstants.FIELD_TYPE));
             }
-            authIdCredentials.add(credentials);
-            credentialsMap.put(credentials.getString(CredentialsConstants.FIELD_AUTH_ID), authIdCredentials);
-            count++;
         }
-        credentials.put(tenantId, credentialsMap);
         return count;
     }
 
@@ -196,10 +202,12 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
             return checkFileExists(true).compose(s -> {
                 final AtomicInteger idCount = new AtomicInteger();
                 final JsonArray tenants = new JsonArray();
-                for (Entry<String, Map<String, JsonArray>> entry : credentials.entrySet()) {
+                for (Entry<String, Map<String, Map<String, JsonObject>>> entry : credentials.entrySet()) {
                     final JsonArray credentialsArray = new JsonArray();
-                    for (JsonArray singleAuthIdCredentials : entry.getValue().values()) {
-                        credentialsArray.addAll(singleAuthIdCredentials.copy());
+                    for (Map<String, JsonObject> singleAuthIdCredentials : entry.getValue().values()) {
+                        for (JsonObject credentials : singleAuthIdCredentials.values()) {
+                            credentialsArray.add(credentials.copy());
+                        }
                         idCount.incrementAndGet();
                     }
                     tenants.add(
@@ -265,43 +273,25 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
         Objects.requireNonNull(deviceId);
         Objects.requireNonNull(resultHandler);
 
-        final Map<String, JsonArray> credentialsForTenant = credentials.get(tenantId);
-        if (credentialsForTenant == null) {
+        final List<JsonObject> credentialsForDevice = getCredentialsForDevice(tenantId, deviceId);
+        if (credentialsForDevice == null) {
             resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NOT_FOUND)));
         } else {
             final JsonArray matchingCredentials = new JsonArray();
-            // iterate over all credentials per auth-id in order to find credentials matching the given device
-            for (JsonArray credentialsForAuthId : credentialsForTenant.values()) {
-                findCredentialsForDevice(credentialsForAuthId, deviceId, matchingCredentials);
-            }
-            if (matchingCredentials.isEmpty()) {
-                resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NOT_FOUND)));
-            } else {
-                final JsonObject result = new JsonObject()
-                        .put(CredentialsConstants.FIELD_CREDENTIALS_TOTAL, matchingCredentials.size())
-                        .put(CredentialsConstants.CREDENTIALS_ENDPOINT, matchingCredentials);
-                resultHandler.handle(Future.succeededFuture(
-                        CredentialsResult.from(HttpURLConnection.HTTP_OK, result, CacheDirective.noCacheDirective())));
-            }
-        }
-    }
-
-    private void findCredentialsForDevice(final JsonArray credentials, final String deviceId, final JsonArray result) {
-
-        for (Object obj : credentials) {
-            if (obj instanceof JsonObject) {
-                final JsonObject currentCredentials = (JsonObject) obj;
-                if (deviceId.equals(getTypesafeValueForField(currentCredentials, CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID))) {
-                    // device ID matches, add a copy of credentials to result
-                    result.add(currentCredentials.copy());
-                }
+            for (JsonObject currentCredentials : credentialsForDevice) {
+                // add a copy of credentials to result
+                matchingCredentials.add(currentCredentials.copy());
             }
+            final JsonObject result = new JsonObject()
+                    .put(CredentialsConstants.FIELD_CREDENTIALS_TOTAL, matchingCredentials.size())
+                    .put(CredentialsConstants.CREDENTIALS_ENDPOINT, matchingCredentials);
+            resultHandler.handle(Future.succeededFuture(
+                    CredentialsResult.from(HttpURLConnection.HTTP_OK, result, CacheDirective.noCacheDirective())));
         }
     }
 
     /**
      * Get the credentials associated with the authId and the given type.
-     * If type is null, all credentials associated with the authId are returned (as JsonArray inside the return value).
      *
      * @param tenantId The id of the tenant the credentials belong to.
      * @param authId The authentication identifier to look up credentials for.
@@ -314,20 +304,8 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
         Objects.requireNonNull(authId);
         Objects.requireNonNull(type);
 
-        final Map<String, JsonArray> credentialsForTenant = credentials.get(tenantId);
-        if (credentialsForTenant != null) {
-            final JsonArray authIdCredentials = credentialsForTenant.get(authId);
-            if (authIdCredentials != null) {
-                for (Object authIdCredentialEntry : authIdCredentials) {
-                    final JsonObject authIdCredential = (JsonObject) authIdCredentialEntry;
-                    // return the first matching type entry for this authId
-                    if (type.equals(authIdCredential.getString(CredentialsConstants.FIELD_TYPE))) {
-                        return authIdCredential;
-                    }
-                }
-            }
-        }
-        return null;
+        final Map<String, JsonObject> authIdCredentials = getAuthIdCredentials(tenantId, authId);
+        return authIdCredentials == null ? null : authIdCredentials.get(type);
     }
 
     @Override
@@ -346,21 +324,14 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
         String type = credentialsToAdd.getString(CredentialsConstants.FIELD_TYPE);
         log.debug("adding credentials for device [tenant-id: {}, auth-id: {}, type: {}]", tenantId, authId, type);
 
-        final Map<String, JsonArray> credentialsForTenant = getCredentialsForTenant(tenantId);
-
-        final JsonArray authIdCredentials = getAuthIdCredentials(authId, credentialsForTenant);
-
         // check if credentials already exist with the type and auth-id from the payload
-        for (Object credentialsObj: authIdCredentials) {
-            final JsonObject credentials = (JsonObject) credentialsObj;
-            if (credentials.getString(CredentialsConstants.FIELD_TYPE).equals(type)) {
-                return CredentialsResult.from(HttpURLConnection.HTTP_CONFLICT);
-            }
+        if (addCredentials(tenantId, credentialsToAdd)) {
+            dirty = true;
+            publishNotification(Change.created, tenantId, credentialsToAdd);
+            return CredentialsResult.from(HttpURLConnection.HTTP_CREATED);
+        } else {
+            return CredentialsResult.from(HttpURLConnection.HTTP_CONFLICT);
         }
-
-        authIdCredentials.add(credentialsToAdd);
-        dirty = true;
-        return CredentialsResult.from(HttpURLConnection.HTTP_CREATED);
     }
 
     @Override
@@ -375,33 +346,18 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
             final String type = newCredentials.getString(CredentialsConstants.FIELD_TYPE);
             log.debug("updating credentials for device [tenant-id: {}, auth-id: {}, type: {}]", tenantId, authId, type);
 
-            final Map<String, JsonArray> credentialsForTenant = getCredentialsForTenant(tenantId);
-            if (credentialsForTenant == null) {
+            final Map<String, JsonObject> credentialsForAuthId = authId == null ? null : getAuthIdCredentials(tenantId, authId);
+            final JsonObject existingCredentials = credentialsForAuthId == null || type == null ? null : credentialsForAuthId.get(type);
+            if (existingCredentials == null) {
                 resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NOT_FOUND)));
             } else {
-                final JsonArray credentialsForAuthId = credentialsForTenant.get(authId);
-                if (credentialsForAuthId == null) {
-                    resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NOT_FOUND)));
-                } else {
-                    // find credentials of given type
-                    boolean removed = false;
-                    final Iterator<Object> credentialsIterator = credentialsForAuthId.iterator();
-                    while (credentialsIterator.hasNext()) {
-                        final JsonObject creds = (JsonObject) credentialsIterator.next();
-                        if (creds.getString(CredentialsConstants.FIELD_TYPE).equals(type)) {
-                            credentialsIterator.remove();
-                            removed = true;
-                            break;
-                        }
-                    }
-                    if (removed) {
-                        credentialsForAuthId.add(newCredentials);
-                        dirty = true;
-                        resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NO_CONTENT)));
-                    } else {
-                        resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NOT_FOUND)));
-                    }
-                }
+                // the device ID may have changed, so the credentials need to be re-indexed
+                removeFromDeviceIndex(tenantId, existingCredentials);
+                credentialsForAuthId.put(type, newCredentials);
+                addToDeviceIndex(tenantId, newCredentials);
+                dirty = true;
+                publishNotification(Change.updated, tenantId, existingCredentials);
+                resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NO_CONTENT)));
             }
         } else {
             resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_FORBIDDEN)));
@@ -417,21 +373,14 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
         Objects.requireNonNull(resultHandler);
 
         if (getConfig().isModificationEnabled()) {
-            final Map<String, JsonArray> credentialsForTenant = credentials.get(tenantId);
-            if (credentialsForTenant == null) {
+            final JsonObject removedCredentials = removeCredentials(tenantId, authId, type);
+            if (removedCredentials == null) {
                 resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NOT_FOUND)));
             } else {
-                final JsonArray credentialsForAuthId = credentialsForTenant.get(authId);
-                if (credentialsForAuthId == null) {
-                    resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NOT_FOUND)));
-                } else if (removeCredentialsFromCredentialsArray(null, type, credentialsForAuthId)) {
-                    if (credentialsForAuthId.isEmpty()) {
-                        credentialsForTenant.remove(authId); // do not leave empty array as value
-                    }
-                    resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NO_CONTENT)));
-                } else {
-                    resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NOT_FOUND)));
-                }
+                removeFromDeviceIndex(tenantId, removedCredentials);
+                dirty = true;
+                publishNotification(Change.removed, tenantId, removedCredentials);
+                resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NO_CONTENT)));
             }
         } else {
             resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_FORBIDDEN)));
@@ -447,88 +396,132 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
 
         if (getConfig().isModificationEnabled()) {
 
-            final Map<String, JsonArray> credentialsForTenant = credentials.get(tenantId);
-            if (credentialsForTenant == null) {
+            final Map<String, List<JsonObject>> devicesForTenant = credentialsByDevice.get(tenantId);
+            final List<JsonObject> credentialsForDevice = devicesForTenant == null ? null : devicesForTenant.remove(deviceId);
+            if (credentialsForDevice == null) {
                 resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NOT_FOUND)));
             } else {
-
-                boolean removedAnyElement = false;
-
-                // delete based on type (no authId provided) - this might consume more time on large data sets and is thus
-                // handled explicitly
-                for (JsonArray credentialsForAuthId : credentialsForTenant.values()) {
-                    if (removeCredentialsFromCredentialsArray(deviceId, CredentialsConstants.SPECIFIER_WILDCARD, credentialsForAuthId)) {
-                        removedAnyElement = true;
-                    }
+                if (devicesForTenant.isEmpty()) {
+                    credentialsByDevice.remove(tenantId);
                 }
-
-                // there might be empty credentials arrays left now, so remove them in a second run
-                cleanupEmptyCredentialsArrays(credentialsForTenant);
-
-                if (removedAnyElement) {
-                    dirty = true;
-                    resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NO_CONTENT)));
-                } else {
-                    resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NOT_FOUND)));
+                for (JsonObject credentialsToRemove : credentialsForDevice) {
+                    removeCredentials(
+                            tenantId,
+                            credentialsToRemove.getString(CredentialsConstants.FIELD_AUTH_ID),
+                            credentialsToRemove.getString(CredentialsConstants.FIELD_TYPE));
+                    publishNotification(Change.removed, tenantId, credentialsToRemove);
                 }
+                dirty = true;
+                resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NO_CONTENT)));
             }
         } else {
             resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_FORBIDDEN)));
         }
     }
 
-    private void cleanupEmptyCredentialsArrays(final Map<String, JsonArray> mapToCleanup) {
+    private void publishNotification(final Change change, final String tenantId, final JsonObject credentials) {
+        if (vertx != null) {
+            vertx.eventBus().publish(
+                    NotificationConstants.EVENT_BUS_ADDRESS_NOTIFICATION,
+                    NotificationConstants.getCredentialsNotification(
+                            change,
+                            tenantId,
+                            credentials.getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID),
+                            credentials.getString(CredentialsConstants.FIELD_TYPE),
+                            credentials.getString(CredentialsConstants.FIELD_AUTH_ID)));
+        }
+    }
 
-        // use an iterator here to allow removal during looping (streams currently do not allow this)
-        final Iterator<Entry<String, JsonArray>> entries = mapToCleanup.entrySet().iterator();
-        while (entries.hasNext()) {
-            final Entry<String, JsonArray> entry = entries.next();
-            if (entry.getValue().isEmpty()) {
-                entries.remove();
+    /**
+     * Adds credentials to the auth-id and device indexes.
+     *
+     * @param tenantId The tenant that the credentials belong to.
+     * @param credentialsToAdd The credentials.
+     * @return {@code true} if the credentials have been added or {@code false} if
+     *         credentials of the same auth-id and type already exist.
+     */
+    private boolean addCredentials(final String tenantId, final JsonObject credentialsToAdd) {
+
+        final String authId = credentialsToAdd.getString(CredentialsConstants.FIELD_AUTH_ID);
+        final String type = credentialsToAdd.getString(CredentialsConstants.FIELD_TYPE);
+        final Map<String, JsonObject> authIdCredentials = credentials
+                .computeIfAbsent(tenantId, id -> new HashMap<>())
+                .computeIfAbsent(authId, id -> new HashMap<>());
+        if (authIdCredentials.putIfAbsent(type, credentialsToAdd) == null) {
+            addToDeviceIndex(tenantId, credentialsToAdd);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Removes credentials from the auth-id index.
+     * <p>
+     * The caller is responsible for removing the credentials from the device index.
+     *
+     * @param tenantId The tenant that the credentials belong to.
+     * @param authId The auth-id of the credentials.
+     * @param type The type of the credentials.
+     * @return The removed credentials or {@code null} if no credentials of the given
+     *         auth-id and type exist.
+     */
+    private JsonObject removeCredentials(final String tenantId, final String authId, final String type) {
+
+        final Map<String, Map<String, JsonObject>> credentialsForTenant = credentials.get(tenantId);
+        if (credentialsForTenant == null) {
+            return null;
+        }
+        final Map<String, JsonObject> credentialsForAuthId = credentialsForTenant.get(authId);
+        if (credentialsForAuthId == null) {
+            return null;
+        }
+        final JsonObject removedCredentials = credentialsForAuthId.remove(type);
+        // do not leave empty maps as values
+        if (credentialsForAuthId.isEmpty()) {
+            credentialsForTenant.remove(authId);
+            if (credentialsForTenant.isEmpty()) {
+                credentials.remove(tenantId);
             }
         }
+        return removedCredentials;
     }
 
-    private boolean removeCredentialsFromCredentialsArray(final String deviceId, final String type, final JsonArray credentialsForAuthId) {
-
-        boolean removedElement = false;
-
-        if (credentialsForAuthId != null) {
-            // the credentials in the array always have the same authId, but possibly different types
-            // use an iterator here to allow removal during looping (streams currently do not allow this)
-            final Iterator<Object> credentialsIterator = credentialsForAuthId.iterator();
-            while (credentialsIterator.hasNext()) {
-
-                final JsonObject element = (JsonObject) credentialsIterator.next();
-                final String credType = element.getString(CredentialsConstants.FIELD_TYPE);
-                final String credDevice = element.getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID);
-
-                if (!CredentialsConstants.SPECIFIER_WILDCARD.equals(type) && credType.equals(type)) {
-                    // delete a single credentials instance
-                    credentialsIterator.remove();
-                    removedElement = true;
-                    break; // there can only be one matching instance due to uniqueness guarantees
-                } else if (CredentialsConstants.SPECIFIER_WILDCARD.equalsIgnoreCase(type) && credDevice.equals(deviceId)) {
-                    // delete all credentials for device
-                    credentialsIterator.remove();
-                    removedElement = true;
-                } else if (credDevice.equals(deviceId) && credType.equals(type)) {
-                    // delete all credentials for device of given type
-                    credentialsIterator.remove();
-                    removedElement = true;
+    private void addToDeviceIndex(final String tenantId, final JsonObject credentialsToAdd) {
+
+        credentialsByDevice
+            .computeIfAbsent(tenantId, id -> new HashMap<>())
+            .computeIfAbsent(credentialsToAdd.getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID), id -> new ArrayList<>(2))
+            .add(credentialsToAdd);
+    }
+
+    private void removeFromDeviceIndex(final String tenantId, final JsonObject credentialsToRemove) {
+
+        final Map<String, List<JsonObject>> devicesForTenant = credentialsByDevice.get(tenantId);
+        if (devicesForTenant != null) {
+            final String deviceId = credentialsToRemove.getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID);
+            final List<JsonObject> credentialsForDevice = devicesForTenant.get(deviceId);
+            if (credentialsForDevice != null) {
+                // devices usually have a handful of credentials only, so a linear scan is fine here
+                credentialsForDevice.removeIf(c -> c == credentialsToRemove);
+                if (credentialsForDevice.isEmpty()) {
+                    devicesForTenant.remove(deviceId);
+                    if (devicesForTenant.isEmpty()) {
+                        credentialsByDevice.remove(tenantId);
+                    }
                 }
             }
         }
-
-        return removedElement;
     }
 
-    private Map<String, JsonArray> getCredentialsForTenant(final String tenantId) {
-        return credentials.computeIfAbsent(tenantId, id -> new HashMap<>());
+    private List<JsonObject> getCredentialsForDevice(final String tenantId, final String deviceId) {
+        final Map<String, List<JsonObject>> devicesForTenant = credentialsByDevice.get(tenantId);
+        return devicesForTenant == null ? null : devicesForTenant.get(deviceId);
     }
 
-    private JsonArray getAuthIdCredentials(final String authId, final Map<String, JsonArray> credentialsForTenant) {
-        return credentialsForTenant.computeIfAbsent(authId, id -> new JsonArray());
+    private Map<String, JsonObject> getAuthIdCredentials(final String tenantId, final String authId) {
+        final Map<String, Map<String, JsonObject>> credentialsForTenant = credentials.get(tenantId);
+        return credentialsForTenant == null ? null : credentialsForTenant.get(authId);
     }
 
     /**
@@ -537,6 +530,7 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
     public final void clear() {
         dirty = true;
         credentials.clear();
+        credentialsByDevice.clear();
     }
 
     @Override
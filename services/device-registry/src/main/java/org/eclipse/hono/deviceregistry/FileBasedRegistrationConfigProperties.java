@@ -12,6 +12,8 @@
 
 package org.eclipse.hono.deviceregistry;
 
+import java.util.Objects;
+
 import org.eclipse.hono.config.SignatureSupportingConfigProperties;
 
 
@@ -25,10 +27,17 @@ public final class FileBasedRegistrationConfigProperties extends AbstractFileBas
      * The default number of devices that can be registered for each tenant.
      */
     public static final int DEFAULT_MAX_DEVICES_PER_TENANT = 100;
+    /**
+     * The default number of devices that can be stored in a memory mapped store.
+     */
+    public static final long DEFAULT_STORE_CAPACITY = 1_000_000L;
     private static final String DEFAULT_DEVICES_FILENAME = "/var/lib/hono/device-registry/device-identities.json";
+    private static final String DEFAULT_STORE_FILENAME = "/var/lib/hono/device-registry/device-identities.store";
     private final SignatureSupportingConfigProperties registrationAssertionProperties = new SignatureSupportingConfigProperties();
 
     private int maxDevicesPerTenant = DEFAULT_MAX_DEVICES_PER_TENANT;
+    private String storeFilename = DEFAULT_STORE_FILENAME;
+    private long storeCapacity = DEFAULT_STORE_CAPACITY;
 
     /**
      * Gets the maximum number of devices that can be registered for each tenant.
@@ -56,6 +65,61 @@ public final class FileBasedRegistrationConfigProperties extends AbstractFileBas
         this.maxDevicesPerTenant = maxDevices;
     }
 
+    /**
+     * Gets the path to the file that the memory mapped device store is kept in.
+     * <p>
+     * This property is only used by {@link MappedFileRegistrationService}.
+     *
+     * @return The path to the file.
+     */
+    public String getStoreFilename() {
+        return storeFilename;
+    }
+
+    /**
+     * Sets the path to the file that the memory mapped device store is kept in.
+     * <p>
+     * This property is only used by {@link MappedFileRegistrationService}.
+     *
+     * @param filename The path to the file.
+     * @throws NullPointerException if filename is {@code null}.
+     */
+    public void setStoreFilename(final String filename) {
+        this.storeFilename = Objects.requireNonNull(filename);
+    }
+
+    /**
+     * Gets the number of devices that can be registered in the memory mapped device store.
+     * <p>
+     * The capacity is only used when the store file is created. The space for the store's
+     * index is allocated up-front based on this value.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_STORE_CAPACITY}.
+     *
+     * @return The number of devices.
+     */
+    public long getStoreCapacity() {
+        return storeCapacity;
+    }
+
+    /**
+     * Sets the number of devices that can be registered in the memory mapped device store.
+     * <p>
+     * The capacity is only used when the store file is created. The space for the store's
+     * index is allocated up-front based on this value.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_STORE_CAPACITY}.
+     *
+     * @param capacity The number of devices.
+     * @throws IllegalArgumentException if capacity is &lt;= 0.
+     */
+    public void setStoreCapacity(final long capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        this.storeCapacity = capacity;
+    }
+
     /**
      * Gets the properties for determining key material for creating registration assertion tokens.
      *
@@ -18,16 +18,23 @@ import static org.eclipse.hono.util.RegistrationConstants.FIELD_DATA;
 import static org.eclipse.hono.util.RequestResponseApiConstants.FIELD_PAYLOAD_DEVICE_ID;
 import static org.eclipse.hono.util.RequestResponseApiConstants.FIELD_ENABLED;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.hono.service.registration.BaseRegistrationService;
+import org.eclipse.hono.util.NotificationConstants;
+import org.eclipse.hono.util.NotificationConstants.Change;
+import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.RegistrationResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import io.vertx.core.AsyncResult;
@@ -43,8 +50,12 @@ import io.vertx.core.json.JsonObject;
  * <p>
  * On startup this adapter loads all registered devices from a file. On shutdown all
  * devices kept in memory are written to the file.
+ * <p>
+ * The service is not used if the {@code registration-mmap} profile is active.
+ * {@link MappedFileRegistrationService} is used instead.
  */
 @Repository
+@Profile("!registration-mmap")
 public final class FileBasedRegistrationService extends BaseRegistrationService<FileBasedRegistrationConfigProperties> {
 
     /**
@@ -277,6 +288,7 @@ public final class FileBasedRegistrationService extends BaseRegistrationService<
             final Map<String, JsonObject> devices = identities.get(tenantId);
             if (devices != null && devices.remove(deviceId) != null) {
                 dirty = true;
+                publishNotification(NotificationConstants.getDeviceNotification(Change.removed, tenantId, deviceId));
                 return RegistrationResult.from(HTTP_NO_CONTENT);
             } else {
                 return RegistrationResult.from(HTTP_NOT_FOUND);
@@ -314,6 +326,7 @@ public final class FileBasedRegistrationService extends BaseRegistrationService<
         if (devices.size() < getConfig().getMaxDevicesPerTenant()) {
             if (devices.putIfAbsent(deviceId, obj) == null) {
                 dirty = true;
+                publishNotification(NotificationConstants.getDeviceNotification(Change.created, tenantId, deviceId));
                 return RegistrationResult.from(HTTP_CREATED);
             } else {
                 return RegistrationResult.from(HTTP_CONFLICT);
@@ -344,6 +357,7 @@ public final class FileBasedRegistrationService extends BaseRegistrationService<
             if (devices != null && devices.containsKey(deviceId)) {
                 devices.put(deviceId, obj);
                 dirty = true;
+                publishNotification(NotificationConstants.getDeviceNotification(Change.updated, tenantId, deviceId));
                 return RegistrationResult.from(HTTP_NO_CONTENT);
             } else {
                 return RegistrationResult.from(HTTP_NOT_FOUND);
@@ -353,6 +367,58 @@ public final class FileBasedRegistrationService extends BaseRegistrationService<
         }
     }
 
+    private void publishNotification(final JsonObject notification) {
+        if (vertx != null) {
+            vertx.eventBus().publish(NotificationConstants.EVENT_BUS_ADDRESS_NOTIFICATION, notification);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation does not keep any state between the retrieval of pages. Each page
+     * is determined by a single pass over the tenant's devices which keeps the <em>limit</em>
+     * smallest identifiers that are greater than the given one.
+     */
+    @Override
+    public void getDevices(final String tenantId, final String afterDeviceId, final int limit,
+            final Handler<AsyncResult<RegistrationResult>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(resultHandler);
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be > 0");
+        }
+
+        final Map<String, JsonObject> devices = identities.get(tenantId);
+        final JsonArray page = new JsonArray();
+        if (devices != null) {
+            // max-heap containing the smallest identifiers found so far
+            final PriorityQueue<String> pageIds = new PriorityQueue<>(limit, Comparator.reverseOrder());
+            for (final String deviceId : devices.keySet()) {
+                if (afterDeviceId == null || deviceId.compareTo(afterDeviceId) > 0) {
+                    if (pageIds.size() < limit) {
+                        pageIds.add(deviceId);
+                    } else if (deviceId.compareTo(pageIds.peek()) < 0) {
+                        pageIds.poll();
+                        pageIds.add(deviceId);
+                    }
+                }
+            }
+            final String[] sortedIds = pageIds.toArray(new String[pageIds.size()]);
+            Arrays.sort(sortedIds);
+            for (final String deviceId : sortedIds) {
+                final JsonObject data = devices.get(deviceId);
+                // the device may have been removed in the meantime
+                if (data != null) {
+                    page.add(getResultPayload(deviceId, data));
+                }
+            }
+        }
+        resultHandler.handle(Future.succeededFuture(RegistrationResult.from(
+                HTTP_OK, new JsonObject().put(RegistrationConstants.FIELD_DEVICES, page))));
+    }
+
     private Map<String, JsonObject> getDevicesForTenant(final String tenantId) {
         return identities.computeIfAbsent(tenantId, id -> new ConcurrentHashMap<>());
     }
@@ -22,6 +22,8 @@ import javax.security.auth.x500.X500Principal;
 
 import org.eclipse.hono.service.tenant.BaseTenantService;
 import org.eclipse.hono.util.CacheDirective;
+import org.eclipse.hono.util.NotificationConstants;
+import org.eclipse.hono.util.NotificationConstants.Change;
 import org.eclipse.hono.util.TenantObject;
 import org.eclipse.hono.util.TenantResult;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -264,6 +266,7 @@ public final class FileBasedTenantService extends BaseTenantService<FileBasedTen
         if (getConfig().isModificationEnabled()) {
             if (tenants.remove(tenantId) != null) {
                 dirty = true;
+                publishNotification(NotificationConstants.getTenantNotification(Change.removed, tenantId));
                 return TenantResult.from(HttpURLConnection.HTTP_NO_CONTENT);
             } else {
                 return TenantResult.from(HttpURLConnection.HTTP_NOT_FOUND);
@@ -309,6 +312,7 @@ public final class FileBasedTenantService extends BaseTenantService<FileBasedTen
                 } else {
                     tenants.put(tenantId, tenant);
                     dirty = true;
+                    publishNotification(NotificationConstants.getTenantNotification(Change.created, tenantId));
                     return TenantResult.from(HttpURLConnection.HTTP_CREATED);
                 }
             } catch (IllegalArgumentException e) {
@@ -360,6 +364,7 @@ public final class FileBasedTenantService extends BaseTenantService<FileBasedTen
                     } else {
                         tenants.put(tenantId, tenant);
                         dirty = true;
+                        publishNotification(NotificationConstants.getTenantNotification(Change.updated, tenantId));
                         return TenantResult.from(HttpURLConnection.HTTP_NO_CONTENT);
                     }
                 } catch (IllegalArgumentException e) {
@@ -373,6 +378,12 @@ public final class FileBasedTenantService extends BaseTenantService<FileBasedTen
         }
     }
 
+    private void publishNotification(final JsonObject notification) {
+        if (vertx != null) {
+            vertx.eventBus().publish(NotificationConstants.EVENT_BUS_ADDRESS_NOTIFICATION, notification);
+        }
+    }
+
     private TenantObject getByCa(final X500Principal subjectDn) {
 
         if (subjectDn == null) {
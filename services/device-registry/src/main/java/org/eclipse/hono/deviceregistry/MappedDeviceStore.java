@@ -0,0 +1,554 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.deviceregistry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.hono.service.registration.BaseRegistrationService;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.RequestResponseApiConstants;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A store for device registration information that is kept in a memory mapped file.
+ * <p>
+ * The file consists of a header, an open-addressing (linear probing) hash index on
+ * <em>(tenant ID, device ID)</em> and an append-only data region containing the
+ * registration information of devices as compact binary records. The <em>enabled</em>
+ * flag, the <em>via</em> property and the <em>defaults</em> are stored in dedicated fields,
+ * all other properties are stored as a JSON string. Records are decoded into a
+ * {@code JsonObject} only when being read.
+ * <p>
+ * The number of devices that can be stored is fixed when the file is created. Updating or
+ * removing a device leaves the device's previous record in the data region. The
+ * space occupied by such records is not reclaimed but reported as <em>garbage</em>.
+ * <p>
+ * Instances are not thread safe.
+ */
+final class MappedDeviceStore implements Closeable {
+
+    private static final int MAGIC = 0x484f4e4f; // "HONO"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int HEADER_POS_MAGIC = 0;
+    private static final int HEADER_POS_VERSION = 4;
+    private static final int HEADER_POS_SLOTS = 8;
+    private static final int HEADER_POS_COUNT = 16;
+    private static final int HEADER_POS_DATA_END = 24;
+    private static final int HEADER_POS_GARBAGE = 32;
+    private static final int SLOT_SIZE = 16;
+    private static final int CHUNK_SIZE = 1 << 26;
+    private static final int MAX_ID_LENGTH = Short.MAX_VALUE;
+
+    private static final byte ENABLED_FALSE = 0;
+    private static final byte ENABLED_TRUE = 1;
+    private static final byte ENABLED_ABSENT = 2;
+
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+    private final long slots;
+    private final long mask;
+    private final long dataStart;
+
+    private long count;
+    private long dataEnd;
+    private long garbage;
+
+    private MappedDeviceStore(final FileChannel channel, final long slots, final long count, final long dataEnd,
+            final long garbage) {
+        this.channel = channel;
+        this.slots = slots;
+        this.mask = slots - 1;
+        this.dataStart = HEADER_SIZE + slots * SLOT_SIZE;
+        this.count = count;
+        this.dataEnd = dataEnd;
+        this.garbage = garbage;
+    }
+
+    /**
+     * Opens a store, creating the file if it does not exist.
+     *
+     * @param file The file containing the store.
+     * @param capacity The minimum number of devices that the store should be able to hold.
+     *                 This value is only used if the file does not exist yet.
+     * @return The store.
+     * @throws NullPointerException if file is {@code null}.
+     * @throws IllegalArgumentException if capacity is &lt;= 0.
+     * @throws IOException if the file cannot be opened or does not contain a store.
+     */
+    static MappedDeviceStore open(final Path file, final long capacity) throws IOException {
+
+        Objects.requireNonNull(file);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            final MappedDeviceStore store;
+            if (channel.size() == 0) {
+                // keep the load factor at or below 0.5
+                final long slots = Long.highestOneBit(Math.max(capacity * 2 - 1, 1)) << 1;
+                store = new MappedDeviceStore(channel, slots, 0, HEADER_SIZE + slots * SLOT_SIZE, 0);
+                store.ensureMapped(store.dataStart);
+                store.putInt(HEADER_POS_MAGIC, MAGIC);
+                store.putInt(HEADER_POS_VERSION, VERSION);
+                store.putLong(HEADER_POS_SLOTS, slots);
+                store.writeHeader();
+            } else {
+                final MappedByteBuffer header = channel.map(MapMode.READ_ONLY, 0, HEADER_SIZE);
+                if (header.getInt(HEADER_POS_MAGIC) != MAGIC || header.getInt(HEADER_POS_VERSION) != VERSION) {
+                    throw new IOException("file does not contain a device store: " + file);
+                }
+                store = new MappedDeviceStore(
+                        channel,
+                        header.getLong(HEADER_POS_SLOTS),
+                        header.getLong(HEADER_POS_COUNT),
+                        header.getLong(HEADER_POS_DATA_END),
+                        header.getLong(HEADER_POS_GARBAGE));
+                store.ensureMapped(store.dataEnd);
+            }
+            return store;
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of devices in this store.
+     *
+     * @return The number of devices.
+     */
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the maximum number of devices that can be stored.
+     *
+     * @return The capacity.
+     */
+    long getCapacity() {
+        return slots / 2;
+    }
+
+    /**
+     * Gets the number of bytes in the data region occupied by records of devices
+     * that have been updated or removed.
+     *
+     * @return The number of bytes.
+     */
+    long getGarbage() {
+        return garbage;
+    }
+
+    /**
+     * Gets the registration information of a device.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The device identifier.
+     * @return The registration information or {@code null} if no such device exists.
+     */
+    JsonObject get(final String tenantId, final String deviceId) {
+
+        final byte[] tenant = tenantId.getBytes(StandardCharsets.UTF_8);
+        final byte[] device = deviceId.getBytes(StandardCharsets.UTF_8);
+        final long slot = findSlot(hash(tenant, device), tenant, device);
+        if (slot < 0) {
+            return null;
+        } else {
+            return readData(getLong(slotPosition(slot) + 8), tenant.length, device.length);
+        }
+    }
+
+    /**
+     * Checks if a device exists.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The device identifier.
+     * @return {@code true} if the device exists.
+     */
+    boolean contains(final String tenantId, final String deviceId) {
+
+        final byte[] tenant = tenantId.getBytes(StandardCharsets.UTF_8);
+        final byte[] device = deviceId.getBytes(StandardCharsets.UTF_8);
+        return findSlot(hash(tenant, device), tenant, device) >= 0;
+    }
+
+    /**
+     * Adds a device or replaces the registration information of an existing device.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The device identifier.
+     * @param data The registration information.
+     * @param replace {@code true} if an existing device should be updated.
+     *                {@code false} if the device must not exist yet.
+     * @return {@code true} if the data has been stored. {@code false} if the device
+     *         already exists but replace is {@code false}, or if the device does
+     *         not exist and the store is full.
+     * @throws IllegalArgumentException if any of the identifiers is too long.
+     * @throws IOException if the data cannot be written to the file.
+     */
+    boolean put(final String tenantId, final String deviceId, final JsonObject data, final boolean replace) throws IOException {
+
+        final byte[] tenant = tenantId.getBytes(StandardCharsets.UTF_8);
+        final byte[] device = deviceId.getBytes(StandardCharsets.UTF_8);
+        if (tenant.length > MAX_ID_LENGTH || device.length > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("identifier too long");
+        }
+        final long hash = hash(tenant, device);
+        final long existingSlot = findSlot(hash, tenant, device);
+        if (existingSlot >= 0 && !replace) {
+            return false;
+        } else if (existingSlot < 0 && count >= getCapacity()) {
+            return false;
+        }
+
+        final long recordPos = appendRecord(tenant, device, data);
+        if (existingSlot >= 0) {
+            final long slotPos = slotPosition(existingSlot);
+            garbage += getInt(getLong(slotPos + 8));
+            putLong(slotPos + 8, recordPos);
+        } else {
+            long slot = hash & mask;
+            while (getLong(slotPosition(slot) + 8) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            putLong(slotPosition(slot), hash);
+            putLong(slotPosition(slot) + 8, recordPos);
+            count++;
+        }
+        writeHeader();
+        return true;
+    }
+
+    /**
+     * Removes a device.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The device identifier.
+     * @return {@code true} if the device has been removed, {@code false} if no such device exists.
+     */
+    boolean remove(final String tenantId, final String deviceId) {
+
+        final byte[] tenant = tenantId.getBytes(StandardCharsets.UTF_8);
+        final byte[] device = deviceId.getBytes(StandardCharsets.UTF_8);
+        long slot = findSlot(hash(tenant, device), tenant, device);
+        if (slot < 0) {
+            return false;
+        }
+        garbage += getInt(getLong(slotPosition(slot) + 8));
+
+        // backward shift deletion keeps probe sequences intact without tombstones
+        long next = (slot + 1) & mask;
+        while (getLong(slotPosition(next) + 8) != 0) {
+            final long ideal = getLong(slotPosition(next)) & mask;
+            final boolean canMove = slot <= next ? (ideal <= slot || ideal > next) : (ideal <= slot && ideal > next);
+            if (canMove) {
+                putLong(slotPosition(slot), getLong(slotPosition(next)));
+                putLong(slotPosition(slot) + 8, getLong(slotPosition(next) + 8));
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        putLong(slotPosition(slot), 0);
+        putLong(slotPosition(slot) + 8, 0);
+        count--;
+        writeHeader();
+        return true;
+    }
+
+    /**
+     * Removes all devices from this store.
+     */
+    void clear() {
+        for (long slot = 0; slot < slots; slot++) {
+            putLong(slotPosition(slot), 0);
+            putLong(slotPosition(slot) + 8, 0);
+        }
+        count = 0;
+        dataEnd = dataStart;
+        garbage = 0;
+        writeHeader();
+    }
+
+    /**
+     * Writes all changes to the storage device.
+     */
+    void force() {
+        for (final MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    /**
+     * Writes all changes to the storage device and closes the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        chunks.clear();
+        channel.close();
+    }
+
+    private long slotPosition(final long slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private long findSlot(final long hash, final byte[] tenant, final byte[] device) {
+
+        long slot = hash & mask;
+        while (true) {
+            final long slotPos = slotPosition(slot);
+            final long recordPos = getLong(slotPos + 8);
+            if (recordPos == 0) {
+                return -1;
+            } else if (getLong(slotPos) == hash && keyEquals(recordPos, tenant, device)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean keyEquals(final long recordPos, final byte[] tenant, final byte[] device) {
+
+        long pos = recordPos + 4;
+        if (getShort(pos) != tenant.length || !bytesEqual(pos + 2, tenant)) {
+            return false;
+        }
+        pos += 2 + tenant.length;
+        return getShort(pos) == device.length && bytesEqual(pos + 2, device);
+    }
+
+    private boolean bytesEqual(final long pos, final byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (getByte(pos + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long appendRecord(final byte[] tenant, final byte[] device, final JsonObject data) throws IOException {
+
+        final JsonObject others = data.copy();
+        final Object enabled = others.remove(RequestResponseApiConstants.FIELD_ENABLED);
+        final Object via = others.remove(BaseRegistrationService.PROPERTY_VIA);
+        final Object defaults = others.remove(RegistrationConstants.FIELD_DEFAULTS);
+
+        final byte enabledFlag;
+        if (enabled instanceof Boolean) {
+            enabledFlag = ((Boolean) enabled) ? ENABLED_TRUE : ENABLED_FALSE;
+        } else {
+            enabledFlag = ENABLED_ABSENT;
+            if (enabled != null) {
+                others.put(RequestResponseApiConstants.FIELD_ENABLED, enabled);
+            }
+        }
+        final byte[] viaBytes = via instanceof String ? ((String) via).getBytes(StandardCharsets.UTF_8) : null;
+        if (via != null && viaBytes == null) {
+            others.put(BaseRegistrationService.PROPERTY_VIA, via);
+        }
+        final byte[] defaultsBytes = defaults instanceof JsonObject ? ((JsonObject) defaults).encode().getBytes(StandardCharsets.UTF_8) : null;
+        if (defaults != null && defaultsBytes == null) {
+            others.put(RegistrationConstants.FIELD_DEFAULTS, defaults);
+        }
+        final byte[] otherBytes = others.isEmpty() ? null : others.encode().getBytes(StandardCharsets.UTF_8);
+
+        final int length = 4 + 2 + tenant.length + 2 + device.length + 1
+                + 4 + (viaBytes == null ? 0 : viaBytes.length)
+                + 4 + (defaultsBytes == null ? 0 : defaultsBytes.length)
+                + 4 + (otherBytes == null ? 0 : otherBytes.length);
+        final long recordPos = dataEnd;
+        ensureMapped(recordPos + length);
+
+        long pos = recordPos;
+        putInt(pos, length);
+        pos += 4;
+        pos = putShortBytes(pos, tenant);
+        pos = putShortBytes(pos, device);
+        putByte(pos++, enabledFlag);
+        pos = putIntBytes(pos, viaBytes);
+        pos = putIntBytes(pos, defaultsBytes);
+        putIntBytes(pos, otherBytes);
+        dataEnd = recordPos + length;
+        return recordPos;
+    }
+
+    private JsonObject readData(final long recordPos, final int tenantLength, final int deviceLength) {
+
+        long pos = recordPos + 4 + 2 + tenantLength + 2 + deviceLength;
+        final byte enabledFlag = getByte(pos++);
+        final byte[] via = getIntBytes(pos);
+        pos += 4 + (via == null ? 0 : via.length);
+        final byte[] defaults = getIntBytes(pos);
+        pos += 4 + (defaults == null ? 0 : defaults.length);
+        final byte[] others = getIntBytes(pos);
+
+        final JsonObject result = others == null ? new JsonObject() : new JsonObject(new String(others, StandardCharsets.UTF_8));
+        if (enabledFlag != ENABLED_ABSENT) {
+            result.put(RequestResponseApiConstants.FIELD_ENABLED, enabledFlag == ENABLED_TRUE);
+        }
+        if (via != null) {
+            result.put(BaseRegistrationService.PROPERTY_VIA, new String(via, StandardCharsets.UTF_8));
+        }
+        if (defaults != null) {
+            result.put(RegistrationConstants.FIELD_DEFAULTS, new JsonObject(new String(defaults, StandardCharsets.UTF_8)));
+        }
+        return result;
+    }
+
+    private long putShortBytes(final long pos, final byte[] bytes) {
+        putShort(pos, (short) bytes.length);
+        putBytes(pos + 2, bytes);
+        return pos + 2 + bytes.length;
+    }
+
+    private long putIntBytes(final long pos, final byte[] bytes) {
+        if (bytes == null) {
+            putInt(pos, -1);
+            return pos + 4;
+        } else {
+            putInt(pos, bytes.length);
+            putBytes(pos + 4, bytes);
+            return pos + 4 + bytes.length;
+        }
+    }
+
+    private byte[] getIntBytes(final long pos) {
+        final int length = getInt(pos);
+        if (length < 0) {
+            return null;
+        } else {
+            final byte[] result = new byte[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = getByte(pos + 4 + i);
+            }
+            return result;
+        }
+    }
+
+    private void writeHeader() {
+        putLong(HEADER_POS_COUNT, count);
+        putLong(HEADER_POS_DATA_END, dataEnd);
+        putLong(HEADER_POS_GARBAGE, garbage);
+    }
+
+    private void ensureMapped(final long size) throws IOException {
+        while ((long) chunks.size() * CHUNK_SIZE < size) {
+            chunks.add(channel.map(MapMode.READ_WRITE, (long) chunks.size() * CHUNK_SIZE, CHUNK_SIZE));
+        }
+    }
+
+    private MappedByteBuffer chunk(final long pos) {
+        return chunks.get((int) (pos / CHUNK_SIZE));
+    }
+
+    private static int offset(final long pos) {
+        return (int) (pos % CHUNK_SIZE);
+    }
+
+    private static boolean spansChunks(final long pos, final int size) {
+        return offset(pos) + size > CHUNK_SIZE;
+    }
+
+    private byte getByte(final long pos) {
+        return chunk(pos).get(offset(pos));
+    }
+
+    private void putByte(final long pos, final byte value) {
+        chunk(pos).put(offset(pos), value);
+    }
+
+    private short getShort(final long pos) {
+        if (spansChunks(pos, 2)) {
+            return (short) (((getByte(pos) & 0xff) << 8) | (getByte(pos + 1) & 0xff));
+        } else {
+            return chunk(pos).getShort(offset(pos));
+        }
+    }
+
+    private void putShort(final long pos, final short value) {
+        if (spansChunks(pos, 2)) {
+            putByte(pos, (byte) (value >> 8));
+            putByte(pos + 1, (byte) value);
+        } else {
+            chunk(pos).putShort(offset(pos), value);
+        }
+    }
+
+    private int getInt(final long pos) {
+        if (spansChunks(pos, 4)) {
+            return ((getShort(pos) & 0xffff) << 16) | (getShort(pos + 2) & 0xffff);
+        } else {
+            return chunk(pos).getInt(offset(pos));
+        }
+    }
+
+    private void putInt(final long pos, final int value) {
+        if (spansChunks(pos, 4)) {
+            putShort(pos, (short) (value >> 16));
+            putShort(pos + 2, (short) value);
+        } else {
+            chunk(pos).putInt(offset(pos), value);
+        }
+    }
+
+    private long getLong(final long pos) {
+        // slots and header fields are 8 byte aligned and never span chunks
+        return chunk(pos).getLong(offset(pos));
+    }
+
+    private void putLong(final long pos, final long value) {
+        chunk(pos).putLong(offset(pos), value);
+    }
+
+    private void putBytes(final long pos, final byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            putByte(pos + i, bytes[i]);
+        }
+    }
+
+    private static long hash(final byte[] tenant, final byte[] device) {
+        // 64 bit FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        for (final byte b : tenant) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        hash = (hash ^ 0xff) * 0x100000001b3L;
+        for (final byte b : device) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        // spread the bits so that the low order bits used for indexing are well distributed
+        hash ^= (hash >>> 33);
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= (hash >>> 33);
+        return hash;
+    }
+}
@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.deviceregistry;
+
+import static java.net.HttpURLConnection.*;
+import static org.eclipse.hono.util.RequestResponseApiConstants.FIELD_ENABLED;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+import org.eclipse.hono.service.registration.BaseRegistrationService;
+import org.eclipse.hono.util.NotificationConstants;
+import org.eclipse.hono.util.NotificationConstants.Change;
+import org.eclipse.hono.util.RegistrationResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A registration service that keeps all data in a memory mapped file.
+ * <p>
+ * In contrast to {@link FileBasedRegistrationService} this service does not keep the
+ * registration information of devices on the Java heap. Devices are stored in a
+ * {@link MappedDeviceStore} which is indexed by tenant and device ID so that the number of
+ * devices that can be registered is only limited by the size of the file system and the
+ * configured store capacity. The operating system's page cache is used for keeping frequently
+ * accessed devices in memory.
+ * <p>
+ * The service is used instead of {@link FileBasedRegistrationService} if the
+ * {@code registration-mmap} profile is active. The maximum number of devices per
+ * tenant is not enforced by this service.
+ */
+@Repository
+@Profile("registration-mmap")
+public final class MappedFileRegistrationService extends BaseRegistrationService<FileBasedRegistrationConfigProperties> {
+
+    private MappedDeviceStore store;
+
+    @Autowired
+    @Override
+    public void setConfig(final FileBasedRegistrationConfigProperties configuration) {
+        setSpecificConfig(configuration);
+    }
+
+    @Override
+    protected void doStart(final Future<Void> startFuture) {
+
+        if (store != null) {
+            startFuture.complete();
+        } else {
+
+            if (!getConfig().isModificationEnabled()) {
+                log.info("modification of registered devices has been disabled");
+            }
+
+            vertx.<MappedDeviceStore>executeBlocking(open -> {
+                try {
+                    open.complete(MappedDeviceStore.open(Paths.get(getConfig().getStoreFilename()), getConfig().getStoreCapacity()));
+                } catch (final IOException | IllegalArgumentException e) {
+                    open.fail(e);
+                }
+            }, attempt -> {
+                if (attempt.succeeded()) {
+                    store = attempt.result();
+                    log.info("opened device store [file: {}, devices: {}, capacity: {}]",
+                            getConfig().getStoreFilename(), store.getCount(), store.getCapacity());
+                    startFuture.complete();
+                } else {
+                    log.error("cannot open device store [file: {}]", getConfig().getStoreFilename(), attempt.cause());
+                    startFuture.fail(attempt.cause());
+                }
+            });
+        }
+    }
+
+    @Override
+    protected void doStop(final Future<Void> stopFuture) {
+
+        if (store == null) {
+            stopFuture.complete();
+        } else {
+            final MappedDeviceStore storeToClose = store;
+            store = null;
+            vertx.<Void>executeBlocking(close -> {
+                try {
+                    storeToClose.close();
+                    close.complete();
+                } catch (final IOException e) {
+                    close.fail(e);
+                }
+            }, stopFuture.completer());
+        }
+    }
+
+    /**
+     * Sets the store to keep registration information in.
+     * <p>
+     * This method is intended for testing purposes only.
+     *
+     * @param store The store.
+     */
+    void setStore(final MappedDeviceStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void getDevice(final String tenantId, final String deviceId, final Handler<AsyncResult<RegistrationResult>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(resultHandler);
+
+        resultHandler.handle(Future.succeededFuture(getDevice(tenantId, deviceId)));
+    }
+
+    RegistrationResult getDevice(final String tenantId, final String deviceId) {
+
+        final JsonObject data = store.get(tenantId, deviceId);
+        if (data != null) {
+            return RegistrationResult.from(HTTP_OK, getResultPayload(deviceId, data));
+        } else {
+            return RegistrationResult.from(HTTP_NOT_FOUND);
+        }
+    }
+
+    @Override
+    public void removeDevice(final String tenantId, final String deviceId, final Handler<AsyncResult<RegistrationResult>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(resultHandler);
+
+        resultHandler.handle(Future.succeededFuture(removeDevice(tenantId, deviceId)));
+    }
+
+    RegistrationResult removeDevice(final String tenantId, final String deviceId) {
+
+        if (!getConfig().isModificationEnabled()) {
+            return RegistrationResult.from(HTTP_FORBIDDEN);
+        } else if (store.remove(tenantId, deviceId)) {
+            publishNotification(NotificationConstants.getDeviceNotification(Change.removed, tenantId, deviceId));
+            return RegistrationResult.from(HTTP_NO_CONTENT);
+        } else {
+            return RegistrationResult.from(HTTP_NOT_FOUND);
+        }
+    }
+
+    @Override
+    public void addDevice(final String tenantId, final String deviceId, final JsonObject data, final Handler<AsyncResult<RegistrationResult>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(resultHandler);
+
+        resultHandler.handle(Future.succeededFuture(addDevice(tenantId, deviceId, data)));
+    }
+
+    RegistrationResult addDevice(final String tenantId, final String deviceId, final JsonObject data) {
+
+        final JsonObject obj = data != null ? data : new JsonObject().put(FIELD_ENABLED, Boolean.TRUE);
+        if (store.contains(tenantId, deviceId)) {
+            return RegistrationResult.from(HTTP_CONFLICT);
+        }
+        return put(tenantId, deviceId, obj, false, HTTP_CREATED);
+    }
+
+    @Override
+    public void updateDevice(final String tenantId, final String deviceId, final JsonObject data, final Handler<AsyncResult<RegistrationResult>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(resultHandler);
+
+        resultHandler.handle(Future.succeededFuture(updateDevice(tenantId, deviceId, data)));
+    }
+
+    RegistrationResult updateDevice(final String tenantId, final String deviceId, final JsonObject data) {
+
+        if (!getConfig().isModificationEnabled()) {
+            return RegistrationResult.from(HTTP_FORBIDDEN);
+        } else if (!store.contains(tenantId, deviceId)) {
+            return RegistrationResult.from(HTTP_NOT_FOUND);
+        }
+        final JsonObject obj = data != null ? data : new JsonObject().put(FIELD_ENABLED, Boolean.TRUE);
+        return put(tenantId, deviceId, obj, true, HTTP_NO_CONTENT);
+    }
+
+    private RegistrationResult put(final String tenantId, final String deviceId, final JsonObject data,
+            final boolean replace, final int successStatus) {
+
+        try {
+            if (store.put(tenantId, deviceId, data, replace)) {
+                publishNotification(NotificationConstants.getDeviceNotification(
+                        replace ? Change.updated : Change.created, tenantId, deviceId));
+                return RegistrationResult.from(successStatus);
+            } else {
+                log.debug("device store is full [capacity: {}]", store.getCapacity());
+                return RegistrationResult.from(HTTP_FORBIDDEN);
+            }
+        } catch (final IllegalArgumentException e) {
+            log.debug("cannot store device [tenant: {}, device-id: {}]: {}", tenantId, deviceId, e.getMessage());
+            return RegistrationResult.from(HTTP_BAD_REQUEST);
+        } catch (final IOException e) {
+            log.warn("cannot store device [tenant: {}, device-id: {}]", tenantId, deviceId, e);
+            return RegistrationResult.from(HTTP_INTERNAL_ERROR);
+        }
+    }
+
+    private void publishNotification(final JsonObject notification) {
+        if (vertx != null) {
+            vertx.eventBus().publish(NotificationConstants.EVENT_BUS_ADDRESS_NOTIFICATION, notification);
+        }
+    }
+
+    /**
+     * Removes all devices from the registry.
+     */
+    public void clear() {
+        store.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[filename=%s]", MappedFileRegistrationService.class.getSimpleName(), getConfig().getStoreFilename());
+    }
+}
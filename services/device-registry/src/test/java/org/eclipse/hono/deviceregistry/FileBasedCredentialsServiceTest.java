@@ -382,6 +382,47 @@ public class FileBasedCredentialsServiceTest {
         remove.await(2000);
     }
 
+    /**
+     * Verifies that the service returns all credentials of a device, including
+     * credentials that have been moved to the device by means of an update.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testGetAllCredentialsForDeviceReflectsUpdates(final TestContext ctx) {
+
+        register(svc, "tenant", "device", "myId", "myType", new JsonArray(), ctx);
+        register(svc, "tenant", "device", "myOtherId", "myOtherType", new JsonArray(), ctx);
+        register(svc, "tenant", "other-device", "thirdId", "myType", new JsonArray(), ctx);
+
+        // WHEN moving the third set of credentials to the device
+        final JsonObject updatedCredentials = new JsonObject()
+                .put(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID, "device")
+                .put(CredentialsConstants.FIELD_AUTH_ID, "thirdId")
+                .put(CredentialsConstants.FIELD_TYPE, "myType")
+                .put(CredentialsConstants.FIELD_SECRETS, new JsonArray());
+        final Async update = ctx.async();
+        svc.update("tenant", updatedCredentials, ctx.asyncAssertSuccess(s -> {
+            assertThat(s.getStatus(), is(HttpURLConnection.HTTP_NO_CONTENT));
+            update.complete();
+        }));
+        update.await(2000);
+
+        // THEN all three sets of credentials are returned for the device
+        final Async getAll = ctx.async(2);
+        svc.getAll("tenant", "device", ctx.asyncAssertSuccess(s -> {
+            assertThat(s.getStatus(), is(HttpURLConnection.HTTP_OK));
+            assertThat(s.getPayload().getInteger(CredentialsConstants.FIELD_CREDENTIALS_TOTAL), is(3));
+            getAll.countDown();
+        }));
+        // and none are returned for the other device anymore
+        svc.getAll("tenant", "other-device", ctx.asyncAssertSuccess(s -> {
+            assertThat(s.getStatus(), is(HttpURLConnection.HTTP_NOT_FOUND));
+            getAll.countDown();
+        }));
+        getAll.await(2000);
+    }
+
     /**
      * Verifies that the <em>modificationEnabled</em> property prevents updating an existing entry.
      * 
@@ -23,6 +23,9 @@ import java.nio.charset.StandardCharsets;
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.NotificationConstants;
+import org.eclipse.hono.util.NotificationConstants.Change;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.RegistrationResult;
 import org.junit.Before;
@@ -38,6 +41,7 @@ import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.file.FileSystem;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
@@ -277,6 +281,25 @@ public class FileBasedRegistrationServiceTest {
         assertThat(registrationService.getDevice(TENANT, "newDevice").getStatus(), is(HttpURLConnection.HTTP_NOT_FOUND));
     }
 
+    /**
+     * Verifies that the registry publishes a notification when a device is updated.
+     */
+    @Test
+    public void testUpdateDevicePublishesNotification() {
+
+        // GIVEN a registry which contains a device
+        registrationService.addDevice(TENANT, DEVICE, null);
+
+        // WHEN updating the device
+        final RegistrationResult result = registrationService.updateDevice(TENANT, DEVICE, new JsonObject().put("updated", true));
+
+        // THEN a notification about the update has been published to the event bus
+        assertThat(result.getStatus(), is(HttpURLConnection.HTTP_NO_CONTENT));
+        verify(eventBus).publish(
+                NotificationConstants.EVENT_BUS_ADDRESS_NOTIFICATION,
+                NotificationConstants.getDeviceNotification(Change.updated, TENANT, DEVICE));
+    }
+
     /**
      * Verifies that the <em>modificationEnabled</em> property prevents updating an existing entry.
      */
@@ -421,6 +444,113 @@ public class FileBasedRegistrationServiceTest {
         }));
     }
 
+    /**
+     * Verifies that a batch of devices is registered and that the outcome
+     * is reported for each device.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testRegisterBatchReportsResultPerDevice(final TestContext ctx) {
+
+        registrationService.addDevice(TENANT, "existing", null);
+        final JsonArray devices = new JsonArray()
+                .add(new JsonObject().put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, "new").put("ext", "value"))
+                .add(new JsonObject().put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, "existing"))
+                .add(new JsonObject().put("ext", "value"));
+        final EventBusMessage request = EventBusMessage.forOperation(RegistrationConstants.ACTION_REGISTER_BATCH)
+                .setTenant(TENANT)
+                .setJsonPayload(new JsonObject().put(RegistrationConstants.FIELD_DEVICES, devices));
+
+        registrationService.processRequest(request).setHandler(ctx.asyncAssertSuccess(response -> {
+            final JsonArray results = response.getJsonPayload().getJsonArray(RegistrationConstants.FIELD_RESULTS);
+            ctx.assertEquals(3, results.size());
+            ctx.assertEquals(HttpURLConnection.HTTP_CREATED, results.getJsonObject(0).getInteger(MessageHelper.APP_PROPERTY_STATUS));
+            ctx.assertEquals(HttpURLConnection.HTTP_CONFLICT, results.getJsonObject(1).getInteger(MessageHelper.APP_PROPERTY_STATUS));
+            ctx.assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, results.getJsonObject(2).getInteger(MessageHelper.APP_PROPERTY_STATUS));
+            final JsonObject data = registrationService.getDevice(TENANT, "new").getPayload().getJsonObject(RegistrationConstants.FIELD_DATA);
+            ctx.assertEquals("value", data.getString("ext"));
+            ctx.assertTrue(data.getBoolean(RegistrationConstants.FIELD_ENABLED));
+        }));
+    }
+
+    /**
+     * Verifies that all devices of a tenant can be retrieved page by page in the
+     * order of their identifiers and that devices added during the export are
+     * included if their identifier is greater than the last identifier retrieved.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testListReturnsAllDevicesPageByPage(final TestContext ctx) {
+
+        for (int i = 4; i >= 0; i--) {
+            registrationService.addDevice(TENANT, "device-" + i, null);
+        }
+        final Async firstPage = ctx.async();
+        registrationService.processRequest(newListRequest(null, 3)).setHandler(ctx.asyncAssertSuccess(response -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_OK, response.getStatus());
+            assertDeviceIds(ctx, response, "device-0", "device-1", "device-2");
+            firstPage.complete();
+        }));
+        firstPage.await();
+
+        registrationService.addDevice(TENANT, "device-5", null);
+        final Async secondPage = ctx.async();
+        registrationService.processRequest(newListRequest("device-2", 3)).setHandler(ctx.asyncAssertSuccess(response -> {
+            assertDeviceIds(ctx, response, "device-3", "device-4", "device-5");
+            ctx.assertNotNull(response.getJsonPayload().getJsonArray(RegistrationConstants.FIELD_DEVICES)
+                    .getJsonObject(0).getJsonObject(RegistrationConstants.FIELD_DATA));
+            secondPage.complete();
+        }));
+        secondPage.await();
+
+        registrationService.processRequest(newListRequest("device-5", 3)).setHandler(ctx.asyncAssertSuccess(response -> {
+            assertDeviceIds(ctx, response);
+        }));
+    }
+
+    /**
+     * Verifies that exports of the same tenant's devices do not interfere with each other.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testListSupportsInterleavedExports(final TestContext ctx) {
+
+        for (int i = 0; i < 4; i++) {
+            registrationService.addDevice(TENANT, "device-" + i, null);
+        }
+        final Async firstExport = ctx.async();
+        registrationService.processRequest(newListRequest(null, 2)).setHandler(ctx.asyncAssertSuccess(response -> {
+            assertDeviceIds(ctx, response, "device-0", "device-1");
+            firstExport.complete();
+        }));
+        firstExport.await();
+
+        // WHEN another export is started before the first one has finished
+        final Async secondExport = ctx.async();
+        registrationService.processRequest(newListRequest(null, 2)).setHandler(ctx.asyncAssertSuccess(response -> {
+            assertDeviceIds(ctx, response, "device-0", "device-1");
+            secondExport.complete();
+        }));
+        secondExport.await();
+
+        // THEN the first export continues where it left off
+        registrationService.processRequest(newListRequest("device-1", 2)).setHandler(ctx.asyncAssertSuccess(response -> {
+            assertDeviceIds(ctx, response, "device-2", "device-3");
+        }));
+    }
+
+    private static void assertDeviceIds(final TestContext ctx, final EventBusMessage response, final String... expectedIds) {
+
+        final JsonArray page = response.getJsonPayload().getJsonArray(RegistrationConstants.FIELD_DEVICES);
+        ctx.assertEquals(expectedIds.length, page.size());
+        for (int i = 0; i < expectedIds.length; i++) {
+            ctx.assertEquals(expectedIds[i], page.getJsonObject(i).getString(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID));
+        }
+    }
+
     /**
      * Verifies that setting the <em>saveToFile</em> configuration property to <em>false</em> prevents
      * the registration service to write its content to the file system periodically.
@@ -491,6 +621,16 @@ public class FileBasedRegistrationServiceTest {
         verify(fileSystem, never()).createFile(eq(props.getFilename()), any(Handler.class));
     }
 
+    private static EventBusMessage newListRequest(final String afterDeviceId, final int limit) {
+        final JsonObject payload = new JsonObject().put(RegistrationConstants.FIELD_LIMIT, limit);
+        if (afterDeviceId != null) {
+            payload.put(RegistrationConstants.FIELD_AFTER, afterDeviceId);
+        }
+        return EventBusMessage.forOperation(RegistrationConstants.ACTION_LIST)
+                .setTenant(TENANT)
+                .setJsonPayload(payload);
+    }
+
     private static EventBusMessage newRequest(final String operation, final String tenant) {
         return EventBusMessage.forOperation(operation).setTenant(tenant).setDeviceId(DEVICE);
     }
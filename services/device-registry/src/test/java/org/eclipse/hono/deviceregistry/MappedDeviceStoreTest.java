@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.deviceregistry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.eclipse.hono.service.registration.BaseRegistrationService;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Tests verifying behavior of {@link MappedDeviceStore}.
+ *
+ */
+public class MappedDeviceStoreTest {
+
+    /**
+     * A folder to create the store in.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private MappedDeviceStore store;
+
+    /**
+     * Sets up the fixture.
+     *
+     * @throws IOException if the store cannot be opened.
+     */
+    @Before
+    public void setUp() throws IOException {
+        file = folder.getRoot().toPath().resolve("devices.store");
+        store = MappedDeviceStore.open(file, 100);
+    }
+
+    /**
+     * Closes the store.
+     *
+     * @throws IOException if the store cannot be closed.
+     */
+    @After
+    public void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    /**
+     * Verifies that the store returns the registration information that has been put.
+     *
+     * @throws IOException if the store cannot be accessed.
+     */
+    @Test
+    public void testGetReturnsStoredData() throws IOException {
+
+        final JsonObject data = new JsonObject()
+                .put(RegistrationConstants.FIELD_ENABLED, false)
+                .put(BaseRegistrationService.PROPERTY_VIA, "gw-1")
+                .put(RegistrationConstants.FIELD_DEFAULTS, new JsonObject().put("content-type", "text/plain"))
+                .put("ext", new JsonObject().put("key", "value"));
+
+        assertTrue(store.put("tenant", "device", data, false));
+        assertTrue(store.put("tenant", "other", new JsonObject(), false));
+
+        assertThat(store.get("tenant", "device"), is(data));
+        assertThat(store.get("tenant", "other"), is(new JsonObject()));
+        assertThat(store.get("other-tenant", "device"), is(nullValue()));
+        assertThat(store.getCount(), is(2L));
+    }
+
+    /**
+     * Verifies that existing devices are only replaced if requested.
+     *
+     * @throws IOException if the store cannot be accessed.
+     */
+    @Test
+    public void testPutReplacesDataOnlyIfRequested() throws IOException {
+
+        final JsonObject original = new JsonObject().put(RegistrationConstants.FIELD_ENABLED, true);
+        final JsonObject updated = new JsonObject().put(RegistrationConstants.FIELD_ENABLED, false);
+        assertTrue(store.put("tenant", "device", original, false));
+
+        assertFalse(store.put("tenant", "device", updated, false));
+        assertThat(store.get("tenant", "device"), is(original));
+
+        assertTrue(store.put("tenant", "device", updated, true));
+        assertThat(store.get("tenant", "device"), is(updated));
+        assertThat(store.getCount(), is(1L));
+        assertTrue(store.getGarbage() > 0);
+    }
+
+    /**
+     * Verifies that devices can still be found after other devices
+     * have been removed from the index.
+     *
+     * @throws IOException if the store cannot be accessed.
+     */
+    @Test
+    public void testRemoveKeepsOtherDevicesAccessible() throws IOException {
+
+        final int devices = (int) store.getCapacity();
+        for (int i = 0; i < devices; i++) {
+            assertTrue(store.put("tenant", "device-" + i, new JsonObject().put("index", i), false));
+        }
+        for (int i = 0; i < devices; i += 2) {
+            assertTrue(store.remove("tenant", "device-" + i));
+        }
+        assertFalse(store.remove("tenant", "device-0"));
+        assertThat(store.getCount(), is((long) devices / 2));
+
+        for (int i = 0; i < devices; i++) {
+            if (i % 2 == 0) {
+                assertThat(store.get("tenant", "device-" + i), is(nullValue()));
+            } else {
+                assertThat(store.get("tenant", "device-" + i).getInteger("index"), is(i));
+            }
+        }
+    }
+
+    /**
+     * Verifies that devices are rejected once the store's capacity is reached.
+     *
+     * @throws IOException if the store cannot be accessed.
+     */
+    @Test
+    public void testPutFailsIfStoreIsFull() throws IOException {
+
+        final long capacity = store.getCapacity();
+        for (long i = 0; i < capacity; i++) {
+            assertTrue(store.put("tenant", "device-" + i, new JsonObject(), false));
+        }
+        assertFalse(store.put("tenant", "one-too-many", new JsonObject(), false));
+
+        // but existing devices can still be updated
+        assertTrue(store.put("tenant", "device-0", new JsonObject().put("updated", true), true));
+    }
+
+    /**
+     * Verifies that devices are recovered when the store is opened again.
+     *
+     * @throws IOException if the store cannot be accessed.
+     */
+    @Test
+    public void testOpenRecoversDevices() throws IOException {
+
+        for (int i = 0; i < 50; i++) {
+            store.put("tenant", "device-" + i, new JsonObject().put("index", i), false);
+        }
+        store.remove("tenant", "device-10");
+        store.close();
+
+        // capacity is ignored for existing stores
+        store = MappedDeviceStore.open(file, 1);
+        assertThat(store.getCount(), is(49L));
+        assertThat(store.get("tenant", "device-10"), is(nullValue()));
+        assertThat(store.get("tenant", "device-49").getInteger("index"), is(49));
+        assertTrue(store.put("tenant", "new-device", new JsonObject(), false));
+        assertThat(store.getCount(), is(50L));
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.deviceregistry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+import org.eclipse.hono.util.NotificationConstants;
+import org.eclipse.hono.util.NotificationConstants.Change;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Tests verifying behavior of {@link MappedFileRegistrationService}.
+ *
+ */
+public class MappedFileRegistrationServiceTest {
+
+    private static final String TENANT = "tenant";
+    private static final String DEVICE = "4711";
+
+    /**
+     * A folder to create the store in.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MappedDeviceStore store;
+    private MappedFileRegistrationService registrationService;
+    private EventBus eventBus;
+
+    /**
+     * Sets up the fixture.
+     *
+     * @throws IOException if the store cannot be opened.
+     */
+    @Before
+    public void setUp() throws IOException {
+
+        eventBus = mock(EventBus.class);
+        final Vertx vertx = mock(Vertx.class);
+        when(vertx.eventBus()).thenReturn(eventBus);
+
+        store = MappedDeviceStore.open(folder.getRoot().toPath().resolve("devices.store"), 10);
+        registrationService = new MappedFileRegistrationService();
+        registrationService.setConfig(new FileBasedRegistrationConfigProperties());
+        registrationService.init(vertx, mock(Context.class));
+        registrationService.setStore(store);
+    }
+
+    /**
+     * Closes the store.
+     *
+     * @throws IOException if the store cannot be closed.
+     */
+    @After
+    public void tearDown() throws IOException {
+        store.close();
+    }
+
+    /**
+     * Verifies that the registry publishes a notification when a device is added.
+     */
+    @Test
+    public void testAddDevicePublishesNotification() {
+
+        assertThat(registrationService.addDevice(TENANT, DEVICE, null).getStatus(), is(HttpURLConnection.HTTP_CREATED));
+        verify(eventBus).publish(
+                NotificationConstants.EVENT_BUS_ADDRESS_NOTIFICATION,
+                NotificationConstants.getDeviceNotification(Change.created, TENANT, DEVICE));
+    }
+
+    /**
+     * Verifies that the registry publishes a notification when a device is updated.
+     */
+    @Test
+    public void testUpdateDevicePublishesNotification() {
+
+        // GIVEN a registry which contains a device
+        registrationService.addDevice(TENANT, DEVICE, null);
+
+        // WHEN updating the device
+        assertThat(registrationService.updateDevice(TENANT, DEVICE, new JsonObject().put("updated", true)).getStatus(),
+                is(HttpURLConnection.HTTP_NO_CONTENT));
+
+        // THEN a notification about the update has been published to the event bus
+        verify(eventBus).publish(
+                NotificationConstants.EVENT_BUS_ADDRESS_NOTIFICATION,
+                NotificationConstants.getDeviceNotification(Change.updated, TENANT, DEVICE));
+    }
+
+    /**
+     * Verifies that the registry publishes a notification when a device is removed.
+     */
+    @Test
+    public void testRemoveDevicePublishesNotification() {
+
+        // GIVEN a registry which contains a device
+        registrationService.addDevice(TENANT, DEVICE, null);
+
+        // WHEN removing the device
+        assertThat(registrationService.removeDevice(TENANT, DEVICE).getStatus(), is(HttpURLConnection.HTTP_NO_CONTENT));
+
+        // THEN a notification about the removal has been published to the event bus
+        verify(eventBus).publish(
+                NotificationConstants.EVENT_BUS_ADDRESS_NOTIFICATION,
+                NotificationConstants.getDeviceNotification(Change.removed, TENANT, DEVICE));
+    }
+
+    /**
+     * Verifies that the registry does not publish a notification if a device cannot be removed.
+     */
+    @Test
+    public void testRemoveNonExistingDeviceDoesNotPublishNotification() {
+
+        assertThat(registrationService.removeDevice(TENANT, DEVICE).getStatus(), is(HttpURLConnection.HTTP_NOT_FOUND));
+        verify(eventBus, never()).publish(anyString(), any());
+    }
+}
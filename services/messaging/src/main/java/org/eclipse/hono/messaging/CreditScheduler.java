@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.messaging;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+import org.eclipse.hono.util.ResourceIdentifier;
+
+/**
+ * A scheduler for dividing a pool of credit among upstream links.
+ * <p>
+ * Each tenant with recent activity is entitled to a share of the pool which is proportional
+ * to the tenant's weight. A tenant's share is divided evenly among the tenant's links, but each
+ * link is always entitled to at least the configured minimum credit. Tenants which have not
+ * sent any messages during the last {@link #ACTIVITY_PERIOD_MILLIS} do not take part in the
+ * division so that their share is available to the active tenants.
+ * <p>
+ * The credit granted to an upstream link is the minimum of the link's share and the credit
+ * available on the corresponding downstream link. Because links are topped up to their share
+ * whenever a message has been forwarded, a tenant can never have more messages in flight than
+ * its share, regardless of the amount of credit granted by the downstream container.
+ * <p>
+ * Instances of this class are not thread safe and are expected to be used on the
+ * event loop of the adapter that they have been created for only.
+ */
+final class CreditScheduler {
+
+    /**
+     * The number of milliseconds after which a tenant without any messages is considered idle.
+     * This is also the period for which the tenants' utilisation is reported.
+     */
+    static final long ACTIVITY_PERIOD_MILLIS = 1000;
+
+    private final int pool;
+    private final int minLinkCredit;
+    private final Map<String, Integer> weights;
+    private final MessagingMetrics metrics;
+    private final LongSupplier clock;
+    private final Map<UpstreamReceiver, TenantState> links = new HashMap<>();
+    private final Map<String, TenantState> tenants = new HashMap<>();
+
+    private long periodStart;
+    private long messagesInPeriod;
+
+    /**
+     * Creates a scheduler for configuration properties.
+     *
+     * @param config The configuration to get the pool size, minimum link credit and tenant weights from.
+     * @param metrics The metrics to report the tenants' credit and utilisation to.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    CreditScheduler(final HonoMessagingConfigProperties config, final MessagingMetrics metrics) {
+        this(config.getLinkCreditPool(), config.getMinLinkCredit(), config.getTenantCreditWeights(), metrics,
+                System::currentTimeMillis);
+    }
+
+    CreditScheduler(final int pool, final int minLinkCredit, final Map<String, Integer> weights,
+            final MessagingMetrics metrics, final LongSupplier clock) {
+        this.pool = pool;
+        this.minLinkCredit = minLinkCredit;
+        this.weights = Objects.requireNonNull(weights);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+        this.periodStart = clock.getAsLong();
+    }
+
+    /**
+     * Checks if credit is divided among links at all.
+     *
+     * @return {@code true} if a pool size has been configured.
+     */
+    boolean isEnabled() {
+        return pool > 0;
+    }
+
+    /**
+     * Adds an upstream link to the links to divide the pool among.
+     *
+     * @param link The link.
+     */
+    void addLink(final UpstreamReceiver link) {
+
+        if (!isEnabled() || links.containsKey(link)) {
+            return;
+        }
+        final String tenant = ResourceIdentifier.fromString(link.getTargetAddress()).getTenantId();
+        final TenantState state = tenants.computeIfAbsent(tenant, t -> new TenantState(t, weights.getOrDefault(t, 1)));
+        state.links++;
+        // give newly attached links a chance to get their share right away
+        state.lastActivity = clock.getAsLong();
+        links.put(link, state);
+    }
+
+    /**
+     * Removes an upstream link from the links to divide the pool among.
+     *
+     * @param link The link.
+     */
+    void removeLink(final UpstreamReceiver link) {
+
+        final TenantState state = links.remove(link);
+        if (state != null && --state.links == 0) {
+            tenants.remove(state.tenant);
+            metrics.submitTenantCredits(state.tenant, 0);
+        }
+    }
+
+    /**
+     * Records a message that has been forwarded downstream on an upstream link's behalf.
+     *
+     * @param link The link that the message has been received on.
+     */
+    void recordMessage(final UpstreamReceiver link) {
+
+        final TenantState state = links.get(link);
+        if (state != null) {
+            final long now = clock.getAsLong();
+            reportUtilisationIfPeriodEnded(now);
+            state.lastActivity = now;
+            state.messagesInPeriod++;
+            messagesInPeriod++;
+        }
+    }
+
+    /**
+     * Gets the credit that an upstream link should be replenished with.
+     *
+     * @param link The link.
+     * @param downstreamCredit The credit available on the link's downstream sender.
+     * @return The credit to replenish the link with. If the scheduler is disabled or the link is
+     *         unknown, the downstream credit is returned.
+     */
+    int getCredit(final UpstreamReceiver link, final int downstreamCredit) {
+
+        final TenantState state = links.get(link);
+        if (state == null) {
+            return downstreamCredit;
+        }
+        final long now = clock.getAsLong();
+        long activeWeights = 0;
+        for (final TenantState tenant : tenants.values()) {
+            if (tenant == state || tenant.isActive(now)) {
+                activeWeights += tenant.weight;
+            }
+        }
+        final int tenantShare = (int) (pool * state.weight / activeWeights);
+        if (tenantShare != state.share) {
+            state.share = tenantShare;
+            metrics.submitTenantCredits(state.tenant, tenantShare);
+        }
+        final int linkShare = Math.max(minLinkCredit, tenantShare / state.links);
+        return Math.min(downstreamCredit, linkShare);
+    }
+
+    private void reportUtilisationIfPeriodEnded(final long now) {
+
+        if (now - periodStart < ACTIVITY_PERIOD_MILLIS) {
+            return;
+        }
+        for (final TenantState tenant : tenants.values()) {
+            final double utilisation = messagesInPeriod == 0 ? 0 : 100d * tenant.messagesInPeriod / messagesInPeriod;
+            metrics.submitTenantUtilisation(tenant.tenant, utilisation);
+            tenant.messagesInPeriod = 0;
+        }
+        messagesInPeriod = 0;
+        periodStart = now;
+    }
+
+    /**
+     * The scheduling state of a tenant.
+     */
+    private static final class TenantState {
+
+        private final String tenant;
+        private final int weight;
+        private int links;
+        private int share = -1;
+        private long lastActivity;
+        private long messagesInPeriod;
+
+        TenantState(final String tenant, final int weight) {
+            this.tenant = tenant;
+            this.weight = Math.max(1, weight);
+        }
+
+        boolean isActive(final long now) {
+            return now - lastActivity < ACTIVITY_PERIOD_MILLIS;
+        }
+    }
+}
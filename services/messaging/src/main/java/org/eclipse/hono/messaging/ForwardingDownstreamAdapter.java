@@ -55,12 +55,15 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
      */
     protected HonoMessagingConfigProperties honoConfig = new HonoMessagingConfigProperties();
 
+    private static final String KEY_UPSTREAM_RECEIVER = "UPSTREAM_RECEIVER";
+
     private final Map<UpstreamReceiver, ProtonSender> activeSenders          = new HashMap<>();
     private final Map<String, List<UpstreamReceiver>> receiversPerConnection = new HashMap<>();
     private final List<Handler<AsyncResult<Void>>>    clientAttachHandlers   = new ArrayList<>();
     private final Vertx                               vertx;
 
     private MessagingMetrics  metrics;
+    private CreditScheduler   creditScheduler;
     private boolean           running                     = false;
     private boolean           retryOnFailedConnectAttempt = true;
     private ProtonConnection  downstreamConnection;
@@ -138,6 +141,7 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
             throw new IllegalStateException("downstream connection factory is not set");
         } else {
             running = true;
+            creditScheduler = new CreditScheduler(honoConfig, metrics);
             if (honoConfig.isWaitForDownstreamConnectionEnabled()) {
                 logger.info("waiting for connection to downstream container");
                 connectToDownstream(createClientOptions(), attempt -> {
@@ -257,6 +261,7 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
             logger.warn("lost connection to downstream container [{}], closing upstream receivers ...", con.getRemoteContainer());
 
             for (UpstreamReceiver client : activeSenders.keySet()) {
+                creditScheduler.removeLink(client);
                 closeReceiver(client);
             }
             receiversPerConnection.clear();
@@ -342,6 +347,8 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
      * Invoked when a downstream sender receives link credit and/or a drain request from the downstream container.
      * <p>
      * The credits/drain request is forwarded to the corresponding upstream client.
+     * If a {@linkplain HonoMessagingConfigProperties#getLinkCreditPool() credit pool} is
+     * configured, the client is replenished with no more than its share of the pool.
      * 
      * @param replenishedSender The downstream sender that has received the FLOW.
      * @param client The upstream client associated with the sender.
@@ -362,11 +369,29 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
             });
         } else {
             int downstreamCredit = getAvailableDownstreamCredit(replenishedSender);
-            client.replenish(downstreamCredit);
+            client.replenish(creditScheduler.getCredit(client, downstreamCredit));
             metrics.submitDownstreamLinkCredits(client.getTargetAddress(), downstreamCredit);
         }
     }
 
+    /**
+     * Replenishes the upstream client associated with a downstream sender.
+     * <p>
+     * Upstream clients are replenished when the downstream container grants credit
+     * to the corresponding sender. Subclasses that accept messages from a client without
+     * sending each of them downstream, e.g. by aggregating them, need to invoke this method
+     * because the downstream container does not grant any credit for such messages.
+     * 
+     * @param sender The downstream sender.
+     */
+    protected final void replenishUpstreamClient(final ProtonSender sender) {
+
+        final UpstreamReceiver client = sender.attachments().get(KEY_UPSTREAM_RECEIVER, UpstreamReceiver.class);
+        if (client != null) {
+            client.replenish(creditScheduler.getCredit(client, getAvailableDownstreamCredit(sender)));
+        }
+    }
+
     private static int getAvailableDownstreamCredit(final ProtonSender downstreamSender) {
         return Math.max(0, downstreamSender.getCredit());
     }
@@ -392,6 +417,7 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
      */
     public final void addSender(final UpstreamReceiver link, final ProtonSender sender) {
         sender.attachments().set(Constants.KEY_CONNECTION_ID, String.class, link.getConnectionId());
+        sender.attachments().set(KEY_UPSTREAM_RECEIVER, UpstreamReceiver.class, link);
         sender.setAutoDrained(false); // we need to propagate drain requests upstream and wait for the result
         activeSenders.put(link, sender);
         List<UpstreamReceiver> senders = receiversPerConnection.get(link.getConnectionId());
@@ -400,6 +426,7 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
             receiversPerConnection.put(link.getConnectionId(), senders);
         }
         senders.add(link);
+        creditScheduler.addLink(link);
         metrics.incrementDownstreamSenders(link.getTargetAddress());
     }
 
@@ -449,6 +476,7 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
 
     private void closeSender(final UpstreamReceiver link) {
         ProtonSender sender = activeSenders.remove(link);
+        creditScheduler.removeLink(link);
         if (sender != null && sender.isOpen()) {
             logger.info("closing downstream sender [con: {}, link: {}]", link.getConnectionId(), link.getLinkId());
             metrics.decrementDownstreamSenders(link.getTargetAddress());
@@ -491,6 +519,13 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
                         msg.getMessageId(), msg.getAddress(), msg.getContentType(), getDownstreamContainer(), sender.getCredit(), sender.getQueued());
                 forwardMessage(sender, msg, upstreamDelivery);
                 metrics.incrementProcessedMessages(sender.getTarget().getAddress());
+                if (creditScheduler.isEnabled()) {
+                    // top up the client to its current share because the downstream
+                    // container will not send a FLOW as long as there is credit left,
+                    // the client only issues a FLOW once half of its share has been used
+                    creditScheduler.recordMessage(client);
+                    client.replenish(creditScheduler.getCredit(client, getAvailableDownstreamCredit(sender)));
+                }
             }
         } else {
             logger.warn("downstream sender for link [{}] is not open, discarding message and closing link with client", client.getLinkId());
@@ -12,6 +12,12 @@
 
 package org.eclipse.hono.messaging;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.config.SignatureSupportingConfigProperties;
 
@@ -26,10 +32,33 @@ public class HonoMessagingConfigProperties extends ServiceConfigProperties {
      * The default number of bytes that can be buffered unsettled per session created by a client.
      */
     public static final int DEFAULT_MAX_SESSION_WINDOW = 300 * 32 * 1024; // 300 frames of 32kb each
+    /**
+     * The default number of milliseconds that telemetry messages are buffered for aggregation.
+     */
+    public static final long DEFAULT_TELEMETRY_AGGREGATION_MAX_DELAY = 10;
+    /**
+     * The default maximum number of telemetry messages to aggregate into a single message.
+     */
+    public static final int DEFAULT_TELEMETRY_AGGREGATION_MAX_MESSAGES = 100;
+    /**
+     * The default maximum number of payload bytes to aggregate into a single message.
+     */
+    public static final int DEFAULT_TELEMETRY_AGGREGATION_MAX_BYTES = 32 * 1024;
+    /**
+     * The default minimum number of credits granted to an upstream link.
+     */
+    public static final int DEFAULT_MIN_LINK_CREDIT = 10;
 
     private final SignatureSupportingConfigProperties registrationAssertionProperties = new SignatureSupportingConfigProperties();
     private int maxSessionWindow = DEFAULT_MAX_SESSION_WINDOW;
     private boolean assertionValidationRequired = true;
+    private List<String> telemetryAggregationTenants = new ArrayList<>();
+    private long telemetryAggregationMaxDelay = DEFAULT_TELEMETRY_AGGREGATION_MAX_DELAY;
+    private int telemetryAggregationMaxMessages = DEFAULT_TELEMETRY_AGGREGATION_MAX_MESSAGES;
+    private int telemetryAggregationMaxBytes = DEFAULT_TELEMETRY_AGGREGATION_MAX_BYTES;
+    private int linkCreditPool = 0;
+    private int minLinkCredit = DEFAULT_MIN_LINK_CREDIT;
+    private Map<String, Integer> tenantCreditWeights = new HashMap<>();
 
     /**
      * Gets the properties for determining key material for validating registration assertion tokens.
@@ -95,4 +124,210 @@ public class HonoMessagingConfigProperties extends ServiceConfigProperties {
     public final void setAssertionValidationRequired(boolean assertionRequired) {
         this.assertionValidationRequired = assertionRequired;
     }
+
+    /**
+     * Gets the tenants for which pre-settled telemetry messages are aggregated
+     * before being forwarded downstream.
+     * <p>
+     * Aggregation reduces the per message overhead for small payloads considerably but requires
+     * downstream consumers to be able to handle aggregate messages (see
+     * {@link org.eclipse.hono.util.MessageHelper#CONTENT_TYPE_AGGREGATE}). Hono's client
+     * does so transparently.
+     * <p>
+     * The default value of this property is an empty list, i.e. aggregation is disabled.
+     * 
+     * @return The identifiers of the tenants.
+     */
+    public final List<String> getTelemetryAggregationTenants() {
+        return telemetryAggregationTenants;
+    }
+
+    /**
+     * Sets the tenants for which pre-settled telemetry messages are aggregated
+     * before being forwarded downstream.
+     * <p>
+     * The default value of this property is an empty list, i.e. aggregation is disabled.
+     * 
+     * @param tenants The identifiers of the tenants.
+     * @throws NullPointerException if tenants is {@code null}.
+     */
+    public final void setTelemetryAggregationTenants(final List<String> tenants) {
+        this.telemetryAggregationTenants = new ArrayList<>(Objects.requireNonNull(tenants));
+    }
+
+    /**
+     * Checks if pre-settled telemetry messages of a tenant are aggregated.
+     * 
+     * @param tenantId The tenant to check.
+     * @return {@code true} if the tenant is contained in the
+     *         {@linkplain #getTelemetryAggregationTenants() aggregation tenants}.
+     */
+    public final boolean isTelemetryAggregationEnabled(final String tenantId) {
+        return telemetryAggregationTenants.contains(tenantId);
+    }
+
+    /**
+     * Gets the maximum time that a telemetry message is buffered for aggregation.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TELEMETRY_AGGREGATION_MAX_DELAY}.
+     * 
+     * @return The time in milliseconds.
+     */
+    public final long getTelemetryAggregationMaxDelay() {
+        return telemetryAggregationMaxDelay;
+    }
+
+    /**
+     * Sets the maximum time that a telemetry message is buffered for aggregation.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TELEMETRY_AGGREGATION_MAX_DELAY}.
+     * 
+     * @param maxDelay The time in milliseconds.
+     * @throws IllegalArgumentException if the delay is &lt; 1.
+     */
+    public final void setTelemetryAggregationMaxDelay(final long maxDelay) {
+        if (maxDelay < 1) {
+            throw new IllegalArgumentException("max delay must be > 0");
+        }
+        this.telemetryAggregationMaxDelay = maxDelay;
+    }
+
+    /**
+     * Gets the maximum number of telemetry messages to aggregate into a single message.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TELEMETRY_AGGREGATION_MAX_MESSAGES}.
+     * 
+     * @return The number of messages.
+     */
+    public final int getTelemetryAggregationMaxMessages() {
+        return telemetryAggregationMaxMessages;
+    }
+
+    /**
+     * Sets the maximum number of telemetry messages to aggregate into a single message.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TELEMETRY_AGGREGATION_MAX_MESSAGES}.
+     * 
+     * @param maxMessages The number of messages.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    public final void setTelemetryAggregationMaxMessages(final int maxMessages) {
+        if (maxMessages < 1) {
+            throw new IllegalArgumentException("max messages must be > 0");
+        }
+        this.telemetryAggregationMaxMessages = maxMessages;
+    }
+
+    /**
+     * Gets the maximum number of payload bytes to aggregate into a single message.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TELEMETRY_AGGREGATION_MAX_BYTES}.
+     * 
+     * @return The number of bytes.
+     */
+    public final int getTelemetryAggregationMaxBytes() {
+        return telemetryAggregationMaxBytes;
+    }
+
+    /**
+     * Sets the maximum number of payload bytes to aggregate into a single message.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TELEMETRY_AGGREGATION_MAX_BYTES}.
+     * 
+     * @param maxBytes The number of bytes.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    public final void setTelemetryAggregationMaxBytes(final int maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("max bytes must be > 0");
+        }
+        this.telemetryAggregationMaxBytes = maxBytes;
+    }
+
+    /**
+     * Gets the total number of credits to divide among the upstream links of all tenants.
+     * <p>
+     * If set, each tenant that is actively sending messages is entitled to a share of
+     * the pool proportional to its {@linkplain #getTenantCreditWeights() weight}. An upstream
+     * link is never granted more credit than its share, even if the downstream container
+     * grants more credit. This prevents a single tenant from consuming all of the
+     * downstream capacity.
+     * <p>
+     * The default value of this property is 0, i.e. upstream links are granted all
+     * credit that is available on their downstream links.
+     * 
+     * @return The number of credits.
+     */
+    public final int getLinkCreditPool() {
+        return linkCreditPool;
+    }
+
+    /**
+     * Sets the total number of credits to divide among the upstream links of all tenants.
+     * <p>
+     * The default value of this property is 0, i.e. upstream links are granted all
+     * credit that is available on their downstream links.
+     * 
+     * @param pool The number of credits.
+     * @throws IllegalArgumentException if the number is &lt; 0.
+     */
+    public final void setLinkCreditPool(final int pool) {
+        if (pool < 0) {
+            throw new IllegalArgumentException("credit pool must be >= 0");
+        }
+        this.linkCreditPool = pool;
+    }
+
+    /**
+     * Gets the minimum number of credits granted to an upstream link if the
+     * {@linkplain #getLinkCreditPool() credit pool} is divided among tenants.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MIN_LINK_CREDIT}.
+     * 
+     * @return The number of credits.
+     */
+    public final int getMinLinkCredit() {
+        return minLinkCredit;
+    }
+
+    /**
+     * Sets the minimum number of credits granted to an upstream link if the
+     * {@linkplain #getLinkCreditPool() credit pool} is divided among tenants.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MIN_LINK_CREDIT}.
+     * 
+     * @param credit The number of credits.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    public final void setMinLinkCredit(final int credit) {
+        if (credit < 1) {
+            throw new IllegalArgumentException("min link credit must be > 0");
+        }
+        this.minLinkCredit = credit;
+    }
+
+    /**
+     * Gets the weights of tenants used for dividing the
+     * {@linkplain #getLinkCreditPool() credit pool}.
+     * <p>
+     * Tenants not contained in the map have a weight of 1.
+     * 
+     * @return The weights indexed by tenant identifier.
+     */
+    public final Map<String, Integer> getTenantCreditWeights() {
+        return tenantCreditWeights;
+    }
+
+    /**
+     * Sets the weights of tenants used for dividing the
+     * {@linkplain #getLinkCreditPool() credit pool}.
+     * <p>
+     * Tenants not contained in the map have a weight of 1.
+     * 
+     * @param weights The weights indexed by tenant identifier.
+     * @throws NullPointerException if weights is {@code null}.
+     */
+    public final void setTenantCreditWeights(final Map<String, Integer> weights) {
+        this.tenantCreditWeights = new HashMap<>(Objects.requireNonNull(weights));
+    }
 }
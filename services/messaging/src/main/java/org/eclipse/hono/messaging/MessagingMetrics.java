@@ -27,6 +27,8 @@ public class MessagingMetrics extends Metrics {
     private static final String LINK_DOWNSTREAM_CREDITS  = ".link.downstream.credits.";
     private static final String SENDERS_DOWNSTREAM       = ".senders.downstream.";
     private static final String RECEIVERS_UPSTREAM_LINKS = ".receivers.upstream.links.";
+    private static final String TENANT_CREDITS           = ".tenant.credits.";
+    private static final String TENANT_UTILISATION       = ".tenant.utilisation.";
 
     @Override
     protected String getPrefix() {
@@ -60,6 +62,14 @@ public class MessagingMetrics extends Metrics {
         counterService.decrement(SERVICE_PREFIX + RECEIVERS_UPSTREAM_LINKS + normalizeAddress(address));
     }
 
+    void submitTenantCredits(final String tenant, final double credits) {
+        gaugeService.submit(SERVICE_PREFIX + TENANT_CREDITS + tenant, credits);
+    }
+
+    void submitTenantUtilisation(final String tenant, final double percentage) {
+        gaugeService.submit(SERVICE_PREFIX + TENANT_UTILISATION + tenant, percentage);
+    }
+
     void incrementProcessedMessages(final String address) {
         counterService.increment(METER_PREFIX + SERVICE_PREFIX + MESSAGES + normalizeAddress(address) + PROCESSED);
     }
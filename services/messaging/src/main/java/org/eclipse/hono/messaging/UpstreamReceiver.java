@@ -43,6 +43,10 @@ public interface UpstreamReceiver {
 
     /**
      * Sends an AMQP 1.0 <em>flow</em> frame to the client with a certain amount of <em>credit</em>.
+     * <p>
+     * The client is topped up to the given number of credits once its remaining credit has fallen
+     * to half of the given number or below. Otherwise no <em>flow</em> frame is sent so that
+     * a client sending messages continuously is not replenished with a single credit per message.
      * 
      * @param replenishedCredits The number of credits to replenish the client with.
      */
@@ -49,7 +49,7 @@ public class UpstreamReceiverImpl implements UpstreamReceiver {
     public void replenish(final int downstreamCredit) {
 
         int remainingCredit = link.getCredit() - link.getQueued();
-        if (downstreamCredit > remainingCredit) {
+        if (downstreamCredit > remainingCredit && remainingCredit <= downstreamCredit / 2) {
             int credit = downstreamCredit - remainingCredit;
             LOG.trace("replenishing client [{}] having {} credits with {} credits", id, remainingCredit, credit);
             link.flow(credit);
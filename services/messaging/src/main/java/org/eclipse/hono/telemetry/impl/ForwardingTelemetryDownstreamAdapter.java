@@ -11,9 +11,18 @@
  */
 package org.eclipse.hono.telemetry.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.messaging.ForwardingDownstreamAdapter;
+import org.eclipse.hono.messaging.HonoMessagingConfigProperties;
 import org.eclipse.hono.messaging.SenderFactory;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.ResourceIdentifier;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Scope;
@@ -27,13 +36,22 @@ import io.vertx.proton.ProtonSender;
 
 /**
  * A telemetry adapter that forwards uploaded messages to another AMQP 1.0 container.
- *
+ * <p>
+ * Pre-settled messages of tenants for which
+ * {@linkplain HonoMessagingConfigProperties#getTelemetryAggregationTenants() aggregation is enabled}
+ * are not forwarded individually. Instead, they are buffered per downstream sender and are forwarded
+ * in a single {@linkplain MessageHelper#newAggregate(String, List) aggregate message} once the
+ * configured maximum number of messages or payload bytes has been reached or once the oldest
+ * buffered message has been buffered for the configured maximum delay.
  */
 @Component
 @Scope("prototype")
 @Qualifier("telemetry")
 public final class ForwardingTelemetryDownstreamAdapter extends ForwardingDownstreamAdapter {
 
+    private final Map<ProtonSender, Aggregate> aggregates = new HashMap<>();
+    private final Vertx vertx;
+
     /**
      * Creates a new adapter instance for a sender factory.
      *
@@ -44,6 +62,7 @@ public final class ForwardingTelemetryDownstreamAdapter extends ForwardingDownst
     @Autowired
     public ForwardingTelemetryDownstreamAdapter(final Vertx vertx, final SenderFactory senderFactory) {
         super(vertx, senderFactory);
+        this.vertx = vertx;
     }
 
     /**
@@ -52,7 +71,17 @@ public final class ForwardingTelemetryDownstreamAdapter extends ForwardingDownst
     @Override
     protected void forwardMessage(final ProtonSender sender, final Message msg, final ProtonDelivery upstreamDelivery) {
 
-        if (upstreamDelivery.remotelySettled()) {
+        if (upstreamDelivery.remotelySettled() && isAggregationEnabled(sender)) {
+            // client uses AT_MOST_ONCE delivery semantics
+            // so we may buffer the message for aggregation
+            aggregate(sender, msg);
+            ProtonHelper.accepted(upstreamDelivery, true);
+            // the downstream container only grants credit for the aggregate
+            // so the client needs to be replenished for the absorbed message
+            replenishUpstreamClient(sender);
+        } else if (upstreamDelivery.remotelySettled()) {
+            // forward any buffered messages first in order to preserve ordering
+            flush(sender);
             // client uses AT_MOST_ONCE delivery semantics
             // forward message
             sender.send(msg);
@@ -60,6 +89,8 @@ public final class ForwardingTelemetryDownstreamAdapter extends ForwardingDownst
             // the downstream AMQP Messaging Network accepts the message or not
             ProtonHelper.accepted(upstreamDelivery, true);
         } else {
+            // forward any buffered messages first in order to preserve ordering
+            flush(sender);
             // client uses AT_LEAST_ONCE delivery semantics
             // forward message
             sender.send(msg, updatedDownstreamDelivery -> {
@@ -76,4 +107,64 @@ public final class ForwardingTelemetryDownstreamAdapter extends ForwardingDownst
         // Dispatch Router handles flow control as expected (see issue #356)
         return ProtonQoS.AT_LEAST_ONCE;
     }
+
+    private boolean isAggregationEnabled(final ProtonSender sender) {
+
+        if (honoConfig.getTelemetryAggregationTenants().isEmpty()) {
+            return false;
+        } else {
+            final String tenantId = ResourceIdentifier.fromString(sender.getTarget().getAddress()).getTenantId();
+            return honoConfig.isTelemetryAggregationEnabled(tenantId);
+        }
+    }
+
+    private void aggregate(final ProtonSender sender, final Message msg) {
+
+        Aggregate aggregate = aggregates.get(sender);
+        if (aggregate == null) {
+            aggregate = new Aggregate();
+            aggregates.put(sender, aggregate);
+            aggregate.timerId = vertx.setTimer(honoConfig.getTelemetryAggregationMaxDelay(), expired -> {
+                logger.trace("max aggregation delay for sender [{}] has expired", sender.getTarget().getAddress());
+                flush(sender);
+            });
+        }
+        aggregate.add(msg);
+        if (aggregate.messages.size() >= honoConfig.getTelemetryAggregationMaxMessages()
+                || aggregate.payloadSize >= honoConfig.getTelemetryAggregationMaxBytes()) {
+            flush(sender);
+        }
+    }
+
+    private void flush(final ProtonSender sender) {
+
+        final Aggregate aggregate = aggregates.remove(sender);
+        if (aggregate != null) {
+            vertx.cancelTimer(aggregate.timerId);
+            if (sender.isOpen()) {
+                logger.trace("forwarding aggregate of {} messages [{} payload bytes] to downstream container [{}]",
+                        aggregate.messages.size(), aggregate.payloadSize, getDownstreamContainer());
+                sender.send(MessageHelper.newAggregate(sender.getTarget().getAddress(), aggregate.messages));
+            } else {
+                logger.debug("downstream sender is not open, discarding aggregate of {} messages", aggregate.messages.size());
+            }
+        }
+    }
+
+    /**
+     * The messages buffered for a downstream sender.
+     */
+    private static final class Aggregate {
+
+        private final List<Message> messages = new ArrayList<>();
+        private int payloadSize;
+        private long timerId;
+
+        void add(final Message msg) {
+            messages.add(msg);
+            if (msg.getBody() instanceof Data) {
+                payloadSize += ((Data) msg.getBody()).getValue().getLength();
+            }
+        }
+    }
 }
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.messaging;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests verifying behavior of {@link CreditScheduler}.
+ *
+ */
+public class CreditSchedulerTest {
+
+    private AtomicLong now;
+    private MessagingMetrics metrics;
+    private CreditScheduler scheduler;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        now = new AtomicLong(0);
+        metrics = mock(MessagingMetrics.class);
+        scheduler = new CreditScheduler(100, 10, Collections.singletonMap("heavy", 3), metrics, now::get);
+    }
+
+    /**
+     * Verifies that the pool is divided among tenants according to their weights
+     * and that links are never granted more than the downstream credit.
+     */
+    @Test
+    public void testGetCreditDividesPoolByWeight() {
+
+        final UpstreamReceiver heavy = newLink("heavy");
+        final UpstreamReceiver light = newLink("light");
+        scheduler.addLink(heavy);
+        scheduler.addLink(light);
+
+        assertThat(scheduler.getCredit(heavy, 1000), is(75));
+        assertThat(scheduler.getCredit(light, 1000), is(25));
+        assertThat(scheduler.getCredit(heavy, 50), is(50));
+        verify(metrics).submitTenantCredits("heavy", 75);
+        verify(metrics).submitTenantCredits("light", 25);
+    }
+
+    /**
+     * Verifies that idle tenants do not take part in the division of the pool.
+     */
+    @Test
+    public void testGetCreditIgnoresIdleTenants() {
+
+        final UpstreamReceiver heavy = newLink("heavy");
+        final UpstreamReceiver light = newLink("light");
+        scheduler.addLink(heavy);
+        scheduler.addLink(light);
+
+        // only the light tenant keeps sending messages
+        now.addAndGet(CreditScheduler.ACTIVITY_PERIOD_MILLIS);
+        scheduler.recordMessage(light);
+
+        assertThat(scheduler.getCredit(light, 1000), is(100));
+        // the heavy tenant gets its share back as soon as it asks for credit
+        assertThat(scheduler.getCredit(heavy, 1000), is(75));
+    }
+
+    /**
+     * Verifies that each link is granted the minimum credit, even if
+     * the tenant's share is divided among many links.
+     */
+    @Test
+    public void testGetCreditGrantsMinimumCreditPerLink() {
+
+        UpstreamReceiver link = null;
+        for (int i = 0; i < 20; i++) {
+            link = newLink("light");
+            scheduler.addLink(link);
+        }
+        assertThat(scheduler.getCredit(link, 1000), is(10));
+    }
+
+    /**
+     * Verifies that the tenants' utilisation is reported once per period.
+     */
+    @Test
+    public void testRecordMessageReportsUtilisation() {
+
+        final UpstreamReceiver heavy = newLink("heavy");
+        final UpstreamReceiver light = newLink("light");
+        scheduler.addLink(heavy);
+        scheduler.addLink(light);
+
+        for (int i = 0; i < 3; i++) {
+            scheduler.recordMessage(heavy);
+        }
+        scheduler.recordMessage(light);
+        now.addAndGet(CreditScheduler.ACTIVITY_PERIOD_MILLIS);
+        scheduler.recordMessage(light);
+
+        verify(metrics).submitTenantUtilisation(eq("heavy"), eq(75d));
+        verify(metrics).submitTenantUtilisation(eq("light"), eq(25d));
+    }
+
+    /**
+     * Verifies that the downstream credit is passed on unchanged if no pool is configured.
+     */
+    @Test
+    public void testGetCreditReturnsDownstreamCreditIfDisabled() {
+
+        scheduler = new CreditScheduler(0, 10, Collections.emptyMap(), metrics, now::get);
+        final UpstreamReceiver link = newLink("light");
+        scheduler.addLink(link);
+
+        assertFalse(scheduler.isEnabled());
+        assertThat(scheduler.getCredit(link, 1000), is(1000));
+    }
+
+    private static UpstreamReceiver newLink(final String tenant) {
+        final UpstreamReceiver link = mock(UpstreamReceiver.class);
+        when(link.getTargetAddress()).thenReturn("telemetry/" + tenant);
+        return link;
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.messaging;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.apache.qpid.proton.message.Message;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonServer;
+
+/**
+ * A minimal AMQP 1.0 container which accepts and discards all messages sent to it.
+ * <p>
+ * The container can be used as a stand-in for the AMQP Messaging Network when
+ * measuring the throughput of Hono Messaging in isolation. Unsettled messages are
+ * accepted and settled immediately, links are granted credit automatically.
+ */
+final class DiscardingDownstreamContainer {
+
+    private static final String CONTAINER_NAME = "discarding-downstream-container";
+    private static final int PREFETCH = 1000;
+
+    private final Vertx vertx;
+    private final Consumer<Message> messageConsumer;
+    private ProtonServer server;
+
+    /**
+     * Creates a new container.
+     *
+     * @param vertx The vert.x instance to run on.
+     * @param messageConsumer The consumer to invoke for every message received.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    DiscardingDownstreamContainer(final Vertx vertx, final Consumer<Message> messageConsumer) {
+        this.vertx = Objects.requireNonNull(vertx);
+        this.messageConsumer = Objects.requireNonNull(messageConsumer);
+    }
+
+    /**
+     * Starts listening for connections on an ephemeral port of the loopback device.
+     *
+     * @return A future indicating the outcome of the operation. The future will be
+     *         succeeded with the port that the container is listening on.
+     */
+    Future<Integer> start() {
+
+        final Future<ProtonServer> result = Future.future();
+        server = ProtonServer.create(vertx).connectHandler(this::handleConnection);
+        server.listen(0, "127.0.0.1", result.completer());
+        return result.map(ProtonServer::actualPort);
+    }
+
+    /**
+     * Stops listening for connections.
+     *
+     * @return A future indicating the outcome of the operation.
+     */
+    Future<Void> stop() {
+
+        final Future<Void> result = Future.future();
+        if (server == null) {
+            result.complete();
+        } else {
+            server.close(result.completer());
+        }
+        return result;
+    }
+
+    private void handleConnection(final ProtonConnection con) {
+
+        con.setContainer(CONTAINER_NAME);
+        con.sessionOpenHandler(session -> session.open());
+        con.receiverOpenHandler(receiver -> {
+            receiver.setTarget(receiver.getRemoteTarget());
+            receiver.setQoS(receiver.getRemoteQoS());
+            receiver.setPrefetch(PREFETCH);
+            // deliveries are accepted and settled automatically
+            receiver.handler((delivery, message) -> messageConsumer.accept(message));
+            receiver.open();
+        });
+        con.openHandler(remoteOpen -> con.open());
+        con.closeHandler(remoteClose -> con.close());
+        con.disconnectHandler(ProtonConnection::disconnect);
+    }
+}
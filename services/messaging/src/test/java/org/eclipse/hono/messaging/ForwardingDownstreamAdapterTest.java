@@ -98,6 +98,34 @@ public class ForwardingDownstreamAdapterTest {
         verify(client).replenish(DEFAULT_CREDITS);
     }
 
+    /**
+     * Verifies that an upstream client is replenished with no more than its share
+     * of the configured credit pool.
+     */
+    @Test
+    public void testHandleFlowReplenishesClientWithShareOfCreditPool() {
+
+        final UpstreamReceiver client = newClient();
+        when(client.getTargetAddress()).thenReturn(targetAddress.toString());
+        final ProtonSender sender = newMockSender(false);
+        final HonoMessagingConfigProperties config = new HonoMessagingConfigProperties();
+        config.setLinkCreditPool(DEFAULT_CREDITS / 2);
+
+        // GIVEN an adapter dividing a credit pool that is smaller than the downstream credit
+        // and a client attached
+        givenADownstreamAdapter();
+        adapter.setHonoConfiguration(config);
+        adapter.setDownstreamConnectionFactory(connectionFactory);
+        adapter.start(Future.future());
+        adapter.addSender(client, sender);
+
+        // WHEN the downstream container grants credit
+        adapter.handleFlow(sender, client);
+
+        // THEN the client is given the credit available in the pool only
+        verify(client).replenish(DEFAULT_CREDITS / 2);
+    }
+
     /**
      * Verifies that <em>drain</em> requests received from the downstream container are forwarded
      * to upstream clients.
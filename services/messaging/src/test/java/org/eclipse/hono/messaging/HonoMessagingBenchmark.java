@@ -0,0 +1,598 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.messaging;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.messaging.Data;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.TestSupport;
+import org.eclipse.hono.auth.Activity;
+import org.eclipse.hono.auth.Authorities;
+import org.eclipse.hono.auth.AuthoritiesImpl;
+import org.eclipse.hono.auth.HonoUser;
+import org.eclipse.hono.auth.HonoUserAdapter;
+import org.eclipse.hono.connection.ConnectionFactoryImpl;
+import org.eclipse.hono.event.impl.EventEndpoint;
+import org.eclipse.hono.event.impl.ForwardingEventDownstreamAdapter;
+import org.eclipse.hono.service.auth.HonoSaslAuthenticatorFactory;
+import org.eclipse.hono.service.registration.RegistrationAssertionHelper;
+import org.eclipse.hono.service.registration.RegistrationAssertionHelperImpl;
+import org.eclipse.hono.telemetry.impl.ForwardingTelemetryDownstreamAdapter;
+import org.eclipse.hono.telemetry.impl.TelemetryEndpoint;
+import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.EventConstants;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.TelemetryConstants;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.proton.ProtonClient;
+import io.vertx.proton.ProtonClientOptions;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonQoS;
+import io.vertx.proton.ProtonSender;
+
+/**
+ * A self-contained macro benchmark for measuring the throughput and latency of Hono Messaging.
+ * <p>
+ * The benchmark starts Hono Messaging in-process and drives it with a number of synthetic
+ * upstream links which publish messages on behalf of a set of devices using pre-signed
+ * registration assertions. Hono Messaging forwards the messages either to a local
+ * {@link DiscardingDownstreamContainer} via AMQP ({@code amqp}) or to a
+ * {@link MessageDiscardingDownstreamAdapter} without any downstream connection ({@code discard}).
+ * <p>
+ * For each scenario the benchmark reports the number of messages per second that reached
+ * the downstream side, the 50th, 99th and 99.9th percentile of the time it took the messages
+ * to get there and the allocation rate and garbage collection activity of the JVM. The allocation
+ * figures include the load generator and the downstream container.
+ * <p>
+ * The benchmark is not run as part of the regular build. It can be run using the
+ * {@code run-benchmark} profile, e.g.
+ * <pre>
+ * mvn verify -Prun-benchmark -Dbenchmark.qos=AT_MOST_ONCE,AT_LEAST_ONCE -Dbenchmark.payloadSize=64,1024
+ * </pre>
+ * The following system properties are supported. Properties marked with * accept a comma
+ * separated list of values and a scenario is run for each combination of values.
+ * <ul>
+ * <li>{@code benchmark.endpoint}* - {@code telemetry} (default) or {@code event}</li>
+ * <li>{@code benchmark.downstream}* - {@code amqp} (default) or {@code discard}</li>
+ * <li>{@code benchmark.qos}* - {@code AT_MOST_ONCE} (default) or {@code AT_LEAST_ONCE}</li>
+ * <li>{@code benchmark.payloadSize}* - the number of payload bytes per message (default: 64)</li>
+ * <li>{@code benchmark.instances}* - the number of Hono Messaging verticle instances, each running
+ * on its own event loop thread (default: 1)</li>
+ * <li>{@code benchmark.links} - the number of upstream links, each using its own connection (default: 4)</li>
+ * <li>{@code benchmark.devices} - the number of devices per link (default: 100)</li>
+ * <li>{@code benchmark.rate} - the maximum number of messages per second and link or 0 for sending
+ * messages as fast as the credit granted by Hono Messaging permits (default: 0)</li>
+ * <li>{@code benchmark.warmup} - the number of seconds to send messages before measuring (default: 5)</li>
+ * <li>{@code benchmark.duration} - the number of seconds to measure (default: 20)</li>
+ * <li>{@code benchmark.maxSamples} - the maximum number of latencies to keep per scenario (default: 2000000)</li>
+ * </ul>
+ */
+public class HonoMessagingBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HonoMessagingBenchmark.class);
+
+    private static final String HOST = "127.0.0.1";
+    private static final String USER = "hono-client";
+    private static final String PWD = "secret";
+    private static final String SECRET = "dajAIOFDHUIFHFSDAJKGFKSDF,SBDFAZUSDJBFFNCLDNC";
+    private static final String PROPERTY_SENT_TIME = "benchmark-sent";
+    private static final String DOWNSTREAM_AMQP = "amqp";
+    private static final String DOWNSTREAM_DISCARD = "discard";
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private final List<String> endpoints = getList("benchmark.endpoint", TelemetryConstants.TELEMETRY_ENDPOINT);
+    private final List<String> downstreams = getList("benchmark.downstream", DOWNSTREAM_AMQP);
+    private final List<String> qosValues = getList("benchmark.qos", ProtonQoS.AT_MOST_ONCE.name());
+    private final List<String> payloadSizes = getList("benchmark.payloadSize", "64");
+    private final List<String> instanceCounts = getList("benchmark.instances", "1");
+    private final int links = Integer.getInteger("benchmark.links", 4);
+    private final int devices = Integer.getInteger("benchmark.devices", 100);
+    private final int rate = Integer.getInteger("benchmark.rate", 0);
+    private final int warmupSeconds = Integer.getInteger("benchmark.warmup", 5);
+    private final int durationSeconds = Integer.getInteger("benchmark.duration", 20);
+    private final int maxSamples = Integer.getInteger("benchmark.maxSamples", 2_000_000);
+    private final RegistrationAssertionHelper assertionHelper = RegistrationAssertionHelperImpl
+            .forSharedSecret(SECRET, warmupSeconds + durationSeconds + TIMEOUT_SECONDS);
+
+    /**
+     * Runs all configured scenarios and prints a report of the results.
+     *
+     * @throws Exception if any of the scenarios cannot be run.
+     */
+    @Test
+    public void runBenchmark() throws Exception {
+
+        final List<String> report = new ArrayList<>();
+        report.add(Result.HEADER);
+        for (final String endpoint : endpoints) {
+            for (final String downstream : downstreams) {
+                for (final String qos : qosValues) {
+                    for (final String payloadSize : payloadSizes) {
+                        for (final String instances : instanceCounts) {
+                            final Scenario scenario = new Scenario(endpoint, downstream, ProtonQoS.valueOf(qos),
+                                    Integer.parseInt(payloadSize), Integer.parseInt(instances));
+                            if (EventConstants.EVENT_ENDPOINT.equals(endpoint) && scenario.qos == ProtonQoS.AT_MOST_ONCE) {
+                                LOG.info("skipping scenario, event endpoint does not support AT_MOST_ONCE: {}", scenario);
+                            } else {
+                                LOG.info("running scenario: {}", scenario);
+                                final Result result = run(scenario);
+                                LOG.info("finished scenario: {}", result);
+                                report.add(result.toString());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        System.out.println();
+        report.forEach(System.out::println);
+        System.out.println();
+    }
+
+    private Result run(final Scenario scenario) throws Exception {
+
+        final Vertx serverVertx = Vertx.vertx(new VertxOptions()
+                .setEventLoopPoolSize(scenario.instances)
+                .setPreferNativeTransport(true));
+        final Vertx driverVertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+        final LatencyRecorder latencies = new LatencyRecorder(maxSamples);
+        final Consumer<Message> downstreamConsumer = msg -> {
+            final Long sentTime = MessageHelper.getApplicationProperty(msg.getApplicationProperties(), PROPERTY_SENT_TIME, Long.class);
+            if (sentTime != null) {
+                latencies.record(System.nanoTime() - sentTime);
+            }
+        };
+
+        try {
+            int downstreamPort = -1;
+            if (DOWNSTREAM_AMQP.equals(scenario.downstream)) {
+                downstreamPort = await(new DiscardingDownstreamContainer(driverVertx, downstreamConsumer).start());
+            }
+
+            final HonoMessagingConfigProperties config = new HonoMessagingConfigProperties();
+            config.setInsecurePortBindAddress(HOST);
+            config.setInsecurePort(getFreePort());
+            config.setWaitForDownstreamConnectionEnabled(true);
+            for (int i = 0; i < scenario.instances; i++) {
+                final Future<String> deployment = Future.future();
+                serverVertx.deployVerticle(newServer(serverVertx, config, scenario, downstreamPort, downstreamConsumer),
+                        deployment.completer());
+                await(deployment);
+            }
+
+            final List<UpstreamLink> upstreamLinks = new ArrayList<>(links);
+            for (int i = 0; i < links; i++) {
+                final UpstreamLink link = new UpstreamLink(driverVertx, scenario, i);
+                await(link.open(config.getInsecurePort()));
+                upstreamLinks.add(link);
+            }
+
+            upstreamLinks.forEach(UpstreamLink::start);
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+
+            final long startAllocatedBytes = getAllocatedBytes();
+            final long[] startGc = getGarbageCollections();
+            final long startTime = System.nanoTime();
+            latencies.start();
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            latencies.stop();
+            final long elapsedNanos = System.nanoTime() - startTime;
+            final long allocatedBytes = getAllocatedBytes() - startAllocatedBytes;
+            final long[] endGc = getGarbageCollections();
+
+            upstreamLinks.forEach(UpstreamLink::close);
+            return new Result(scenario, latencies, elapsedNanos,
+                    startAllocatedBytes < 0 ? -1 : allocatedBytes,
+                    endGc[0] - startGc[0], endGc[1] - startGc[1]);
+        } finally {
+            close(serverVertx);
+            close(driverVertx);
+        }
+    }
+
+    private HonoMessaging newServer(
+            final Vertx serverVertx,
+            final HonoMessagingConfigProperties config,
+            final Scenario scenario,
+            final int downstreamPort,
+            final Consumer<Message> downstreamConsumer) {
+
+        final MessagingMetrics metrics = new MessagingMetrics();
+        final DownstreamAdapter adapter;
+        if (downstreamPort > 0) {
+            final DownstreamClientConfigProperties downstreamConfig = new DownstreamClientConfigProperties();
+            downstreamConfig.setName("hono-messaging");
+            downstreamConfig.setHost(HOST);
+            downstreamConfig.setPort(downstreamPort);
+            final SenderFactoryImpl senderFactory = new SenderFactoryImpl();
+            senderFactory.setConfiguration(config);
+            final ForwardingDownstreamAdapter forwardingAdapter = scenario.isTelemetry()
+                    ? new ForwardingTelemetryDownstreamAdapter(serverVertx, senderFactory)
+                    : new ForwardingEventDownstreamAdapter(serverVertx, senderFactory);
+            forwardingAdapter.setHonoConfiguration(config);
+            forwardingAdapter.setDownstreamConnectionFactory(new ConnectionFactoryImpl(serverVertx, downstreamConfig));
+            forwardingAdapter.setMetrics(metrics);
+            adapter = forwardingAdapter;
+        } else {
+            adapter = new MessageDiscardingDownstreamAdapter(serverVertx, downstreamConsumer);
+        }
+
+        final MessageForwardingEndpoint<HonoMessagingConfigProperties> endpoint;
+        if (scenario.isTelemetry()) {
+            final TelemetryEndpoint telemetryEndpoint = new TelemetryEndpoint(serverVertx);
+            telemetryEndpoint.setTelemetryAdapter(adapter);
+            endpoint = telemetryEndpoint;
+        } else {
+            final EventEndpoint eventEndpoint = new EventEndpoint(serverVertx);
+            eventEndpoint.setEventAdapter(adapter);
+            endpoint = eventEndpoint;
+        }
+        endpoint.setMetrics(metrics);
+        endpoint.setRegistrationAssertionValidator(assertionHelper);
+        endpoint.setConfiguration(config);
+
+        final HonoMessaging server = new HonoMessaging();
+        server.setSaslAuthenticatorFactory(new HonoSaslAuthenticatorFactory(TestSupport.createAuthenticationService(createUser())));
+        server.setConfig(config);
+        server.addEndpoint(endpoint);
+        return server;
+    }
+
+    private static HonoUser createUser() {
+
+        final Authorities authorities = new AuthoritiesImpl()
+                .addResource(TelemetryConstants.TELEMETRY_ENDPOINT, "*", new Activity[]{ Activity.WRITE })
+                .addResource(EventConstants.EVENT_ENDPOINT, "*", new Activity[]{ Activity.WRITE });
+
+        return new HonoUserAdapter() {
+            @Override
+            public String getName() {
+                return USER;
+            }
+
+            @Override
+            public Authorities getAuthorities() {
+                return authorities;
+            }
+        };
+    }
+
+    private static List<String> getList(final String property, final String defaultValue) {
+
+        final List<String> result = new ArrayList<>();
+        for (final String value : System.getProperty(property, defaultValue).split(",")) {
+            if (!value.trim().isEmpty()) {
+                result.add(value.trim());
+            }
+        }
+        return result;
+    }
+
+    private static int getFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Gets the number of bytes allocated by all live threads of the JVM.
+     *
+     * @return The number of bytes or -1 if the JVM does not support measuring allocations.
+     */
+    private static long getAllocatedBytes() {
+
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean hotspotBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (hotspotBean.isThreadAllocatedMemorySupported() && hotspotBean.isThreadAllocatedMemoryEnabled()) {
+                long total = 0;
+                for (final long bytes : hotspotBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+                    if (bytes > 0) {
+                        total += bytes;
+                    }
+                }
+                return total;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of garbage collections and the time spent on them.
+     *
+     * @return An array containing the number of collections and the accumulated
+     *         collection time in milliseconds.
+     */
+    private static long[] getGarbageCollections() {
+
+        final long[] result = new long[2];
+        for (final GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            result[0] += Math.max(0, gcBean.getCollectionCount());
+            result[1] += Math.max(0, gcBean.getCollectionTime());
+        }
+        return result;
+    }
+
+    private static <T> T await(final Future<T> future) throws Exception {
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        future.setHandler(outcome -> {
+            if (outcome.succeeded()) {
+                result.complete(outcome.result());
+            } else {
+                result.completeExceptionally(outcome.cause());
+            }
+        });
+        return result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static void close(final Vertx vertx) {
+
+        final Future<Void> closeTracker = Future.future();
+        vertx.close(closeTracker.completer());
+        try {
+            await(closeTracker);
+        } catch (final Exception e) {
+            LOG.warn("failed to close vert.x instance", e);
+        }
+    }
+
+    /**
+     * A combination of configuration values to measure.
+     */
+    private static final class Scenario {
+
+        private final String endpoint;
+        private final String downstream;
+        private final ProtonQoS qos;
+        private final int payloadSize;
+        private final int instances;
+
+        Scenario(final String endpoint, final String downstream, final ProtonQoS qos, final int payloadSize, final int instances) {
+            if (!TelemetryConstants.TELEMETRY_ENDPOINT.equals(endpoint) && !EventConstants.EVENT_ENDPOINT.equals(endpoint)) {
+                throw new IllegalArgumentException("unsupported endpoint: " + endpoint);
+            } else if (!DOWNSTREAM_AMQP.equals(downstream) && !DOWNSTREAM_DISCARD.equals(downstream)) {
+                throw new IllegalArgumentException("unsupported downstream: " + downstream);
+            } else if (payloadSize < 0 || instances < 1) {
+                throw new IllegalArgumentException("payload size must be >= 0 and instances must be > 0");
+            }
+            this.endpoint = endpoint;
+            this.downstream = downstream;
+            this.qos = qos;
+            this.payloadSize = payloadSize;
+            this.instances = instances;
+        }
+
+        boolean isTelemetry() {
+            return TelemetryConstants.TELEMETRY_ENDPOINT.equals(endpoint);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-9s %-10s %-13s %7d %9d", endpoint, downstream, qos, payloadSize, instances);
+        }
+    }
+
+    /**
+     * The figures measured for a scenario.
+     */
+    private static final class Result {
+
+        static final String HEADER = String.format("%-9s %-10s %-13s %7s %9s %10s %12s %9s %9s %9s %11s %10s %4s %6s",
+                "endpoint", "downstream", "qos", "payload", "instances", "msgs/s", "msgs/s/inst",
+                "p50[us]", "p99[us]", "p999[us]", "alloc[MB/s]", "alloc[B/m]", "gcs", "gc[ms]");
+
+        private final Scenario scenario;
+        private final double messagesPerSecond;
+        private final long[] latencies;
+        private final double allocatedMegabytesPerSecond;
+        private final long allocatedBytesPerMessage;
+        private final long gcCount;
+        private final long gcMillis;
+
+        Result(
+                final Scenario scenario,
+                final LatencyRecorder recorder,
+                final long elapsedNanos,
+                final long allocatedBytes,
+                final long gcCount,
+                final long gcMillis) {
+
+            final double elapsedSeconds = elapsedNanos / 1_000_000_000d;
+            final long messages = recorder.getCount();
+            this.scenario = scenario;
+            this.messagesPerSecond = messages / elapsedSeconds;
+            this.latencies = recorder.getPercentiles(50, 99, 99.9);
+            this.allocatedMegabytesPerSecond = allocatedBytes < 0 ? -1 : allocatedBytes / elapsedSeconds / (1024 * 1024);
+            this.allocatedBytesPerMessage = allocatedBytes < 0 || messages == 0 ? -1 : allocatedBytes / messages;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %10.0f %12.0f %9d %9d %9d %11.1f %10d %4d %6d",
+                    scenario, messagesPerSecond, messagesPerSecond / scenario.instances,
+                    toMicros(latencies[0]), toMicros(latencies[1]), toMicros(latencies[2]),
+                    allocatedMegabytesPerSecond, allocatedBytesPerMessage, gcCount, gcMillis);
+        }
+
+        private static long toMicros(final long nanos) {
+            return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+    }
+
+    /**
+     * A link for publishing messages to Hono Messaging on behalf of a set of devices.
+     * <p>
+     * Each link uses its own connection and event loop context. Messages are sent
+     * as fast as the credit granted by Hono Messaging and the configured rate permit.
+     */
+    private final class UpstreamLink {
+
+        private static final int MAX_BATCH_SIZE = 100;
+        private static final long TICK_MILLIS = 10;
+
+        private final Vertx vertx;
+        private final Context context;
+        private final ProtonQoS qos;
+        private final String targetAddress;
+        private final String[] deviceIds;
+        private final String[] addresses;
+        private final String[] assertions;
+        private final byte[] payload;
+        private ProtonConnection connection;
+        private ProtonSender sender;
+        private volatile boolean running;
+        private long messageCount;
+        private double allowance;
+
+        UpstreamLink(final Vertx vertx, final Scenario scenario, final int index) {
+
+            this.vertx = vertx;
+            this.context = vertx.getOrCreateContext();
+            this.qos = scenario.qos;
+            this.targetAddress = scenario.endpoint + "/" + Constants.DEFAULT_TENANT;
+            this.deviceIds = new String[devices];
+            this.addresses = new String[devices];
+            this.assertions = new String[devices];
+            for (int i = 0; i < devices; i++) {
+                deviceIds[i] = String.format("device-%d-%d", index, i);
+                addresses[i] = targetAddress + "/" + deviceIds[i];
+                assertions[i] = assertionHelper.getAssertion(Constants.DEFAULT_TENANT, deviceIds[i]);
+            }
+            this.payload = new byte[scenario.payloadSize];
+        }
+
+        Future<Void> open(final int port) {
+
+            final Future<Void> result = Future.future();
+            context.runOnContext(go -> {
+                final ProtonClientOptions options = new ProtonClientOptions().addEnabledSaslMechanism("PLAIN");
+                ProtonClient.create(vertx).connect(options, HOST, port, USER, PWD, connectAttempt -> {
+                    if (connectAttempt.failed()) {
+                        result.fail(connectAttempt.cause());
+                    } else {
+                        final ProtonConnection con = connectAttempt.result();
+                        connection = con;
+                        con.openHandler(remoteOpen -> {
+                            if (remoteOpen.failed()) {
+                                result.fail(remoteOpen.cause());
+                            } else {
+                                sender = con.createSender(targetAddress);
+                                sender.setQoS(qos);
+                                sender.sendQueueDrainHandler(drained -> sendMessages());
+                                sender.openHandler(senderOpen -> {
+                                    if (senderOpen.failed()) {
+                                        result.tryFail(senderOpen.cause());
+                                    } else {
+                                        result.tryComplete();
+                                    }
+                                });
+                                sender.closeHandler(remoteClose -> {
+                                    result.tryFail("link has been closed by Hono Messaging");
+                                    if (running) {
+                                        LOG.warn("Hono Messaging has closed link to [{}]", targetAddress);
+                                    }
+                                });
+                                sender.open();
+                            }
+                        }).open();
+                    }
+                });
+            });
+            return result;
+        }
+
+        void start() {
+            running = true;
+            context.runOnContext(go -> {
+                if (rate > 0) {
+                    vertx.setPeriodic(TICK_MILLIS, tick -> {
+                        if (running) {
+                            // allow for bursts of at most 100ms worth of messages
+                            allowance = Math.min(allowance + rate * TICK_MILLIS / 1000d, rate / 10d + 1);
+                            sendMessages();
+                        } else {
+                            vertx.cancelTimer(tick);
+                        }
+                    });
+                } else {
+                    sendMessages();
+                }
+            });
+        }
+
+        void close() {
+            running = false;
+            context.runOnContext(go -> connection.close());
+        }
+
+        private void sendMessages() {
+
+            int batchSize = 0;
+            while (running && !sender.sendQueueFull() && (rate == 0 || allowance >= 1)) {
+                if (batchSize++ == MAX_BATCH_SIZE) {
+                    // give other links on the same event loop a chance to send
+                    context.runOnContext(go -> sendMessages());
+                    return;
+                }
+                if (rate > 0) {
+                    allowance--;
+                }
+                final Message msg = newMessage();
+                if (qos == ProtonQoS.AT_MOST_ONCE) {
+                    sender.send(msg);
+                } else {
+                    sender.send(msg, delivery -> {
+                        // nothing to do
+                    });
+                }
+            }
+        }
+
+        private Message newMessage() {
+
+            final int device = (int) (messageCount++ % deviceIds.length);
+            final Message msg = ProtonHelper.message();
+            msg.setMessageId(messageCount);
+            msg.setAddress(addresses[device]);
+            msg.setContentType("application/octet-stream");
+            msg.setBody(new Data(new Binary(payload)));
+            MessageHelper.addDeviceId(msg, deviceIds[device]);
+            MessageHelper.addRegistrationAssertion(msg, assertions[device]);
+            MessageHelper.addProperty(msg, PROPERTY_SENT_TIME, System.nanoTime());
+            return msg;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.messaging;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records the latencies of messages for computing percentiles.
+ * <p>
+ * The recorder keeps a fixed number of samples which is allocated up front so that
+ * recording does not allocate any memory. Latencies recorded after the maximum number
+ * of samples has been reached are counted but not kept.
+ * <p>
+ * Instances of this class are thread safe.
+ */
+final class LatencyRecorder {
+
+    private final AtomicLongArray samples;
+    private final AtomicInteger sampleCount = new AtomicInteger();
+    private final AtomicLong recordedCount = new AtomicLong();
+    private volatile boolean enabled;
+
+    /**
+     * Creates a new recorder.
+     *
+     * @param maxSamples The maximum number of latencies to keep.
+     * @throws IllegalArgumentException if max samples is &lt; 1.
+     */
+    LatencyRecorder(final int maxSamples) {
+        if (maxSamples < 1) {
+            throw new IllegalArgumentException("max samples must be > 0");
+        }
+        this.samples = new AtomicLongArray(maxSamples);
+    }
+
+    /**
+     * Starts recording latencies.
+     * <p>
+     * All latencies recorded so far are discarded.
+     */
+    void start() {
+        sampleCount.set(0);
+        recordedCount.set(0);
+        enabled = true;
+    }
+
+    /**
+     * Stops recording latencies.
+     */
+    void stop() {
+        enabled = false;
+    }
+
+    /**
+     * Records the latency of a message.
+     * <p>
+     * This method does nothing if the recorder has not been started.
+     *
+     * @param nanos The latency in nanoseconds.
+     */
+    void record(final long nanos) {
+
+        if (enabled) {
+            recordedCount.incrementAndGet();
+            final int index = sampleCount.getAndIncrement();
+            if (index < samples.length()) {
+                samples.set(index, nanos);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of latencies recorded since the recorder has been started.
+     *
+     * @return The number of latencies.
+     */
+    long getCount() {
+        return recordedCount.get();
+    }
+
+    /**
+     * Gets the latencies at a set of percentiles.
+     *
+     * @param percentiles The percentiles in the range (0, 100].
+     * @return The latencies in nanoseconds, in the same order as the given
+     *         percentiles. All values are -1 if no latency has been recorded.
+     */
+    long[] getPercentiles(final double... percentiles) {
+
+        final int count = Math.min(sampleCount.get(), samples.length());
+        final long[] result = new long[percentiles.length];
+        if (count == 0) {
+            Arrays.fill(result, -1);
+            return result;
+        }
+        final long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        for (int i = 0; i < percentiles.length; i++) {
+            final int rank = (int) Math.ceil(percentiles[i] / 100 * count);
+            result[i] = sorted[Math.max(0, Math.min(count, rank) - 1)];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 1.0 which is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+
+package org.eclipse.hono.messaging;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Tests verifying behavior of {@link UpstreamReceiverImpl}.
+ *
+ */
+public class UpstreamReceiverImplTest {
+
+    private ProtonReceiver link;
+    private UpstreamReceiver client;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        link = mock(ProtonReceiver.class);
+        client = UpstreamReceiver.newUpstreamReceiver("link", link);
+    }
+
+    /**
+     * Verifies that a client having more than half of the requested credit left
+     * is not replenished.
+     */
+    @Test
+    public void testReplenishDoesNotFlowAboveThreshold() {
+
+        when(link.getCredit()).thenReturn(19);
+        client.replenish(20);
+        when(link.getCredit()).thenReturn(11);
+        client.replenish(20);
+        verify(link, never()).flow(anyInt());
+    }
+
+    /**
+     * Verifies that a client having half of the requested credit or less left
+     * is topped up with a single flow.
+     */
+    @Test
+    public void testReplenishTopsUpClientBelowThreshold() {
+
+        when(link.getCredit()).thenReturn(12);
+        when(link.getQueued()).thenReturn(2);
+        client.replenish(20);
+        verify(link).flow(10);
+    }
+
+    /**
+     * Verifies that a client without any credit left is granted the requested credit.
+     */
+    @Test
+    public void testReplenishGrantsAllCreditToExhaustedClient() {
+
+        when(link.getCredit()).thenReturn(0);
+        client.replenish(1);
+        verify(link).flow(1);
+    }
+}
@@ -12,17 +12,27 @@
 package org.eclipse.hono.telemetry.impl;
 
 import static org.eclipse.hono.TestSupport.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.apache.qpid.proton.amqp.messaging.Accepted;
 import org.apache.qpid.proton.amqp.messaging.Rejected;
 import org.apache.qpid.proton.amqp.messaging.Released;
+import org.apache.qpid.proton.engine.impl.RecordImpl;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.TestSupport;
 import org.eclipse.hono.connection.ConnectionFactory;
 import org.eclipse.hono.event.impl.ForwardingEventDownstreamAdapter;
+import org.eclipse.hono.messaging.HonoMessagingConfigProperties;
 import org.eclipse.hono.messaging.MessagingMetrics;
 import org.eclipse.hono.messaging.UpstreamReceiver;
 import org.eclipse.hono.util.MessageHelper;
@@ -178,4 +188,140 @@ public class ForwardingTelemetryDownstreamAdapterTest {
         // but is not delivered to the downstream container
         verify(sender, never()).send(any(Message.class), any(Handler.class));
     }
+
+    /**
+     * Verifies that pre-settled telemetry messages of a tenant for which aggregation
+     * is enabled are forwarded in a single aggregate message once the maximum number
+     * of messages has been reached.
+     * 
+     * @param ctx The test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testProcessMessageAggregatesPreSettledMessages(final TestContext ctx) {
+
+        final UpstreamReceiver client = TestSupport.newClient();
+
+        // GIVEN an adapter which aggregates up to two messages of the tenant
+        final ProtonSender sender = TestSupport.newMockSender(false);
+        final ForwardingTelemetryDownstreamAdapter adapter = newAggregatingAdapter(sender, 2);
+        adapter.addSender(client, sender);
+        when(vertx.setTimer(anyLong(), any(Handler.class))).thenReturn(1L);
+
+        // WHEN processing two pre-settled telemetry messages
+        final ProtonDelivery upstreamDelivery = mock(ProtonDelivery.class);
+        when(upstreamDelivery.remotelySettled()).thenReturn(Boolean.TRUE);
+        adapter.processMessage(client, upstreamDelivery, newMessage("one"));
+        verify(sender, never()).send(any(Message.class));
+        adapter.processMessage(client, upstreamDelivery, newMessage("two"));
+
+        // THEN both messages have been accepted
+        verify(upstreamDelivery, times(2)).disposition(any(Accepted.class), eq(Boolean.TRUE));
+        // and have been forwarded in a single message
+        final ArgumentCaptor<Message> aggregate = ArgumentCaptor.forClass(Message.class);
+        verify(sender).send(aggregate.capture());
+        final List<Message> messages = MessageHelper.getAggregatedMessages(aggregate.getValue());
+        assertThat(messages.size(), is(2));
+        assertThat(MessageHelper.getPayload(messages.get(1)), is("two"));
+        // and the linger timer has been canceled
+        verify(vertx).cancelTimer(1L);
+    }
+
+    /**
+     * Verifies that aggregated messages are forwarded once the maximum
+     * delay has expired.
+     * 
+     * @param ctx The test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testProcessMessageForwardsAggregateAfterMaxDelay(final TestContext ctx) {
+
+        final UpstreamReceiver client = TestSupport.newClient();
+
+        // GIVEN an adapter which aggregates messages of the tenant
+        final ProtonSender sender = TestSupport.newMockSender(false);
+        final ForwardingTelemetryDownstreamAdapter adapter = newAggregatingAdapter(sender, 100);
+        adapter.addSender(client, sender);
+        final ArgumentCaptor<Handler<Long>> timerHandler = ArgumentCaptor.forClass(Handler.class);
+        when(vertx.setTimer(anyLong(), timerHandler.capture())).thenReturn(1L);
+
+        // WHEN processing a pre-settled telemetry message
+        final ProtonDelivery upstreamDelivery = mock(ProtonDelivery.class);
+        when(upstreamDelivery.remotelySettled()).thenReturn(Boolean.TRUE);
+        adapter.processMessage(client, upstreamDelivery, newMessage("one"));
+
+        // THEN the message is not forwarded
+        verify(sender, never()).send(any(Message.class));
+
+        // until the maximum delay has expired
+        timerHandler.getValue().handle(1L);
+        final ArgumentCaptor<Message> aggregate = ArgumentCaptor.forClass(Message.class);
+        verify(sender).send(aggregate.capture());
+        assertThat(MessageHelper.getAggregatedMessages(aggregate.getValue()).size(), is(1));
+    }
+
+    /**
+     * Verifies that the upstream client is replenished for aggregated messages
+     * if the credit scheduler is disabled, i.e. the client can send more messages
+     * than its initial credit although the downstream container does not grant
+     * any credit for the aggregated messages.
+     * 
+     * @param ctx The test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testProcessMessageReplenishesClientForAggregatedMessages(final TestContext ctx) {
+
+        // GIVEN an upstream client having been granted 5 credits
+        final AtomicInteger upstreamCredit = new AtomicInteger(5);
+        final UpstreamReceiver client = TestSupport.newClient();
+        doAnswer(invocation -> {
+            final int downstreamCredit = invocation.getArgument(0);
+            upstreamCredit.set(Math.max(upstreamCredit.get(), downstreamCredit));
+            return null;
+        }).when(client).replenish(anyInt());
+
+        // and an adapter without credit scheduler which aggregates up to 100 messages of the tenant
+        final ProtonSender sender = TestSupport.newMockSender(false);
+        when(sender.attachments()).thenReturn(new RecordImpl());
+        final ForwardingTelemetryDownstreamAdapter adapter = newAggregatingAdapter(sender, 100);
+        adapter.addSender(client, sender);
+        when(vertx.setTimer(anyLong(), any(Handler.class))).thenReturn(1L);
+
+        // WHEN the client sends more pre-settled messages than its initial credit
+        final ProtonDelivery upstreamDelivery = mock(ProtonDelivery.class);
+        when(upstreamDelivery.remotelySettled()).thenReturn(Boolean.TRUE);
+        for (int i = 0; i < 50; i++) {
+            ctx.assertTrue(upstreamCredit.getAndDecrement() > 0, "upstream client has run out of credit");
+            adapter.processMessage(client, upstreamDelivery, newMessage(String.valueOf(i)));
+        }
+
+        // THEN all messages have been accepted
+        verify(upstreamDelivery, times(50)).disposition(any(Accepted.class), eq(Boolean.TRUE));
+        // without any message having been forwarded yet
+        verify(sender, never()).send(any(Message.class));
+        // and the client has been topped up to the downstream credit
+        assertThat(upstreamCredit.get(), is(TestSupport.DEFAULT_CREDITS));
+    }
+
+    private ForwardingTelemetryDownstreamAdapter newAggregatingAdapter(final ProtonSender sender, final int maxMessages) {
+
+        final HonoMessagingConfigProperties config = new HonoMessagingConfigProperties();
+        config.setTelemetryAggregationTenants(Collections.singletonList("tenant"));
+        config.setTelemetryAggregationMaxMessages(maxMessages);
+        final ForwardingTelemetryDownstreamAdapter adapter = new ForwardingTelemetryDownstreamAdapter(
+                vertx, TestSupport.newMockSenderFactory(sender));
+        adapter.setHonoConfiguration(config);
+        adapter.setMetrics(mock(MessagingMetrics.class));
+        adapter.setDownstreamConnectionFactory(connectionFactory);
+        adapter.start(Future.future());
+        return adapter;
+    }
+
+    private static Message newMessage(final String payload) {
+        final Message msg = ProtonHelper.message(payload);
+        MessageHelper.addDeviceId(msg, DEVICE_ID);
+        return msg;
+    }
 }